@@ -0,0 +1,189 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalIntervalView;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageBus;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la disponibilidad por rango de fechas resuelta con {@link VehicleAvailabilityIndex}
+ * (una búsqueda binaria por vehículo) frente a la consulta NOT EXISTS que se usa mientras el
+ * índice no está cargado, sobre los mismos alquileres.
+ * <p>
+ * Ambos métodos cuentan los vehículos libres; el del índice no incluye la lectura de los
+ * vehículos disponibles, que es la misma en los dos caminos. Se ejecuta con
+ * {@code ./gradlew jmh} sobre una base H2 en memoria con el mismo índice que las migraciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VehicleAvailabilityIndexBenchmark {
+
+    private static final String NOT_EXISTS_QUERY =
+            "SELECT COUNT(*) FROM vehicles v WHERE v.available = TRUE AND NOT EXISTS " +
+            "(SELECT r.id FROM rentals r WHERE r.vehicle_id = v.id AND " +
+            "(r.status IN ('CONFIRMED', 'ACTIVE') OR (r.status = 'PENDING' AND r.hold_expires_at > ?)) " +
+            "AND r.start_date_time <= ? AND (r.end_date_time >= ? OR r.extended_until >= ?))";
+
+    @Param({"10000"})
+    public int vehicles;
+
+    @Param({"20"})
+    public int rentalsPerVehicle;
+
+    private final LocalDateTime origin = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private Connection connection;
+    private PreparedStatement notExists;
+    private VehicleAvailabilityIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:availability_index;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE vehicles (id BIGINT PRIMARY KEY, available BOOLEAN NOT NULL)");
+            statement.execute("CREATE TABLE rentals (id BIGINT PRIMARY KEY, vehicle_id BIGINT NOT NULL, " +
+                    "status VARCHAR(20) NOT NULL, start_date_time TIMESTAMP NOT NULL, " +
+                    "end_date_time TIMESTAMP NOT NULL, extended_until TIMESTAMP, hold_expires_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_rentals_vehicle_status_start ON rentals (vehicle_id, status, start_date_time)");
+        }
+
+        String[] statuses = {"CONFIRMED", "ACTIVE", "COMPLETED", "CANCELLED", "PENDING"};
+        LocalDateTime holdExpiresAt = LocalDateTime.now().plusHours(1);
+        List<Interval> blocking = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement vehicle = connection.prepareStatement("INSERT INTO vehicles VALUES (?, TRUE)");
+             PreparedStatement rental = connection.prepareStatement(
+                     "INSERT INTO rentals VALUES (?, ?, ?, ?, ?, NULL, ?)")) {
+            long rentalId = 1;
+            for (long vehicleId = 1; vehicleId <= vehicles; vehicleId++) {
+                vehicle.setLong(1, vehicleId);
+                vehicle.addBatch();
+                for (int i = 0; i < rentalsPerVehicle; i++) {
+                    String status = statuses[random.nextInt(statuses.length)];
+                    LocalDateTime start = origin.plusDays(random.nextInt(365));
+                    LocalDateTime end = start.plusDays(1 + random.nextInt(7));
+                    rental.setLong(1, rentalId);
+                    rental.setLong(2, vehicleId);
+                    rental.setString(3, status);
+                    rental.setTimestamp(4, Timestamp.valueOf(start));
+                    rental.setTimestamp(5, Timestamp.valueOf(end));
+                    rental.setTimestamp(6, Timestamp.valueOf(holdExpiresAt));
+                    rental.addBatch();
+                    if (!"COMPLETED".equals(status) && !"CANCELLED".equals(status)) {
+                        blocking.add(new Interval(rentalId, vehicleId, status, start, end,
+                                "PENDING".equals(status) ? holdExpiresAt : null));
+                    }
+                    rentalId++;
+                }
+                rental.executeBatch();
+            }
+            vehicle.executeBatch();
+        }
+
+        notExists = connection.prepareStatement(NOT_EXISTS_QUERY);
+        index = new VehicleAvailabilityIndex(null,
+                new StaticListableBeanFactory().getBeanProvider(ClusterMessageBus.class), new ClusterProperties());
+        index.load(blocking);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long inMemoryIndex() {
+        LocalDateTime[] range = randomRange();
+        long free = 0;
+        for (long vehicleId = 1; vehicleId <= vehicles; vehicleId++) {
+            if (!index.isBooked(vehicleId, range[0], range[1])) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    @Benchmark
+    public long notExistsSubquery() throws SQLException {
+        LocalDateTime[] range = randomRange();
+        notExists.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+        notExists.setTimestamp(2, Timestamp.valueOf(range[1]));
+        notExists.setTimestamp(3, Timestamp.valueOf(range[0]));
+        notExists.setTimestamp(4, Timestamp.valueOf(range[0]));
+        try (ResultSet resultSet = notExists.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private LocalDateTime[] randomRange() {
+        LocalDateTime start = origin.plusDays(ThreadLocalRandom.current().nextInt(365));
+        return new LocalDateTime[] {start, start.plusDays(3)};
+    }
+
+    private record Interval(Long id, Long vehicleId, String status, LocalDateTime startDateTime,
+                            LocalDateTime endDateTime, LocalDateTime holdExpiresAt) implements RentalIntervalView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public LocalDateTime getStartDateTime() {
+            return startDateTime;
+        }
+
+        @Override
+        public LocalDateTime getEndDateTime() {
+            return endDateTime;
+        }
+
+        @Override
+        public LocalDateTime getExtendedUntil() {
+            return null;
+        }
+
+        @Override
+        public LocalDateTime getHoldExpiresAt() {
+            return holdExpiresAt;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la consulta de disponibilidad por rango de fechas con NOT IN sobre todos los
+ * alquileres bloqueantes frente a la subconsulta NOT EXISTS correlacionada por vehículo
+ * que usa el índice (vehicle_id, status, start_date_time).
+ * <p>
+ * Se ejecuta con {@code ./gradlew jmh} sobre una base H2 en memoria con el mismo esquema
+ * e índices que las migraciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VehicleAvailabilityQueryBenchmark {
+
+    private static final String BLOCKING =
+            "(r.status IN ('CONFIRMED', 'ACTIVE') OR (r.status = 'PENDING' AND r.hold_expires_at > ?)) ";
+
+    private static final String NOT_IN_QUERY =
+            "SELECT COUNT(*) FROM vehicles v WHERE v.available = TRUE AND v.id NOT IN " +
+            "(SELECT r.vehicle_id FROM rentals r WHERE " + BLOCKING +
+            "AND ((r.start_date_time <= ? AND r.end_date_time >= ?) " +
+            "OR (r.extended_until IS NOT NULL AND r.start_date_time <= ? AND r.extended_until >= ?)))";
+
+    private static final String NOT_EXISTS_QUERY =
+            "SELECT COUNT(*) FROM vehicles v WHERE v.available = TRUE AND NOT EXISTS " +
+            "(SELECT r.id FROM rentals r WHERE r.vehicle_id = v.id AND " + BLOCKING +
+            "AND r.start_date_time <= ? AND (r.end_date_time >= ? OR r.extended_until >= ?))";
+
+    @Param({"10000"})
+    public int vehicles;
+
+    @Param({"20"})
+    public int rentalsPerVehicle;
+
+    private final LocalDateTime origin = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private Connection connection;
+    private PreparedStatement notIn;
+    private PreparedStatement notExists;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:availability;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE vehicles (id BIGINT PRIMARY KEY, available BOOLEAN NOT NULL)");
+            statement.execute("CREATE TABLE rentals (id BIGINT PRIMARY KEY, vehicle_id BIGINT NOT NULL, " +
+                    "status VARCHAR(20) NOT NULL, start_date_time TIMESTAMP NOT NULL, " +
+                    "end_date_time TIMESTAMP NOT NULL, extended_until TIMESTAMP, hold_expires_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_rentals_vehicle_status_start ON rentals (vehicle_id, status, start_date_time)");
+        }
+
+        String[] statuses = {"CONFIRMED", "ACTIVE", "COMPLETED", "CANCELLED", "PENDING"};
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement vehicle = connection.prepareStatement("INSERT INTO vehicles VALUES (?, TRUE)");
+             PreparedStatement rental = connection.prepareStatement(
+                     "INSERT INTO rentals VALUES (?, ?, ?, ?, ?, NULL, ?)")) {
+            long rentalId = 1;
+            for (long vehicleId = 1; vehicleId <= vehicles; vehicleId++) {
+                vehicle.setLong(1, vehicleId);
+                vehicle.addBatch();
+                for (int i = 0; i < rentalsPerVehicle; i++) {
+                    LocalDateTime start = origin.plusDays(random.nextInt(365));
+                    rental.setLong(1, rentalId++);
+                    rental.setLong(2, vehicleId);
+                    rental.setString(3, statuses[random.nextInt(statuses.length)]);
+                    rental.setTimestamp(4, Timestamp.valueOf(start));
+                    rental.setTimestamp(5, Timestamp.valueOf(start.plusDays(1 + random.nextInt(7))));
+                    rental.setTimestamp(6, Timestamp.valueOf(origin.plusMinutes(15)));
+                    rental.addBatch();
+                }
+                rental.executeBatch();
+            }
+            vehicle.executeBatch();
+        }
+
+        notIn = connection.prepareStatement(NOT_IN_QUERY);
+        notExists = connection.prepareStatement(NOT_EXISTS_QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long notInSubquery() throws SQLException {
+        Timestamp[] range = randomRange();
+        notIn.setTimestamp(1, Timestamp.valueOf(origin));
+        notIn.setTimestamp(2, range[1]);
+        notIn.setTimestamp(3, range[0]);
+        notIn.setTimestamp(4, range[1]);
+        notIn.setTimestamp(5, range[0]);
+        return count(notIn);
+    }
+
+    @Benchmark
+    public long notExistsSubquery() throws SQLException {
+        Timestamp[] range = randomRange();
+        notExists.setTimestamp(1, Timestamp.valueOf(origin));
+        notExists.setTimestamp(2, range[1]);
+        notExists.setTimestamp(3, range[0]);
+        notExists.setTimestamp(4, range[0]);
+        return count(notExists);
+    }
+
+    private Timestamp[] randomRange() {
+        LocalDateTime start = origin.plusDays(ThreadLocalRandom.current().nextInt(365));
+        return new Timestamp[] {Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(3))};
+    }
+
+    private static long count(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
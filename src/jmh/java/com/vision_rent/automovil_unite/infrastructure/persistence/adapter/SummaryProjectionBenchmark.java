@@ -0,0 +1,284 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.ReceiptDto;
+import com.vision_rent.automovil_unite.application.dto.ReceiptSummaryDto;
+import com.vision_rent.automovil_unite.application.dto.RentalDto;
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
+import com.vision_rent.automovil_unite.application.dto.ReviewDto;
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
+import com.vision_rent.automovil_unite.application.mapper.ReceiptDtoMapper;
+import com.vision_rent.automovil_unite.application.mapper.RentalDtoMapper;
+import com.vision_rent.automovil_unite.application.mapper.ReviewDtoMapper;
+import com.vision_rent.automovil_unite.domain.valueobject.Role;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentMethodJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReviewJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentMethodJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReceiptJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReviewJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.UserJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.VehicleJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara los listados de alquileres, boletas y reseñas servidos con las proyecciones
+ * {@code *Summary} frente al camino anterior: entidades JPA con su grafo de detalle, mapeo a
+ * dominio y mapeo a DTO con usuarios y vehículos anidados.
+ * <p>
+ * Cada método lee en una transacción de solo lectura, como los servicios. Se ejecuta con
+ * {@code ./gradlew jmh}, que incluye el perfilador {@code gc}; la métrica que interesa es
+ * {@code gc.alloc.rate.norm} (bytes asignados por listado), además del tiempo medio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SummaryProjectionBenchmark {
+
+    @Param({"20", "200"})
+    public int rowsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+
+    private RentalRepositoryAdapter rentalRepository;
+    private RentalQueryRepositoryAdapter rentalQueryRepository;
+    private RentalDtoMapper rentalDtoMapper;
+    private ReceiptRepositoryAdapter receiptRepository;
+    private ReceiptQueryRepositoryAdapter receiptQueryRepository;
+    private ReceiptDtoMapper receiptDtoMapper;
+    private ReviewRepositoryAdapter reviewRepository;
+    private ReviewQueryRepositoryAdapter reviewQueryRepository;
+    private ReviewDtoMapper reviewDtoMapper;
+
+    private Long renterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:summary_projection;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        rentalRepository = context.getBean(RentalRepositoryAdapter.class);
+        rentalQueryRepository = context.getBean(RentalQueryRepositoryAdapter.class);
+        rentalDtoMapper = context.getBean(RentalDtoMapper.class);
+        receiptRepository = context.getBean(ReceiptRepositoryAdapter.class);
+        receiptQueryRepository = context.getBean(ReceiptQueryRepositoryAdapter.class);
+        receiptDtoMapper = context.getBean(ReceiptDtoMapper.class);
+        reviewRepository = context.getBean(ReviewRepositoryAdapter.class);
+        reviewQueryRepository = context.getBean(ReviewQueryRepositoryAdapter.class);
+        reviewDtoMapper = context.getBean(ReviewDtoMapper.class);
+
+        renterId = new TransactionTemplate(transactionManager).execute(status -> seed());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RentalDto> rentalsMappedFromEntities() {
+        return readOnly.execute(status -> rentalRepository.findByRenterId(renterId)
+                .stream()
+                .map(rentalDtoMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<RentalSummaryDto> rentalSummaries() {
+        return readOnly.execute(status -> rentalQueryRepository.findSummariesByRenterId(renterId));
+    }
+
+    @Benchmark
+    public List<ReceiptDto> receiptsMappedFromEntities() {
+        return readOnly.execute(status -> receiptRepository.findByRenterId(renterId)
+                .stream()
+                .map(receiptDtoMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ReceiptSummaryDto> receiptSummaries() {
+        return readOnly.execute(status -> receiptQueryRepository.findSummariesByRenterId(renterId));
+    }
+
+    @Benchmark
+    public List<ReviewDto> reviewsMappedFromEntities() {
+        return readOnly.execute(status -> reviewRepository.findByReviewerId(renterId)
+                .stream()
+                .map(reviewDtoMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ReviewSummaryDto> reviewSummaries() {
+        return readOnly.execute(status -> reviewQueryRepository.findSummariesByReviewerId(renterId));
+    }
+
+    /**
+     * Un arrendatario con {@link #rowsPerUser} alquileres completados, cada uno con su pago,
+     * boleta y reseña del vehículo, repartidos entre varios propietarios y vehículos.
+     */
+    private Long seed() {
+        UserJpaRepository users = context.getBean(UserJpaRepository.class);
+        VehicleJpaRepository vehicles = context.getBean(VehicleJpaRepository.class);
+        RentalJpaRepository rentals = context.getBean(RentalJpaRepository.class);
+        PaymentMethodJpaRepository paymentMethods = context.getBean(PaymentMethodJpaRepository.class);
+        PaymentJpaRepository payments = context.getBean(PaymentJpaRepository.class);
+        ReceiptJpaRepository receipts = context.getBean(ReceiptJpaRepository.class);
+        ReviewJpaRepository reviews = context.getBean(ReviewJpaRepository.class);
+
+        UserJpaEntity renter = users.save(user(0));
+        PaymentMethodJpaEntity paymentMethod = paymentMethods.save(PaymentMethodJpaEntity.builder()
+                .user(renter)
+                .type("CREDIT_CARD")
+                .provider("VISA")
+                .alias("Tarjeta")
+                .tokenizedData("tok_benchmark")
+                .isDefault(true)
+                .build());
+
+        List<VehicleJpaEntity> fleet = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            UserJpaEntity owner = users.save(user(i));
+            fleet.add(vehicles.save(VehicleJpaEntity.builder()
+                    .brand("Marca" + i)
+                    .model("Modelo" + i)
+                    .year(2022)
+                    .licensePlate("PL-" + i)
+                    .color("Blanco")
+                    .transmission("AUTOMATIC")
+                    .fuelType("GASOLINE")
+                    .seats(5)
+                    .category("SEDAN")
+                    .pricePerDay(new BigDecimal("100.00"))
+                    .owner(owner)
+                    .available(true)
+                    .build()));
+        }
+
+        LocalDateTime start = LocalDateTime.now().minusYears(2);
+        for (int i = 0; i < rowsPerUser; i++) {
+            VehicleJpaEntity vehicle = fleet.get(i % fleet.size());
+            RentalJpaEntity rental = rentals.save(RentalJpaEntity.builder()
+                    .vehicle(vehicle)
+                    .renter(renter)
+                    .startDateTime(start.plusDays(i * 4L))
+                    .endDateTime(start.plusDays(i * 4L + 3))
+                    .totalPrice(new BigDecimal("300.00"))
+                    .status("COMPLETED")
+                    .build());
+            PaymentJpaEntity payment = payments.save(PaymentJpaEntity.builder()
+                    .externalId("PAY-" + i)
+                    .rental(rental)
+                    .payer(renter)
+                    .paymentMethod(paymentMethod)
+                    .amount(new BigDecimal("300.00"))
+                    .currency("PEN")
+                    .status("COMPLETED")
+                    .type("RENTAL")
+                    .paymentDate(rental.getStartDateTime())
+                    .build());
+            receipts.save(ReceiptJpaEntity.builder()
+                    .receiptNumber("20250101-" + i)
+                    .payment(payment)
+                    .rental(rental)
+                    .renter(renter)
+                    .owner(vehicle.getOwner())
+                    .vehicle(vehicle)
+                    .issueDate(rental.getStartDateTime())
+                    .subtotal(new BigDecimal("254.24"))
+                    .taxAmount(new BigDecimal("45.76"))
+                    .totalAmount(new BigDecimal("300.00"))
+                    .rentalDays(3)
+                    .pricePerDay(new BigDecimal("100.00"))
+                    .currency("PEN")
+                    .status("ISSUED")
+                    .build());
+            reviews.save(ReviewJpaEntity.builder()
+                    .rental(rental)
+                    .reviewer(renter)
+                    .vehicle(vehicle)
+                    .rating(4.5f)
+                    .comment("Comentario " + i)
+                    .type("VEHICLE_REVIEW")
+                    .build());
+        }
+        return renter.getId();
+    }
+
+    private static UserJpaEntity user(int n) {
+        return UserJpaEntity.builder()
+                .email("user" + n + "@benchmark.local")
+                .password("$2a$10$hashDeContraseniaDePrueba")
+                .firstName("Nombre" + n)
+                .lastName("Apellido" + n)
+                .enabled(true)
+                .emailVerified(true)
+                .roles(new HashSet<>(Set.of(Role.RENTER, Role.OWNER)))
+                .build();
+    }
+
+    /**
+     * Solo la capa de persistencia y los mappers de la aplicación, sin el resto del contexto.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = UserJpaEntity.class)
+    @EnableJpaRepositories(basePackageClasses = UserJpaRepository.class)
+    @ComponentScan(basePackageClasses = RentalDtoMapper.class)
+    @Import({RentalRepositoryAdapter.class, RentalQueryRepositoryAdapter.class,
+            ReceiptRepositoryAdapter.class, ReceiptQueryRepositoryAdapter.class,
+            ReviewRepositoryAdapter.class, ReviewQueryRepositoryAdapter.class})
+    static class BenchmarkConfiguration {
+    }
+}
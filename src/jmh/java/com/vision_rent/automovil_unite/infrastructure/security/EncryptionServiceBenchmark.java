@@ -0,0 +1,86 @@
+package com.vision_rent.automovil_unite.infrastructure.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el cifrado de datos de tarjeta de {@link EncryptionService} (clave derivada una vez,
+ * {@link Cipher} por hilo y un DRBG compartido) con el enfoque anterior, que creaba el
+ * {@link Cipher}, la clave y el {@link SecureRandom} en cada llamada. También mide el recifrado
+ * de un valor de la versión anterior, que es el trabajo por campo del job de rotación.
+ * <p>
+ * Se ejecuta con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class EncryptionServiceBenchmark {
+
+    private static final String CARD_NUMBER = "4111111111111111";
+    private static final String LEGACY_KEY = "0123456789abcdef0123456789abcdef";
+
+    private EncryptionService encryptionService;
+    private String activeCiphertext;
+    private String previousVersionCiphertext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encryptionService = encryptionService(2);
+        activeCiphertext = encryptionService.encrypt(CARD_NUMBER);
+        previousVersionCiphertext = encryptionService(1).encrypt(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String encryptReusingCipher() {
+        return encryptionService.encrypt(CARD_NUMBER);
+    }
+
+    @Benchmark
+    public String decryptReusingCipher() {
+        return encryptionService.decrypt(activeCiphertext);
+    }
+
+    @Benchmark
+    public String reencryptPreviousVersion() {
+        return encryptionService.reencrypt(previousVersionCiphertext);
+    }
+
+    @Benchmark
+    public String encryptPerCallSetup() throws GeneralSecurityException {
+        SecretKeySpec key = new SecretKeySpec(LEGACY_KEY.getBytes(StandardCharsets.UTF_8), "AES");
+        byte[] iv = new byte[12];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        byte[] cipherText = cipher.doFinal(CARD_NUMBER.getBytes(StandardCharsets.UTF_8));
+        byte[] message = new byte[iv.length + cipherText.length];
+        System.arraycopy(iv, 0, message, 0, iv.length);
+        System.arraycopy(cipherText, 0, message, iv.length, cipherText.length);
+        return Base64.getEncoder().encodeToString(message);
+    }
+
+    private static EncryptionService encryptionService(int activeVersion) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setActiveVersion(activeVersion);
+        properties.setKeys(Map.of(1, "benchmark-master-secret-1", 2, "benchmark-master-secret-2"));
+        return new EncryptionService(properties, LEGACY_KEY);
+    }
+}
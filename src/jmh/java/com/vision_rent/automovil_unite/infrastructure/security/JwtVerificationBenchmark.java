@@ -0,0 +1,86 @@
+package com.vision_rent.automovil_unite.infrastructure.security;
+
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la verificación de tokens de acceso con y sin la caché de reclamaciones verificadas,
+ * y el coste de calcular la clave de caché (SHA-256 sobre los bytes UTF-8 del token).
+ * <p>
+ * Con {@code verifiedTokenCacheSize = 0} cada llamada repite la verificación HMAC y el
+ * análisis JSON, que es el comportamiento anterior a la caché. Se ejecuta con
+ * {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class JwtVerificationBenchmark {
+
+    @Param({"0", "10000"})
+    public int verifiedTokenCacheSize;
+
+    @Param({"256"})
+    public int activeTokens;
+
+    private JwtService jwtService;
+    private VerifiedTokenCache keyCache;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] secret = new byte[32];
+        ThreadLocalRandom.current().nextBytes(secret);
+        SecurityProperties properties = new SecurityProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString(secret));
+        properties.setExpiration(TimeUnit.HOURS.toMillis(1));
+        properties.setRefreshExpiration(TimeUnit.DAYS.toMillis(7));
+        properties.setVerifiedTokenCacheSize(verifiedTokenCacheSize);
+        jwtService = new JwtService(properties);
+        keyCache = new VerifiedTokenCache(0);
+
+        tokens = new String[activeTokens];
+        for (int i = 0; i < activeTokens; i++) {
+            tokens[i] = jwtService.generateToken(UserDetailsImpl.builder()
+                    .username("user" + i + "@bench.local")
+                    .password("")
+                    .enabled(true)
+                    .accountNonExpired(true)
+                    .accountNonLocked(true)
+                    .credentialsNonExpired(true)
+                    .authorities(List.of(new SimpleGrantedAuthority("ROLE_RENTER")))
+                    .userId((long) i + 1)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtService.parseClaims(nextToken());
+    }
+
+    @Benchmark
+    public String cacheKey() {
+        return keyCache.keyOf(nextToken());
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
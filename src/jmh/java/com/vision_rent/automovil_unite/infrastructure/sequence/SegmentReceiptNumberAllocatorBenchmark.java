@@ -0,0 +1,102 @@
+package com.vision_rent.automovil_unite.infrastructure.sequence;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptSequenceJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReceiptSequenceJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el rendimiento de la asignación de números de boleta con varios hilos concurrentes.
+ * <p>
+ * Con {@code blockSize = 1} cada número reserva su propio segmento: una transacción con la
+ * fila de la secuencia bloqueada por número, que es el comportamiento anterior a los
+ * segmentos. Usa el asignador real sobre JPA y una base H2 en memoria; se ejecuta con
+ * {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class SegmentReceiptNumberAllocatorBenchmark {
+
+    @Param({"1", "100"})
+    public int blockSize;
+
+    private ConfigurableApplicationContext context;
+    private SegmentReceiptNumberAllocator allocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AllocatorConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:receipt_sequences;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--app.receipts.number-block-size=" + blockSize);
+        allocator = context.getBean(SegmentReceiptNumberAllocator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String nextReceiptNumber() {
+        return allocator.nextReceiptNumber();
+    }
+
+    /**
+     * Contexto mínimo: base de datos, JPA y el asignador.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = ReceiptSequenceJpaEntity.class)
+    @EnableJpaRepositories(basePackageClasses = ReceiptSequenceJpaRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = ReceiptSequenceJpaRepository.class))
+    @Import(SegmentReceiptNumberAllocator.class)
+    static class AllocatorConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
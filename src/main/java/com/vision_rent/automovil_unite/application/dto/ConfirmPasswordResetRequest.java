@@ -0,0 +1,28 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para confirmar el restablecimiento de contraseña con el token recibido por correo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfirmPasswordResetRequest {
+    
+    @NotBlank(message = "El token es obligatorio")
+    private String token;
+    
+    @NotBlank(message = "La contraseña es obligatoria")
+    @Size(min = 8, message = "La contraseña debe tener al menos 8 caracteres")
+    @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!]).*$", 
+             message = "La contraseña debe contener al menos un dígito, una letra minúscula, una letra mayúscula y un carácter especial")
+    private String newPassword;
+}
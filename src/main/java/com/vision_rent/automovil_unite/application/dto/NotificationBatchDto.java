@@ -0,0 +1,20 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con las notificaciones de un usuario agrupadas en un solo mensaje WebSocket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchDto {
+    private List<NotificationDto> notifications;    // De la más antigua a la más reciente
+    private int unreadCount;                        // Contador de no leídas tras la entrega
+}
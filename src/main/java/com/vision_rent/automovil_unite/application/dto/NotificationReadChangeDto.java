@@ -0,0 +1,24 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el cambio de estado de lectura de una notificación ya sincronizada.
+ * La versión de lectura solo sirve para construir el token de sincronización y no se expone.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadChangeDto {
+    private Long id;
+    private LocalDateTime readAt;
+    @JsonIgnore
+    private Long readVersion;
+}
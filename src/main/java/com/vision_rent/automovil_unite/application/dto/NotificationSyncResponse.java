@@ -0,0 +1,22 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con los cambios de notificaciones de un usuario desde el último token de sincronización.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSyncResponse {
+    private List<NotificationDto> created;          // Notificaciones nuevas, de la más antigua a la más reciente
+    private List<NotificationReadChangeDto> read;   // Notificaciones ya sincronizadas que se marcaron como leídas
+    private String syncToken;                       // Token para la siguiente sincronización
+    private boolean hasMore;                        // true si quedan cambios: sincronizar de nuevo con el token
+}
@@ -0,0 +1,22 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO del saldo pendiente de pago a un propietario.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerBalanceDto {
+    private String currency;
+    private BigDecimal balance;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO del pago de un saldo a un propietario.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutDto {
+    private Long id;
+    private Long batchId;
+    private BigDecimal amount;
+    private String currency;
+    private String status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,42 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO compacto de boleta para listados.
+ * Se obtiene desde una proyección de la consulta, sin cargar las entidades relacionadas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptSummaryDto {
+    private Long id;
+    private String receiptNumber;
+    private Long paymentId;
+    private Long rentalId;
+    private Long renterId;
+    private String renterFirstName;
+    private String renterLastName;
+    private Long ownerId;
+    private String ownerFirstName;
+    private String ownerLastName;
+    private Long vehicleId;
+    private String vehicleBrand;
+    private String vehicleModel;
+    private LocalDateTime issueDate;
+    private BigDecimal subtotal;
+    private BigDecimal taxAmount;
+    private BigDecimal totalAmount;
+    private Integer rentalDays;
+    private BigDecimal pricePerDay;
+    private String currency;
+    private String status;
+    private String pdfUrl;
+}
@@ -0,0 +1,27 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para registrar el token push de un dispositivo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegisterDeviceRequest {
+    
+    @NotBlank(message = "El token del dispositivo es obligatorio")
+    @Size(max = 512, message = "El token del dispositivo no puede superar los 512 caracteres")
+    private String token;
+    
+    @NotBlank(message = "La plataforma es obligatoria")
+    @Pattern(regexp = "ANDROID|IOS|WEB", message = "La plataforma debe ser ANDROID, IOS o WEB")
+    private String platform;
+}
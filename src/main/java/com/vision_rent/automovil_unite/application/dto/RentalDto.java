@@ -38,4 +38,5 @@ public class RentalDto {
     private BigDecimal discountAmount;
     private BigDecimal lateReturnFee;
     private LocalDateTime extendedUntil;
+    private LocalDateTime holdExpiresAt;
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO compacto de alquiler para listados.
+ * Se obtiene desde una proyección de la consulta, sin cargar las entidades relacionadas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalSummaryDto {
+    private Long id;
+    private Long vehicleId;
+    private String vehicleBrand;
+    private String vehicleModel;
+    private int vehicleYear;
+    private String vehicleLicensePlate;
+    private Long ownerId;
+    private String ownerFirstName;
+    private String ownerLastName;
+    private Long renterId;
+    private String renterFirstName;
+    private String renterLastName;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+    private LocalDateTime actualReturnDateTime;
+    private LocalDateTime extendedUntil;
+    private LocalDateTime holdExpiresAt;
+    private BigDecimal totalPrice;
+    private String status;
+    private boolean paid;
+    private boolean lateReturn;
+    private Float renterRating;
+    private Float vehicleRating;
+}
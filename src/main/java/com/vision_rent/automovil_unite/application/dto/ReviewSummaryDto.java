@@ -0,0 +1,33 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO compacto de reseña para listados.
+ * Se obtiene desde una proyección de la consulta, sin cargar las entidades relacionadas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryDto {
+    private Long id;
+    private Long rentalId;
+    private Long reviewerId;
+    private String reviewerFirstName;
+    private String reviewerLastName;
+    private String reviewerPhotoUrl;
+    private Long reviewedId;
+    private Long vehicleId;
+    private String vehicleBrand;
+    private String vehicleModel;
+    private Float rating;
+    private String comment;
+    private String type;
+    private LocalDateTime createdAt;
+}
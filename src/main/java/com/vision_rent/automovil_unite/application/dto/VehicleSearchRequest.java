@@ -0,0 +1,44 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO con los filtros y la paginación de la búsqueda de vehículos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleSearchRequest {
+
+    private String brand;
+    private String category;
+    private String fuelType;
+    private String transmission;
+    private Integer seats;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime startDateTime;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endDateTime;
+
+    // Cursor opaco devuelto por la página anterior
+    private String cursor;
+
+    @Min(value = 1, message = "El tamaño de página debe ser al menos 1")
+    @Max(value = 100, message = "El tamaño de página no puede superar 100")
+    @Builder.Default
+    private Integer size = 20;
+}
@@ -0,0 +1,23 @@
+package com.vision_rent.automovil_unite.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO con una página de resultados de la búsqueda de vehículos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleSearchResponse {
+    private List<VehicleDto> items;
+    private String nextCursor;      // null si no hay más resultados
+    private boolean hasMore;
+    private Map<String, Map<String, Long>> facets;  // Solo en la primera página
+}
@@ -0,0 +1,21 @@
+package com.vision_rent.automovil_unite.application.mapper;
+
+import com.vision_rent.automovil_unite.application.dto.OwnerBalanceDto;
+import com.vision_rent.automovil_unite.application.dto.PayoutDto;
+import com.vision_rent.automovil_unite.domain.entity.OwnerBalance;
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir los saldos y pagos a propietarios (dominio) en sus DTOs (aplicación).
+ */
+@Mapper(componentModel = "spring")
+public interface PayoutDtoMapper {
+
+    PayoutDtoMapper INSTANCE = Mappers.getMapper(PayoutDtoMapper.class);
+
+    OwnerBalanceDto toDto(OwnerBalance ownerBalance);
+
+    PayoutDto toDto(Payout payout);
+}
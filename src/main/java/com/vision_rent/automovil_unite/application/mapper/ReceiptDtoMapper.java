@@ -20,5 +20,6 @@ public interface ReceiptDtoMapper {
     
     @Mapping(target = "payment", ignore = true)
     @Mapping(target = "rental", ignore = true)
+    @Mapping(target = "pdfRetries", ignore = true)
     Receipt toEntity(ReceiptDto receiptDto);
 }
\ No newline at end of file
@@ -35,6 +35,7 @@ public interface RentalDtoMapper {
     @Mapping(target = "discountAmount", ignore = true)
     @Mapping(target = "lateReturnFee", ignore = true)
     @Mapping(target = "extendedUntil", ignore = true)
+    @Mapping(target = "holdExpiresAt", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Rental toEntity(CreateRentalRequest createRentalRequest);
@@ -29,6 +29,7 @@ public interface UserDtoMapper {
     @Mapping(target = "banned", constant = "false")
     @Mapping(target = "averageRating", ignore = true)
     @Mapping(target = "reportCount", constant = "0")
+    @Mapping(target = "tokensValidAfter", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     User toEntity(RegisterRequest registerRequest);
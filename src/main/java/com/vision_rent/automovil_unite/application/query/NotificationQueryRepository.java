@@ -0,0 +1,17 @@
+package com.vision_rent.automovil_unite.application.query;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationReadChangeDto;
+
+import java.util.List;
+
+/**
+ * Consultas de solo lectura de notificaciones paginadas por ID que devuelven directamente DTOs,
+ * sin pasar por las entidades de dominio.
+ */
+public interface NotificationQueryRepository {
+    List<NotificationDto> findPageByUserId(Long userId, Long beforeId, int limit);
+    List<NotificationDto> findCreatedAfter(Long userId, Long afterId, int limit);
+    List<NotificationReadChangeDto> findReadChanges(Long userId, Long maxId, long afterVersion, Long afterId, int limit);
+    long findReadVersion(Long userId);
+}
@@ -0,0 +1,14 @@
+package com.vision_rent.automovil_unite.application.query;
+
+import com.vision_rent.automovil_unite.application.dto.ReceiptSummaryDto;
+
+import java.util.List;
+
+/**
+ * Consultas de solo lectura de boletas que devuelven directamente DTOs de listado,
+ * sin pasar por las entidades de dominio.
+ */
+public interface ReceiptQueryRepository {
+    List<ReceiptSummaryDto> findSummariesByRenterId(Long renterId);
+    List<ReceiptSummaryDto> findSummariesByOwnerId(Long ownerId);
+}
@@ -0,0 +1,15 @@
+package com.vision_rent.automovil_unite.application.query;
+
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
+
+import java.util.List;
+
+/**
+ * Consultas de solo lectura de alquileres que devuelven directamente DTOs de listado,
+ * sin pasar por las entidades de dominio.
+ */
+public interface RentalQueryRepository {
+    List<RentalSummaryDto> findSummariesByRenterId(Long renterId);
+    List<RentalSummaryDto> findSummariesByVehicleId(Long vehicleId);
+    List<RentalSummaryDto> findSummariesByVehicleOwnerId(Long ownerId);
+}
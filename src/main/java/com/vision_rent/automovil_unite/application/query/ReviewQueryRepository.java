@@ -0,0 +1,15 @@
+package com.vision_rent.automovil_unite.application.query;
+
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
+
+import java.util.List;
+
+/**
+ * Consultas de solo lectura de reseñas que devuelven directamente DTOs de listado,
+ * sin pasar por las entidades de dominio.
+ */
+public interface ReviewQueryRepository {
+    List<ReviewSummaryDto> findSummariesByReviewerId(Long reviewerId);
+    List<ReviewSummaryDto> findSummariesByReviewedId(Long reviewedId);
+    List<ReviewSummaryDto> findSummariesByVehicleId(Long vehicleId);
+}
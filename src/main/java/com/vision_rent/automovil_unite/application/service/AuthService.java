@@ -4,12 +4,20 @@ package com.vision_rent.automovil_unite.application.service;
 import com.vision_rent.automovil_unite.application.dto.*;
 import com.vision_rent.automovil_unite.application.exception.EmailAlreadyExistsException;
 import com.vision_rent.automovil_unite.application.exception.InvalidCredentialsException;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
 import com.vision_rent.automovil_unite.application.mapper.UserDtoMapper;
 import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.service.UserDomainService;
+import com.vision_rent.automovil_unite.infrastructure.email.EmailOutbox;
+import com.vision_rent.automovil_unite.infrastructure.email.EmailTemplate;
 import com.vision_rent.automovil_unite.infrastructure.security.JwtService;
-import lombok.RequiredArgsConstructor;
+import com.vision_rent.automovil_unite.infrastructure.security.SecurityProperties;
+import com.vision_rent.automovil_unite.infrastructure.security.TokenRevocationService;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,13 +26,17 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Map;
 
 /**
  * Servicio para la autenticación y gestión de usuarios.
  */
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -33,6 +45,32 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserDtoMapper userDtoMapper;
+    private final EmailOutbox emailOutbox;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityProperties securityProperties;
+    private final String frontendUrl;
+
+    public AuthService(UserRepository userRepository,
+                       UserDomainService userDomainService,
+                       PasswordEncoder passwordEncoder,
+                       JwtService jwtService,
+                       AuthenticationManager authenticationManager,
+                       UserDtoMapper userDtoMapper,
+                       EmailOutbox emailOutbox,
+                       TokenRevocationService tokenRevocationService,
+                       SecurityProperties securityProperties,
+                       @Value("${app.frontend-url}") String frontendUrl) {
+        this.userRepository = userRepository;
+        this.userDomainService = userDomainService;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.authenticationManager = authenticationManager;
+        this.userDtoMapper = userDtoMapper;
+        this.emailOutbox = emailOutbox;
+        this.tokenRevocationService = tokenRevocationService;
+        this.securityProperties = securityProperties;
+        this.frontendUrl = frontendUrl;
+    }
     
     /**
      * Registra un nuevo usuario en el sistema.
@@ -60,8 +98,9 @@ public class AuthService {
         
         // Generar tokens
         UserDto userDto = userDtoMapper.toDto(savedUser);
-        String jwtToken = jwtService.generateToken(mapUserToUserDetails(savedUser));
-        String refreshToken = jwtService.generateRefreshToken(mapUserToUserDetails(savedUser));
+        UserDetails userDetails = UserDetailsImpl.build(savedUser);
+        String jwtToken = jwtService.generateToken(userDetails);
+        String refreshToken = jwtService.generateRefreshToken(userDetails);
         
         return AuthenticationResponse.builder()
                 .token(jwtToken)
@@ -108,11 +147,12 @@ public class AuthService {
     
     /**
      * Envía un correo para restablecer la contraseña de un usuario.
+     * El correo se deja en la cola de correos y se envía en segundo plano tras el commit.
      *
      * @param request Solicitud de restablecimiento de contraseña
      * @return true si se envió el correo correctamente
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public boolean requestPasswordReset(ResetPasswordRequest request) {
         // Verificar si el usuario existe
         User user = userRepository.findByEmail(request.getEmail())
@@ -123,19 +163,41 @@ public class AuthService {
             return true;
         }
         
-        // TODO: Implementar envío de correo con token de restablecimiento
+        String token = jwtService.generatePasswordResetToken(user.getEmail(), user.getPassword());
+        long expiresInMinutes = Duration.ofMillis(securityProperties.getPasswordResetExpiration()).toMinutes();
+        emailOutbox.enqueue(user.getEmail(), EmailTemplate.PASSWORD_RESET, Map.of(
+                "firstName", user.getFirstName() != null ? user.getFirstName() : "",
+                "resetLink", frontendUrl + "/reset-password?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8),
+                "expiresInMinutes", String.valueOf(expiresInMinutes)));
         
         return true;
     }
     
-    // Helper method para mapear un User a UserDetails
-    private UserDetails mapUserToUserDetails(User user) {
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(user.getRoles().stream()
-                        .map(role -> "ROLE_" + role.name())
-                        .toArray(String[]::new))
-                .build();
+    /**
+     * Cambia la contraseña de un usuario con el token recibido por correo.
+     * El token solo vale una vez: deja de coincidir en cuanto cambia la contraseña.
+     * Los tokens emitidos antes del cambio quedan revocados en {@code users.tokens_valid_after},
+     * que comprueban todas las instancias.
+     *
+     * @param request Token de restablecimiento y nueva contraseña
+     */
+    @Transactional
+    public void confirmPasswordReset(ConfirmPasswordResetRequest request) {
+        Claims claims;
+        try {
+            claims = jwtService.parsePasswordResetToken(request.getToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidOperationException("El enlace de restablecimiento no es válido o ha expirado");
+        }
+        
+        User user = userRepository.findByEmail(claims.getSubject())
+                .filter(candidate -> jwtService.matchesCurrentPassword(claims, candidate.getPassword()))
+                .orElseThrow(() -> new InvalidOperationException("El enlace de restablecimiento no es válido o ha expirado"));
+        
+        LocalDateTime revokedAt = LocalDateTime.now();
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setTokensValidAfter(revokedAt);
+        userRepository.save(user);
+        tokenRevocationService.revokeIssuedBefore(user.getId(), revokedAt);
     }
 }
\ No newline at end of file
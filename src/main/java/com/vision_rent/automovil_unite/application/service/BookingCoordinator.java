@@ -0,0 +1,55 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.dto.CreateRentalRequest;
+import com.vision_rent.automovil_unite.application.dto.ExtendRentalRequest;
+import com.vision_rent.automovil_unite.application.dto.RentalDto;
+import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.infrastructure.lock.StripedLockManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Coordinador de reservas que serializa las operaciones que compiten por el mismo vehículo.
+ * <p>
+ * El bloqueo en memoria se toma antes de abrir la transacción y se libera después del
+ * commit, de modo que la siguiente solicitud por el mismo vehículo ya ve la reserva
+ * anterior. Para varios nodos, {@link RentalService} bloquea además la fila del vehículo
+ * con {@code SELECT ... FOR UPDATE}.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingCoordinator {
+
+    private final RentalService rentalService;
+    private final RentalRepository rentalRepository;
+    private final StripedLockManager lockManager;
+
+    /**
+     * Crea un alquiler con el vehículo bloqueado.
+     *
+     * @param renterId ID del arrendatario
+     * @param request Datos del alquiler
+     * @return DTO del alquiler creado
+     */
+    public RentalDto createRental(Long renterId, CreateRentalRequest request) {
+        return lockManager.withVehicleLock(request.getVehicleId(),
+                () -> rentalService.createRental(renterId, request));
+    }
+
+    /**
+     * Extiende un alquiler con el vehículo bloqueado.
+     *
+     * @param request Datos de la extensión
+     * @param userId ID del usuario que realiza la operación
+     * @return DTO del alquiler extendido
+     */
+    public RentalDto extendRental(ExtendRentalRequest request, Long userId) {
+        // Consulta escalar: fuera de una transacción no se pueden cargar las relaciones del alquiler
+        Long vehicleId = rentalRepository.findVehicleIdById(request.getRentalId())
+                .orElseThrow(() -> new ResourceNotFoundException("Alquiler", "id", request.getRentalId()));
+
+        return lockManager.withVehicleLock(vehicleId,
+                () -> rentalService.extendRental(request, userId));
+    }
+}
@@ -0,0 +1,49 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.dto.RegisterDeviceRequest;
+import com.vision_rent.automovil_unite.domain.entity.DeviceToken;
+import com.vision_rent.automovil_unite.domain.repository.DeviceTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Servicio para la gestión de los dispositivos que reciben notificaciones push.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeviceTokenService {
+
+    private final DeviceTokenRepository deviceTokenRepository;
+    
+    /**
+     * Registra el token push de un dispositivo del usuario. Si el token ya existe (por ejemplo,
+     * otro usuario usó antes el mismo dispositivo), se reasigna al usuario actual.
+     *
+     * @param userId ID del usuario
+     * @param request Token y plataforma del dispositivo
+     */
+    @Transactional
+    public void registerDevice(Long userId, RegisterDeviceRequest request) {
+        DeviceToken deviceToken = deviceTokenRepository.findByToken(request.getToken())
+                .orElseGet(() -> DeviceToken.builder().token(request.getToken()).build());
+        
+        deviceToken.setUserId(userId);
+        deviceToken.setPlatform(request.getPlatform());
+        deviceToken.setLastSeenAt(LocalDateTime.now());
+        deviceTokenRepository.save(deviceToken);
+    }
+    
+    /**
+     * Elimina el token push de un dispositivo del usuario, por ejemplo al cerrar sesión.
+     *
+     * @param userId ID del usuario
+     * @param token Token del dispositivo
+     */
+    @Transactional
+    public void unregisterDevice(Long userId, String token) {
+        deviceTokenRepository.deleteByUserIdAndToken(userId, token);
+    }
+}
@@ -0,0 +1,247 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.domain.entity.User;
+import com.vision_rent.automovil_unite.domain.entity.Vehicle;
+import com.vision_rent.automovil_unite.domain.repository.UserRepository;
+import com.vision_rent.automovil_unite.domain.repository.VehicleRepository;
+import com.vision_rent.automovil_unite.infrastructure.cache.TopKLeaderboard;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que mantiene en memoria las clasificaciones de vehículos más alquilados,
+ * vehículos mejor calificados, marcas más populares y arrendatarios mejor calificados.
+ * <p>
+ * Las clasificaciones se actualizan tras el commit de cada evento relevante y se
+ * reconstruyen periódicamente desde la base de datos para corregir cualquier desvío.
+ * Mientras no estén cargadas, o si se piden más elementos que su capacidad, se
+ * consulta directamente la base de datos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private final VehicleRepository vehicleRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.leaderboards.capacity:100}")
+    private int capacity;
+
+    private TopKLeaderboard<Long> mostRentedVehicles;
+    private TopKLeaderboard<Long> topRatedVehicles;
+    private TopKLeaderboard<Long> topRatedRenters;
+    private TopKLeaderboard<String> popularBrands;
+
+    // Conteo completo por marca: las marcas son pocas y permite recalcular su puntaje
+    private final Map<String, Long> vehiclesByBrand = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        mostRentedVehicles = new TopKLeaderboard<>(capacity);
+        topRatedVehicles = new TopKLeaderboard<>(capacity);
+        topRatedRenters = new TopKLeaderboard<>(capacity);
+        popularBrands = new TopKLeaderboard<>(capacity);
+    }
+
+    /**
+     * Reconstruye todas las clasificaciones desde la base de datos.
+     * Se ejecuta al arrancar la aplicación y luego de forma periódica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.leaderboards.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.leaderboards.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        mostRentedVehicles.replaceAll(vehicleRepository.findMostRented(capacity).stream()
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> (double) vehicle.getRentCount())));
+
+        topRatedVehicles.replaceAll(vehicleRepository.findTopRated(capacity).stream()
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> (double) vehicle.getAverageRating())));
+
+        topRatedRenters.replaceAll(userRepository.findTopRatedRenters(capacity).stream()
+                .filter(user -> user.getAverageRating() != null)
+                .collect(Collectors.toMap(User::getId, user -> (double) user.getAverageRating())));
+
+        Map<String, Long> brandCounts = vehicleRepository.countByBrand();
+        vehiclesByBrand.clear();
+        vehiclesByBrand.putAll(brandCounts);
+        Map<String, Double> brandScores = new HashMap<>();
+        brandCounts.forEach((brand, count) -> brandScores.put(brand, count.doubleValue()));
+        popularBrands.replaceAll(brandScores);
+
+        log.debug("Clasificaciones reconstruidas desde la base de datos");
+    }
+
+    /**
+     * Obtiene los vehículos más alquilados.
+     *
+     * @param limit Límite de resultados
+     * @return Vehículos ordenados por número de alquileres
+     */
+    public List<Vehicle> getMostRentedVehicles(int limit) {
+        if (!mostRentedVehicles.canServe(limit)) {
+            return vehicleRepository.findMostRented(limit);
+        }
+        return resolveVehicles(mostRentedVehicles.top(limit));
+    }
+
+    /**
+     * Obtiene los vehículos mejor calificados.
+     *
+     * @param limit Límite de resultados
+     * @return Vehículos ordenados por calificación
+     */
+    public List<Vehicle> getTopRatedVehicles(int limit) {
+        if (!topRatedVehicles.canServe(limit)) {
+            return vehicleRepository.findTopRated(limit);
+        }
+        return resolveVehicles(topRatedVehicles.top(limit));
+    }
+
+    /**
+     * Obtiene las marcas con más vehículos publicados.
+     *
+     * @param limit Límite de resultados
+     * @return Marcas ordenadas por popularidad
+     */
+    public List<String> getMostPopularBrands(int limit) {
+        if (!popularBrands.canServe(limit)) {
+            return vehicleRepository.findMostPopularBrands(limit);
+        }
+        return popularBrands.top(limit);
+    }
+
+    /**
+     * Obtiene los arrendatarios mejor calificados.
+     *
+     * @param limit Límite de resultados
+     * @return Usuarios ordenados por calificación
+     */
+    public List<User> getTopRatedRenters(int limit) {
+        if (!topRatedRenters.canServe(limit)) {
+            return userRepository.findTopRatedRenters(limit);
+        }
+        List<Long> ids = topRatedRenters.top(limit);
+        return inOrder(ids, userRepository.findAllByIds(ids), User::getId);
+    }
+
+    /**
+     * Registra un nuevo alquiler de un vehículo.
+     *
+     * @param vehicleId ID del vehículo
+     * @param rentCount Número de alquileres tras el incremento
+     */
+    public void onVehicleRented(Long vehicleId, int rentCount) {
+        TransactionCallbacks.afterCommit(() -> mostRentedVehicles.update(vehicleId, rentCount));
+    }
+
+    /**
+     * Registra la nueva calificación promedio de un vehículo.
+     *
+     * @param vehicleId ID del vehículo
+     * @param averageRating Calificación promedio actualizada
+     */
+    public void onVehicleRated(Long vehicleId, Float averageRating) {
+        if (averageRating != null) {
+            TransactionCallbacks.afterCommit(() -> topRatedVehicles.update(vehicleId, averageRating));
+        }
+    }
+
+    /**
+     * Registra la nueva calificación promedio de un arrendatario.
+     *
+     * @param renter Arrendatario calificado
+     */
+    public void onRenterRated(User renter) {
+        if (renter.isRenter() && renter.getAverageRating() != null) {
+            Long renterId = renter.getId();
+            double rating = renter.getAverageRating();
+            TransactionCallbacks.afterCommit(() -> topRatedRenters.update(renterId, rating));
+        }
+    }
+
+    /**
+     * Registra la publicación de un vehículo de la marca indicada.
+     *
+     * @param brand Marca del vehículo
+     */
+    public void onVehicleCreated(String brand) {
+        TransactionCallbacks.afterCommit(() -> adjustBrand(brand, 1));
+    }
+
+    /**
+     * Registra el cambio de marca de un vehículo.
+     *
+     * @param previousBrand Marca anterior
+     * @param newBrand Marca nueva
+     */
+    public void onVehicleBrandChanged(String previousBrand, String newBrand) {
+        if (previousBrand != null && !previousBrand.equals(newBrand)) {
+            TransactionCallbacks.afterCommit(() -> {
+                adjustBrand(previousBrand, -1);
+                adjustBrand(newBrand, 1);
+            });
+        }
+    }
+
+    /**
+     * Registra la eliminación de un vehículo.
+     *
+     * @param vehicleId ID del vehículo
+     * @param brand Marca del vehículo
+     */
+    public void onVehicleDeleted(Long vehicleId, String brand) {
+        TransactionCallbacks.afterCommit(() -> {
+            mostRentedVehicles.remove(vehicleId);
+            topRatedVehicles.remove(vehicleId);
+            adjustBrand(brand, -1);
+        });
+    }
+
+    private void adjustBrand(String brand, long delta) {
+        if (brand == null) {
+            return;
+        }
+        Long count = vehiclesByBrand.merge(brand, delta, Long::sum);
+        if (count <= 0) {
+            vehiclesByBrand.remove(brand);
+            popularBrands.remove(brand);
+        } else {
+            popularBrands.update(brand, count);
+        }
+    }
+
+    private List<Vehicle> resolveVehicles(List<Long> ids) {
+        return inOrder(ids, vehicleRepository.findAllByIds(ids), Vehicle::getId);
+    }
+
+    /**
+     * Reordena las entidades obtenidas por ID según el orden de la clasificación,
+     * descartando las que ya no existen.
+     */
+    private static <T> List<T> inOrder(List<Long> ids, List<T> entities, Function<T, Long> idGetter) {
+        Map<Long, T> byId = entities.stream()
+                .collect(Collectors.toMap(idGetter, Function.identity()));
+        return ids.stream()
+                .map(id -> Optional.ofNullable(byId.get(id)))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+}
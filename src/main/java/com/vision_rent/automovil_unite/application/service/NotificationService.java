@@ -1,8 +1,12 @@
 package com.vision_rent.automovil_unite.application.service;
 
 import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationReadChangeDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationSyncResponse;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
 import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
 import com.vision_rent.automovil_unite.application.mapper.NotificationDtoMapper;
+import com.vision_rent.automovil_unite.application.query.NotificationQueryRepository;
 import com.vision_rent.automovil_unite.domain.entity.Notification;
 import com.vision_rent.automovil_unite.domain.entity.Payment;
 import com.vision_rent.automovil_unite.domain.entity.Receipt;
@@ -10,56 +14,121 @@ import com.vision_rent.automovil_unite.domain.entity.Rental;
 import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
 import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
-import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.service.NotificationDomainService;
+import com.vision_rent.automovil_unite.infrastructure.cache.UnreadNotificationCounter;
+import com.vision_rent.automovil_unite.infrastructure.messaging.NotificationOutbox;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Servicio para la gestión de notificaciones.
+ * Las notificaciones nuevas se registran en la bandeja de salida dentro de la transacción
+ * de negocio y se crean y envían en segundo plano tras el commit.
  */
 @Service
-
+@RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String SYNC_TOKEN_PREFIX = "sync2";
+
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final NotificationQueryRepository notificationQueryRepository;
     private final RentalRepository rentalRepository;
     private final NotificationDomainService notificationDomainService;
     private final NotificationDtoMapper notificationDtoMapper;
+    private final NotificationOutbox notificationOutbox;
+    private final UnreadNotificationCounter unreadCounter;
     private final NotificationWebSocketService webSocketService;
 
-
-    public NotificationService(NotificationRepository notificationRepository,
-                               UserRepository userRepository,
-                               RentalRepository rentalRepository,
-                               NotificationDomainService notificationDomainService,
-                               NotificationDtoMapper notificationDtoMapper,
-                               NotificationWebSocketService webSocketService) {
-        this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
-        this.rentalRepository = rentalRepository;
-        this.notificationDomainService = notificationDomainService;
-        this.notificationDtoMapper = notificationDtoMapper;
-        this.webSocketService = webSocketService;
-    }
-
     /**
-     * Obtiene todas las notificaciones de un usuario.
+     * Obtiene una página de notificaciones de un usuario, de la más reciente a la más antigua.
+     * Para pedir la página siguiente se pasa como {@code beforeId} el ID de la última recibida.
      *
      * @param userId ID del usuario
+     * @param beforeId ID a partir del cual se devuelven notificaciones anteriores (null para la primera página)
+     * @param limit Tamaño de la página (null para el tamaño por defecto)
      * @return Lista de DTOs de notificación
      */
     @Transactional(readOnly = true)
-    public List<NotificationDto> getNotificationsByUserId(Long userId) {
-        return notificationRepository.findByUserId(userId)
-                .stream()
-                .map(notificationDtoMapper::toDto)
-                .collect(Collectors.toList());
+    public List<NotificationDto> getNotificationsByUserId(Long userId, Long beforeId, Integer limit) {
+        return notificationQueryRepository.findPageByUserId(
+                userId, beforeId != null ? beforeId : Long.MAX_VALUE, pageSize(limit));
+    }
+    
+    /**
+     * Obtiene los cambios de las notificaciones de un usuario desde el último token de sincronización.
+     * <p>
+     * Sin token se devuelven las notificaciones más recientes y un token inicial; las anteriores
+     * se obtienen con {@link #getNotificationsByUserId(Long, Long, Integer)}. Con token solo se
+     * devuelven las notificaciones creadas después y las ya sincronizadas que se marcaron como
+     * leídas después, cada lista en orden de avance del token. Si {@code hasMore} es true, el
+     * cliente debe volver a sincronizar con el token devuelto.
+     * <p>
+     * Los cambios de lectura avanzan por la versión de lectura del usuario, que se asigna en
+     * orden de commit; una marca confirmada tarde nunca queda detrás del token.
+     *
+     * @param userId ID del usuario
+     * @param token Token de la sincronización anterior (null para la primera)
+     * @param limit Máximo de elementos por lista (null para el tamaño por defecto)
+     * @return Cambios y token para la siguiente sincronización
+     */
+    @Transactional(readOnly = true)
+    public NotificationSyncResponse syncNotifications(Long userId, String token, Integer limit) {
+        int size = pageSize(limit);
+        
+        if (token == null || token.isBlank()) {
+            long readVersion = notificationQueryRepository.findReadVersion(userId);
+            List<NotificationDto> latest = new ArrayList<>(
+                    notificationQueryRepository.findPageByUserId(userId, Long.MAX_VALUE, size));
+            Collections.reverse(latest);
+            long maxId = latest.isEmpty() ? 0L : latest.get(latest.size() - 1).getId();
+            return NotificationSyncResponse.builder()
+                    .created(latest)
+                    .read(List.of())
+                    .syncToken(encodeSyncToken(new SyncToken(maxId, readVersion, 0L)))
+                    .hasMore(false)
+                    .build();
+        }
+        
+        SyncToken previous = decodeSyncToken(token);
+        
+        // Se pide un elemento extra en cada lista para saber si quedan cambios
+        List<NotificationDto> created = notificationQueryRepository.findCreatedAfter(userId, previous.maxId(), size + 1);
+        List<NotificationReadChangeDto> read = notificationQueryRepository.findReadChanges(
+                userId, previous.maxId(), previous.readVersion(), previous.readId(), size + 1);
+        boolean hasMore = created.size() > size || read.size() > size;
+        if (created.size() > size) {
+            created = created.subList(0, size);
+        }
+        if (read.size() > size) {
+            read = read.subList(0, size);
+        }
+        
+        long maxId = created.isEmpty() ? previous.maxId() : created.get(created.size() - 1).getId();
+        NotificationReadChangeDto lastRead = read.isEmpty() ? null : read.get(read.size() - 1);
+        SyncToken next = lastRead == null
+                ? new SyncToken(maxId, previous.readVersion(), previous.readId())
+                : new SyncToken(maxId, lastRead.getReadVersion(), lastRead.getId());
+        
+        return NotificationSyncResponse.builder()
+                .created(created)
+                .read(read)
+                .syncToken(encodeSyncToken(next))
+                .hasMore(hasMore)
+                .build();
     }
     
     /**
@@ -92,7 +161,10 @@ public class NotificationService {
             throw new ResourceNotFoundException("Notificación", "id", notificationId);
         }
         
-        notificationRepository.markAsRead(notificationId);
+        if (notificationRepository.markAsRead(notificationId, userId)) {
+            TransactionCallbacks.afterCommit(() ->
+                    webSocketService.sendUnreadNotificationCount(userId, unreadCounter.add(userId, -1)));
+        }
     }
     
     /**
@@ -103,17 +175,20 @@ public class NotificationService {
     @Transactional
     public void markAllAsRead(Long userId) {
         notificationRepository.markAllAsReadForUser(userId);
+        TransactionCallbacks.afterCommit(() -> {
+            unreadCounter.reset(userId);
+            webSocketService.sendUnreadNotificationCount(userId, 0);
+        });
     }
     
     /**
-     * Cuenta las notificaciones no leídas de un usuario.
+     * Cuenta las notificaciones no leídas de un usuario a partir del contador en memoria.
      *
      * @param userId ID del usuario
      * @return Número de notificaciones no leídas
      */
-    @Transactional(readOnly = true)
     public int countUnreadNotifications(Long userId) {
-        return notificationRepository.countUnreadByUserId(userId);
+        return unreadCounter.get(userId);
     }
     
     /**
@@ -123,27 +198,15 @@ public class NotificationService {
      */
     @Transactional
     public void notifyRentalCreated(Rental rental) {
-        // Notificar al arrendatario
-        User renter = rental.getRenter();
-        Notification renterNotification = notificationDomainService.createRentalCreatedNotification(rental, renter);
-        renterNotification = notificationRepository.save(renterNotification);
-
-        // Enviar notificación en tiempo real al arrendatario
-        NotificationDto renterNotificationDto = notificationDtoMapper.toDto(renterNotification);
-        webSocketService.sendNotificationToUser(renter.getId(), renterNotificationDto);
-
-        // Notificar al propietario
-        User owner = rental.getVehicle().getOwner();
-        Notification ownerNotification = notificationDomainService.createRentalCreatedNotification(rental, owner);
-        ownerNotification = notificationRepository.save(ownerNotification);
-
-        // Enviar notificación en tiempo real al propietario
-        NotificationDto ownerNotificationDto = notificationDtoMapper.toDto(ownerNotification);
-        webSocketService.sendNotificationToUser(owner.getId(), ownerNotificationDto);
+        // Notificar al arrendatario y al propietario
+        notificationOutbox.enqueue(List.of(
+                notificationDomainService.createRentalCreatedNotification(rental, rental.getRenter()),
+                notificationDomainService.createRentalCreatedNotification(rental, rental.getVehicle().getOwner())));
     }
     
     /**
      * Notifica un pago recibido.
+     * Solo registra las notificaciones en la bandeja de salida; se crean y se envían tras el commit.
      *
      * @param payment Pago recibido
      * @param renterId ID del arrendatario
@@ -151,25 +214,10 @@ public class NotificationService {
      */
     @Transactional
     public void notifyPaymentReceived(Payment payment, Long renterId, Long ownerId) {
-        // Notificar al arrendatario
-        User renter = userRepository.findById(renterId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", renterId));
-        Notification renterNotification = notificationDomainService.createPaymentReceivedNotification(payment, renter);
-        renterNotification = notificationRepository.save(renterNotification);
-
-        // Enviar notificación en tiempo real al arrendatario
-        NotificationDto renterNotificationDto = notificationDtoMapper.toDto(renterNotification);
-        webSocketService.sendNotificationToUser(renterId, renterNotificationDto);
-
-        // Notificar al propietario
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", ownerId));
-        Notification ownerNotification = notificationDomainService.createPaymentReceivedNotification(payment, owner);
-        ownerNotification = notificationRepository.save(ownerNotification);
-
-        // Enviar notificación en tiempo real al propietario
-        NotificationDto ownerNotificationDto = notificationDtoMapper.toDto(ownerNotification);
-        webSocketService.sendNotificationToUser(ownerId, ownerNotificationDto);
+        // Notificar al arrendatario y al propietario
+        notificationOutbox.enqueue(List.of(
+                notificationDomainService.createPaymentReceivedNotification(payment, recipient(renterId)),
+                notificationDomainService.createPaymentReceivedNotification(payment, recipient(ownerId))));
     }
     
     /**
@@ -186,7 +234,39 @@ public class NotificationService {
         // Notificar solo al arrendatario
         User renter = rental.getRenter();
         Notification notification = notificationDomainService.createRentalEndingNotification(rental, renter, hoursRemaining);
-        notificationRepository.save(notification);
+        notificationOutbox.enqueue(List.of(notification));
+    }
+    
+    /**
+     * Notifica a los arrendatarios un lote de alquileres por finalizar.
+     *
+     * @param rentals Alquileres por finalizar, con arrendatario y vehículo cargados
+     * @param now Momento de referencia para calcular las horas restantes
+     */
+    @Transactional
+    public void notifyRentalsEnding(List<Rental> rentals, LocalDateTime now) {
+        List<Notification> notifications = new ArrayList<>(rentals.size());
+        for (Rental rental : rentals) {
+            long minutesRemaining = Math.max(0, Duration.between(now, rental.getEffectiveEndDateTime()).toMinutes());
+            int hoursRemaining = (int) ((minutesRemaining + 59) / 60);
+            notifications.add(notificationDomainService.createRentalEndingNotification(rental, rental.getRenter(), hoursRemaining));
+        }
+        notificationOutbox.enqueue(notifications);
+    }
+    
+    /**
+     * Notifica al arrendatario y al propietario un lote de devoluciones atrasadas.
+     *
+     * @param rentals Alquileres atrasados, con arrendatario, vehículo y propietario cargados
+     */
+    @Transactional
+    public void notifyRentalsLate(List<Rental> rentals) {
+        List<Notification> notifications = new ArrayList<>(rentals.size() * 2);
+        for (Rental rental : rentals) {
+            notifications.add(notificationDomainService.createRentalLateNotification(rental, rental.getRenter()));
+            notifications.add(notificationDomainService.createRentalLateNotification(rental, rental.getVehicle().getOwner()));
+        }
+        notificationOutbox.enqueue(notifications);
     }
     
     /**
@@ -196,15 +276,10 @@ public class NotificationService {
      */
     @Transactional
     public void notifyVehicleReturned(Rental rental) {
-        // Notificar al arrendatario
-        User renter = rental.getRenter();
-        Notification renterNotification = notificationDomainService.createVehicleReturnedNotification(rental, renter);
-        notificationRepository.save(renterNotification);
-        
-        // Notificar al propietario
-        User owner = rental.getVehicle().getOwner();
-        Notification ownerNotification = notificationDomainService.createVehicleReturnedNotification(rental, owner);
-        notificationRepository.save(ownerNotification);
+        // Notificar al arrendatario y al propietario
+        notificationOutbox.enqueue(List.of(
+                notificationDomainService.createVehicleReturnedNotification(rental, rental.getRenter()),
+                notificationDomainService.createVehicleReturnedNotification(rental, rental.getVehicle().getOwner())));
     }
     
     /**
@@ -216,11 +291,8 @@ public class NotificationService {
      */
     @Transactional
     public void notifyReviewReceived(Rental rental, Long recipientId, Float rating) {
-        User recipient = userRepository.findById(recipientId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", recipientId));
-        
-        Notification notification = notificationDomainService.createReviewReceivedNotification(rental, recipient, rating);
-        notificationRepository.save(notification);
+        Notification notification = notificationDomainService.createReviewReceivedNotification(rental, recipient(recipientId), rating);
+        notificationOutbox.enqueue(List.of(notification));
     }
     
     /**
@@ -233,8 +305,39 @@ public class NotificationService {
         // Notificar al arrendatario
         User renter = receipt.getRenter();
         Notification renterNotification = notificationDomainService.createReceiptGeneratedNotification(receipt, renter);
-        notificationRepository.save(renterNotification);
+        notificationOutbox.enqueue(List.of(renterNotification));
+    }
+    
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+    
+    private String encodeSyncToken(SyncToken token) {
+        String raw = SYNC_TOKEN_PREFIX + "|" + token.maxId() + "|" + token.readVersion() + "|" + token.readId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private SyncToken decodeSyncToken(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 4 || !SYNC_TOKEN_PREFIX.equals(parts[0])) {
+                throw new InvalidOperationException("Token de sincronización inválido");
+            }
+            return new SyncToken(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Token de sincronización inválido");
+        }
+    }
+    
+    // Posición de sincronización: última notificación creada y último cambio de lectura entregados
+    private record SyncToken(long maxId, long readVersion, long readId) {
+    }
+    
+    // Destinatario identificado solo por su ID: la bandeja de salida no necesita más datos
+    private User recipient(Long userId) {
+        return User.builder().id(userId).build();
     }
-
-
 }
\ No newline at end of file
@@ -1,18 +1,50 @@
 package com.vision_rent.automovil_unite.application.service;
 
+import com.vision_rent.automovil_unite.application.dto.NotificationBatchDto;
 import com.vision_rent.automovil_unite.application.dto.NotificationDto;
-import lombok.RequiredArgsConstructor;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
 
 /**
  * Servicio para enviar notificaciones en tiempo real utilizando WebSocket.
+ * <p>
+ * Los envíos a un usuario se entregan a sus sesiones de este nodo y, además, se reparten a los
+ * demás nodos en los que tiene sesiones (por ejemplo, el móvil en uno y el navegador en otro).
+ * Si no está conectado en ninguno, se omiten antes de convertir el mensaje; el cliente recupera
+ * lo pendiente con la sincronización al volver a conectarse.
  */
 @Service
-@RequiredArgsConstructor
 public class NotificationWebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ClusterMessageRouter clusterRouter;
+    private final Counter skippedCounter;
+
+    public NotificationWebSocketService(SimpMessagingTemplate messagingTemplate,
+                                        SimpUserRegistry userRegistry,
+                                        ClusterMessageRouter clusterRouter,
+                                        MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.clusterRouter = clusterRouter;
+        this.skippedCounter = meterRegistry.counter("websocket.sends.skipped");
+    }
+
+    /**
+     * Indica si el usuario tiene al menos una sesión WebSocket abierta en este nodo (en modo
+     * RELAY, en cualquier nodo: el registro de usuarios es compartido).
+     *
+     * @param userId ID del usuario
+     * @return true si está conectado
+     */
+    public boolean isConnected(Long userId) {
+        return userRegistry.getUser(userId.toString()) != null;
+    }
     
     /**
      * Envía una notificación en tiempo real a un usuario específico.
@@ -22,14 +54,17 @@ public class NotificationWebSocketService {
      */
     public void sendNotificationToUser(Long userId, NotificationDto notification) {
         // El destino es una cola específica para el usuario
-        messagingTemplate.convertAndSendToUser(
-                userId.toString(), 
-                "/queue/notifications", 
-                notification
-        );
-        
-        // También enviamos un contador actualizado
-        sendUnreadNotificationCount(userId, Math.toIntExact(notification.getUserId()));
+        sendToUser(userId, "/queue/notifications", notification);
+    }
+    
+    /**
+     * Envía en un solo mensaje varias notificaciones agrupadas y el contador de no leídas.
+     *
+     * @param userId ID del usuario destinatario
+     * @param batch Notificaciones agrupadas
+     */
+    public void sendNotificationBatchToUser(Long userId, NotificationBatchDto batch) {
+        sendToUser(userId, "/queue/notification-batch", batch);
     }
     
     /**
@@ -39,11 +74,7 @@ public class NotificationWebSocketService {
      * @param count Número de notificaciones no leídas
      */
     public void sendUnreadNotificationCount(Long userId, int count) {
-        messagingTemplate.convertAndSendToUser(
-                userId.toString(),
-                "/queue/notification-count",
-                count
-        );
+        sendToUser(userId, "/queue/notification-count", count);
     }
     
     /**
@@ -53,5 +84,18 @@ public class NotificationWebSocketService {
      */
     public void sendGlobalNotification(NotificationDto notification) {
         messagingTemplate.convertAndSend("/topic/global-notifications", notification);
+        clusterRouter.broadcast("/topic/global-notifications", notification);
+    }
+    
+    private void sendToUser(Long userId, String destination, Object payload) {
+        boolean local = isConnected(userId);
+        if (local) {
+            messagingTemplate.convertAndSendToUser(userId.toString(), destination, payload);
+        }
+        // La presencia solo registra nodos remotos, así que esto no duplica la entrega local
+        boolean forwarded = clusterRouter.forwardToUser(userId, destination, payload);
+        if (!local && !forwarded) {
+            skippedCounter.increment();
+        }
     }
 }
\ No newline at end of file
@@ -6,7 +6,6 @@ import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundExc
 import com.vision_rent.automovil_unite.application.mapper.PaymentDtoMapper;
 import com.vision_rent.automovil_unite.domain.entity.Payment;
 import com.vision_rent.automovil_unite.domain.entity.PaymentMethod;
-import com.vision_rent.automovil_unite.domain.entity.Receipt;
 import com.vision_rent.automovil_unite.domain.entity.Rental;
 import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.exception.InvalidPaymentMethodException;
@@ -16,7 +15,8 @@ import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
 import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
 import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.service.PaymentDomainService;
-import com.vision_rent.automovil_unite.domain.service.ReceiptDomainService;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentProcessor;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +26,9 @@ import java.util.stream.Collectors;
 
 /**
  * Servicio para la gestión de pagos.
+ * <p>
+ * El pago se registra como pendiente y se cobra en el gateway después del commit, fuera de
+ * la solicitud; {@link PaymentStateService} aplica después los resultados.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,16 +39,15 @@ public class PaymentService {
     private final RentalRepository rentalRepository;
     private final UserRepository userRepository;
     private final PaymentDomainService paymentDomainService;
-    private final ReceiptDomainService receiptDomainService;
-    private final NotificationService notificationService;
     private final PaymentDtoMapper paymentDtoMapper;
+    private final PaymentProcessor paymentProcessor;
     
     /**
-     * Procesa un pago para un alquiler.
+     * Registra un pago para un alquiler y lo envía al gateway tras el commit.
      *
      * @param userId ID del usuario que realiza el pago
      * @param request Datos del pago
-     * @return DTO del pago realizado
+     * @return DTO del pago en estado PENDING
      */
     @Transactional
     public PaymentDto processPayment(Long userId, ProcessPaymentRequest request) {
@@ -65,6 +67,11 @@ public class PaymentService {
             throw new InvalidOperationException("El alquiler no está en estado válido para realizar el pago");
         }
         
+        // Verificar que la reserva no haya vencido mientras se pagaba
+        if (rental.isHoldExpired()) {
+            throw new InvalidOperationException("La reserva del alquiler ha vencido");
+        }
+        
         // Obtener el método de pago
         PaymentMethod paymentMethod = paymentMethodRepository.findById(request.getPaymentMethodId())
                 .orElseThrow(() -> new ResourceNotFoundException("Método de pago", "id", request.getPaymentMethodId()));
@@ -95,25 +102,11 @@ public class PaymentService {
                 throw new InvalidOperationException("Tipo de pago inválido");
             }
             
-            // Procesar el pago
-            Payment payment = paymentDomainService.processPayment(rental, paymentMethod, amount, paymentType);
-            
-            // Si el pago es exitoso, actualizar el estado del alquiler
-            if ("COMPLETED".equals(payment.getStatus())) {
-                if ("PENDING".equals(rental.getStatus())) {
-                    rental.setStatus("CONFIRMED");
-                    rental.setPaid(true);
-                }
-                rentalRepository.save(rental);
-                
-                // Generar la boleta
-                Receipt receipt = receiptDomainService.generateReceipt(payment, rental);
-                payment.setReceiptUrl(receipt.getPdfUrl());
-                payment = paymentRepository.save(payment);
-                
-                // Enviar notificaciones
-                notificationService.notifyPaymentReceived(payment, rental.getRenter().getId(), rental.getVehicle().getOwner().getId());
-            }
+            // Registrar el pago pendiente; el cobro se hace fuera de la solicitud
+            Payment payment = paymentRepository.save(
+                    paymentDomainService.processPayment(rental, paymentMethod, amount, paymentType));
+            Long paymentId = payment.getId();
+            TransactionCallbacks.afterCommit(() -> paymentProcessor.submit(paymentId));
             
             return paymentDtoMapper.toDto(payment);
             
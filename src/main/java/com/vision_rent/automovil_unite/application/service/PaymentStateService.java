@@ -0,0 +1,196 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
+import com.vision_rent.automovil_unite.domain.entity.Payment;
+import com.vision_rent.automovil_unite.domain.entity.Receipt;
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.exception.PaymentProcessingException;
+import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
+import com.vision_rent.automovil_unite.domain.repository.ReceiptRepository;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.domain.service.LedgerDomainService;
+import com.vision_rent.automovil_unite.domain.service.PaymentDomainService;
+import com.vision_rent.automovil_unite.domain.service.ReceiptDomainService;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGateway;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGatewayRequest;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGatewayResult;
+import com.vision_rent.automovil_unite.infrastructure.pdf.ReceiptPdfGenerator;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.RentalHoldScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Servicio que aplica a los pagos los resultados del gateway.
+ * <p>
+ * Los resultados llegan del procesador asíncrono y de los webhooks, en cualquier orden y a
+ * veces repetidos. Cada resultado se aplica con la fila del pago bloqueada y pasa por la
+ * máquina de estados del dominio: un resultado repetido no cambia nada y uno que llega tarde
+ * (por ejemplo, una autorización de un pago ya completado) se descarta. Los pagos completados
+ * y los reembolsos se registran en el libro mayor de propietarios en la misma transacción.
+ * <p>
+ * Cuando el fallo lo decide la aplicación y no el gateway (reserva vencida, plazo agotado) o
+ * llega una autorización para un pago ya fallido, la operación se cancela en el gateway tras
+ * el commit para liberar los fondos retenidos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentStateService {
+
+    private static final String RENTAL_EXPIRED_REASON = "La reserva del alquiler ha vencido";
+
+    private final PaymentRepository paymentRepository;
+    private final RentalRepository rentalRepository;
+    private final ReceiptRepository receiptRepository;
+    private final PaymentDomainService paymentDomainService;
+    private final ReceiptDomainService receiptDomainService;
+    private final NotificationService notificationService;
+    private final VehicleAvailabilityIndex availabilityIndex;
+    private final RentalHoldScheduler rentalHoldScheduler;
+    private final ReceiptPdfGenerator receiptPdfGenerator;
+    private final LedgerDomainService ledgerDomainService;
+    private final PaymentGateway paymentGateway;
+
+    /**
+     * Obtiene los datos para la siguiente llamada al gateway de un pago.
+     *
+     * @param paymentId ID del pago
+     * @return Datos del pago, o vacío si ya no está pendiente ni autorizado
+     */
+    @Transactional(readOnly = true)
+    public Optional<PaymentGatewayRequest> prepareGatewayRequest(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+                .filter(payment -> "PENDING".equals(payment.getStatus()) || "AUTHORIZED".equals(payment.getStatus()))
+                .map(payment -> new PaymentGatewayRequest(
+                        payment.getId(),
+                        payment.getStatus(),
+                        payment.getExternalId(),
+                        payment.getAmount(),
+                        payment.getCurrency(),
+                        payment.getPaymentMethod().getTokenizedData()));
+    }
+
+    /**
+     * Aplica el resultado de una operación o de un evento del gateway.
+     *
+     * @param paymentId ID del pago
+     * @param result Resultado del gateway
+     * @return Estado del pago tras aplicar el resultado
+     */
+    @Transactional
+    public String applyGatewayResult(Long paymentId, PaymentGatewayResult result) {
+        return apply(paymentId, result, false);
+    }
+
+    /**
+     * Da por fallido un pago que la aplicación ya no espera, como uno pendiente que agotó su
+     * plazo, y cancela su operación en el gateway.
+     *
+     * @param paymentId ID del pago
+     * @param failureReason Motivo del fallo
+     * @return Estado del pago tras aplicar el fallo
+     */
+    @Transactional
+    public String failPayment(Long paymentId, String failureReason) {
+        return apply(paymentId, PaymentGatewayResult.failed(null, failureReason), true);
+    }
+
+    private String apply(Long paymentId, PaymentGatewayResult result, boolean failedLocally) {
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pago", "id", paymentId));
+
+        String targetStatus = result.status();
+        String failureReason = result.failureReason();
+
+        if ("PENDING".equals(targetStatus)) {
+            // El gateway espera una acción del cliente; solo se guarda su identificador
+            if (result.gatewayId() != null && !result.gatewayId().equals(payment.getExternalId())) {
+                payment.setExternalId(result.gatewayId());
+                paymentRepository.save(payment);
+            }
+            return payment.getStatus();
+        }
+
+        // No se captura una autorización si la reserva venció mientras se procesaba el pago
+        if ("AUTHORIZED".equals(targetStatus) && !acceptsPayment(payment.getRental())) {
+            targetStatus = "FAILED";
+            failureReason = RENTAL_EXPIRED_REASON;
+            failedLocally = true;
+        }
+
+        try {
+            if (!paymentDomainService.transition(payment, targetStatus)) {
+                return payment.getStatus();
+            }
+        } catch (PaymentProcessingException e) {
+            log.info("Se descarta el resultado {} del pago {} en estado {}", targetStatus, paymentId, payment.getStatus());
+            // Autorización que llega tras dar el pago por fallido: se liberan los fondos
+            if ("AUTHORIZED".equals(targetStatus) && "FAILED".equals(payment.getStatus())) {
+                cancelInGateway(paymentId, result.gatewayId() != null ? result.gatewayId() : payment.getExternalId());
+            }
+            return payment.getStatus();
+        }
+
+        if (result.gatewayId() != null) {
+            payment.setExternalId(result.gatewayId());
+        }
+        if ("FAILED".equals(targetStatus)) {
+            payment.setFailureReason(failureReason);
+            if (failedLocally) {
+                cancelInGateway(paymentId, payment.getExternalId());
+            }
+        }
+
+        if ("COMPLETED".equals(targetStatus)) {
+            complete(payment);
+        } else {
+            paymentRepository.save(payment);
+            if ("REFUNDED".equals(targetStatus)) {
+                ledgerDomainService.recordRefund(payment);
+            }
+        }
+        return payment.getStatus();
+    }
+
+    private void cancelInGateway(Long paymentId, String gatewayId) {
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                paymentGateway.cancel(paymentId, gatewayId);
+            } catch (RuntimeException e) {
+                // La autorización caduca sola en el gateway; solo se retienen los fondos más tiempo
+                log.warn("No se pudo cancelar en el gateway el pago fallido {}", paymentId, e);
+            }
+        });
+    }
+
+    private boolean acceptsPayment(Rental rental) {
+        return ("PENDING".equals(rental.getStatus()) || "CONFIRMED".equals(rental.getStatus()))
+                && !rental.isHoldExpired();
+    }
+
+    private void complete(Payment payment) {
+        Rental rental = payment.getRental();
+        if ("PENDING".equals(rental.getStatus())) {
+            rental.setStatus("CONFIRMED");
+            rental.setPaid(true);
+            rentalHoldScheduler.release(rental.getId());
+        }
+        availabilityIndex.track(rentalRepository.save(rental));
+
+        // Generar la boleta; su PDF se renderiza tras el commit
+        Receipt receipt = receiptRepository.save(receiptDomainService.generateReceipt(payment, rental));
+        payment.setReceiptUrl(receipt.getPdfUrl());
+        payment = paymentRepository.save(payment);
+        ledgerDomainService.recordPayment(payment, rental);
+        TransactionCallbacks.afterCommit(() -> receiptPdfGenerator.submit(receipt.getId()));
+
+        // Enviar notificaciones
+        notificationService.notifyPaymentReceived(payment, rental.getRenter().getId(), rental.getVehicle().getOwner().getId());
+    }
+}
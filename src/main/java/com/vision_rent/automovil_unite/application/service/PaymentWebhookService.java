@@ -0,0 +1,55 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGateway;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGatewayEvent;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentWebhookEventJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio que recibe los webhooks del gateway de pago.
+ * <p>
+ * Verifica la firma, descarta los eventos ya procesados por su ID y aplica el resto con
+ * {@link PaymentStateService}, todo en una transacción: si el evento falla al aplicarse no
+ * queda registrado y el gateway lo vuelve a entregar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookService {
+
+    private final PaymentGateway gateway;
+    private final PaymentStateService paymentStateService;
+    private final PaymentRepository paymentRepository;
+    private final PaymentWebhookEventJpaRepository webhookEventRepository;
+
+    /**
+     * Procesa un webhook del gateway de pago.
+     *
+     * @param payload Cuerpo de la solicitud tal como se recibió
+     * @param signature Cabecera de firma
+     */
+    @Transactional
+    public void handle(String payload, String signature) {
+        PaymentGatewayEvent event = gateway.parseWebhook(payload, signature);
+
+        if (webhookEventRepository.insertIfAbsent(event.eventId(), event.type(), event.paymentId()) == 0) {
+            log.debug("Evento de pago {} repetido; se descarta", event.eventId());
+            return;
+        }
+        if (event.result() == null || event.paymentId() == null) {
+            return;
+        }
+        if (paymentRepository.findById(event.paymentId()).isEmpty()) {
+            log.warn("Evento de pago {} para un pago inexistente: {}", event.eventId(), event.paymentId());
+            return;
+        }
+
+        String status = paymentStateService.applyGatewayResult(event.paymentId(), event.result());
+        log.debug("Evento de pago {} ({}) aplicado; pago {} en estado {}",
+                event.eventId(), event.type(), event.paymentId(), status);
+    }
+}
@@ -0,0 +1,61 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.dto.OwnerBalanceDto;
+import com.vision_rent.automovil_unite.application.dto.PayoutDto;
+import com.vision_rent.automovil_unite.application.mapper.PayoutDtoMapper;
+import com.vision_rent.automovil_unite.domain.repository.OwnerBalanceRepository;
+import com.vision_rent.automovil_unite.domain.repository.PayoutRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de consulta de los saldos y pagos de los propietarios.
+ * <p>
+ * Los saldos se mantienen con cada asiento del libro mayor, así que consultarlos lee una fila
+ * por moneda sin importar el historial del propietario.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayoutService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OwnerBalanceRepository ownerBalanceRepository;
+    private final PayoutRepository payoutRepository;
+    private final PayoutDtoMapper payoutDtoMapper;
+
+    /**
+     * Obtiene el saldo pendiente de pago del propietario en cada moneda.
+     *
+     * @param ownerId ID del propietario
+     * @return Saldos por moneda
+     */
+    @Transactional(readOnly = true)
+    public List<OwnerBalanceDto> getBalances(Long ownerId) {
+        return ownerBalanceRepository.findByOwnerId(ownerId)
+                .stream()
+                .map(payoutDtoMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene los últimos pagos liquidados al propietario.
+     *
+     * @param ownerId ID del propietario
+     * @param limit Número máximo de pagos
+     * @return Pagos, del más reciente al más antiguo
+     */
+    @Transactional(readOnly = true)
+    public List<PayoutDto> getPayouts(Long ownerId, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return payoutRepository.findByOwnerId(ownerId, size)
+                .stream()
+                .map(payoutDtoMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.domain.entity.Receipt;
+import com.vision_rent.automovil_unite.domain.repository.ReceiptRepository;
+import com.vision_rent.automovil_unite.domain.service.ReceiptDomainService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Servicio que prepara las boletas para renderizar su PDF y registra el resultado.
+ * <p>
+ * La boleta se lee y se actualiza en transacciones cortas separadas; el renderizado y la
+ * escritura del archivo ocurren entre ambas, sin ninguna transacción abierta.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReceiptPdfService {
+
+    private final ReceiptRepository receiptRepository;
+    private final ReceiptDomainService receiptDomainService;
+    private final NotificationService notificationService;
+
+    /**
+     * Carga la boleta con las asociaciones que necesita el PDF.
+     *
+     * @param receiptId ID de la boleta
+     * @return Boleta con la ruta de su PDF asignada, o vacío si no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<Receipt> loadForRendering(Long receiptId) {
+        return receiptRepository.findById(receiptId)
+                .map(receipt -> {
+                    if (receipt.getPdfUrl() == null) {
+                        receipt.setPdfUrl(receiptDomainService.generateReceiptPdf(receipt));
+                    }
+                    return receipt;
+                });
+    }
+
+    /**
+     * Registra que el PDF de la boleta ya está almacenado. Una boleta en generación, o cuya
+     * generación se dio por fallida, pasa a emitida y se notifica al arrendatario; una boleta
+     * regenerada conserva su estado.
+     *
+     * @param receiptId ID de la boleta
+     * @param pdfUrl Ruta del PDF almacenado
+     */
+    @Transactional
+    public void markRendered(Long receiptId, String pdfUrl) {
+        Receipt receipt = receiptRepository.findByIdForUpdate(receiptId).orElse(null);
+        if (receipt == null) {
+            return;
+        }
+
+        boolean issuing = "PROCESSING".equals(receipt.getStatus()) || "FAILED".equals(receipt.getStatus());
+        if (!issuing && pdfUrl.equals(receipt.getPdfUrl())) {
+            return;
+        }
+
+        receipt.setPdfUrl(pdfUrl);
+        if (issuing) {
+            receipt.setStatus("ISSUED");
+        }
+        Receipt savedReceipt = receiptRepository.save(receipt);
+
+        if (issuing) {
+            notificationService.notifyReceiptGenerated(savedReceipt);
+        }
+    }
+}
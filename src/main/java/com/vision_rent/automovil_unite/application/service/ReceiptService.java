@@ -1,9 +1,11 @@
 package com.vision_rent.automovil_unite.application.service;
 
 import com.vision_rent.automovil_unite.application.dto.ReceiptDto;
+import com.vision_rent.automovil_unite.application.dto.ReceiptSummaryDto;
 import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
 import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
 import com.vision_rent.automovil_unite.application.mapper.ReceiptDtoMapper;
+import com.vision_rent.automovil_unite.application.query.ReceiptQueryRepository;
 import com.vision_rent.automovil_unite.domain.entity.Payment;
 import com.vision_rent.automovil_unite.domain.entity.Receipt;
 import com.vision_rent.automovil_unite.domain.entity.Rental;
@@ -11,10 +13,15 @@ import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
 import com.vision_rent.automovil_unite.domain.repository.ReceiptRepository;
 import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
 import com.vision_rent.automovil_unite.domain.service.ReceiptDomainService;
+import com.vision_rent.automovil_unite.infrastructure.pdf.ReceiptPdfGenerator;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.storage.FileStorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,14 +33,17 @@ import java.util.stream.Collectors;
 public class ReceiptService {
 
     private final ReceiptRepository receiptRepository;
+    private final ReceiptQueryRepository receiptQueryRepository;
     private final PaymentRepository paymentRepository;
     private final RentalRepository rentalRepository;
     private final ReceiptDomainService receiptDomainService;
-    private final NotificationService notificationService;
     private final ReceiptDtoMapper receiptDtoMapper;
+    private final ReceiptPdfGenerator receiptPdfGenerator;
+    private final FileStorageService fileStorageService;
     
     /**
-     * Genera una boleta para un pago.
+     * Genera una boleta para un pago. La boleta queda en generación hasta que su PDF se
+     * almacena; entonces se emite y se notifica al arrendatario.
      *
      * @param paymentId ID del pago
      * @return DTO de la boleta generada
@@ -60,8 +70,8 @@ public class ReceiptService {
         Receipt receipt = receiptDomainService.generateReceipt(payment, rental);
         Receipt savedReceipt = receiptRepository.save(receipt);
         
-        // Enviar notificación
-        notificationService.notifyReceiptGenerated(savedReceipt);
+        // Renderizar el PDF tras el commit
+        TransactionCallbacks.afterCommit(() -> receiptPdfGenerator.submit(savedReceipt.getId()));
         
         return receiptDtoMapper.toDto(savedReceipt);
     }
@@ -89,6 +99,46 @@ public class ReceiptService {
         return receiptDtoMapper.toDto(receipt);
     }
     
+    /**
+     * Obtiene el PDF de una boleta.
+     *
+     * @param receiptId ID de la boleta
+     * @param userId ID del usuario que solicita
+     * @return Recurso con el PDF
+     */
+    @Transactional(readOnly = true)
+    public Resource getReceiptPdf(Long receiptId, Long userId) {
+        Receipt receipt = receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Boleta", "id", receiptId));
+        
+        // Verificar que el usuario es el arrendatario o el propietario
+        boolean isRenter = receipt.getRenter().getId().equals(userId);
+        boolean isOwner = receipt.getOwner().getId().equals(userId);
+        
+        if (!isRenter && !isOwner) {
+            throw new InvalidOperationException("No tiene permiso para acceder a esta boleta");
+        }
+        
+        if ("PROCESSING".equals(receipt.getStatus()) || receipt.getPdfUrl() == null) {
+            throw new InvalidOperationException("El PDF de la boleta aún se está generando");
+        }
+        
+        return fileStorageService.loadAsResource(receipt.getPdfUrl());
+    }
+    
+    /**
+     * Inicia la regeneración en segundo plano de los PDF de las boletas emitidas antes de
+     * una fecha.
+     *
+     * @param issuedBefore Fecha de emisión límite (exclusiva); si es nula, todas las boletas
+     */
+    public void regenerateReceiptPdfs(LocalDateTime issuedBefore) {
+        LocalDateTime limit = issuedBefore != null ? issuedBefore : LocalDateTime.now();
+        if (!receiptPdfGenerator.regenerate(limit)) {
+            throw new InvalidOperationException("Ya hay una regeneración de boletas en curso");
+        }
+    }
+    
     /**
      * Obtiene una boleta por su número.
      *
@@ -126,6 +176,17 @@ public class ReceiptService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de las boletas de un usuario como arrendatario para listados.
+     *
+     * @param userId ID del usuario
+     * @return Lista de resúmenes de boleta
+     */
+    @Transactional(readOnly = true)
+    public List<ReceiptSummaryDto> getReceiptSummariesByRenterId(Long userId) {
+        return receiptQueryRepository.findSummariesByRenterId(userId);
+    }
+    
     /**
      * Obtiene todas las boletas generadas para un usuario como propietario.
      *
@@ -140,6 +201,17 @@ public class ReceiptService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de las boletas de un usuario como propietario para listados.
+     *
+     * @param userId ID del usuario
+     * @return Lista de resúmenes de boleta
+     */
+    @Transactional(readOnly = true)
+    public List<ReceiptSummaryDto> getReceiptSummariesByOwnerId(Long userId) {
+        return receiptQueryRepository.findSummariesByOwnerId(userId);
+    }
+    
     /**
      * Obtiene todas las boletas generadas para un alquiler.
      *
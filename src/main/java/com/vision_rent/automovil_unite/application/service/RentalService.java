@@ -4,23 +4,31 @@ package com.vision_rent.automovil_unite.application.service;
 import com.vision_rent.automovil_unite.application.dto.CreateRentalRequest;
 import com.vision_rent.automovil_unite.application.dto.ExtendRentalRequest;
 import com.vision_rent.automovil_unite.application.dto.RentalDto;
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
 import com.vision_rent.automovil_unite.application.dto.ReturnVehicleRequest;
 import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
 import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
 import com.vision_rent.automovil_unite.application.exception.UnauthorizedOperationException;
 import com.vision_rent.automovil_unite.application.mapper.RentalDtoMapper;
+import com.vision_rent.automovil_unite.application.query.RentalQueryRepository;
 import com.vision_rent.automovil_unite.domain.entity.Rental;
 import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.entity.Vehicle;
 import com.vision_rent.automovil_unite.domain.exception.InvalidRentalOperationException;
 import com.vision_rent.automovil_unite.domain.exception.VehicleNotAvailableException;
+import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
 import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
 import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.repository.VehicleRepository;
+import com.vision_rent.automovil_unite.domain.service.LedgerDomainService;
 import com.vision_rent.automovil_unite.domain.service.RentalDomainService;
 import com.vision_rent.automovil_unite.domain.service.UserDomainService;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.RentalHoldScheduler;
+import com.vision_rent.automovil_unite.infrastructure.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -36,27 +44,38 @@ import java.util.stream.Collectors;
 public class RentalService {
 
     private final RentalRepository rentalRepository;
+    private final RentalQueryRepository rentalQueryRepository;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final RentalDomainService rentalDomainService;
     private final UserDomainService userDomainService;
     private final RentalDtoMapper rentalDtoMapper;
+    private final VehicleAvailabilityIndex availabilityIndex;
+    private final LeaderboardService leaderboardService;
+    private final RentalHoldScheduler rentalHoldScheduler;
+    private final TokenRevocationService tokenRevocationService;
+    private final PaymentRepository paymentRepository;
+    private final LedgerDomainService ledgerDomainService;
     
     /**
      * Crea un nuevo alquiler.
+     * La fila del vehículo se bloquea ({@code SELECT ... FOR UPDATE}) antes de cualquier
+     * verificación; con READ COMMITTED, la verificación de solapamiento posterior ve las
+     * reservas confirmadas por quien tuvo el bloqueo antes.
+     * Si el alquiler queda pendiente de pago, reserva el intervalo durante el plazo de retención.
      *
      * @param renterId ID del arrendatario
      * @param request Datos del alquiler
      * @return DTO del alquiler creado
      */
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public RentalDto createRental(Long renterId, CreateRentalRequest request) {
+        Vehicle vehicle = vehicleRepository.findByIdForUpdate(request.getVehicleId())
+                .orElseThrow(() -> new ResourceNotFoundException("Vehículo", "id", request.getVehicleId()));
+        
         User renter = userRepository.findById(renterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", renterId));
         
-        Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
-                .orElseThrow(() -> new ResourceNotFoundException("Vehículo", "id", request.getVehicleId()));
-        
         // Verificar si el usuario puede alquilar
         if (!userDomainService.canRentVehicle(renter)) {
             throw new UnauthorizedOperationException("El usuario no puede alquilar vehículos");
@@ -95,12 +114,17 @@ public class RentalService {
             rental.setPaymentId(request.getPaymentId());
             rental.setPaid(true);
             rental.setStatus("CONFIRMED");
+        } else {
+            rental.setHoldExpiresAt(rentalHoldScheduler.newHoldExpiry());
         }
         
         Rental savedRental = rentalRepository.save(rental);
+        availabilityIndex.track(savedRental);
+        rentalHoldScheduler.scheduleExpiry(savedRental);
         
         // Incrementar contador de alquileres del vehículo
-        vehicleRepository.incrementRentCount(vehicle.getId());
+        int rentCount = vehicleRepository.incrementRentCount(vehicle.getId());
+        leaderboardService.onVehicleRented(vehicle.getId(), rentCount);
         
         return rentalDtoMapper.toDto(savedRental);
     }
@@ -128,11 +152,17 @@ public class RentalService {
             throw new InvalidOperationException("Solo se pueden confirmar alquileres pendientes");
         }
         
+        if (rental.isHoldExpired()) {
+            throw new InvalidOperationException("La reserva del alquiler ha vencido");
+        }
+        
         rental.setPaymentId(paymentId);
         rental.setPaid(true);
         rental.setStatus("CONFIRMED");
         
         Rental updatedRental = rentalRepository.save(rental);
+        availabilityIndex.track(updatedRental);
+        rentalHoldScheduler.release(rentalId);
         return rentalDtoMapper.toDto(updatedRental);
     }
     
@@ -143,11 +173,14 @@ public class RentalService {
      * @param userId ID del usuario que realiza la operación
      * @return DTO del alquiler extendido
      */
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public RentalDto extendRental(ExtendRentalRequest request, Long userId) {
         Rental rental = rentalRepository.findById(request.getRentalId())
                 .orElseThrow(() -> new ResourceNotFoundException("Alquiler", "id", request.getRentalId()));
         
+        // Bloquear la fila del vehículo antes de verificar solapamientos
+        vehicleRepository.findByIdForUpdate(rental.getVehicle().getId());
+        
         // Verificar si el usuario es el arrendatario
         if (!rental.getRenter().getId().equals(userId)) {
             throw new UnauthorizedOperationException("Solo el arrendatario puede extender el alquiler");
@@ -158,8 +191,9 @@ public class RentalService {
             throw new InvalidRentalOperationException("No se puede extender el alquiler");
         }
         
-        // Verificar disponibilidad del vehículo para la extensión
-        if (rentalRepository.existsActiveRentalForVehicle(rental.getVehicle().getId(), rental.getEndDateTime(), request.getNewEndDateTime())) {
+        // Verificar disponibilidad del vehículo para la extensión, sin contar el propio alquiler
+        if (rentalRepository.existsOtherActiveRentalForVehicle(rental.getId(), rental.getVehicle().getId(),
+                rental.getEndDateTime(), request.getNewEndDateTime())) {
             throw new VehicleNotAvailableException("El vehículo ya está reservado para las nuevas fechas");
         }
         
@@ -173,6 +207,8 @@ public class RentalService {
         
         // Actualizar el alquiler
         rental.setExtendedUntil(request.getNewEndDateTime());
+        // El nuevo fin vuelve a avisarse cuando entre en la ventana de fin próximo
+        rental.setEndingSoonNotified(false);
         rental.setTotalPrice(rental.getTotalPrice().add(additionalPrice));
         
         // Si se proporciona un paymentId, marcar como pagado
@@ -185,6 +221,7 @@ public class RentalService {
         }
         
         Rental updatedRental = rentalRepository.save(rental);
+        availabilityIndex.track(updatedRental);
         return rentalDtoMapper.toDto(updatedRental);
     }
     
@@ -220,6 +257,7 @@ public class RentalService {
             if (returnedRental.isLateReturn() && rentalDomainService.shouldBanUser(returnedRental, rental.getRenter())) {
                 userDomainService.banUser(rental.getRenter());
                 userRepository.save(rental.getRenter());
+                tokenRevocationService.revoke(rental.getRenter().getId(), rental.getRenter().getTokensValidAfter());
             }
             
             // Actualizar la fecha del último alquiler del vehículo
@@ -228,6 +266,16 @@ public class RentalService {
             vehicleRepository.save(vehicle);
             
             Rental savedRental = rentalRepository.save(returnedRental);
+            availabilityIndex.track(savedRental);
+            
+            // Registrar el recargo por devolución tardía en el libro mayor del propietario
+            if (returnedRental.isLateReturn()) {
+                ledgerDomainService.recordLateFee(returnedRental);
+            }
+            // Devuelto el vehículo, la garantía vuelve al arrendatario
+            paymentRepository.findByRentalId(rental.getId()).stream()
+                    .filter(payment -> "SECURITY_DEPOSIT".equals(payment.getType()) && "COMPLETED".equals(payment.getStatus()))
+                    .forEach(ledgerDomainService::recordDepositRelease);
             return rentalDtoMapper.toDto(savedRental);
         } catch (InvalidRentalOperationException e) {
             throw new InvalidOperationException(e.getMessage());
@@ -262,6 +310,17 @@ public class RentalService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de los alquileres de un arrendatario para listados.
+     *
+     * @param renterId ID del arrendatario
+     * @return Lista de resúmenes de alquiler
+     */
+    @Transactional(readOnly = true)
+    public List<RentalSummaryDto> getRentalSummariesByRenterId(Long renterId) {
+        return rentalQueryRepository.findSummariesByRenterId(renterId);
+    }
+    
     /**
      * Obtiene todos los alquileres de un vehículo.
      *
@@ -276,6 +335,17 @@ public class RentalService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de los alquileres de un vehículo para listados.
+     *
+     * @param vehicleId ID del vehículo
+     * @return Lista de resúmenes de alquiler
+     */
+    @Transactional(readOnly = true)
+    public List<RentalSummaryDto> getRentalSummariesByVehicleId(Long vehicleId) {
+        return rentalQueryRepository.findSummariesByVehicleId(vehicleId);
+    }
+    
     /**
      * Obtiene todos los alquileres de vehículos de un propietario.
      *
@@ -290,6 +360,17 @@ public class RentalService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de los alquileres de los vehículos de un propietario para listados.
+     *
+     * @param ownerId ID del propietario
+     * @return Lista de resúmenes de alquiler
+     */
+    @Transactional(readOnly = true)
+    public List<RentalSummaryDto> getRentalSummariesByVehicleOwnerId(Long ownerId) {
+        return rentalQueryRepository.findSummariesByVehicleOwnerId(ownerId);
+    }
+    
     /**
      * Cancela un alquiler.
      *
@@ -318,6 +399,8 @@ public class RentalService {
         rental.setStatus("CANCELLED");
         
         Rental cancelledRental = rentalRepository.save(rental);
+        availabilityIndex.track(cancelledRental);
+        rentalHoldScheduler.release(rentalId);
         return rentalDtoMapper.toDto(cancelledRental);
     }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.vision_rent.automovil_unite.application.service;
 
 import com.vision_rent.automovil_unite.application.dto.CreateReviewRequest;
 import com.vision_rent.automovil_unite.application.dto.ReviewDto;
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
 import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
 import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
 import com.vision_rent.automovil_unite.application.exception.UnauthorizedOperationException;
 import com.vision_rent.automovil_unite.application.mapper.ReviewDtoMapper;
+import com.vision_rent.automovil_unite.application.query.ReviewQueryRepository;
 import com.vision_rent.automovil_unite.domain.entity.Rental;
 import com.vision_rent.automovil_unite.domain.entity.Review;
 import com.vision_rent.automovil_unite.domain.entity.User;
@@ -31,10 +33,12 @@ import java.util.stream.Collectors;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final ReviewQueryRepository reviewQueryRepository;
     private final RentalRepository rentalRepository;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final UserDomainService userDomainService;
+    private final LeaderboardService leaderboardService;
     private final ReviewDtoMapper reviewDtoMapper = ReviewDtoMapper.INSTANCE;
     
     /**
@@ -104,6 +108,7 @@ public class ReviewService {
             User renter = rental.getRenter();
             userDomainService.updateUserRating(renter, request.getRating());
             userRepository.save(renter);
+            leaderboardService.onRenterRated(renter);
             
             // Actualizar el alquiler con la calificación del arrendatario
             rental.setRenterRating(request.getRating());
@@ -116,6 +121,7 @@ public class ReviewService {
             Vehicle vehicle = rental.getVehicle();
             vehicle.updateRating(request.getRating());
             vehicleRepository.save(vehicle);
+            leaderboardService.onVehicleRated(vehicle.getId(), vehicle.getAverageRating());
             
             // Actualizar el alquiler con la calificación del vehículo
             rental.setVehicleRating(request.getRating());
@@ -155,6 +161,17 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de las reseñas escritas por un usuario para listados.
+     *
+     * @param reviewerId ID del autor
+     * @return Lista de resúmenes de reseña
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewSummaryDto> getReviewSummariesByReviewerId(Long reviewerId) {
+        return reviewQueryRepository.findSummariesByReviewerId(reviewerId);
+    }
+    
     /**
      * Obtiene todas las reseñas recibidas por un usuario.
      *
@@ -169,6 +186,17 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de las reseñas recibidas por un usuario para listados.
+     *
+     * @param reviewedId ID del usuario reseñado
+     * @return Lista de resúmenes de reseña
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewSummaryDto> getReviewSummariesByReviewedId(Long reviewedId) {
+        return reviewQueryRepository.findSummariesByReviewedId(reviewedId);
+    }
+    
     /**
      * Obtiene todas las reseñas de un vehículo.
      *
@@ -183,6 +211,17 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene el resumen de las reseñas de un vehículo para listados.
+     *
+     * @param vehicleId ID del vehículo
+     * @return Lista de resúmenes de reseña
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewSummaryDto> getReviewSummariesByVehicleId(Long vehicleId) {
+        return reviewQueryRepository.findSummariesByVehicleId(vehicleId);
+    }
+    
     /**
      * Obtiene todas las reseñas de un alquiler.
      *
@@ -224,6 +263,7 @@ public class ReviewService {
             User reviewed = existingReview.getReviewed();
             userDomainService.updateUserRating(reviewed, reviewDto.getRating());
             userRepository.save(reviewed);
+            leaderboardService.onRenterRated(reviewed);
             
             // Actualizar el alquiler
             Rental rental = existingReview.getRental();
@@ -234,6 +274,7 @@ public class ReviewService {
             Vehicle vehicle = existingReview.getVehicle();
             vehicle.updateRating(reviewDto.getRating());
             vehicleRepository.save(vehicle);
+            leaderboardService.onVehicleRated(vehicle.getId(), vehicle.getAverageRating());
             
             // Actualizar el alquiler
             Rental rental = existingReview.getRental();
@@ -7,6 +7,7 @@ import com.vision_rent.automovil_unite.application.mapper.UserDtoMapper;
 import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.service.UserDomainService;
+import com.vision_rent.automovil_unite.infrastructure.security.TokenRevocationService;
 import com.vision_rent.automovil_unite.infrastructure.storage.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -28,6 +29,8 @@ public class UserService {
     private final UserDomainService userDomainService;
     private final FileStorageService fileStorageService;
     private final UserDtoMapper userDtoMapper;
+    private final LeaderboardService leaderboardService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Obtiene un usuario por su ID.
@@ -172,7 +175,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public List<UserDto> getTopRatedRenters(int limit) {
-        return userRepository.findTopRatedRenters(limit)
+        return leaderboardService.getTopRatedRenters(limit)
                 .stream()
                 .map(userDtoMapper::toDto)
                 .collect(Collectors.toList());
@@ -206,6 +209,7 @@ public class UserService {
         userDomainService.banUser(user);
         
         User updatedUser = userRepository.save(user);
+        tokenRevocationService.revoke(userId, updatedUser.getTokensValidAfter());
         return userDtoMapper.toDto(updatedUser);
     }
     
@@ -223,6 +227,7 @@ public class UserService {
         userDomainService.unbanUser(user);
         
         User updatedUser = userRepository.save(user);
+        tokenRevocationService.restore(userId);
         return userDtoMapper.toDto(updatedUser);
     }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.vision_rent.automovil_unite.application.service;
 
 import com.vision_rent.automovil_unite.application.dto.CreateVehicleRequest;
 import com.vision_rent.automovil_unite.application.dto.VehicleDto;
+import com.vision_rent.automovil_unite.application.dto.VehicleSearchRequest;
+import com.vision_rent.automovil_unite.application.dto.VehicleSearchResponse;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
 import com.vision_rent.automovil_unite.application.exception.ResourceNotFoundException;
 import com.vision_rent.automovil_unite.application.exception.UnauthorizedOperationException;
 import com.vision_rent.automovil_unite.application.mapper.UserDtoMapper;
@@ -11,6 +14,7 @@ import com.vision_rent.automovil_unite.domain.entity.Vehicle;
 import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.repository.VehicleRepository;
 import com.vision_rent.automovil_unite.domain.service.UserDomainService;
+import com.vision_rent.automovil_unite.domain.valueobject.VehicleSearchCriteria;
 import com.vision_rent.automovil_unite.infrastructure.storage.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,7 +22,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,6 +41,7 @@ public class VehicleService {
     private final FileStorageService fileStorageService;
     private final VehicleDtoMapper vehicleDtoMapper;
     private final UserDtoMapper userDtoMapper;
+    private final LeaderboardService leaderboardService;
 
     /**
      * Crea un nuevo vehículo.
@@ -57,6 +64,7 @@ public class VehicleService {
         vehicle.setOwner(owner);
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        leaderboardService.onVehicleCreated(savedVehicle.getBrand());
         return vehicleDtoMapper.toDto(savedVehicle);
     }
 
@@ -139,6 +147,74 @@ public class VehicleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca vehículos disponibles con filtros, paginación por cursor y conteos por faceta.
+     * Las facetas solo se calculan en la primera página, ya que no dependen del cursor.
+     *
+     * @param request Filtros y paginación
+     * @return Página de resultados
+     */
+    @Transactional(readOnly = true)
+    public VehicleSearchResponse searchVehicles(VehicleSearchRequest request) {
+        if ((request.getStartDateTime() == null) != (request.getEndDateTime() == null)) {
+            throw new InvalidOperationException("Debe indicar la fecha de inicio y la de fin para filtrar por disponibilidad");
+        }
+        if (request.getStartDateTime() != null && request.getStartDateTime().isAfter(request.getEndDateTime())) {
+            throw new InvalidOperationException("La fecha de inicio debe ser anterior a la fecha de fin");
+        }
+
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder()
+                .brand(request.getBrand())
+                .category(request.getCategory())
+                .fuelType(request.getFuelType())
+                .transmission(request.getTransmission())
+                .seats(request.getSeats())
+                .minPrice(request.getMinPrice())
+                .maxPrice(request.getMaxPrice())
+                .startDateTime(request.getStartDateTime())
+                .endDateTime(request.getEndDateTime())
+                .build();
+
+        int size = request.getSize() != null ? request.getSize() : 20;
+        Long afterId = decodeCursor(request.getCursor());
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<Vehicle> vehicles = vehicleRepository.search(criteria, afterId, size + 1);
+        boolean hasMore = vehicles.size() > size;
+        if (hasMore) {
+            vehicles = vehicles.subList(0, size);
+        }
+
+        return VehicleSearchResponse.builder()
+                .items(vehicles.stream()
+                        .map(vehicleDtoMapper::toDto)
+                        .collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(vehicles.get(vehicles.size() - 1).getId()) : null)
+                .facets(afterId == null ? vehicleRepository.countFacets(criteria) : null)
+                .build();
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith("id:")) {
+                throw new InvalidOperationException("Cursor de paginación inválido");
+            }
+            return Long.parseLong(decoded.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Cursor de paginación inválido");
+        }
+    }
+
     /**
      * Obtiene los vehículos más alquilados.
      *
@@ -147,7 +223,7 @@ public class VehicleService {
      */
     @Transactional(readOnly = true)
     public List<VehicleDto> getMostRentedVehicles(int limit) {
-        return vehicleRepository.findMostRented(limit)
+        return leaderboardService.getMostRentedVehicles(limit)
                 .stream()
                 .map(vehicleDtoMapper::toDto)
                 .collect(Collectors.toList());
@@ -161,7 +237,7 @@ public class VehicleService {
      */
     @Transactional(readOnly = true)
     public List<VehicleDto> getTopRatedVehicles(int limit) {
-        return vehicleRepository.findTopRated(limit)
+        return leaderboardService.getTopRatedVehicles(limit)
                 .stream()
                 .map(vehicleDtoMapper::toDto)
                 .collect(Collectors.toList());
@@ -175,7 +251,7 @@ public class VehicleService {
      */
     @Transactional(readOnly = true)
     public List<String> getMostPopularBrands(int limit) {
-        return vehicleRepository.findMostPopularBrands(limit);
+        return leaderboardService.getMostPopularBrands(limit);
     }
 
     /**
@@ -196,6 +272,8 @@ public class VehicleService {
             throw new UnauthorizedOperationException("Solo el propietario puede actualizar el vehículo");
         }
 
+        String previousBrand = existingVehicle.getBrand();
+
         // Actualizar campos editables
         existingVehicle.setBrand(vehicleDto.getBrand());
         existingVehicle.setModel(vehicleDto.getModel());
@@ -210,6 +288,7 @@ public class VehicleService {
         existingVehicle.setAvailable(vehicleDto.isAvailable());
 
         Vehicle updatedVehicle = vehicleRepository.save(existingVehicle);
+        leaderboardService.onVehicleBrandChanged(previousBrand, updatedVehicle.getBrand());
         return vehicleDtoMapper.toDto(updatedVehicle);
     }
 
@@ -257,5 +336,6 @@ public class VehicleService {
         // TODO: Verificar si el vehículo tiene alquileres activos antes de eliminar
 
         vehicleRepository.delete(vehicle);
+        leaderboardService.onVehicleDeleted(vehicle.getId(), vehicle.getBrand());
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.vision_rent.automovil_unite.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de dominio que representa el token de notificaciones push de un dispositivo.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceToken extends BaseEntity {
+    private Long userId;
+    private String token;
+    private String platform; // ANDROID, IOS, WEB
+    private LocalDateTime lastSeenAt;
+}
@@ -0,0 +1,23 @@
+package com.vision_rent.automovil_unite.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidad de dominio que representa el saldo pendiente de pago a un propietario en una moneda.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerBalance extends BaseEntity {
+    private Long ownerId;
+    private String currency;
+    private BigDecimal balance;
+}
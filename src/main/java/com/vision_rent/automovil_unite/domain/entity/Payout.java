@@ -0,0 +1,28 @@
+package com.vision_rent.automovil_unite.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidad de dominio que representa el pago de un saldo a un propietario dentro de un lote.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Payout extends BaseEntity {
+
+    public static final String STATUS_PENDING = "PENDING";
+
+    private Long batchId;
+    private Long ownerId;
+    private BigDecimal amount;
+    private String currency;
+    private String status; // PENDING
+}
@@ -32,6 +32,7 @@ public class Receipt extends BaseEntity {
     private Integer rentalDays;
     private BigDecimal pricePerDay;
     private String currency;
-    private String status; // ISSUED, CANCELED, REFUNDED
+    private String status; // PROCESSING, ISSUED, FAILED, CANCELED, REFUNDED
     private String pdfUrl; // URL al PDF de la boleta
+    private int pdfRetries; // Reintentos de generación del PDF
 }
\ No newline at end of file
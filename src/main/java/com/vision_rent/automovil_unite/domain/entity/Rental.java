@@ -27,7 +27,7 @@ public class Rental extends BaseEntity {
     private LocalDateTime actualReturnDateTime;
     private BigDecimal totalPrice;
     private BigDecimal securityDeposit;
-    private String status;  // PENDING, CONFIRMED, ACTIVE, COMPLETED, CANCELLED, LATE
+    private String status;  // PENDING, CONFIRMED, ACTIVE, COMPLETED, CANCELLED, LATE, EXPIRED
     private String paymentId;
     private boolean paid;
     private Float renterRating;
@@ -41,6 +41,8 @@ public class Rental extends BaseEntity {
     private BigDecimal discountAmount;
     private BigDecimal lateReturnFee;
     private LocalDateTime extendedUntil;
+    private LocalDateTime holdExpiresAt;  // Fin de la retención de un alquiler PENDING
+    private boolean endingSoonNotified;  // Ya se avisó el fin próximo del alquiler
     
     public boolean isActive() {
         LocalDateTime now = LocalDateTime.now();
@@ -54,6 +56,14 @@ public class Rental extends BaseEntity {
                !("COMPLETED".equals(status) || "CANCELLED".equals(status));
     }
     
+    public LocalDateTime getEffectiveEndDateTime() {
+        return extendedUntil != null ? extendedUntil : endDateTime;
+    }
+    
+    public boolean isHoldExpired() {
+        return "PENDING".equals(status) && holdExpiresAt != null && !holdExpiresAt.isAfter(LocalDateTime.now());
+    }
+    
     public boolean isEligibleForExtension() {
         return isActive() && vehicle.isAvailableForRental();
     }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -35,6 +36,7 @@ public class User extends BaseEntity {
     private boolean banned;
     private Float averageRating;
     private int reportCount;
+    private LocalDateTime tokensValidAfter;     // Los tokens emitidos hasta este instante no valen
     
     public User(String email, String password, String firstName, String lastName) {
         this.email = email;
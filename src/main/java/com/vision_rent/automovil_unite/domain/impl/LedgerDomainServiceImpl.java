@@ -0,0 +1,161 @@
+package com.vision_rent.automovil_unite.domain.impl;
+
+import com.vision_rent.automovil_unite.domain.entity.Payment;
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.repository.LedgerRepository;
+import com.vision_rent.automovil_unite.domain.service.LedgerDomainService;
+import com.vision_rent.automovil_unite.domain.valueobject.LedgerLine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación del libro mayor de propietarios.
+ * <p>
+ * Con cada asiento se suma al saldo del propietario (cuenta {@link #OWNER_PAYABLE}, de saldo
+ * acreedor) el importe de sus movimientos, de modo que leer el saldo es una lectura por clave,
+ * sin recorrer el historial. Las garantías no pertenecen al propietario: se abonan a
+ * {@link #DEPOSIT_LIABILITY} a nombre del arrendatario y salen de ella al devolverse o
+ * reembolsarse, con un único asiento por pago para no devolverlas dos veces.
+ */
+@Slf4j
+@Service
+public class LedgerDomainServiceImpl implements LedgerDomainService {
+
+    /** Dinero cobrado por la plataforma a través del gateway. */
+    public static final String PLATFORM_CASH = "PLATFORM_CASH";
+    /** Lo que la plataforma debe a cada propietario. */
+    public static final String OWNER_PAYABLE = "OWNER_PAYABLE";
+    /** Garantías cobradas que la plataforma debe devolver a cada arrendatario. */
+    public static final String DEPOSIT_LIABILITY = "DEPOSIT_LIABILITY";
+    /** Lo que cada arrendatario debe a la plataforma (recargos aún no cobrados). */
+    public static final String RENTER_RECEIVABLE = "RENTER_RECEIVABLE";
+    /** Descuentos a arrendatarios que asume la plataforma. */
+    public static final String DISCOUNT_EXPENSE = "DISCOUNT_EXPENSE";
+
+    private static final String TYPE_RENTAL = "RENTAL";
+    private static final String TYPE_SECURITY_DEPOSIT = "SECURITY_DEPOSIT";
+
+    private final LedgerRepository ledgerRepository;
+    private final String defaultCurrency;
+
+    public LedgerDomainServiceImpl(LedgerRepository ledgerRepository,
+                                   @Value("${app.ledger.default-currency:PEN}") String defaultCurrency) {
+        this.ledgerRepository = ledgerRepository;
+        this.defaultCurrency = defaultCurrency;
+    }
+
+    @Override
+    public void recordPayment(Payment payment, Rental rental) {
+        String currency = currencyOf(payment);
+
+        if (TYPE_SECURITY_DEPOSIT.equals(payment.getType())) {
+            post(JournalType.PAYMENT, "PAYMENT", payment.getId(), currency, "Garantía del alquiler " + rental.getId(), List.of(
+                    new LedgerLine(PLATFORM_CASH, null, payment.getAmount()),
+                    new LedgerLine(DEPOSIT_LIABILITY, rental.getRenter().getId(), payment.getAmount().negate())));
+            return;
+        }
+
+        Long ownerId = rental.getVehicle().getOwner().getId();
+        post(JournalType.PAYMENT, "PAYMENT", payment.getId(), currency, "Pago del alquiler " + rental.getId(), List.of(
+                new LedgerLine(PLATFORM_CASH, null, payment.getAmount()),
+                new LedgerLine(OWNER_PAYABLE, ownerId, payment.getAmount().negate())));
+
+        // El descuento se aplicó al precio del alquiler, no a sus extensiones
+        if (TYPE_RENTAL.equals(payment.getType()) && rental.isDiscountApplied() && isPositive(rental.getDiscountAmount())) {
+            post(JournalType.DISCOUNT, "RENTAL", rental.getId(), currency, "Descuento del alquiler " + rental.getId(), List.of(
+                    new LedgerLine(DISCOUNT_EXPENSE, null, rental.getDiscountAmount()),
+                    new LedgerLine(OWNER_PAYABLE, ownerId, rental.getDiscountAmount().negate())));
+        }
+    }
+
+    @Override
+    public void recordRefund(Payment payment) {
+        if (TYPE_SECURITY_DEPOSIT.equals(payment.getType())) {
+            recordDepositRelease(payment);
+            return;
+        }
+        Rental rental = payment.getRental();
+        Long ownerId = rental.getVehicle().getOwner().getId();
+        String currency = currencyOf(payment);
+        post(JournalType.REFUND, "PAYMENT", payment.getId(), currency, "Reembolso del pago " + payment.getId(), List.of(
+                new LedgerLine(OWNER_PAYABLE, ownerId, payment.getAmount()),
+                new LedgerLine(PLATFORM_CASH, null, payment.getAmount().negate())));
+
+        // Sin alquiler cobrado tampoco hay descuento que asumir: se anula con la misma referencia que el asiento DISCOUNT
+        if (TYPE_RENTAL.equals(payment.getType()) && rental.isDiscountApplied() && isPositive(rental.getDiscountAmount())) {
+            post(JournalType.DISCOUNT_REVERSAL, "RENTAL", rental.getId(), currency, "Anulación del descuento del alquiler " + rental.getId(), List.of(
+                    new LedgerLine(OWNER_PAYABLE, ownerId, rental.getDiscountAmount()),
+                    new LedgerLine(DISCOUNT_EXPENSE, null, rental.getDiscountAmount().negate())));
+        }
+    }
+
+    @Override
+    public void recordDepositRelease(Payment payment) {
+        if (!TYPE_SECURITY_DEPOSIT.equals(payment.getType())) {
+            throw new IllegalArgumentException("El pago " + payment.getId() + " no es una garantía");
+        }
+        // Devolución y reembolso comparten asiento: el que llegue primero la registra
+        Long renterId = payment.getRental().getRenter().getId();
+        post(JournalType.DEPOSIT_RELEASE, "PAYMENT", payment.getId(), currencyOf(payment), "Devolución de la garantía " + payment.getId(), List.of(
+                new LedgerLine(DEPOSIT_LIABILITY, renterId, payment.getAmount()),
+                new LedgerLine(PLATFORM_CASH, null, payment.getAmount().negate())));
+    }
+
+    @Override
+    public void recordLateFee(Rental rental) {
+        if (!isPositive(rental.getLateReturnFee())) {
+            return;
+        }
+        Long ownerId = rental.getVehicle().getOwner().getId();
+        post(JournalType.LATE_FEE, "RENTAL", rental.getId(), defaultCurrency, "Recargo del alquiler " + rental.getId(), List.of(
+                new LedgerLine(RENTER_RECEIVABLE, rental.getRenter().getId(), rental.getLateReturnFee()),
+                new LedgerLine(OWNER_PAYABLE, ownerId, rental.getLateReturnFee().negate())));
+    }
+
+    @Override
+    public void recordPayout(Payout payout) {
+        post(JournalType.PAYOUT, "PAYOUT", payout.getId(), payout.getCurrency(), "Liquidación al propietario " + payout.getOwnerId(), List.of(
+                new LedgerLine(OWNER_PAYABLE, payout.getOwnerId(), payout.getAmount()),
+                new LedgerLine(PLATFORM_CASH, null, payout.getAmount().negate())));
+    }
+
+    private void post(JournalType type, String referenceType, Long referenceId, String currency,
+                      String description, List<LedgerLine> lines) {
+        BigDecimal total = lines.stream().map(LedgerLine::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.signum() != 0) {
+            throw new IllegalStateException("Asiento " + type + " descuadrado: " + total);
+        }
+
+        Optional<Long> journalId = ledgerRepository.createJournal(type.name(), referenceType, referenceId, currency, description);
+        if (journalId.isEmpty()) {
+            log.debug("Asiento {} de {} {} ya registrado", type, referenceType, referenceId);
+            return;
+        }
+        ledgerRepository.saveEntries(journalId.get(), currency, lines);
+
+        for (LedgerLine line : lines) {
+            if (OWNER_PAYABLE.equals(line.account())) {
+                // Cuenta de saldo acreedor: un crédito (negativo) aumenta lo que se debe
+                ledgerRepository.addToOwnerBalance(line.holderId(), currency, line.amount().negate());
+            }
+        }
+    }
+
+    private String currencyOf(Payment payment) {
+        return payment.getCurrency() != null ? payment.getCurrency() : defaultCurrency;
+    }
+
+    private static boolean isPositive(BigDecimal amount) {
+        return amount != null && amount.signum() > 0;
+    }
+
+    private enum JournalType {
+        PAYMENT, REFUND, DEPOSIT_RELEASE, LATE_FEE, DISCOUNT, DISCOUNT_REVERSAL, PAYOUT
+    }
+}
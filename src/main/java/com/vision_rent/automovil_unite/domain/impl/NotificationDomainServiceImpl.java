@@ -49,11 +49,23 @@ public class NotificationDomainServiceImpl implements NotificationDomainService
                 rental.getVehicle().getBrand(),
                 rental.getVehicle().getModel(),
                 hoursRemaining,
-                rental.getEndDateTime().format(DATE_FORMATTER));
+                rental.getEffectiveEndDateTime().format(DATE_FORMATTER));
                 
         return createNotification(recipient, title, message, "RENTAL_ENDING", "RENTAL", rental.getId());
     }
 
+    @Override
+    public Notification createRentalLateNotification(Rental rental, User recipient) {
+        String title = "Devolución atrasada";
+        String message = String.format("El vehículo %s %s no ha sido devuelto. " +
+                        "Fecha de fin: %s",
+                rental.getVehicle().getBrand(),
+                rental.getVehicle().getModel(),
+                rental.getEffectiveEndDateTime().format(DATE_FORMATTER));
+                
+        return createNotification(recipient, title, message, "RENTAL_LATE", "RENTAL", rental.getId());
+    }
+
     @Override
     public Notification createVehicleReturnedNotification(Rental rental, User recipient) {
         String title = "Vehículo devuelto";
@@ -92,6 +104,29 @@ public class NotificationDomainServiceImpl implements NotificationDomainService
         return createNotification(recipient, title, message, "RECEIPT_GENERATED", "RECEIPT", receipt.getId());
     }
     
+    @Override
+    public Notification createDigestNotification(User recipient, String type, int count) {
+        String title = String.format("Tienes %d notificaciones nuevas", count);
+        String message = switch (type) {
+            case "PAYMENT_RECEIVED" -> String.format("Se han recibido %d pagos nuevos.", count);
+            case "RENTAL_CREATED" -> String.format("Se han creado %d alquileres nuevos.", count);
+            case "REVIEW_RECEIVED" -> String.format("Has recibido %d reseñas nuevas.", count);
+            case "RECEIPT_GENERATED" -> String.format("Se han generado %d boletas nuevas.", count);
+            default -> String.format("Tienes %d notificaciones nuevas de tipo %s.", count, type);
+        };
+        
+        Notification notification = new Notification();
+        notification.setUser(recipient);
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setType("DIGEST");
+        notification.setRelatedEntityType(type);
+        notification.setRead(false);
+        notification.setDeepLink("/app/notifications");
+        
+        return notification;
+    }
+    
     /**
      * Método helper para crear una notificación.
      */
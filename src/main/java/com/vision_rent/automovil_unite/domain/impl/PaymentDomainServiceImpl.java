@@ -15,6 +15,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Implementación del servicio de dominio para operaciones relacionadas con pagos.
@@ -25,29 +28,46 @@ public class PaymentDomainServiceImpl implements PaymentDomainService {
     private static final BigDecimal SECURITY_DEPOSIT_RATE = new BigDecimal("0.30"); // 30% del total
     private static final String DEFAULT_CURRENCY = "PEN";
     
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+            "PENDING", Set.of("AUTHORIZED", "COMPLETED", "FAILED"),
+            "AUTHORIZED", Set.of("COMPLETED", "FAILED"),
+            "COMPLETED", Set.of("REFUNDED"));
+    
     @Override
     public Payment processPayment(Rental rental, PaymentMethod paymentMethod, BigDecimal amount, String paymentType) {
         if (!validatePaymentMethod(paymentMethod)) {
             throw new InvalidPaymentMethodException("El método de pago no es válido o está expirado");
         }
         
-        // En un sistema real, aquí se integraría con un gateway de pago
-        // Este es un simulador básico
-        
+        // El cobro lo realiza el gateway de forma asíncrona; el pago nace pendiente
         Payment payment = new Payment();
         payment.setRental(rental);
         payment.setPayer(rental.getRenter());
         payment.setPaymentMethod(paymentMethod);
         payment.setAmount(amount);
         payment.setCurrency(DEFAULT_CURRENCY);
-        payment.setStatus("COMPLETED"); // En un sistema real, podría ser PENDING inicialmente
+        payment.setStatus("PENDING");
         payment.setType(paymentType);
         payment.setPaymentDate(LocalDateTime.now());
-        payment.setExternalId("SIM-" + System.currentTimeMillis()); // Simulado
+        // Referencia propia hasta que el gateway asigne su identificador
+        payment.setExternalId("PAY-" + UUID.randomUUID());
         
         return payment;
     }
 
+    @Override
+    public boolean transition(Payment payment, String targetStatus) {
+        if (targetStatus.equals(payment.getStatus())) {
+            return false;
+        }
+        if (!TRANSITIONS.getOrDefault(payment.getStatus(), Set.of()).contains(targetStatus)) {
+            throw new PaymentProcessingException(String.format(
+                    "Transición de pago no permitida: %s → %s", payment.getStatus(), targetStatus));
+        }
+        payment.setStatus(targetStatus);
+        return true;
+    }
+
     @Override
     public Payment refundPayment(Payment payment, BigDecimal amount, String reason) {
         if (!"COMPLETED".equals(payment.getStatus())) {
@@ -7,23 +7,26 @@ import com.vision_rent.automovil_unite.domain.entity.Payment;
 import com.vision_rent.automovil_unite.domain.entity.Receipt;
 import com.vision_rent.automovil_unite.domain.entity.Rental;
 import com.vision_rent.automovil_unite.domain.service.ReceiptDomainService;
+import com.vision_rent.automovil_unite.domain.service.ReceiptNumberAllocator;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 /**
  * Implementación del servicio de dominio para operaciones relacionadas con boletas/recibos.
  */
 @Service
+@RequiredArgsConstructor
 public class ReceiptDomainServiceImpl implements ReceiptDomainService {
 
     private static final BigDecimal TAX_RATE = new BigDecimal("0.18"); // 18% IGV
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ReceiptNumberAllocator receiptNumberAllocator;
     
     @Override
     public Receipt generateReceipt(Payment payment, Rental rental) {
@@ -54,9 +57,8 @@ public class ReceiptDomainServiceImpl implements ReceiptDomainService {
         receipt.setRentalDays(rentalDays);
         receipt.setPricePerDay(rental.getVehicle().getPricePerDay());
         receipt.setCurrency(payment.getCurrency());
-        receipt.setStatus("ISSUED");
-        
-        // Generar PDF (simulado)
+        // El PDF se genera de forma asíncrona; la boleta se emite cuando queda almacenado
+        receipt.setStatus("PROCESSING");
         receipt.setPdfUrl(generateReceiptPdf(receipt));
         
         return receipt;
@@ -79,17 +81,13 @@ public class ReceiptDomainServiceImpl implements ReceiptDomainService {
 
     @Override
     public String generateReceiptNumber() {
-        // Formato: YYYYMMDD-XXXXX (fecha actual + 5 dígitos aleatorios)
-        String datePart = LocalDateTime.now().format(DATE_FORMATTER);
-        String randomPart = String.format("%05d", (int) (Math.random() * 100000));
-        
-        return datePart + "-" + randomPart;
+        // Formato: YYYYMMDD-NNNNN (fecha actual + secuencia diaria)
+        return receiptNumberAllocator.nextReceiptNumber();
     }
 
     @Override
     public String generateReceiptPdf(Receipt receipt) {
-        // En un sistema real, aquí se generaría un PDF real y se almacenaría en un servicio de almacenamiento
-        // Para esta simulación, simplemente generamos una URL ficticia
+        // Ruta relativa al almacenamiento donde se escribe el PDF
         String filename = "receipt_" + receipt.getReceiptNumber().replace("-", "_") + ".pdf";
         return "receipts/" + receipt.getRenter().getId() + "/" + filename;
     }
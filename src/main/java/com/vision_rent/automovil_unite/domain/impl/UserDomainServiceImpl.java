@@ -6,6 +6,8 @@ import com.vision_rent.automovil_unite.domain.service.UserDomainService;
 import com.vision_rent.automovil_unite.domain.valueobject.Role;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 /**
  * Implementación del servicio de dominio para operaciones relacionadas con usuarios.
  */
@@ -96,6 +98,8 @@ public class UserDomainServiceImpl implements UserDomainService {
     @Override
     public User banUser(User user) {
         user.setBanned(true);
+        // Los tokens emitidos antes de la suspensión no vuelven a valer al reactivarlo
+        user.setTokensValidAfter(LocalDateTime.now());
         return user;
     }
 
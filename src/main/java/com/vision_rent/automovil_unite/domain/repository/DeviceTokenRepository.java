@@ -0,0 +1,17 @@
+package com.vision_rent.automovil_unite.domain.repository;
+
+import com.vision_rent.automovil_unite.domain.entity.DeviceToken;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interfaz de repositorio para la entidad DeviceToken en el dominio.
+ * Define las operaciones permitidas de persistencia para los tokens de dispositivos.
+ */
+public interface DeviceTokenRepository {
+    DeviceToken save(DeviceToken deviceToken);
+    Optional<DeviceToken> findByToken(String token);
+    List<String> findTokensByUserId(Long userId);
+    int deleteByUserIdAndToken(Long userId, String token);
+}
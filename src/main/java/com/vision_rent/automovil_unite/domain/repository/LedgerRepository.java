@@ -0,0 +1,28 @@
+package com.vision_rent.automovil_unite.domain.repository;
+
+import com.vision_rent.automovil_unite.domain.valueobject.LedgerLine;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interfaz de repositorio para los asientos del libro mayor de propietarios.
+ */
+public interface LedgerRepository {
+
+    /**
+     * Crea el asiento de un hecho de negocio si aún no existe.
+     *
+     * @return ID del asiento creado, o vacío si el hecho ya estaba registrado
+     */
+    Optional<Long> createJournal(String journalType, String referenceType, Long referenceId,
+                                 String currency, String description);
+
+    void saveEntries(Long journalId, String currency, List<LedgerLine> lines);
+
+    /**
+     * Suma {@code delta} al saldo del propietario en la moneda, creándolo si no existe.
+     */
+    void addToOwnerBalance(Long ownerId, String currency, BigDecimal delta);
+}
@@ -12,11 +12,12 @@ import java.util.Optional;
  */
 public interface NotificationRepository {
     Notification save(Notification notification);
+    List<Notification> saveAll(List<Notification> notifications);
     Optional<Notification> findById(Long id);
     List<Notification> findByUserId(Long userId);
     List<Notification> findUnreadByUserId(Long userId);
     List<Notification> findByUserIdAndType(Long userId, String type);
     int countUnreadByUserId(Long userId);
-    void markAsRead(Long notificationId);
-    void markAllAsReadForUser(Long userId);
+    boolean markAsRead(Long notificationId, Long userId);
+    int markAllAsReadForUser(Long userId);
 }
\ No newline at end of file
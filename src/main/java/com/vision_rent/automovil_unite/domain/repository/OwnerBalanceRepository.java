@@ -0,0 +1,23 @@
+package com.vision_rent.automovil_unite.domain.repository;
+
+import com.vision_rent.automovil_unite.domain.entity.OwnerBalance;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Interfaz de repositorio para la entidad OwnerBalance en el dominio.
+ */
+public interface OwnerBalanceRepository {
+    List<OwnerBalance> findByOwnerId(Long ownerId);
+
+    /**
+     * Busca, sin bloquear, los IDs de los saldos que alcanzan el mínimo a partir de {@code afterId}.
+     */
+    List<Long> findPayableIds(BigDecimal minimum, Long afterId, int limit);
+
+    /**
+     * Bloquea por ID los saldos indicados que aún alcanzan el mínimo.
+     */
+    List<OwnerBalance> findPayableByIdsForUpdate(List<Long> ids, BigDecimal minimum);
+}
@@ -13,6 +13,7 @@ import java.util.Optional;
 public interface PaymentRepository {
     Payment save(Payment payment);
     Optional<Payment> findById(Long id);
+    Optional<Payment> findByIdForUpdate(Long id);
     Optional<Payment> findByExternalId(String externalId);
     List<Payment> findByRentalId(Long rentalId);
     List<Payment> findByPayerId(Long payerId);
@@ -0,0 +1,22 @@
+package com.vision_rent.automovil_unite.domain.repository;
+
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+
+import java.util.List;
+
+/**
+ * Interfaz de repositorio para los pagos a propietarios y sus lotes de liquidación.
+ */
+public interface PayoutRepository {
+    Payout save(Payout payout);
+    List<Payout> findByOwnerId(Long ownerId, int limit);
+
+    /**
+     * Abre un lote de liquidación.
+     *
+     * @return ID del lote
+     */
+    Long openBatch();
+
+    void completeBatch(Long batchId, int payoutCount);
+}
@@ -13,6 +13,7 @@ import java.util.Optional;
 public interface ReceiptRepository {
     Receipt save(Receipt receipt);
     Optional<Receipt> findById(Long id);
+    Optional<Receipt> findByIdForUpdate(Long id);
     Optional<Receipt> findByReceiptNumber(String receiptNumber);
     List<Receipt> findByRenterId(Long renterId);
     List<Receipt> findByOwnerId(Long ownerId);
@@ -22,5 +22,12 @@ public interface RentalRepository {
     List<Rental> findByStatus(String status);
     List<Rental> findActiveRentalsByVehicleId(Long vehicleId);
     boolean existsActiveRentalForVehicle(Long vehicleId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    boolean existsOtherActiveRentalForVehicle(Long rentalId, Long vehicleId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    Optional<Long> findVehicleIdById(Long rentalId);
     List<Rental> findActiveRentalsEndingBefore(LocalDateTime dateTime);
+    boolean expireHold(Long rentalId, LocalDateTime now);
+    List<Rental> findInProgressEndingBetween(LocalDateTime afterEnd, Long afterId, LocalDateTime until, int limit);
+    void markLateReturn(List<Long> rentalIds);
+    List<Rental> findEndingSoonNotNotified(LocalDateTime now, LocalDateTime until, int limit);
+    void markEndingSoonNotified(List<Long> rentalIds);
 }
\ No newline at end of file
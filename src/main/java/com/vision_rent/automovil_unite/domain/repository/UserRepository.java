@@ -5,7 +5,9 @@ package com.vision_rent.automovil_unite.domain.repository;
 import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.valueobject.Role;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,4 +26,7 @@ public interface UserRepository {
     void updateRating(Long userId, Float newRating);
     void incrementReportCount(Long userId);
     List<User> findTopRatedRenters(int limit);
+    List<User> findAllByIds(List<Long> ids);
+    List<Long> findBannedUserIds();
+    Map<Long, LocalDateTime> findTokenRevocationsSince(LocalDateTime since);
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.vision_rent.automovil_unite.domain.repository;
 
 import com.vision_rent.automovil_unite.domain.entity.Vehicle;
+import com.vision_rent.automovil_unite.domain.valueobject.VehicleSearchCriteria;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,6 +17,8 @@ public interface VehicleRepository {
 
     Optional<Vehicle> findById(Long id);
 
+    Optional<Vehicle> findByIdForUpdate(Long id);
+
     List<Vehicle> findByOwnerId(Long ownerId);
 
     List<Vehicle> findAll();
@@ -29,11 +33,40 @@ public interface VehicleRepository {
 
     List<String> findMostPopularBrands(int limit);
 
+    Map<String, Long> countByBrand();
+
+    List<Vehicle> findAllByIds(List<Long> ids);
+
     void delete(Vehicle vehicle);
 
     void updateRating(Long vehicleId, Float newRating);
 
-    void incrementRentCount(Long vehicleId);
+    /**
+     * Incrementa de forma atómica el contador de alquileres del vehículo.
+     *
+     * @param vehicleId ID del vehículo
+     * @return Contador tras el incremento, leído en la misma transacción
+     */
+    int incrementRentCount(Long vehicleId);
 
     List<Vehicle> findAvailableInDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime);
-}
\ No newline at end of file
+
+    /**
+     * Busca vehículos disponibles paginando por clave (keyset) sobre el ID.
+     *
+     * @param criteria Criterios de búsqueda
+     * @param afterId ID del último vehículo de la página anterior, o null para la primera
+     * @param limit Número máximo de resultados
+     * @return Vehículos ordenados por ID ascendente
+     */
+    List<Vehicle> search(VehicleSearchCriteria criteria, Long afterId, int limit);
+
+    /**
+     * Cuenta los vehículos por valor de cada atributo facetado. Cada faceta aplica
+     * todos los filtros excepto el de su propio atributo.
+     *
+     * @param criteria Criterios de búsqueda
+     * @return Conteos por faceta y valor
+     */
+    Map<String, Map<String, Long>> countFacets(VehicleSearchCriteria criteria);
+}
@@ -0,0 +1,54 @@
+package com.vision_rent.automovil_unite.domain.service;
+
+import com.vision_rent.automovil_unite.domain.entity.Payment;
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+
+/**
+ * Libro mayor de doble entrada de lo que la plataforma debe a propietarios y arrendatarios.
+ * <p>
+ * Cada hecho de negocio se registra como un asiento cuyos movimientos suman cero. Los asientos
+ * están identificados por su tipo y referencia, así que registrar dos veces el mismo hecho no
+ * tiene efecto. Se llama dentro de la transacción de negocio.
+ */
+public interface LedgerDomainService {
+
+    /**
+     * Registra un pago completado. Los pagos del alquiler y de sus extensiones se deben al
+     * propietario (con el descuento que asume la plataforma, junto al pago del alquiler); la
+     * garantía se debe al arrendatario hasta que se le devuelve.
+     *
+     * @param payment Pago completado
+     * @param rental Alquiler pagado
+     */
+    void recordPayment(Payment payment, Rental rental);
+
+    /**
+     * Registra el reembolso total de un pago. Si es el pago del alquiler, anula también el
+     * descuento que asumió la plataforma.
+     *
+     * @param payment Pago reembolsado
+     */
+    void recordRefund(Payment payment);
+
+    /**
+     * Registra la devolución al arrendatario de una garantía completada.
+     *
+     * @param payment Pago de la garantía
+     */
+    void recordDepositRelease(Payment payment);
+
+    /**
+     * Registra el recargo por devolución tardía de un alquiler.
+     *
+     * @param rental Alquiler devuelto con recargo
+     */
+    void recordLateFee(Rental rental);
+
+    /**
+     * Registra el pago de un saldo a un propietario.
+     *
+     * @param payout Pago al propietario ya guardado
+     */
+    void recordPayout(Payout payout);
+}
@@ -48,6 +48,15 @@ public interface NotificationDomainService {
      */
     Notification createVehicleReturnedNotification(Rental rental, User recipient);
     
+    /**
+     * Crea una notificación de devolución atrasada.
+     * 
+     * @param rental Alquiler atrasado
+     * @param recipient Usuario que recibirá la notificación
+     * @return Notificación creada
+     */
+    Notification createRentalLateNotification(Rental rental, User recipient);
+    
     /**
      * Crea una notificación de reseña recibida.
      * 
@@ -66,4 +75,14 @@ public interface NotificationDomainService {
      * @return Notificación creada
      */
     Notification createReceiptGeneratedNotification(Receipt receipt, User recipient);
+    
+    /**
+     * Crea una notificación de resumen que reemplaza a varias notificaciones del mismo tipo.
+     * 
+     * @param recipient Usuario que recibirá la notificación
+     * @param type Tipo de las notificaciones resumidas
+     * @param count Número de notificaciones resumidas
+     * @return Notificación creada
+     */
+    Notification createDigestNotification(User recipient, String type, int count);
 }
\ No newline at end of file
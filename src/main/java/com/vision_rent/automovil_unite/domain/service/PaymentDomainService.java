@@ -18,16 +18,29 @@ import java.math.BigDecimal;
 public interface PaymentDomainService {
     
     /**
-     * Procesa un pago utilizando un método de pago específico.
+     * Crea un pago pendiente utilizando un método de pago específico. El cobro en el gateway
+     * se realiza después, fuera de la solicitud.
      * 
      * @param rental Alquiler a pagar
      * @param paymentMethod Método de pago a utilizar
      * @param amount Monto a pagar
      * @param paymentType Tipo de pago (RENTAL, EXTENSION, SECURITY_DEPOSIT)
-     * @return Pago procesado
+     * @return Pago en estado PENDING
      */
     Payment processPayment(Rental rental, PaymentMethod paymentMethod, BigDecimal amount, String paymentType);
     
+    /**
+     * Cambia el estado de un pago según su máquina de estados:
+     * PENDING → AUTHORIZED → COMPLETED, PENDING o AUTHORIZED → FAILED y COMPLETED → REFUNDED.
+     * Un pago pendiente también puede completarse directamente si el gateway lo informa así.
+     * 
+     * @param payment Pago a actualizar
+     * @param targetStatus Estado destino
+     * @return true si el estado cambió; false si el pago ya estaba en el estado destino
+     * @throws com.vision_rent.automovil_unite.domain.exception.PaymentProcessingException si la transición no está permitida
+     */
+    boolean transition(Payment payment, String targetStatus);
+    
     /**
      * Reembolsa un pago.
      * 
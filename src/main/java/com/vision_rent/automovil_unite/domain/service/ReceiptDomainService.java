@@ -38,17 +38,17 @@ public interface ReceiptDomainService {
     Receipt cancelReceipt(Receipt receipt);
     
     /**
-     * Genera el número de boleta.
+     * Genera el número de boleta con la secuencia diaria, único entre nodos y reinicios.
      * 
      * @return Número de boleta generado
      */
     String generateReceiptNumber();
     
     /**
-     * Genera un PDF para la boleta.
+     * Calcula la ruta de almacenamiento del PDF de la boleta.
      * 
-     * @param receipt Boleta
-     * @return URL del PDF generado
+     * @param receipt Boleta con número y arrendatario asignados
+     * @return Ruta relativa del PDF
      */
     String generateReceiptPdf(Receipt receipt);
 }
\ No newline at end of file
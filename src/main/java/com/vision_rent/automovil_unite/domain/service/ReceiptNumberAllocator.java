@@ -0,0 +1,18 @@
+package com.vision_rent.automovil_unite.domain.service;
+
+/**
+ * Asigna los números de boleta.
+ * <p>
+ * Los números tienen el formato {@code yyyyMMdd-NNNNN}: la fecha de emisión y una secuencia
+ * diaria. Cada número es único aunque la aplicación corra en varios nodos o se reinicie; la
+ * secuencia puede tener huecos, pero nunca repeticiones.
+ */
+public interface ReceiptNumberAllocator {
+
+    /**
+     * Asigna el siguiente número de boleta del día.
+     *
+     * @return Número de boleta
+     */
+    String nextReceiptNumber();
+}
@@ -0,0 +1,14 @@
+package com.vision_rent.automovil_unite.domain.valueobject;
+
+import java.math.BigDecimal;
+
+/**
+ * Movimiento de un asiento del libro mayor. Los débitos son positivos y los créditos negativos.
+ *
+ * @param account Cuenta afectada
+ * @param holderId Titular de la cuenta (propietario o arrendatario), o {@code null} para las
+ *                 cuentas de la plataforma
+ * @param amount Importe del movimiento
+ */
+public record LedgerLine(String account, Long holderId, BigDecimal amount) {
+}
@@ -0,0 +1,38 @@
+package com.vision_rent.automovil_unite.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de búsqueda de vehículos. Los campos nulos no filtran.
+ * Las fechas de inicio y fin se usan juntas para filtrar por disponibilidad.
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class VehicleSearchCriteria {
+
+    public static final String FACET_BRAND = "brand";
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_FUEL_TYPE = "fuelType";
+    public static final String FACET_TRANSMISSION = "transmission";
+    public static final String FACET_SEATS = "seats";
+
+    private String brand;
+    private String category;
+    private String fuelType;
+    private String transmission;
+    private Integer seats;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+
+    public boolean hasDateRange() {
+        return startDateTime != null && endDateTime != null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Clasificación acotada de los K elementos con mayor puntaje.
+ * <p>
+ * Las escrituras se serializan y publican una lista inmutable con el orden actual,
+ * de modo que las lecturas no bloquean. Si el puntaje de un miembro baja, un elemento
+ * que quedó fuera podría merecer su lugar sin que la estructura lo sepa; por eso
+ * la clasificación debe reconstruirse periódicamente desde la fuente de verdad.
+ *
+ * @param <K> Tipo de la clave de los elementos
+ */
+public class TopKLeaderboard<K extends Comparable<K>> {
+
+    private final int capacity;
+    private final Map<K, Double> scores = new HashMap<>();
+    private final TreeSet<Entry<K>> ranking = new TreeSet<>(
+            Comparator.<Entry<K>>comparingDouble(Entry::score).reversed().thenComparing(Entry::key));
+
+    private volatile List<K> snapshot = List.of();
+    private volatile boolean loaded = false;
+
+    /**
+     * @param capacity Número máximo de elementos conservados; debe ser mayor que cero
+     */
+    public TopKLeaderboard(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad de la clasificación debe ser mayor que cero: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Actualiza el puntaje de un elemento, incorporándolo si supera al último de la clasificación.
+     *
+     * @param key Clave del elemento
+     * @param score Nuevo puntaje
+     */
+    public synchronized void update(K key, double score) {
+        Double current = scores.get(key);
+        if (current != null) {
+            ranking.remove(new Entry<>(key, current));
+        } else if (scores.size() >= capacity) {
+            Entry<K> last = ranking.last();
+            if (score <= last.score()) {
+                return;
+            }
+            ranking.remove(last);
+            scores.remove(last.key());
+        }
+
+        scores.put(key, score);
+        ranking.add(new Entry<>(key, score));
+        publish();
+    }
+
+    /**
+     * Elimina un elemento de la clasificación.
+     *
+     * @param key Clave del elemento
+     */
+    public synchronized void remove(K key) {
+        Double current = scores.remove(key);
+        if (current != null) {
+            ranking.remove(new Entry<>(key, current));
+            publish();
+        }
+    }
+
+    /**
+     * Reemplaza por completo el contenido con los puntajes indicados.
+     *
+     * @param entries Puntajes por clave
+     */
+    public synchronized void replaceAll(Map<K, Double> entries) {
+        scores.clear();
+        ranking.clear();
+        entries.forEach((key, score) -> {
+            scores.put(key, score);
+            ranking.add(new Entry<>(key, score));
+        });
+        while (ranking.size() > capacity) {
+            scores.remove(ranking.pollLast().key());
+        }
+        loaded = true;
+        publish();
+    }
+
+    /**
+     * Obtiene las claves de los primeros elementos en orden descendente de puntaje.
+     *
+     * @param limit Número máximo de elementos
+     * @return Claves ordenadas
+     */
+    public List<K> top(int limit) {
+        List<K> current = snapshot;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    /**
+     * Indica si la clasificación puede responder una consulta con el límite indicado.
+     *
+     * @param limit Número de elementos solicitados
+     * @return true si ya fue cargada y el límite no supera la capacidad
+     */
+    public boolean canServe(int limit) {
+        return loaded && limit <= capacity;
+    }
+
+    private void publish() {
+        List<K> keys = new ArrayList<>(ranking.size());
+        for (Entry<K> entry : ranking) {
+            keys.add(entry.key());
+        }
+        snapshot = List.copyOf(keys);
+    }
+
+    private record Entry<K>(K key, double score) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores en memoria de notificaciones no leídas por usuario.
+ * <p>
+ * El contador de un usuario se carga de la base de datos la primera vez que se consulta o
+ * modifica y, a partir de ahí, se actualiza tras el commit de cada creación o lectura de
+ * notificaciones, por lo que consultarlo no ejecuta SQL. Cada contador tiene su propio
+ * monitor; el mapa concurrente reparte los usuarios en segmentos independientes.
+ * <p>
+ * Una carga que coincide con un commit puede desviar el contador en una unidad; para
+ * acotarlo, cada contador se vuelve a cargar al cumplir su vigencia y los que llevan ese
+ * tiempo sin uso se descartan.
+ */
+@Slf4j
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${app.notifications.unread-counter.ttl-minutes:10}") long ttlMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+    }
+
+    /**
+     * Obtiene el número de notificaciones no leídas del usuario.
+     *
+     * @param userId ID del usuario
+     * @return Número de notificaciones no leídas
+     */
+    public int get(Long userId) {
+        Counter counter = counterFor(userId);
+        synchronized (counter) {
+            ensureLoaded(userId, counter);
+            return counter.count;
+        }
+    }
+
+    /**
+     * Suma al contador del usuario las notificaciones ya confirmadas. Si el contador no
+     * estaba cargado, la carga desde la base de datos ya las incluye.
+     *
+     * @param userId ID del usuario
+     * @param delta Notificaciones creadas (positivo) o leídas (negativo)
+     * @return Número de notificaciones no leídas tras la actualización
+     */
+    public int add(Long userId, int delta) {
+        Counter counter = counterFor(userId);
+        synchronized (counter) {
+            if (ensureLoaded(userId, counter)) {
+                return counter.count;
+            }
+            counter.count = Math.max(0, counter.count + delta);
+            return counter.count;
+        }
+    }
+
+    /**
+     * Deja en cero el contador del usuario tras marcar todas sus notificaciones como leídas.
+     *
+     * @param userId ID del usuario
+     */
+    public void reset(Long userId) {
+        Counter counter = counterFor(userId);
+        synchronized (counter) {
+            counter.count = 0;
+            counter.loadedAtNanos = System.nanoTime();
+            counter.loaded = true;
+        }
+    }
+
+    /**
+     * Descarta los contadores vencidos para que la memoria no crezca con usuarios inactivos.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.unread-counter.evict-interval-ms:300000}",
+            initialDelayString = "${app.notifications.unread-counter.evict-interval-ms:300000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        int before = counters.size();
+        counters.values().removeIf(counter -> now - counter.loadedAtNanos > ttlNanos);
+        log.debug("Contadores de notificaciones descartados: {}", before - counters.size());
+    }
+
+    private Counter counterFor(Long userId) {
+        return counters.computeIfAbsent(userId, id -> new Counter());
+    }
+
+    /**
+     * Carga el contador si no está cargado o venció. Se llama con el monitor del contador tomado.
+     *
+     * @return true si se cargó desde la base de datos
+     */
+    private boolean ensureLoaded(Long userId, Counter counter) {
+        long now = System.nanoTime();
+        if (counter.loaded && now - counter.loadedAtNanos <= ttlNanos) {
+            return false;
+        }
+        counter.count = notificationRepository.countUnreadByUserId(userId);
+        counter.loadedAtNanos = now;
+        counter.loaded = true;
+        return true;
+    }
+
+    private static final class Counter {
+        private int count;
+        private boolean loaded;
+        private volatile long loadedAtNanos;
+    }
+}
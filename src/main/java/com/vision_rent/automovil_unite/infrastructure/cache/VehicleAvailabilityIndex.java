@@ -0,0 +1,349 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalIntervalView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterEnvelope;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageBus;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de los intervalos ocupados por cada vehículo.
+ * <p>
+ * Por cada vehículo se mantiene un arreglo de intervalos ordenado por fecha de inicio
+ * junto con el máximo acumulado de las fechas de fin, de modo que comprobar si un rango
+ * se solapa con alguna reserva es una búsqueda binaria (O(log n)) sin ir a la base de datos.
+ * Solo se indexan los alquileres que bloquean el vehículo (CONFIRMED, ACTIVE y PENDING con
+ * retención vigente), cubriendo desde {@code startDateTime} hasta
+ * {@code max(endDateTime, extendedUntil)}. Las retenciones se guardan aparte con su
+ * vencimiento y dejan de bloquear al vencer aunque nadie las retire.
+ * <p>
+ * El índice solo acelera las búsquedas: la reserva vuelve a comprobar el solapamiento en SQL
+ * con el vehículo bloqueado, así que un índice desactualizado puede mostrar un vehículo que
+ * luego se rechaza, pero nunca permite una doble reserva. Se carga al arrancar, se actualiza
+ * tras el commit de cada transacción que modifica un alquiler y, si hay
+ * {@link ClusterMessageBus}, el cambio se publica para que los demás nodos lo apliquen. Como el
+ * bus puede perder mensajes, el índice se reconstruye además cada
+ * {@code app.availability.index-refresh-ms}. Mientras no esté cargado, los consumidores deben
+ * recurrir a la consulta SQL.
+ */
+@Slf4j
+@Component
+public class VehicleAvailabilityIndex {
+
+    private static final long NO_HOLD = Long.MAX_VALUE;
+
+    private final RentalJpaRepository rentalJpaRepository;
+    private final ClusterMessageBus bus;
+    private final String nodeId;
+
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile Map<Long, VehicleTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> vehicleByRental = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public VehicleAvailabilityIndex(RentalJpaRepository rentalJpaRepository,
+                                    ObjectProvider<ClusterMessageBus> busProvider,
+                                    ClusterProperties clusterProperties) {
+        this.rentalJpaRepository = rentalJpaRepository;
+        this.bus = busProvider.getIfAvailable();
+        this.nodeId = clusterProperties.getNodeId();
+        if (bus != null) {
+            bus.subscribe(this::onClusterMessage);
+        }
+    }
+
+    /**
+     * Carga el índice al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el índice completo a partir de la base de datos. Corrige los cambios de
+     * otros nodos que no llegaron por el bus.
+     */
+    @Scheduled(fixedDelayString = "${app.availability.index-refresh-ms:60000}",
+            initialDelayString = "${app.availability.index-refresh-ms:60000}")
+    public void rebuild() {
+        try {
+            rebuildLock.writeLock().lock();
+            try {
+                load(rentalJpaRepository.findBlockingIntervals(LocalDateTime.now()));
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudo cargar el índice de disponibilidad", e);
+        }
+    }
+
+    /**
+     * Sustituye el contenido del índice. Las actualizaciones concurrentes esperan a que
+     * termine la carga y se aplican sobre el índice nuevo, por lo que no se pierden.
+     */
+    void load(List<? extends RentalIntervalView> intervals) {
+        Map<Long, VehicleTimeline> newTimelines = new ConcurrentHashMap<>();
+        Map<Long, Long> newVehicleByRental = new ConcurrentHashMap<>();
+        for (RentalIntervalView interval : intervals) {
+            newTimelines.computeIfAbsent(interval.getVehicleId(), id -> new VehicleTimeline())
+                    .put(interval.getId(), toEpoch(interval.getStartDateTime()),
+                            toEpoch(effectiveEnd(interval.getEndDateTime(), interval.getExtendedUntil())),
+                            holdOf(interval.getStatus(), interval.getHoldExpiresAt()));
+            newVehicleByRental.put(interval.getId(), interval.getVehicleId());
+        }
+
+        timelines = newTimelines;
+        vehicleByRental = newVehicleByRental;
+        loaded = true;
+        log.debug("Índice de disponibilidad cargado: {} intervalos en {} vehículos",
+                intervals.size(), newTimelines.size());
+    }
+
+    /**
+     * Indica si el índice ya fue cargado y puede responder consultas.
+     *
+     * @return true si el índice está listo
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Verifica si un vehículo tiene alguna reserva que se solape con el rango indicado.
+     * Usa la misma semántica inclusiva que la consulta SQL equivalente.
+     *
+     * @param vehicleId ID del vehículo
+     * @param startDateTime Inicio del rango
+     * @param endDateTime Fin del rango
+     * @return true si el vehículo está ocupado en el rango
+     */
+    public boolean isBooked(Long vehicleId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        VehicleTimeline timeline = timelines.get(vehicleId);
+        return timeline != null
+                && timeline.overlaps(toEpoch(startDateTime), toEpoch(endDateTime), toEpoch(LocalDateTime.now()));
+    }
+
+    /**
+     * Registra el estado de un alquiler en el índice una vez confirmada la transacción actual,
+     * en esta instancia y en los demás nodos. Si el alquiler bloquea el vehículo se inserta o
+     * actualiza su intervalo; en caso contrario (cancelado, completado, retención vencida) se elimina.
+     *
+     * @param rental Alquiler modificado
+     */
+    public void track(Rental rental) {
+        if (rental == null || rental.getId() == null || rental.getVehicle() == null) {
+            return;
+        }
+
+        Long rentalId = rental.getId();
+        Long vehicleId = rental.getVehicle().getId();
+        boolean blocking = "CONFIRMED".equals(rental.getStatus()) || "ACTIVE".equals(rental.getStatus())
+                || ("PENDING".equals(rental.getStatus()) && rental.getHoldExpiresAt() != null && !rental.isHoldExpired());
+        if (!blocking) {
+            untrack(rentalId);
+            return;
+        }
+
+        long start = toEpoch(rental.getStartDateTime());
+        long end = toEpoch(effectiveEnd(rental.getEndDateTime(), rental.getExtendedUntil()));
+        long holdExpiresAt = holdOf(rental.getStatus(), rental.getHoldExpiresAt());
+        TransactionCallbacks.afterCommit(() -> {
+            upsert(rentalId, vehicleId, start, end, holdExpiresAt);
+            publish(rentalId + "," + vehicleId + "," + start + "," + end + "," + holdExpiresAt);
+        });
+    }
+
+    /**
+     * Retira un alquiler del índice una vez confirmada la transacción actual, en esta
+     * instancia y en los demás nodos.
+     *
+     * @param rentalId ID del alquiler que ya no bloquea su vehículo
+     */
+    public void untrack(Long rentalId) {
+        TransactionCallbacks.afterCommit(() -> {
+            remove(rentalId);
+            publish(String.valueOf(rentalId));
+        });
+    }
+
+    private void onClusterMessage(ClusterEnvelope envelope) {
+        if (envelope.kind() != ClusterEnvelope.Kind.RENTAL_INTERVAL || nodeId.equals(envelope.sourceNode())) {
+            return;
+        }
+        String[] fields = envelope.payload().split(",");
+        Long rentalId = Long.valueOf(fields[0]);
+        if (fields.length == 1) {
+            remove(rentalId);
+        } else {
+            upsert(rentalId, Long.valueOf(fields[1]), Long.parseLong(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+        }
+    }
+
+    private void publish(String payload) {
+        if (bus == null) {
+            return;
+        }
+        try {
+            bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.RENTAL_INTERVAL, nodeId, null, null, null, payload));
+        } catch (RuntimeException e) {
+            // Los demás nodos lo recogen en la siguiente reconstrucción
+            log.warn("No se pudo publicar el cambio de disponibilidad {}", payload, e);
+        }
+    }
+
+    private void upsert(Long rentalId, Long vehicleId, long start, long end, long holdExpiresAt) {
+        rebuildLock.readLock().lock();
+        try {
+            Long previousVehicleId = vehicleByRental.put(rentalId, vehicleId);
+            if (previousVehicleId != null && !previousVehicleId.equals(vehicleId)) {
+                VehicleTimeline previous = timelines.get(previousVehicleId);
+                if (previous != null) {
+                    previous.remove(rentalId);
+                }
+            }
+            timelines.computeIfAbsent(vehicleId, id -> new VehicleTimeline()).put(rentalId, start, end, holdExpiresAt);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void remove(Long rentalId) {
+        rebuildLock.readLock().lock();
+        try {
+            Long vehicleId = vehicleByRental.remove(rentalId);
+            if (vehicleId != null) {
+                VehicleTimeline timeline = timelines.get(vehicleId);
+                if (timeline != null) {
+                    timeline.remove(rentalId);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static long holdOf(String status, LocalDateTime holdExpiresAt) {
+        return "PENDING".equals(status) && holdExpiresAt != null ? toEpoch(holdExpiresAt) : NO_HOLD;
+    }
+
+    private static LocalDateTime effectiveEnd(LocalDateTime endDateTime, LocalDateTime extendedUntil) {
+        if (extendedUntil != null && extendedUntil.isAfter(endDateTime)) {
+            return extendedUntil;
+        }
+        return endDateTime;
+    }
+
+    private static long toEpoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Intervalos de un vehículo. Las escrituras se serializan por vehículo y publican
+     * instantáneas inmutables; las lecturas no toman ningún bloqueo.
+     * <p>
+     * Los alquileres firmes van al arreglo ordenado; las retenciones, pocas y de vida corta,
+     * se recorren linealmente para descartar las vencidas en el momento de la consulta.
+     */
+    private static final class VehicleTimeline {
+
+        private final Map<Long, long[]> firmByRental = new HashMap<>();
+        private final Map<Long, long[]> holdsByRental = new HashMap<>();
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+        private volatile long[][] holds = new long[0][];
+
+        synchronized void put(Long rentalId, long start, long end, long holdExpiresAt) {
+            if (holdExpiresAt == NO_HOLD) {
+                holdsByRental.remove(rentalId);
+                firmByRental.put(rentalId, new long[] {start, end});
+            } else {
+                firmByRental.remove(rentalId);
+                holdsByRental.put(rentalId, new long[] {start, end, holdExpiresAt});
+            }
+            publish();
+        }
+
+        synchronized void remove(Long rentalId) {
+            if (firmByRental.remove(rentalId) != null | holdsByRental.remove(rentalId) != null) {
+                publish();
+            }
+        }
+
+        private void publish() {
+            snapshot = Snapshot.of(firmByRental);
+            holds = holdsByRental.values().toArray(new long[0][]);
+        }
+
+        boolean overlaps(long start, long end, long now) {
+            if (snapshot.overlaps(start, end)) {
+                return true;
+            }
+            for (long[] hold : holds) {
+                if (hold[2] > now && hold[0] <= end && hold[1] >= start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Arreglo de intervalos ordenado por inicio con el máximo acumulado de los fines.
+     * Existe solapamiento con [start, end] si, entre los intervalos que empiezan antes
+     * o en {@code end}, el mayor fin es posterior o igual a {@code start}.
+     */
+    private record Snapshot(long[] starts, long[] maxEnds) {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new long[0]);
+
+        static Snapshot of(Map<Long, long[]> intervals) {
+            long[][] sorted = intervals.values().toArray(new long[0][]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a[0], b[0]));
+
+            long[] starts = new long[sorted.length];
+            long[] maxEnds = new long[sorted.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = sorted[i][0];
+                maxEnd = Math.max(maxEnd, sorted[i][1]);
+                maxEnds[i] = maxEnd;
+            }
+            return new Snapshot(starts, maxEnds);
+        }
+
+        boolean overlaps(long start, long end) {
+            int low = 0;
+            int high = starts.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= end) {
+                    last = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return last >= 0 && maxEnds[last] >= start;
+        }
+    }
+}
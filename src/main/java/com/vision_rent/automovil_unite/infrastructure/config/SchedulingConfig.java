@@ -0,0 +1,12 @@
+package com.vision_rent.automovil_unite.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración para tareas programadas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
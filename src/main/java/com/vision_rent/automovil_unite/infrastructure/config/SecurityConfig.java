@@ -1,5 +1,6 @@
 package com.vision_rent.automovil_unite.infrastructure.config;
 
+import com.vision_rent.automovil_unite.infrastructure.idempotency.IdempotencyFilter;
 import com.vision_rent.automovil_unite.infrastructure.security.JwtAuthenticationFilter;
 import com.vision_rent.automovil_unite.infrastructure.security.SecurityProperties;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
     private final SecurityProperties securityProperties;
 
@@ -58,13 +60,19 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/api/v1/vehicles/public/**",
+                                "/api/v1/payments/webhook",
+                                "/actuator/health",
+                                // El handshake no lleva cabeceras; el token se exige en el frame CONNECT
+                                "/ws/**",
                                 "/error"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Idempotencia con el usuario ya autenticado
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
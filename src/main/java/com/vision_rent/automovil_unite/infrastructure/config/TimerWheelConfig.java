@@ -0,0 +1,38 @@
+package com.vision_rent.automovil_unite.infrastructure.config;
+
+import com.vision_rent.automovil_unite.infrastructure.scheduling.HierarchicalTimerWheel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la rueda de temporización usada para vencimientos en memoria
+ * (por ejemplo, las retenciones de alquileres pendientes).
+ */
+@Configuration
+public class TimerWheelConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor timerTaskExecutor(
+            @Value("${app.timer-wheel.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("timer-task-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HierarchicalTimerWheel timerWheel(
+            @Qualifier("timerTaskExecutor") ThreadPoolTaskExecutor timerTaskExecutor,
+            @Value("${app.timer-wheel.tick-ms:1000}") long tickMillis) {
+        // 3 niveles de 64 casillas: con ticks de 1 s cubren unas 72 horas
+        return new HierarchicalTimerWheel(Duration.ofMillis(tickMillis), 6, 3, timerTaskExecutor, "timer-wheel");
+    }
+}
@@ -1,22 +1,60 @@
 package com.vision_rent.automovil_unite.infrastructure.config;
 
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import com.vision_rent.automovil_unite.infrastructure.websocket.OutboundSheddingInterceptor;
+import com.vision_rent.automovil_unite.infrastructure.websocket.StompAuthenticationInterceptor;
+import com.vision_rent.automovil_unite.infrastructure.websocket.WebSocketProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * Configuración para WebSocket.
+ * <p>
+ * Los canales de entrada y salida usan grupos de hilos acotados. Cada sesión tiene un límite
+ * de tiempo de envío y de memoria pendiente: si un cliente lento los supera, Spring cierra
+ * su sesión en lugar de retener los hilos del canal de salida; el cliente vuelve a
+ * conectarse y recupera lo pendiente con la sincronización de notificaciones.
+ * <p>
+ * En modo de clúster RELAY los destinos se delegan en un broker STOMP externo y Spring
+ * comparte entre nodos el registro de usuarios; en el resto de modos se usa el broker en
+ * memoria y el reparto entre nodos lo hace el
+ * {@link com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageRouter}.
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketProperties properties;
+    private final ClusterProperties clusterProperties;
+    private final StompAuthenticationInterceptor authenticationInterceptor;
+    private final OutboundSheddingInterceptor sheddingInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Prefijo para endpoints que mapean mensajes del servidor al cliente
-        config.enableSimpleBroker("/topic", "/queue");
+        if (clusterProperties.getMode() == ClusterProperties.Mode.RELAY) {
+            ClusterProperties.Relay relay = clusterProperties.getRelay();
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setVirtualHost(relay.getVirtualHost())
+                    // Destinos de usuario sin sesión local y registro de usuarios compartido
+                    .setUserDestinationBroadcast("/topic/unresolved-user")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         
         // Prefijo para endpoints que mapean métodos de controlador
         config.setApplicationDestinationPrefixes("/app");
@@ -29,4 +67,30 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins("*")
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configure(registration, properties.getInbound());
+        registration.interceptors(authenticationInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configure(registration, properties.getOutbound());
+        registration.interceptors(sheddingInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(properties.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(properties.getSendBufferSizeLimit())
+                .setMessageSizeLimit(properties.getMessageSizeLimit());
+    }
+
+    private void configure(ChannelRegistration registration, WebSocketProperties.Channel channel) {
+        registration.taskExecutor()
+                .corePoolSize(channel.getCorePoolSize())
+                .maxPoolSize(channel.getMaxPoolSize())
+                .queueCapacity(channel.getQueueCapacity());
+    }
 }
\ No newline at end of file
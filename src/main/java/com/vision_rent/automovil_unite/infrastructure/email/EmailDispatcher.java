@@ -0,0 +1,191 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.EmailOutboxJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.EmailOutboxJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Envía los correos de la cola persistente.
+ * <p>
+ * Un grupo acotado de hilos vacía la cola: cada hilo reclama con un {@code claim_token} un
+ * lote de correos vencidos, lo envía por el {@link EmailTransport} fuera de cualquier
+ * transacción (una conexión SMTP por lote) y después borra los enviados y programa los
+ * rechazados con espera exponencial. Al agotar los intentos el correo queda en estado FAILED.
+ * Los hilos de las solicitudes nunca esperan al servidor SMTP: solo insertan en la cola y
+ * despiertan al grupo. El sondeo periódico recoge los reintentos y los reclamos caducados.
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxJpaRepository outboxRepository;
+    private final EmailTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor senders;
+
+    private final int batchSize;
+    private final Duration claimLease;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public EmailDispatcher(EmailOutboxJpaRepository outboxRepository,
+                           EmailTransport transport,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.email.workers:2}") int workers,
+                           @Value("${app.email.batch-size:50}") int batchSize,
+                           @Value("${app.email.claim-lease-seconds:300}") long claimLeaseSeconds,
+                           @Value("${app.email.max-attempts:6}") int maxAttempts,
+                           @Value("${app.email.backoff-base-ms:30000}") long backoffBaseMillis,
+                           @Value("${app.email.backoff-max-ms:3600000}") long backoffMaxMillis) {
+        this.outboxRepository = outboxRepository;
+        this.transport = transport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimLease = Duration.ofSeconds(claimLeaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = Duration.ofMillis(backoffBaseMillis);
+        this.backoffMax = Duration.ofMillis(backoffMaxMillis);
+
+        // Cola del tamaño del grupo: si todos los hilos ya están vaciando la cola, sobra otro aviso
+        this.senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(workers);
+        senders.setMaxPoolSize(workers);
+        senders.setQueueCapacity(workers);
+        senders.setThreadNamePrefix("email-sender-");
+        senders.initialize();
+
+        this.sentCounter = meterRegistry.counter("email.outbox.sent");
+        this.retriedCounter = meterRegistry.counter("email.outbox.retried");
+        this.failedCounter = meterRegistry.counter("email.outbox.failed");
+    }
+
+    /**
+     * Despierta a un hilo del grupo para vaciar la cola. No bloquea al llamador.
+     */
+    public void wakeUp() {
+        try {
+            senders.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            log.debug("Los hilos de correo ya están ocupados; el correo se enviará en el sondeo");
+        }
+    }
+
+    /**
+     * Sondea la cola para enviar los reintentos vencidos y los reclamos caducados.
+     */
+    @Scheduled(fixedDelayString = "${app.email.poll-interval-ms:10000}",
+            initialDelayString = "${app.email.poll-interval-ms:10000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+
+    private void drain() {
+        try {
+            while (sendBatch() == batchSize) {
+                // Se siguen reclamando lotes mientras vengan llenos
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al vaciar la cola de correos", e);
+        }
+    }
+
+    /**
+     * Reclama, envía y cierra un lote.
+     *
+     * @return Correos reclamados
+     */
+    private int sendBatch() {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        Integer claimed = transactionTemplate.execute(
+                status -> outboxRepository.claimBatch(token, now, now.plus(claimLease), batchSize));
+        if (claimed == null || claimed == 0) {
+            return 0;
+        }
+
+        List<EmailMessage> messages = outboxRepository.findByClaimTokenOrderByIdAsc(token).stream()
+                .map(entry -> new EmailMessage(entry.getId(), entry.getRecipient(), entry.getSubject(), entry.getBody()))
+                .collect(Collectors.toList());
+
+        Map<Long, String> errors;
+        try {
+            errors = transport.send(messages);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo enviar un lote de {} correos", messages.size(), e);
+            String error = String.valueOf(e.getMessage());
+            errors = messages.stream().collect(Collectors.toMap(EmailMessage::id, message -> error));
+        }
+
+        Map<Long, String> rejected = errors;
+        transactionTemplate.executeWithoutResult(status -> complete(token, rejected));
+        return claimed;
+    }
+
+    private void complete(String token, Map<Long, String> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxJpaEntity> entries = outboxRepository.findByClaimTokenOrderByIdAsc(token);
+
+        List<EmailOutboxJpaEntity> sent = entries.stream()
+                .filter(entry -> !errors.containsKey(entry.getId()))
+                .collect(Collectors.toList());
+        outboxRepository.deleteAllInBatch(sent);
+        sentCounter.increment(sent.size());
+
+        for (EmailOutboxJpaEntity entry : entries) {
+            String error = errors.get(entry.getId());
+            if (error == null) {
+                continue;
+            }
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            entry.setClaimToken(null);
+            entry.setClaimedUntil(null);
+            if (attempts >= maxAttempts) {
+                entry.setStatus(EmailOutboxJpaEntity.STATUS_FAILED);
+                failedCounter.increment();
+                log.error("Correo {} descartado tras {} intentos: {}", entry.getId(), attempts, entry.getLastError());
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(attempts)));
+                retriedCounter.increment();
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = backoffBase.multipliedBy(factor);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+}
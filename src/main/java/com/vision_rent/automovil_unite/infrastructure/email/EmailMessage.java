@@ -0,0 +1,12 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+/**
+ * Correo ya renderizado listo para enviar.
+ *
+ * @param id ID de la fila en la cola de correos
+ * @param to Destinatario
+ * @param subject Asunto
+ * @param htmlBody Cuerpo HTML
+ */
+public record EmailMessage(Long id, String to, String subject, String htmlBody) {
+}
@@ -0,0 +1,46 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.EmailOutboxJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.EmailOutboxJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Cola persistente de correos.
+ * <p>
+ * El correo se renderiza y se guarda en {@code email_outbox} dentro de la transacción de
+ * negocio, sin conectar con el servidor SMTP. Tras el commit se avisa al
+ * {@link EmailDispatcher}, que lo envía en segundo plano.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxJpaRepository outboxRepository;
+    private final EmailTemplateRenderer templateRenderer;
+    private final EmailDispatcher dispatcher;
+
+    /**
+     * Registra un correo para enviarlo cuando se confirme la transacción actual.
+     *
+     * @param recipient Dirección del destinatario
+     * @param template Plantilla del correo
+     * @param model Valores de las variables de la plantilla
+     */
+    public void enqueue(String recipient, EmailTemplate template, Map<String, String> model) {
+        outboxRepository.save(EmailOutboxJpaEntity.builder()
+                .recipient(recipient)
+                .subject(template.getSubject())
+                .body(templateRenderer.render(template, model))
+                .template(template.name())
+                .status(EmailOutboxJpaEntity.STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        TransactionCallbacks.afterCommit(dispatcher::wakeUp);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plantillas de correo disponibles. Cada plantilla se carga de
+ * {@code templates/email/<nombre>.html} y sus variables se escriben como {@code ${variable}}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EmailTemplate {
+
+    PASSWORD_RESET("password-reset", "Restablece tu contraseña de Automóvil Unite");
+
+    private final String name;
+    private final String subject;
+}
@@ -0,0 +1,87 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renderiza las plantillas de correo.
+ * <p>
+ * Cada plantilla se lee y se divide en fragmentos de texto y variables una sola vez; la
+ * versión compilada queda en caché y renderizar solo concatena los fragmentos con los valores
+ * escapados para HTML.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final String TEMPLATE_LOCATION = "templates/email/";
+
+    private final Map<EmailTemplate, List<Part>> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Renderiza una plantilla con las variables indicadas.
+     *
+     * @param template Plantilla a renderizar
+     * @param model Valores de las variables
+     * @return Cuerpo HTML del correo
+     * @throws IllegalArgumentException si falta el valor de alguna variable
+     */
+    public String render(EmailTemplate template, Map<String, String> model) {
+        List<Part> parts = compiled.computeIfAbsent(template, this::compile);
+        StringBuilder html = new StringBuilder(256);
+        for (Part part : parts) {
+            if (part.variable()) {
+                String value = model.get(part.text());
+                if (value == null) {
+                    throw new IllegalArgumentException(
+                            "Falta la variable " + part.text() + " de la plantilla " + template.getName());
+                }
+                html.append(HtmlUtils.htmlEscape(value));
+            } else {
+                html.append(part.text());
+            }
+        }
+        return html.toString();
+    }
+
+    private List<Part> compile(EmailTemplate template) {
+        String source = load(template);
+        List<Part> parts = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf("${", position);
+            int end = start < 0 ? -1 : source.indexOf('}', start);
+            if (end < 0) {
+                parts.add(new Part(source.substring(position), false));
+                break;
+            }
+            if (start > position) {
+                parts.add(new Part(source.substring(position, start), false));
+            }
+            parts.add(new Part(source.substring(start + 2, end).trim(), true));
+            position = end + 1;
+        }
+        return List.copyOf(parts);
+    }
+
+    private String load(EmailTemplate template) {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION + template.getName() + ".html");
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar la plantilla de correo " + template.getName(), e);
+        }
+    }
+
+    private record Part(String text, boolean variable) {
+    }
+}
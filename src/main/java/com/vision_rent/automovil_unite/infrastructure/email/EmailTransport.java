@@ -0,0 +1,19 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canal de salida de los correos.
+ */
+public interface EmailTransport {
+
+    /**
+     * Envía un lote de correos reutilizando la misma conexión.
+     *
+     * @param messages Correos a enviar
+     * @return Error de cada correo rechazado, por ID; vacío si se enviaron todos
+     * @throws org.springframework.mail.MailException si no se pudo enviar el lote (conexión, autenticación)
+     */
+    Map<Long, String> send(List<EmailMessage> messages);
+}
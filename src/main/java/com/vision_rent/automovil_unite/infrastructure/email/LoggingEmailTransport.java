@@ -0,0 +1,23 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canal de correos para desarrollo: registra los correos en el log en lugar de enviarlos.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "log", matchIfMissing = true)
+public class LoggingEmailTransport implements EmailTransport {
+
+    @Override
+    public Map<Long, String> send(List<EmailMessage> messages) {
+        messages.forEach(message -> log.info("Correo {} para {}: {}", message.id(), message.to(), message.subject()));
+        return Map.of();
+    }
+}
@@ -0,0 +1,77 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envía los correos por SMTP con {@link JavaMailSender}.
+ * <p>
+ * Cada lote se entrega en una sola llamada, por lo que todos sus mensajes comparten la misma
+ * conexión SMTP. Los rechazos individuales se devuelven por ID; si falla la conexión,
+ * {@link JavaMailSender} marca todos los mensajes del lote y se devuelven igual. Los errores de
+ * autenticación se propagan para reintentar el lote completo. Para desarrollo basta con apuntar
+ * {@code spring.mail} a un servidor SMTP local (por ejemplo Mailpit en el puerto 1025).
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "smtp")
+public class SmtpEmailTransport implements EmailTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpEmailTransport(JavaMailSender mailSender,
+                              @Value("${app.email.from}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public Map<Long, String> send(List<EmailMessage> messages) {
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        MimeMessage[] mimeMessages = new MimeMessage[messages.size()];
+        for (int i = 0; i < messages.size(); i++) {
+            mimeMessages[i] = toMimeMessage(messages.get(i));
+            ids.put(mimeMessages[i], messages.get(i).id());
+        }
+
+        try {
+            mailSender.send(mimeMessages);
+            return Map.of();
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                throw e;
+            }
+            Map<Long, String> errors = new HashMap<>();
+            e.getFailedMessages().forEach((message, error) ->
+                    errors.put(ids.get(message), String.valueOf(error.getMessage())));
+            return errors;
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage message) {
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+            helper.setFrom(from);
+            helper.setTo(message.to());
+            helper.setSubject(message.subject());
+            helper.setText(message.htmlBody(), true);
+            return mimeMessage;
+        } catch (MessagingException e) {
+            throw new MailPreparationException("No se pudo preparar el correo " + message.id(), e);
+        }
+    }
+}
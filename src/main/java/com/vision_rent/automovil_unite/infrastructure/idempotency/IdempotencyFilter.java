@@ -0,0 +1,167 @@
+package com.vision_rent.automovil_unite.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import com.vision_rent.automovil_unite.presentation.dto.ApiErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Filtro que aplica la cabecera {@code Idempotency-Key} a las operaciones que crean recursos.
+ * <p>
+ * Se ejecuta tras la autenticación, así que cada clave tiene el alcance del usuario, el
+ * método y la ruta. La primera solicitud con una clave se ejecuta y su respuesta se guarda
+ * byte a byte; los reintentos reciben esa misma respuesta con la cabecera
+ * {@code Idempotent-Replayed: true}. Reutilizar la clave con otro cuerpo devuelve 422 y un
+ * duplicado que no pudo esperar a la original devuelve 409. Las respuestas 5xx no se guardan.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/v1/rentals",
+            "/api/v1/payments/process",
+            "/api/v1/reviews");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Long userId = currentUserId();
+        if (userId == null) {
+            // Sin usuario autenticado la solicitud se rechaza más adelante
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, "Cabecera Idempotency-Key inválida");
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+        String requestHash = sha256(cachedRequest.getBody());
+        String scopeKey = sha256((userId + ":" + request.getMethod() + ":" + request.getRequestURI() + ":" + key)
+                .getBytes(StandardCharsets.UTF_8));
+
+        IdempotencyStore.Outcome outcome = store.begin(scopeKey, userId, requestHash);
+        switch (outcome.kind()) {
+            case REPLAY -> {
+                if (!outcome.response().requestHash().equals(requestHash)) {
+                    writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            "La clave de idempotencia ya se usó con otra solicitud");
+                } else {
+                    replay(outcome.response(), response);
+                }
+            }
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "Ya hay una solicitud en curso con esta clave de idempotencia");
+            }
+            case EXECUTE -> execute(scopeKey, requestHash, cachedRequest, response, filterChain);
+        }
+    }
+
+    private void execute(String scopeKey,
+                         String requestHash,
+                         CachedBodyHttpServletRequest request,
+                         HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500) {
+                store.complete(scopeKey, new StoredResponse(
+                        requestHash, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(scopeKey);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request,
+                            HttpServletResponse response,
+                            HttpStatus status,
+                            String message) throws IOException {
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getUserId();
+        }
+        return null;
+    }
+
+    private String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+}
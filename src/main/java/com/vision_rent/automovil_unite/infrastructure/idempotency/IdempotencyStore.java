@@ -0,0 +1,264 @@
+package com.vision_rent.automovil_unite.infrastructure.idempotency;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.IdempotencyKeyJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.IdempotencyKeyJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Almacén de claves de idempotencia.
+ * <p>
+ * Las respuestas guardadas viven en la tabla {@code idempotency_keys} hasta su vencimiento y
+ * las más usadas también en una caché LRU acotada, así que un reintento reciente no consulta
+ * la base de datos. Dentro del nodo, una solicitud repetida mientras la original sigue en
+ * curso espera a su respuesta en lugar de ejecutarse otra vez; entre nodos, la fila
+ * IN_PROGRESS reserva la clave y el duplicado recibe un conflicto para reintentar. Si la
+ * ejecución original termina con error del servidor, la clave se libera.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    /**
+     * Resultado de reservar una clave.
+     *
+     * @param kind Qué debe hacer la solicitud
+     * @param response Respuesta a repetir, si {@code kind} es REPLAY
+     */
+    public record Outcome(Kind kind, StoredResponse response) {
+
+        public enum Kind {
+            /**
+             * La clave quedó reservada para esta solicitud: debe ejecutarse.
+             */
+            EXECUTE,
+            /**
+             * La clave ya tiene respuesta: debe repetirse.
+             */
+            REPLAY,
+            /**
+             * La clave está en curso en otro nodo o la espera se agotó.
+             */
+            IN_PROGRESS
+        }
+    }
+
+    private final IdempotencyKeyJpaRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CachedResponse> cache;
+
+    private final Duration ttl;
+    private final Duration inProgressTtl;
+    private final Duration waitTimeout;
+    private final int purgeBatchSize;
+
+    private final Counter replayedCounter;
+    private final Counter waitedCounter;
+    private final Counter conflictCounter;
+
+    public IdempotencyStore(IdempotencyKeyJpaRepository keyRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${app.idempotency.in-progress-ttl-seconds:60}") long inProgressTtlSeconds,
+                            @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                            @Value("${app.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressTtl = Duration.ofSeconds(inProgressTtlSeconds);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+        this.purgeBatchSize = purgeBatchSize;
+
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.replayedCounter = meterRegistry.counter("idempotency.replayed");
+        this.waitedCounter = meterRegistry.counter("idempotency.waited");
+        this.conflictCounter = meterRegistry.counter("idempotency.conflicts");
+    }
+
+    /**
+     * Reserva una clave para ejecutar la solicitud u obtiene la respuesta ya guardada. Si la
+     * solicitud original está en curso en este nodo, espera a que termine.
+     *
+     * @param scopeKey Clave con el alcance del usuario y la operación
+     * @param userId ID del usuario
+     * @param requestHash Resumen del cuerpo de la solicitud
+     * @return Qué debe hacer la solicitud
+     */
+    public Outcome begin(String scopeKey, Long userId, String requestHash) {
+        StoredResponse cached = getCached(scopeKey);
+        if (cached != null) {
+            return replay(cached);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopeKey, execution);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<IdempotencyKeyJpaEntity> existing = keyRepository.findByScopeKey(scopeKey);
+            if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+                IdempotencyKeyJpaEntity key = existing.get();
+                if (IdempotencyKeyJpaEntity.STATUS_COMPLETED.equals(key.getStatus())) {
+                    StoredResponse response = new StoredResponse(key.getRequestHash(), key.getResponseStatus(),
+                            key.getResponseContentType(), key.getResponseBody());
+                    putCached(scopeKey, response, key.getExpiresAt());
+                    finish(scopeKey, execution, response);
+                    return replay(response);
+                }
+                finish(scopeKey, execution, null);
+                return conflict();
+            }
+
+            Integer reserved = transactionTemplate.execute(status -> {
+                // Entre la lectura y el borrado otro nodo pudo renovar la clave: solo se borra si
+                // sigue vencida, y si no se borró nada la reserva decide quién la tiene
+                if (existing.isPresent() && keyRepository.deleteExpiredByScopeKey(scopeKey, now) == 0) {
+                    log.debug("La clave {} ya no estaba vencida al reservarla", scopeKey);
+                }
+                return keyRepository.reserve(scopeKey, userId, requestHash, now.plus(inProgressTtl));
+            });
+            if (reserved == null || reserved == 0) {
+                finish(scopeKey, execution, null);
+                return conflict();
+            }
+            return new Outcome(Outcome.Kind.EXECUTE, null);
+        } catch (RuntimeException e) {
+            finish(scopeKey, execution, null);
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda la respuesta de una ejecución y la entrega a las solicitudes que la esperaban.
+     *
+     * @param scopeKey Clave reservada con {@link #begin}
+     * @param response Respuesta de la ejecución
+     */
+    public void complete(String scopeKey, StoredResponse response) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        try {
+            transactionTemplate.executeWithoutResult(status -> keyRepository.complete(scopeKey,
+                    response.status(), response.contentType(), response.body(), expiresAt, now));
+            putCached(scopeKey, response, expiresAt);
+        } finally {
+            finish(scopeKey, inFlight.get(scopeKey), response);
+        }
+    }
+
+    /**
+     * Libera una clave cuya ejecución falló, para que un reintento vuelva a ejecutarse.
+     *
+     * @param scopeKey Clave reservada con {@link #begin}
+     */
+    public void release(String scopeKey) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> keyRepository.deleteByScopeKey(scopeKey));
+        } finally {
+            finish(scopeKey, inFlight.get(scopeKey), null);
+        }
+    }
+
+    /**
+     * Borra por lotes las claves vencidas.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}",
+            initialDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            int total = 0;
+            int deleted;
+            do {
+                Integer batch = transactionTemplate.execute(
+                        status -> keyRepository.deleteExpired(LocalDateTime.now(), purgeBatchSize));
+                deleted = batch != null ? batch : 0;
+                total += deleted;
+            } while (deleted == purgeBatchSize);
+            log.debug("Claves de idempotencia vencidas borradas: {}", total);
+        } catch (RuntimeException e) {
+            log.error("Error al purgar las claves de idempotencia", e);
+        }
+    }
+
+    private Outcome await(CompletableFuture<StoredResponse> running) {
+        waitedCounter.increment();
+        try {
+            StoredResponse response = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return response != null ? replay(response) : conflict();
+        } catch (TimeoutException | ExecutionException e) {
+            return conflict();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return conflict();
+        }
+    }
+
+    private Outcome replay(StoredResponse response) {
+        replayedCounter.increment();
+        return new Outcome(Outcome.Kind.REPLAY, response);
+    }
+
+    private Outcome conflict() {
+        conflictCounter.increment();
+        return new Outcome(Outcome.Kind.IN_PROGRESS, null);
+    }
+
+    private void finish(String scopeKey, CompletableFuture<StoredResponse> execution, StoredResponse response) {
+        if (execution != null) {
+            inFlight.remove(scopeKey, execution);
+            execution.complete(response);
+        }
+    }
+
+    private StoredResponse getCached(String scopeKey) {
+        synchronized (cache) {
+            CachedResponse cached = cache.get(scopeKey);
+            if (cached == null) {
+                return null;
+            }
+            if (!cached.expiresAt().isAfter(LocalDateTime.now())) {
+                cache.remove(scopeKey);
+                return null;
+            }
+            return cached.response();
+        }
+    }
+
+    private void putCached(String scopeKey, StoredResponse response, LocalDateTime expiresAt) {
+        synchronized (cache) {
+            cache.put(scopeKey, new CachedResponse(response, expiresAt));
+        }
+    }
+
+    private record CachedResponse(StoredResponse response, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.vision_rent.automovil_unite.infrastructure.idempotency;
+
+/**
+ * Respuesta guardada para una clave de idempotencia.
+ *
+ * @param requestHash Resumen del cuerpo de la solicitud original
+ * @param status Código de estado HTTP
+ * @param contentType Tipo de contenido, si lo había
+ * @param body Cuerpo exacto de la respuesta
+ */
+public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+}
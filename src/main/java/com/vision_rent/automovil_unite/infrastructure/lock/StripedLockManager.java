@@ -0,0 +1,71 @@
+package com.vision_rent.automovil_unite.infrastructure.lock;
+
+import com.vision_rent.automovil_unite.domain.exception.VehicleNotAvailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bloqueos en memoria repartidos en franjas (lock striping) por ID de vehículo.
+ * <p>
+ * Solo se serializan las operaciones que compiten por el mismo vehículo (o por
+ * vehículos que caen en la misma franja); el resto avanza en paralelo. Las esperas
+ * ocurren en la JVM, sin retener una conexión a la base de datos.
+ */
+@Component
+public class StripedLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public StripedLockManager(@Value("${app.booking.lock-stripes:1024}") int stripeCount,
+                              @Value("${app.booking.lock-timeout-ms:5000}") long timeoutMillis) {
+        // Se redondea a potencia de dos para calcular la franja con una máscara
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Ejecuta la acción con el bloqueo del vehículo tomado. El bloqueo se libera cuando
+     * la acción termina, por lo que si esta es transaccional la liberación ocurre
+     * después del commit.
+     *
+     * @param vehicleId ID del vehículo
+     * @param action Acción a ejecutar
+     * @return Resultado de la acción
+     * @throws VehicleNotAvailableException Si no se obtiene el bloqueo dentro del tiempo límite
+     */
+    public <T> T withVehicleLock(Long vehicleId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(vehicleId);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VehicleNotAvailableException("Se interrumpió la reserva del vehículo, intente nuevamente");
+        }
+
+        if (!acquired) {
+            throw new VehicleNotAvailableException("El vehículo está siendo reservado por otro usuario, intente nuevamente");
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(Long vehicleId) {
+        int hash = Long.hashCode(vehicleId);
+        hash ^= (hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
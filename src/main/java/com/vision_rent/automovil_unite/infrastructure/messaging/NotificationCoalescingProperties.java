@@ -0,0 +1,37 @@
+package com.vision_rent.automovil_unite.infrastructure.messaging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades de configuración de la agrupación de notificaciones por usuario.
+ * <p>
+ * Las notificaciones de un usuario que llegan dentro de la ventana se entregan juntas en un
+ * solo mensaje WebSocket. Para los tipos con umbral de resumen, cuando en una misma entrega
+ * llegan al menos ese número de notificaciones del tipo se guarda una única notificación de
+ * resumen en lugar de una por evento.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.notifications.coalescing")
+@Getter
+@Setter
+public class NotificationCoalescingProperties {
+
+    private long windowMs = 2000;
+    private Map<String, Integer> digestThresholds = new HashMap<>();
+
+    /**
+     * Obtiene el umbral de resumen de un tipo de notificación.
+     *
+     * @param type Tipo de notificación
+     * @return Número mínimo de notificaciones para resumirlas, o 0 si el tipo no se resume
+     */
+    public int digestThresholdFor(String type) {
+        return digestThresholds.getOrDefault(type, 0);
+    }
+}
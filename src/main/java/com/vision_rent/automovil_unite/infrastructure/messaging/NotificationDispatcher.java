@@ -0,0 +1,388 @@
+package com.vision_rent.automovil_unite.infrastructure.messaging;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationBatchDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.mapper.NotificationDtoMapper;
+import com.vision_rent.automovil_unite.application.service.NotificationWebSocketService;
+import com.vision_rent.automovil_unite.domain.entity.Notification;
+import com.vision_rent.automovil_unite.domain.entity.User;
+import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
+import com.vision_rent.automovil_unite.domain.service.NotificationDomainService;
+import com.vision_rent.automovil_unite.infrastructure.cache.UnreadNotificationCounter;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationOutboxJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationOutboxJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.push.PushMessage;
+import com.vision_rent.automovil_unite.infrastructure.push.PushNotificationDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Entrega las notificaciones de la bandeja de salida.
+ * <p>
+ * Los usuarios se reparten por hash entre particiones de un solo hilo con cola acotada, de
+ * modo que las notificaciones de un mismo usuario se entregan en orden y sin competir entre
+ * sí. Cada entrega reclama con un {@code claim_token} todas las filas pendientes del usuario,
+ * crea las notificaciones y borra las filas en una sola transacción, y después las envía
+ * por WebSocket junto con el contador de no leídas actualizado y como notificación push a
+ * los dispositivos del usuario. Si la fila más antigua está
+ * esperando un reintento, no se entrega ninguna para no desordenarlas.
+ * <p>
+ * La entrega de un usuario se programa al terminar la ventana de agrupación que abre su
+ * primera notificación, así que una ráfaga llega en una sola entrega: varias notificaciones
+ * se envían en un único mensaje y los tipos con umbral de resumen se guardan como una sola
+ * notificación. Publica la proporción entre notificaciones y mensajes enviados en
+ * {@code notification.coalescing.ratio}.
+ * <p>
+ * Si la entrega falla, las filas se reintentan con espera exponencial; al agotar los
+ * intentos quedan en estado FAILED. El barrido periódico recoge las filas vencidas que no
+ * llegaron a despacharse (cola llena, reinicio o reclamo caducado).
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationOutboxJpaRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDomainService notificationDomainService;
+    private final NotificationDtoMapper notificationDtoMapper;
+    private final NotificationWebSocketService webSocketService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final PushNotificationDispatcher pushDispatcher;
+    private final NotificationCoalescingProperties coalescingProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskExecutor[] partitions;
+    private final ThreadPoolTaskScheduler coalescingScheduler;
+    private final Set<Long> queuedUsers = ConcurrentHashMap.newKeySet();
+
+    private final Duration claimLease;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final int sweepBatchSize;
+
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter coalescedEventsCounter;
+    private final Counter coalescedFramesCounter;
+    private final Counter digestedCounter;
+
+    public NotificationDispatcher(NotificationOutboxJpaRepository outboxRepository,
+                                  NotificationRepository notificationRepository,
+                                  NotificationDomainService notificationDomainService,
+                                  NotificationDtoMapper notificationDtoMapper,
+                                  NotificationWebSocketService webSocketService,
+                                  UnreadNotificationCounter unreadCounter,
+                                  PushNotificationDispatcher pushDispatcher,
+                                  NotificationCoalescingProperties coalescingProperties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notifications.outbox.workers:4}") int workers,
+                                  @Value("${app.notifications.outbox.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${app.notifications.outbox.claim-lease-seconds:60}") long claimLeaseSeconds,
+                                  @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts,
+                                  @Value("${app.notifications.outbox.backoff-base-ms:1000}") long backoffBaseMillis,
+                                  @Value("${app.notifications.outbox.backoff-max-ms:300000}") long backoffMaxMillis,
+                                  @Value("${app.notifications.outbox.sweep-batch-size:200}") int sweepBatchSize) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationDomainService = notificationDomainService;
+        this.notificationDtoMapper = notificationDtoMapper;
+        this.webSocketService = webSocketService;
+        this.unreadCounter = unreadCounter;
+        this.pushDispatcher = pushDispatcher;
+        this.coalescingProperties = coalescingProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimLease = Duration.ofSeconds(claimLeaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = Duration.ofMillis(backoffBaseMillis);
+        this.backoffMax = Duration.ofMillis(backoffMaxMillis);
+        this.sweepBatchSize = sweepBatchSize;
+
+        this.partitions = new ThreadPoolTaskExecutor[workers];
+        for (int i = 0; i < workers; i++) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(1);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("notification-worker-" + i + "-");
+            executor.initialize();
+            partitions[i] = executor;
+        }
+
+        this.coalescingScheduler = new ThreadPoolTaskScheduler();
+        coalescingScheduler.setPoolSize(1);
+        coalescingScheduler.setThreadNamePrefix("notification-coalescer-");
+        coalescingScheduler.initialize();
+
+        this.deliveredCounter = meterRegistry.counter("notification.outbox.delivered");
+        this.retriedCounter = meterRegistry.counter("notification.outbox.retried");
+        this.failedCounter = meterRegistry.counter("notification.outbox.failed");
+        meterRegistry.gauge("notification.outbox.queued", queuedUsers, Set::size);
+
+        this.coalescedEventsCounter = meterRegistry.counter("notification.coalescing.events");
+        this.coalescedFramesCounter = meterRegistry.counter("notification.coalescing.frames");
+        this.digestedCounter = meterRegistry.counter("notification.coalescing.digested");
+        meterRegistry.gauge("notification.coalescing.ratio", this, NotificationDispatcher::coalescingRatio);
+    }
+
+    /**
+     * Programa la entrega de las notificaciones pendientes de un usuario al terminar la
+     * ventana de agrupación. Si el usuario ya tiene una entrega programada o en cola, esa
+     * entrega recogerá también las filas nuevas.
+     *
+     * @param userId ID del usuario destinatario
+     */
+    public void dispatch(Long userId) {
+        schedule(userId, Duration.ofMillis(coalescingProperties.getWindowMs()));
+    }
+
+    /**
+     * Despacha los usuarios con filas vencidas que no se entregaron por la vía rápida.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.sweep-interval-ms:5000}",
+            initialDelayString = "${app.notifications.outbox.sweep-interval-ms:5000}")
+    public void sweep() {
+        try {
+            List<Long> userIds = outboxRepository.findUserIdsWithDueEntries(
+                    LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+            // Las filas del barrido ya están vencidas: se entregan sin esperar la ventana
+            userIds.forEach(userId -> schedule(userId, Duration.ZERO));
+        } catch (RuntimeException e) {
+            log.error("Error al barrer la bandeja de salida de notificaciones", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescingScheduler.shutdown();
+        for (ThreadPoolTaskExecutor partition : partitions) {
+            partition.shutdown();
+        }
+    }
+
+    private void schedule(Long userId, Duration delay) {
+        if (!queuedUsers.add(userId)) {
+            return;
+        }
+        if (delay.isZero() || delay.isNegative()) {
+            enqueue(userId);
+            return;
+        }
+        try {
+            coalescingScheduler.schedule(() -> enqueue(userId), Instant.now().plus(delay));
+        } catch (TaskRejectedException e) {
+            queuedUsers.remove(userId);
+            log.debug("No se pudo programar la entrega; el usuario {} se entregará en el barrido", userId);
+        }
+    }
+
+    private void enqueue(Long userId) {
+        try {
+            partitionFor(userId).execute(() -> {
+                queuedUsers.remove(userId);
+                deliver(userId);
+            });
+        } catch (TaskRejectedException e) {
+            // La cola está llena: el barrido recogerá las filas más tarde
+            queuedUsers.remove(userId);
+            log.debug("Cola de notificaciones llena; el usuario {} se entregará en el barrido", userId);
+        }
+    }
+
+    private void deliver(Long userId) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        try {
+            Integer claimed = transactionTemplate.execute(
+                    status -> outboxRepository.claimForUser(userId, token, now, now.plus(claimLease)));
+            if (claimed == null || claimed == 0) {
+                return;
+            }
+
+            Delivery delivery = transactionTemplate.execute(status -> persist(token, now));
+            if (delivery == null || delivery.notifications().isEmpty()) {
+                return;
+            }
+            List<NotificationDto> delivered = delivery.notifications();
+            deliveredCounter.increment(delivered.size());
+            coalescedEventsCounter.increment(delivery.events());
+            push(userId, delivered, unreadCounter.add(userId, delivered.size()));
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron entregar las notificaciones del usuario {}", userId, e);
+            try {
+                transactionTemplate.executeWithoutResult(status -> scheduleRetry(token, e));
+            } catch (RuntimeException retryError) {
+                // El reclamo caduca por sí solo y el barrido volverá a intentarlo
+                log.error("No se pudo programar el reintento de las notificaciones del usuario {}", userId, retryError);
+            }
+        }
+    }
+
+    private Delivery persist(String token, LocalDateTime now) {
+        List<NotificationOutboxJpaEntity> entries = outboxRepository.findByClaimTokenOrderByIdAsc(token);
+        if (entries.isEmpty()) {
+            return Delivery.EMPTY;
+        }
+        if (entries.get(0).getNextAttemptAt().isAfter(now)) {
+            // La más antigua espera un reintento: se respeta el orden del usuario
+            outboxRepository.releaseClaim(token);
+            return Delivery.EMPTY;
+        }
+
+        List<Notification> saved = notificationRepository.saveAll(coalesce(entries));
+        outboxRepository.deleteAllInBatch(entries);
+
+        return new Delivery(entries.size(), saved.stream()
+                .map(notificationDtoMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Convierte las filas reclamadas en notificaciones. Los tipos que alcanzan su umbral de
+     * resumen se reemplazan por una notificación de resumen en la posición de la última fila.
+     */
+    private List<Notification> coalesce(List<NotificationOutboxJpaEntity> entries) {
+        Map<String, Integer> pendingByType = new HashMap<>();
+        for (NotificationOutboxJpaEntity entry : entries) {
+            pendingByType.merge(entry.getType(), 1, Integer::sum);
+        }
+        pendingByType.entrySet().removeIf(e -> {
+            int threshold = coalescingProperties.digestThresholdFor(e.getKey());
+            return threshold <= 0 || e.getValue() < threshold;
+        });
+        if (pendingByType.isEmpty()) {
+            return entries.stream().map(this::toNotification).collect(Collectors.toList());
+        }
+
+        Map<String, Integer> totals = new HashMap<>(pendingByType);
+        List<Notification> notifications = new ArrayList<>();
+        for (NotificationOutboxJpaEntity entry : entries) {
+            Integer pending = pendingByType.computeIfPresent(entry.getType(), (type, count) -> count - 1);
+            if (pending == null) {
+                notifications.add(toNotification(entry));
+            } else if (pending == 0) {
+                int total = totals.get(entry.getType());
+                notifications.add(notificationDomainService.createDigestNotification(
+                        User.builder().id(entry.getUserId()).build(), entry.getType(), total));
+                digestedCounter.increment(total);
+            }
+        }
+        return notifications;
+    }
+
+    private void push(Long userId, List<NotificationDto> notifications, int unreadCount) {
+        // Las notificaciones ya están guardadas: si el envío falla el cliente las obtiene por la API
+        try {
+            if (notifications.size() == 1) {
+                webSocketService.sendNotificationToUser(userId, notifications.get(0));
+                webSocketService.sendUnreadNotificationCount(userId, unreadCount);
+            } else {
+                webSocketService.sendNotificationBatchToUser(userId, NotificationBatchDto.builder()
+                        .notifications(notifications)
+                        .unreadCount(unreadCount)
+                        .build());
+            }
+            coalescedFramesCounter.increment();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron enviar por WebSocket las notificaciones del usuario {}", userId, e);
+        }
+        pushDispatcher.sendToUser(userId, toPushMessage(notifications));
+    }
+
+    private PushMessage toPushMessage(List<NotificationDto> notifications) {
+        NotificationDto latest = notifications.get(notifications.size() - 1);
+        Map<String, String> data = new HashMap<>();
+        data.put("notificationId", String.valueOf(latest.getId()));
+        data.put("type", latest.getType());
+        if (latest.getDeepLink() != null) {
+            data.put("deepLink", latest.getDeepLink());
+        }
+        if (notifications.size() == 1) {
+            return new PushMessage(latest.getTitle(), latest.getMessage(), data);
+        }
+        return new PushMessage(String.format("Tienes %d notificaciones nuevas", notifications.size()),
+                latest.getTitle(), data);
+    }
+
+    private void scheduleRetry(String token, RuntimeException error) {
+        LocalDateTime now = LocalDateTime.now();
+        String message = String.valueOf(error.getMessage());
+        String lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+
+        for (NotificationOutboxJpaEntity entry : outboxRepository.findByClaimTokenOrderByIdAsc(token)) {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(lastError);
+            entry.setClaimToken(null);
+            entry.setClaimedUntil(null);
+            if (attempts >= maxAttempts) {
+                entry.setStatus(NotificationOutboxJpaEntity.STATUS_FAILED);
+                failedCounter.increment();
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(attempts)));
+                retriedCounter.increment();
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = backoffBase.multipliedBy(factor);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private Notification toNotification(NotificationOutboxJpaEntity entry) {
+        return Notification.builder()
+                .user(User.builder().id(entry.getUserId()).build())
+                .title(entry.getTitle())
+                .message(entry.getMessage())
+                .type(entry.getType())
+                .relatedEntityType(entry.getRelatedEntityType())
+                .relatedEntityId(entry.getRelatedEntityId())
+                .deepLink(entry.getDeepLink())
+                .read(false)
+                .build();
+    }
+
+    private double coalescingRatio() {
+        double frames = coalescedFramesCounter.count();
+        return frames == 0 ? 1.0 : coalescedEventsCounter.count() / frames;
+    }
+
+    private ThreadPoolTaskExecutor partitionFor(Long userId) {
+        return partitions[Math.floorMod(Long.hashCode(userId), partitions.length)];
+    }
+
+    // Notificaciones creadas en una entrega y número de filas de la bandeja que las originaron
+    private record Delivery(int events, List<NotificationDto> notifications) {
+        private static final Delivery EMPTY = new Delivery(0, List.of());
+    }
+}
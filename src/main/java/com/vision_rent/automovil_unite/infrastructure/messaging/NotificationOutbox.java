@@ -0,0 +1,67 @@
+package com.vision_rent.automovil_unite.infrastructure.messaging;
+
+import com.vision_rent.automovil_unite.domain.entity.Notification;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationOutboxJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationOutboxJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bandeja de salida de notificaciones.
+ * <p>
+ * Las notificaciones se guardan como filas compactas en {@code notification_outbox} dentro
+ * de la transacción de negocio, sin tocar la tabla de notificaciones ni el WebSocket. Tras
+ * el commit se entregan los usuarios afectados al {@link NotificationDispatcher}; si la
+ * aplicación se detiene antes, el barrido periódico recoge las filas pendientes.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final NotificationOutboxJpaRepository outboxRepository;
+    private final NotificationDispatcher dispatcher;
+
+    /**
+     * Registra notificaciones para entregarlas cuando se confirme la transacción actual.
+     *
+     * @param notifications Notificaciones a entregar, con el destinatario asignado
+     */
+    public void enqueue(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutboxJpaEntity> entries = notifications.stream()
+                .map(notification -> toEntry(notification, now))
+                .collect(Collectors.toList());
+        outboxRepository.saveAll(entries);
+
+        Set<Long> userIds = entries.stream()
+                .map(NotificationOutboxJpaEntity::getUserId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        TransactionCallbacks.afterCommit(() -> userIds.forEach(dispatcher::dispatch));
+    }
+
+    private NotificationOutboxJpaEntity toEntry(Notification notification, LocalDateTime now) {
+        return NotificationOutboxJpaEntity.builder()
+                .userId(notification.getUser().getId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .relatedEntityType(notification.getRelatedEntityType())
+                .relatedEntityId(notification.getRelatedEntityId())
+                .deepLink(notification.getDeepLink())
+                .status(NotificationOutboxJpaEntity.STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+/**
+ * Gateway de pago.
+ * <p>
+ * Las operaciones son idempotentes por ID de pago: repetir una autorización o una captura
+ * tras un error o un reinicio no genera un cobro duplicado. Los rechazos del método de pago
+ * se devuelven como resultado FAILED; los errores transitorios se lanzan como
+ * {@link PaymentGatewayException}.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Autoriza el monto del pago sin capturarlo.
+     *
+     * @param request Pago a autorizar
+     * @return Resultado de la autorización
+     */
+    PaymentGatewayResult authorize(PaymentGatewayRequest request);
+
+    /**
+     * Captura un pago autorizado.
+     *
+     * @param request Pago a capturar, con el identificador del gateway
+     * @return Resultado de la captura
+     */
+    PaymentGatewayResult capture(PaymentGatewayRequest request);
+
+    /**
+     * Cancela la operación de un pago que se dio por fallido localmente, para liberar los
+     * fondos que el gateway tenga retenidos. Cancelar un pago ya cancelado, fallido o que el
+     * gateway no llegó a registrar no hace nada.
+     *
+     * @param paymentId ID del pago
+     * @param gatewayId Identificador del gateway, o la referencia local si la autorización no llegó a devolverlo
+     */
+    void cancel(Long paymentId, String gatewayId);
+
+    /**
+     * Verifica la firma de un webhook y lo traduce a un evento de pago.
+     *
+     * @param payload Cuerpo de la solicitud tal como se recibió
+     * @param signature Cabecera de firma
+     * @return Evento verificado
+     * @throws com.vision_rent.automovil_unite.application.exception.InvalidOperationException si la firma no es válida
+     */
+    PaymentGatewayEvent parseWebhook(String payload, String signature);
+}
@@ -0,0 +1,12 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+/**
+ * Evento de un pago recibido por webhook y ya verificado.
+ *
+ * @param eventId Identificador único del evento en el gateway
+ * @param type Tipo de evento tal como lo envía el gateway
+ * @param paymentId ID del pago al que se refiere, o null si el evento no es de un pago nuestro
+ * @param result Estado que informa el evento, o null si el tipo de evento no cambia el pago
+ */
+public record PaymentGatewayEvent(String eventId, String type, Long paymentId, PaymentGatewayResult result) {
+}
@@ -0,0 +1,13 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+/**
+ * Excepción lanzada cuando no se pudo completar una llamada al gateway de pago por un error
+ * transitorio (red, límite de solicitudes, error interno del gateway). El pago conserva su
+ * estado y se reintenta más tarde.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
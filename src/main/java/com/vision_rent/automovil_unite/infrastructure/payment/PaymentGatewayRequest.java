@@ -0,0 +1,21 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de un pago que necesita el gateway para autorizarlo o capturarlo.
+ *
+ * @param paymentId ID del pago
+ * @param status Estado actual del pago (PENDING o AUTHORIZED)
+ * @param gatewayId Identificador del pago en el gateway, si ya fue autorizado
+ * @param amount Monto a cobrar
+ * @param currency Moneda (código ISO 4217)
+ * @param paymentMethodToken Token del método de pago en el gateway
+ */
+public record PaymentGatewayRequest(Long paymentId,
+                                    String status,
+                                    String gatewayId,
+                                    BigDecimal amount,
+                                    String currency,
+                                    String paymentMethodToken) {
+}
@@ -0,0 +1,51 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+/**
+ * Resultado de una operación en el gateway.
+ *
+ * @param status Estado al que pasa el pago: AUTHORIZED, COMPLETED, FAILED o REFUNDED; PENDING
+ *               si el gateway lo confirmará más tarde por webhook
+ * @param gatewayId Identificador del pago en el gateway
+ * @param failureReason Motivo del rechazo, si falló
+ */
+public record PaymentGatewayResult(String status, String gatewayId, String failureReason) {
+
+    public static PaymentGatewayResult pending(String gatewayId) {
+        return new PaymentGatewayResult("PENDING", gatewayId, null);
+    }
+
+    public static PaymentGatewayResult authorized(String gatewayId) {
+        return new PaymentGatewayResult("AUTHORIZED", gatewayId, null);
+    }
+
+    public static PaymentGatewayResult completed(String gatewayId) {
+        return new PaymentGatewayResult("COMPLETED", gatewayId, null);
+    }
+
+    public static PaymentGatewayResult failed(String gatewayId, String failureReason) {
+        return new PaymentGatewayResult("FAILED", gatewayId, failureReason);
+    }
+
+    public static PaymentGatewayResult refunded(String gatewayId) {
+        return new PaymentGatewayResult("REFUNDED", gatewayId, null);
+    }
+
+    /**
+     * Traduce un tipo de evento de pago con la nomenclatura de Stripe.
+     *
+     * @param eventType Tipo de evento, por ejemplo {@code payment_intent.succeeded}
+     * @param gatewayId Identificador del pago en el gateway
+     * @param failureReason Motivo del rechazo, si el evento lo trae
+     * @return Resultado del evento, o null si el tipo no cambia el estado del pago
+     */
+    public static PaymentGatewayResult fromEventType(String eventType, String gatewayId, String failureReason) {
+        return switch (eventType) {
+            case "payment_intent.amount_capturable_updated" -> authorized(gatewayId);
+            case "payment_intent.succeeded" -> completed(gatewayId);
+            case "payment_intent.payment_failed" -> failed(gatewayId, failureReason);
+            case "payment_intent.canceled" -> failed(gatewayId, "Pago cancelado en el gateway");
+            case "charge.refunded" -> refunded(gatewayId);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+import com.vision_rent.automovil_unite.application.service.PaymentStateService;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Procesa los pagos pendientes contra el {@link PaymentGateway} fuera de la solicitud.
+ * <p>
+ * Tras el commit del pago, un grupo acotado de hilos lo autoriza y, si la autorización se
+ * concede, lo captura; cada resultado se aplica en su propia transacción con
+ * {@link PaymentStateService}. Ninguna transacción queda abierta durante la llamada al
+ * gateway. Un pago se procesa en un solo hilo a la vez dentro del nodo y las operaciones del
+ * gateway son idempotentes, así que repetirlo entre nodos o tras un reinicio no duplica cobros.
+ * <p>
+ * El barrido periódico vuelve a enviar los pagos pendientes o autorizados que llevan un
+ * tiempo sin cambios (errores transitorios, reinicios, cola llena) y marca como fallidos los
+ * que siguen pendientes al agotar el plazo, cancelando su operación en el gateway.
+ */
+@Slf4j
+@Component
+public class PaymentProcessor {
+
+    private static final String TIMEOUT_REASON = "Tiempo de espera del gateway de pago agotado";
+
+    private final PaymentGateway gateway;
+    private final PaymentStateService stateService;
+    private final PaymentJpaRepository paymentJpaRepository;
+    private final ThreadPoolTaskExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Duration retryAfter;
+    private final Duration pendingTimeout;
+    private final int sweepBatchSize;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer gatewayTimer;
+
+    public PaymentProcessor(PaymentGateway gateway,
+                            PaymentStateService stateService,
+                            PaymentJpaRepository paymentJpaRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.payments.workers:8}") int workers,
+                            @Value("${app.payments.queue-capacity:1000}") int queueCapacity,
+                            @Value("${app.payments.retry-after-ms:60000}") long retryAfterMillis,
+                            @Value("${app.payments.pending-timeout-ms:3600000}") long pendingTimeoutMillis,
+                            @Value("${app.payments.sweep-batch-size:200}") int sweepBatchSize) {
+        this.gateway = gateway;
+        this.stateService = stateService;
+        this.paymentJpaRepository = paymentJpaRepository;
+        this.retryAfter = Duration.ofMillis(retryAfterMillis);
+        this.pendingTimeout = Duration.ofMillis(pendingTimeoutMillis);
+        this.sweepBatchSize = sweepBatchSize;
+
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workers);
+        this.workers.setMaxPoolSize(workers);
+        this.workers.setQueueCapacity(queueCapacity);
+        this.workers.setThreadNamePrefix("payment-worker-");
+        this.workers.initialize();
+
+        this.meterRegistry = meterRegistry;
+        this.gatewayTimer = meterRegistry.timer("payments.gateway.latency");
+        meterRegistry.gauge("payments.processor.queue", this.workers, executor -> executor.getQueueSize());
+    }
+
+    /**
+     * Encola un pago para procesarlo. No bloquea al llamador.
+     *
+     * @param paymentId ID del pago
+     */
+    public void submit(Long paymentId) {
+        if (!inFlight.add(paymentId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(paymentId);
+                } finally {
+                    inFlight.remove(paymentId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inFlight.remove(paymentId);
+            log.warn("Cola de pagos llena; el pago {} se procesará en el barrido", paymentId);
+        }
+    }
+
+    /**
+     * Reenvía los pagos detenidos y marca como fallidos los que superaron el plazo.
+     */
+    @Scheduled(fixedDelayString = "${app.payments.sweep-interval-ms:30000}",
+            initialDelayString = "${app.payments.sweep-interval-ms:30000}")
+    public void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> expired = paymentJpaRepository.findPendingIdsCreatedBefore(
+                    now.minus(pendingTimeout), PageRequest.of(0, sweepBatchSize));
+            for (Long paymentId : expired) {
+                stateService.failPayment(paymentId, TIMEOUT_REASON);
+            }
+
+            List<Long> stalled = paymentJpaRepository.findIdsByStatusInAndUpdatedBefore(
+                    List.of("PENDING", "AUTHORIZED"), now.minus(retryAfter), PageRequest.of(0, sweepBatchSize));
+            stalled.forEach(this::submit);
+
+            if (!expired.isEmpty() || !stalled.isEmpty()) {
+                log.info("Barrido de pagos: {} vencidos, {} reenviados", expired.size(), stalled.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en el barrido de pagos", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void process(Long paymentId) {
+        try {
+            Optional<PaymentGatewayRequest> next = stateService.prepareGatewayRequest(paymentId);
+            while (next.isPresent()) {
+                PaymentGatewayRequest request = next.get();
+                boolean authorizing = "PENDING".equals(request.status());
+                PaymentGatewayResult result = gatewayTimer.record(
+                        () -> authorizing ? gateway.authorize(request) : gateway.capture(request));
+
+                String status = stateService.applyGatewayResult(paymentId, result);
+                meterRegistry.counter("payments.gateway.results", "status", status).increment();
+
+                // Tras autorizar se captura en la misma pasada
+                next = authorizing && "AUTHORIZED".equals(status)
+                        ? stateService.prepareGatewayRequest(paymentId)
+                        : Optional.empty();
+            }
+        } catch (PaymentGatewayException e) {
+            meterRegistry.counter("payments.gateway.errors").increment();
+            log.warn("Error transitorio del gateway con el pago {}; se reintentará", paymentId, e);
+        } catch (RuntimeException e) {
+            log.error("Error al procesar el pago {}", paymentId, e);
+        }
+    }
+}
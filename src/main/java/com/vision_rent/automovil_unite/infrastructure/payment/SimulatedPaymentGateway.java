@@ -0,0 +1,153 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gateway de pago simulado dentro del proceso, para desarrollo y pruebas de carga.
+ * <p>
+ * Imita la latencia y los resultados de Stripe sin llamadas de red: el token
+ * {@code tok_decline} se rechaza siempre y el resto se rechaza con la tasa configurada. El
+ * identificador del gateway deriva del ID del pago, así que repetir una operación da el mismo
+ * resultado. Los webhooks usan el mismo esquema de firma que Stripe
+ * ({@code t=<segundos>,v1=<HMAC-SHA256 de "t.cuerpo">}) con el secreto configurado, y un
+ * cuerpo JSON {@code {"id", "type", "paymentId", "failureReason"}}.
+ * <p>
+ * Solo existe en los perfiles {@code dev} y {@code test}: en el resto, elegirlo deja la
+ * aplicación sin gateway y el arranque falla.
+ */
+@Component
+@Profile({"dev", "test"})
+@ConditionalOnProperty(name = "app.payments.gateway", havingValue = "simulated")
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    static final String DECLINED_TOKEN = "tok_decline";
+
+    private static final long SIGNATURE_TOLERANCE_SECONDS = 300;
+
+    private final ObjectMapper objectMapper;
+    private final long latencyMillis;
+    private final double failureRate;
+    private final byte[] webhookSecret;
+
+    public SimulatedPaymentGateway(ObjectMapper objectMapper,
+                                   @Value("${app.payments.simulated.latency-ms:150}") long latencyMillis,
+                                   @Value("${app.payments.simulated.failure-rate:0.0}") double failureRate,
+                                   @Value("${app.payments.webhook-secret}") String webhookSecret) {
+        this.objectMapper = objectMapper;
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+        if (!StringUtils.hasText(webhookSecret)) {
+            throw new IllegalStateException("Falta el secreto de los webhooks de pago (PAYMENT_WEBHOOK_SECRET)");
+        }
+        this.webhookSecret = webhookSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public PaymentGatewayResult authorize(PaymentGatewayRequest request) {
+        simulateRoundTrip();
+        String gatewayId = "sim_pi_" + request.paymentId();
+        if (DECLINED_TOKEN.equals(request.paymentMethodToken())) {
+            return PaymentGatewayResult.failed(gatewayId, "Tarjeta rechazada");
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return PaymentGatewayResult.failed(gatewayId, "Fondos insuficientes");
+        }
+        return PaymentGatewayResult.authorized(gatewayId);
+    }
+
+    @Override
+    public PaymentGatewayResult capture(PaymentGatewayRequest request) {
+        simulateRoundTrip();
+        return PaymentGatewayResult.completed(request.gatewayId());
+    }
+
+    @Override
+    public void cancel(Long paymentId, String gatewayId) {
+        simulateRoundTrip();
+    }
+
+    @Override
+    public PaymentGatewayEvent parseWebhook(String payload, String signature) {
+        verifySignature(payload, signature);
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            String type = event.path("type").asText();
+            Long paymentId = event.hasNonNull("paymentId") ? event.get("paymentId").asLong() : null;
+            String gatewayId = paymentId != null ? "sim_pi_" + paymentId : null;
+            String failureReason = event.hasNonNull("failureReason") ? event.get("failureReason").asText() : null;
+            return new PaymentGatewayEvent(event.path("id").asText(), type, paymentId,
+                    PaymentGatewayResult.fromEventType(type, gatewayId, failureReason));
+        } catch (IOException e) {
+            throw new InvalidOperationException("Cuerpo de webhook inválido");
+        }
+    }
+
+    private void verifySignature(String payload, String signature) {
+        if (signature == null) {
+            throw new InvalidOperationException("Firma de webhook inválida");
+        }
+        String timestamp = null;
+        String expected = null;
+        for (String part : signature.split(",")) {
+            if (part.startsWith("t=")) {
+                timestamp = part.substring(2);
+            } else if (part.startsWith("v1=")) {
+                expected = part.substring(3);
+            }
+        }
+        if (timestamp == null || expected == null) {
+            throw new InvalidOperationException("Firma de webhook inválida");
+        }
+
+        long age;
+        try {
+            age = Math.abs(System.currentTimeMillis() / 1000 - Long.parseLong(timestamp));
+        } catch (NumberFormatException e) {
+            throw new InvalidOperationException("Firma de webhook inválida");
+        }
+        byte[] actual = hmac(timestamp + "." + payload);
+        if (age > SIGNATURE_TOLERANCE_SECONDS
+                || !MessageDigest.isEqual(actual, expected.getBytes(StandardCharsets.US_ASCII))) {
+            throw new InvalidOperationException("Firma de webhook inválida");
+        }
+    }
+
+    private byte[] hmac(String signedPayload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret, "HmacSHA256"));
+            byte[] digest = mac.doFinal(signedPayload.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).getBytes(StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no está disponible", e);
+        }
+    }
+
+    private void simulateRoundTrip() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Llamada al gateway simulado interrumpida", e);
+        }
+    }
+}
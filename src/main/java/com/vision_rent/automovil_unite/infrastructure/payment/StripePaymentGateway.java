@@ -0,0 +1,189 @@
+package com.vision_rent.automovil_unite.infrastructure.payment;
+
+import com.stripe.exception.CardException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Charge;
+import com.stripe.model.Event;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+import com.stripe.net.RequestOptions;
+import com.stripe.net.Webhook;
+import com.stripe.param.PaymentIntentCancelParams;
+import com.stripe.param.PaymentIntentCaptureParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentIntentSearchParams;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gateway de pago sobre Stripe (PaymentIntents con captura manual).
+ * <p>
+ * La autorización crea y confirma un PaymentIntent con el token del método de pago y guarda
+ * el ID del pago en sus metadatos, de modo que los webhooks se relacionan con el pago aunque
+ * lleguen antes de guardar el ID de Stripe. Las claves de idempotencia derivan del ID del pago.
+ * <p>
+ * Sin clave de API ni secreto de webhooks el arranque falla.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.payments.gateway", havingValue = "stripe")
+public class StripePaymentGateway implements PaymentGateway {
+
+    private static final String PAYMENT_ID_METADATA = "payment_id";
+    private static final String INTENT_ID_PREFIX = "pi_";
+    private static final Set<String> CANCELABLE_STATUSES = Set.of(
+            "requires_payment_method", "requires_confirmation", "requires_action", "requires_capture", "processing");
+
+    private final String apiKey;
+    private final String webhookSecret;
+
+    public StripePaymentGateway(@Value("${app.payments.stripe.api-key}") String apiKey,
+                                @Value("${app.payments.webhook-secret}") String webhookSecret) {
+        if (!StringUtils.hasText(apiKey)) {
+            throw new IllegalStateException("Falta la clave de API de Stripe (STRIPE_API_KEY)");
+        }
+        if (!StringUtils.hasText(webhookSecret)) {
+            throw new IllegalStateException("Falta el secreto de los webhooks de pago (PAYMENT_WEBHOOK_SECRET)");
+        }
+        this.apiKey = apiKey;
+        this.webhookSecret = webhookSecret;
+    }
+
+    @Override
+    public PaymentGatewayResult authorize(PaymentGatewayRequest request) {
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(toMinorUnits(request.amount()))
+                .setCurrency(request.currency().toLowerCase(Locale.ROOT))
+                .setPaymentMethod(request.paymentMethodToken())
+                .setCaptureMethod(PaymentIntentCreateParams.CaptureMethod.MANUAL)
+                .setConfirm(true)
+                .putMetadata(PAYMENT_ID_METADATA, String.valueOf(request.paymentId()))
+                .build();
+        try {
+            PaymentIntent intent = PaymentIntent.create(params, options("authorize-" + request.paymentId()));
+            return toResult(intent);
+        } catch (CardException | InvalidRequestException e) {
+            return PaymentGatewayResult.failed(null, e.getUserMessage() != null ? e.getUserMessage() : e.getMessage());
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Error al autorizar el pago " + request.paymentId() + " en Stripe", e);
+        }
+    }
+
+    @Override
+    public PaymentGatewayResult capture(PaymentGatewayRequest request) {
+        try {
+            PaymentIntent intent = PaymentIntent.retrieve(request.gatewayId(), options(null));
+            if (!"requires_capture".equals(intent.getStatus())) {
+                return toResult(intent);
+            }
+            PaymentIntent captured = intent.capture(PaymentIntentCaptureParams.builder().build(),
+                    options("capture-" + request.paymentId()));
+            return toResult(captured);
+        } catch (CardException | InvalidRequestException e) {
+            return PaymentGatewayResult.failed(request.gatewayId(), e.getMessage());
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Error al capturar el pago " + request.paymentId() + " en Stripe", e);
+        }
+    }
+
+    @Override
+    public void cancel(Long paymentId, String gatewayId) {
+        try {
+            // Sin el ID del PaymentIntent se busca por el ID del pago guardado en sus metadatos
+            List<PaymentIntent> intents = gatewayId != null && gatewayId.startsWith(INTENT_ID_PREFIX)
+                    ? List.of(PaymentIntent.retrieve(gatewayId, options(null)))
+                    : PaymentIntent.search(PaymentIntentSearchParams.builder()
+                            .setQuery("metadata['" + PAYMENT_ID_METADATA + "']:'" + paymentId + "'")
+                            .build(), options(null)).getData();
+            for (PaymentIntent intent : intents) {
+                if (CANCELABLE_STATUSES.contains(intent.getStatus())) {
+                    intent.cancel(PaymentIntentCancelParams.builder().build(), options("cancel-" + intent.getId()));
+                }
+            }
+        } catch (InvalidRequestException e) {
+            log.warn("Stripe no permite cancelar el pago {} ({}): {}", paymentId, gatewayId, e.getMessage());
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Error al cancelar el pago " + paymentId + " en Stripe", e);
+        }
+    }
+
+    @Override
+    public PaymentGatewayEvent parseWebhook(String payload, String signature) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new InvalidOperationException("Firma de webhook inválida");
+        }
+
+        StripeObject object = event.getDataObjectDeserializer().getObject().orElse(null);
+        if (object instanceof Charge charge) {
+            // Los cargos heredan los metadatos del PaymentIntent; solo un reembolso total cambia el pago
+            PaymentGatewayResult result = Boolean.TRUE.equals(charge.getRefunded())
+                    ? PaymentGatewayResult.fromEventType(event.getType(), charge.getPaymentIntent(), null)
+                    : null;
+            return new PaymentGatewayEvent(event.getId(), event.getType(),
+                    paymentIdOf(charge.getId(), charge.getMetadata()), result);
+        }
+        if (!(object instanceof PaymentIntent intent)) {
+            return new PaymentGatewayEvent(event.getId(), event.getType(), null, null);
+        }
+
+        String failureReason = intent.getLastPaymentError() != null ? intent.getLastPaymentError().getMessage() : null;
+        return new PaymentGatewayEvent(
+                event.getId(),
+                event.getType(),
+                paymentIdOf(intent.getId(), intent.getMetadata()),
+                PaymentGatewayResult.fromEventType(event.getType(), intent.getId(), failureReason));
+    }
+
+    private PaymentGatewayResult toResult(PaymentIntent intent) {
+        return switch (intent.getStatus()) {
+            case "requires_capture" -> PaymentGatewayResult.authorized(intent.getId());
+            case "succeeded" -> PaymentGatewayResult.completed(intent.getId());
+            // Autenticación 3-D Secure u otra acción del cliente: se resuelve por webhook
+            case "requires_action", "processing" -> PaymentGatewayResult.pending(intent.getId());
+            default -> PaymentGatewayResult.failed(intent.getId(), intent.getLastPaymentError() != null
+                    ? intent.getLastPaymentError().getMessage()
+                    : "Pago rechazado por el gateway (" + intent.getStatus() + ")");
+        };
+    }
+
+    private Long paymentIdOf(String objectId, Map<String, String> metadata) {
+        String paymentId = metadata != null ? metadata.get(PAYMENT_ID_METADATA) : null;
+        if (paymentId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(paymentId);
+        } catch (NumberFormatException e) {
+            log.warn("Objeto {} de Stripe con metadato {} inválido: {}", objectId, PAYMENT_ID_METADATA, paymentId);
+            return null;
+        }
+    }
+
+    private RequestOptions options(String idempotencyKey) {
+        RequestOptions.RequestOptionsBuilder builder = RequestOptions.builder().setApiKey(apiKey);
+        if (idempotencyKey != null) {
+            builder.setIdempotencyKey(idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,253 @@
+package com.vision_rent.automovil_unite.infrastructure.pdf;
+
+import com.vision_rent.automovil_unite.application.service.ReceiptPdfService;
+import com.vision_rent.automovil_unite.domain.entity.Receipt;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReceiptJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.storage.FileStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Genera los PDF de las boletas fuera de la solicitud.
+ * <p>
+ * Tras el commit de una boleta en estado {@code PROCESSING}, un grupo acotado de hilos la
+ * renderiza con {@link ReceiptPdfRenderer} directamente sobre el archivo de
+ * {@link FileStorageService} y la marca como emitida con {@link ReceiptPdfService}. Una boleta
+ * se renderiza en un solo hilo a la vez dentro del nodo; renderizarla de nuevo sobrescribe el
+ * mismo archivo, así que repetirla entre nodos o tras un reinicio no tiene efectos.
+ * <p>
+ * El barrido periódico reenvía las boletas que llevan un tiempo en generación (errores, cola
+ * llena, reinicios) y cuenta cada reenvío en {@code pdf_retries}. Al agotar
+ * {@code max-retries} la boleta pasa a {@code FAILED} y deja de reenviarse; la regeneración
+ * por lotes la vuelve a intentar y, si lo consigue, la emite. La regeneración por lotes de boletas históricas reparte cada lote entre
+ * los mismos hilos y espera a que termine antes de leer el siguiente.
+ */
+@Slf4j
+@Component
+public class ReceiptPdfGenerator {
+
+    private final ReceiptPdfService pdfService;
+    private final ReceiptPdfRenderer renderer;
+    private final FileStorageService fileStorageService;
+    private final ReceiptJpaRepository receiptJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor workers;
+    private final ExecutorService regenerationRunner = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "receipt-pdf-regeneration"));
+    private final AtomicBoolean regenerating = new AtomicBoolean();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Duration retryAfter;
+    private final int maxRetries;
+    private final int batchSize;
+
+    private final Timer renderTimer;
+    private final Counter errorCounter;
+    private final Counter regeneratedCounter;
+    private final Counter failedCounter;
+
+    public ReceiptPdfGenerator(ReceiptPdfService pdfService,
+                               ReceiptPdfRenderer renderer,
+                               FileStorageService fileStorageService,
+                               ReceiptJpaRepository receiptJpaRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.receipts.pdf.workers:4}") int workers,
+                               @Value("${app.receipts.pdf.queue-capacity:500}") int queueCapacity,
+                               @Value("${app.receipts.pdf.retry-after-ms:120000}") long retryAfterMillis,
+                               @Value("${app.receipts.pdf.max-retries:5}") int maxRetries,
+                               @Value("${app.receipts.pdf.batch-size:200}") int batchSize) {
+        this.pdfService = pdfService;
+        this.renderer = renderer;
+        this.fileStorageService = fileStorageService;
+        this.receiptJpaRepository = receiptJpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryAfter = Duration.ofMillis(retryAfterMillis);
+        this.maxRetries = maxRetries;
+        this.batchSize = batchSize;
+
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workers);
+        this.workers.setMaxPoolSize(workers);
+        this.workers.setQueueCapacity(queueCapacity);
+        this.workers.setThreadNamePrefix("receipt-pdf-");
+        this.workers.initialize();
+
+        this.renderTimer = meterRegistry.timer("receipts.pdf.render");
+        this.errorCounter = meterRegistry.counter("receipts.pdf.errors");
+        this.regeneratedCounter = meterRegistry.counter("receipts.pdf.regenerated");
+        this.failedCounter = meterRegistry.counter("receipts.pdf.failed");
+        meterRegistry.gauge("receipts.pdf.queue", this.workers, executor -> executor.getQueueSize());
+    }
+
+    /**
+     * Encola una boleta para generar su PDF. No bloquea al llamador.
+     *
+     * @param receiptId ID de la boleta
+     */
+    public void submit(Long receiptId) {
+        if (!inFlight.add(receiptId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> renderTracked(receiptId));
+        } catch (TaskRejectedException e) {
+            inFlight.remove(receiptId);
+            log.warn("Cola de PDF de boletas llena; la boleta {} se generará en el barrido", receiptId);
+        }
+    }
+
+    /**
+     * Inicia en segundo plano la regeneración de los PDF de las boletas emitidas antes de la
+     * fecha indicada.
+     *
+     * @param issuedBefore Fecha de emisión límite (exclusiva)
+     * @return false si ya hay una regeneración en curso
+     */
+    public boolean regenerate(LocalDateTime issuedBefore) {
+        if (!regenerating.compareAndSet(false, true)) {
+            return false;
+        }
+        regenerationRunner.execute(() -> {
+            try {
+                regenerateAll(issuedBefore);
+            } finally {
+                regenerating.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Da por fallidas las boletas que agotaron sus reintentos y reenvía las que siguen en
+     * generación tras el plazo de reintento.
+     */
+    @Scheduled(fixedDelayString = "${app.receipts.pdf.sweep-interval-ms:60000}",
+            initialDelayString = "${app.receipts.pdf.sweep-interval-ms:60000}")
+    public void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime before = now.minus(retryAfter);
+            Integer failed = transactionTemplate.execute(
+                    status -> receiptJpaRepository.markPdfFailed(before, maxRetries, now));
+            if (failed != null && failed > 0) {
+                failedCounter.increment(failed);
+                log.error("Barrido de boletas: {} PDF fallidos tras {} reintentos", failed, maxRetries);
+            }
+
+            List<Long> stalled = new ArrayList<>(receiptJpaRepository.findIdsByStatusAndUpdatedBefore(
+                    "PROCESSING", before, PageRequest.of(0, batchSize)));
+            // Las que aún se están renderizando en este nodo no cuentan como reintento
+            stalled.removeIf(inFlight::contains);
+            if (stalled.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(
+                    status -> receiptJpaRepository.incrementPdfRetries(stalled, now));
+            stalled.forEach(this::submit);
+            log.info("Barrido de boletas: {} PDF reenviados", stalled.size());
+        } catch (RuntimeException e) {
+            log.error("Error en el barrido de PDF de boletas", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        regenerationRunner.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void regenerateAll(LocalDateTime issuedBefore) {
+        long afterId = 0L;
+        int total = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> ids = receiptJpaRepository.findIdsIssuedBefore(
+                        issuedBefore, afterId, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                List<CompletableFuture<?>> batch = new ArrayList<>(ids.size());
+                for (Long receiptId : ids) {
+                    batch.add(submitForRegeneration(receiptId));
+                }
+                CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+
+                total += ids.size();
+                regeneratedCounter.increment(ids.size());
+                afterId = ids.get(ids.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al regenerar los PDF de boletas", e);
+        }
+        log.info("PDF de boletas regenerados: {}", total);
+    }
+
+    /**
+     * Envía una boleta del lote a los hilos de trabajo; si la cola está llena, la renderiza
+     * en el hilo de la regeneración para frenar el lote en lugar de descartarla.
+     */
+    private CompletableFuture<?> submitForRegeneration(Long receiptId) {
+        if (!inFlight.add(receiptId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return workers.submitCompletable(() -> renderTracked(receiptId));
+        } catch (TaskRejectedException e) {
+            renderTracked(receiptId);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void renderTracked(Long receiptId) {
+        try {
+            render(receiptId);
+        } finally {
+            inFlight.remove(receiptId);
+        }
+    }
+
+    private void render(Long receiptId) {
+        try {
+            Optional<Receipt> loaded = pdfService.loadForRendering(receiptId);
+            if (loaded.isEmpty()) {
+                return;
+            }
+            Receipt receipt = loaded.get();
+            String pdfUrl = renderTimer.recordCallable(
+                    () -> fileStorageService.storeStream(receipt.getPdfUrl(), out -> renderer.render(receipt, out)));
+            pdfService.markRendered(receiptId, pdfUrl);
+        } catch (IOException e) {
+            errorCounter.increment();
+            log.warn("No se pudo almacenar el PDF de la boleta {}; se reintentará", receiptId, e);
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.error("Error al generar el PDF de la boleta {}", receiptId, e);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.vision_rent.automovil_unite.infrastructure.pdf;
+
+import com.vision_rent.automovil_unite.domain.entity.Receipt;
+import com.vision_rent.automovil_unite.domain.entity.User;
+import com.vision_rent.automovil_unite.domain.entity.Vehicle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renderiza el PDF de una boleta.
+ * <p>
+ * La plantilla {@code templates/receipt/receipt.txt} se compila una sola vez al arrancar: cada
+ * línea queda con su fuente y su posición ya resueltas y el texto fijo ya escapado y
+ * codificado, igual que los objetos constantes del documento (catálogo, página y fuentes).
+ * Renderizar solo escribe esos bytes y los valores de la boleta directamente en el flujo de
+ * salida; la longitud del contenido y la tabla de referencias se escriben al final, así que
+ * el documento nunca se construye completo en memoria.
+ * <p>
+ * En la plantilla, las líneas que empiezan con {@code "# "} o {@code "## "} son títulos y las
+ * variables se escriben como {@code ${variable}}. La boleta ocupa una sola página A4.
+ */
+@Component
+public class ReceiptPdfRenderer {
+
+    private static final String TEMPLATE_LOCATION = "templates/receipt/receipt.txt";
+    private static final Charset PDF_CHARSET = Charset.forName("windows-1252");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 56;
+    private static final int BLANK_LINE_HEIGHT = 10;
+
+    private static final String[] HEADER_OBJECTS = {
+            "<< /Type /Catalog /Pages 2 0 R >>",
+            "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+            "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] " +
+                    "/Resources << /Font << /F1 4 0 R /F2 5 0 R >> >> /Contents 6 0 R >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>"
+    };
+    private static final int CONTENT_OBJECT = HEADER_OBJECTS.length + 1;
+    private static final int LENGTH_OBJECT = CONTENT_OBJECT + 1;
+
+    private final byte[] header;
+    private final long[] objectOffsets;
+    private final List<Line> lines;
+
+    public ReceiptPdfRenderer() {
+        // Desplazamientos de los objetos 1..CONTENT_OBJECT, todos dentro de la cabecera fija
+        ByteArrayOutputStream builder = new ByteArrayOutputStream(1024);
+        builder.writeBytes("%PDF-1.4\n%âãÏÓ\n".getBytes(StandardCharsets.ISO_8859_1));
+        this.objectOffsets = new long[CONTENT_OBJECT];
+        for (int i = 0; i < HEADER_OBJECTS.length; i++) {
+            objectOffsets[i] = builder.size();
+            builder.writeBytes(ascii((i + 1) + " 0 obj\n" + HEADER_OBJECTS[i] + "\nendobj\n"));
+        }
+        objectOffsets[CONTENT_OBJECT - 1] = builder.size();
+        builder.writeBytes(ascii(CONTENT_OBJECT + " 0 obj\n<< /Length " + LENGTH_OBJECT + " 0 R >>\nstream\n"));
+        this.header = builder.toByteArray();
+        this.lines = compile(load());
+    }
+
+    /**
+     * Escribe el PDF de la boleta en el flujo indicado. No cierra el flujo.
+     *
+     * @param receipt Boleta con sus asociaciones cargadas
+     * @param output Flujo de salida
+     * @throws IOException Si ocurre un error al escribir
+     */
+    public void render(Receipt receipt, OutputStream output) throws IOException {
+        Map<String, String> model = model(receipt);
+        CountingOutputStream out = new CountingOutputStream(output);
+
+        out.write(header);
+        long contentStart = out.count;
+        out.write(ascii("BT\n"));
+        for (Line line : lines) {
+            out.write(line.operators());
+            for (Part part : line.parts()) {
+                if (part.variable() == null) {
+                    out.write(part.bytes());
+                } else {
+                    String value = model.get(part.variable());
+                    if (value == null) {
+                        throw new IllegalArgumentException("Falta la variable " + part.variable() + " de la plantilla de boleta");
+                    }
+                    out.write(encode(value));
+                }
+            }
+            out.write(ascii(") Tj\n"));
+        }
+        out.write(ascii("ET"));
+        long contentLength = out.count - contentStart;
+        out.write(ascii("\nendstream\nendobj\n"));
+
+        long lengthOffset = out.count;
+        out.write(ascii(LENGTH_OBJECT + " 0 obj\n" + contentLength + "\nendobj\n"));
+
+        long xrefOffset = out.count;
+        StringBuilder xref = new StringBuilder(64 + 20 * (LENGTH_OBJECT + 1));
+        xref.append("xref\n0 ").append(LENGTH_OBJECT + 1).append('\n');
+        xref.append("0000000000 65535 f \n");
+        for (long offset : objectOffsets) {
+            xref.append(String.format("%010d 00000 n \n", offset));
+        }
+        xref.append(String.format("%010d 00000 n \n", lengthOffset));
+        xref.append("trailer\n<< /Size ").append(LENGTH_OBJECT + 1).append(" /Root 1 0 R >>\n");
+        xref.append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+        out.write(ascii(xref.toString()));
+        out.flush();
+    }
+
+    private Map<String, String> model(Receipt receipt) {
+        Map<String, String> model = new HashMap<>();
+        Vehicle vehicle = receipt.getVehicle();
+        model.put("receiptNumber", receipt.getReceiptNumber());
+        model.put("issueDate", format(receipt.getIssueDate()));
+        model.put("rentalId", String.valueOf(receipt.getRental().getId()));
+        model.put("renterName", fullName(receipt.getRenter()));
+        model.put("ownerName", fullName(receipt.getOwner()));
+        model.put("vehicle", vehicle.getBrand() + " " + vehicle.getModel() + " " + vehicle.getYear());
+        model.put("licensePlate", nullToEmpty(vehicle.getLicensePlate()));
+        model.put("startDate", format(receipt.getRental().getStartDateTime()));
+        model.put("endDate", format(receipt.getRental().getEndDateTime()));
+        model.put("rentalDays", String.valueOf(receipt.getRentalDays()));
+        model.put("pricePerDay", money(receipt.getPricePerDay(), receipt.getCurrency()));
+        model.put("subtotal", money(receipt.getSubtotal(), receipt.getCurrency()));
+        model.put("taxAmount", money(receipt.getTaxAmount(), receipt.getCurrency()));
+        model.put("totalAmount", money(receipt.getTotalAmount(), receipt.getCurrency()));
+        return model;
+    }
+
+    private static String fullName(User user) {
+        return nullToEmpty(user.getFirstName()) + " " + nullToEmpty(user.getLastName());
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : "";
+    }
+
+    private static String money(BigDecimal amount, String currency) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() + " " + currency : "";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private List<Line> compile(String source) {
+        List<Line> compiled = new ArrayList<>();
+        int y = PAGE_HEIGHT - MARGIN;
+        for (String raw : source.split("\\R", -1)) {
+            if (raw.isBlank()) {
+                y -= BLANK_LINE_HEIGHT;
+                continue;
+            }
+
+            String font = "F1";
+            int size = 10;
+            String text = raw;
+            if (raw.startsWith("## ")) {
+                font = "F2";
+                size = 12;
+                text = raw.substring(3);
+            } else if (raw.startsWith("# ")) {
+                font = "F2";
+                size = 16;
+                text = raw.substring(2);
+            }
+
+            y -= size + 4;
+            if (y < MARGIN) {
+                throw new IllegalStateException("La plantilla de boleta no cabe en una página");
+            }
+            byte[] operators = ascii("/" + font + " " + size + " Tf 1 0 0 1 " + MARGIN + " " + y + " Tm (");
+            compiled.add(new Line(operators, compileParts(text)));
+        }
+        return List.copyOf(compiled);
+    }
+
+    private List<Part> compileParts(String text) {
+        List<Part> parts = new ArrayList<>();
+        int position = 0;
+        while (position < text.length()) {
+            int start = text.indexOf("${", position);
+            int end = start < 0 ? -1 : text.indexOf('}', start);
+            if (end < 0) {
+                parts.add(new Part(encode(text.substring(position)), null));
+                break;
+            }
+            if (start > position) {
+                parts.add(new Part(encode(text.substring(position, start)), null));
+            }
+            parts.add(new Part(null, text.substring(start + 2, end).trim()));
+            position = end + 1;
+        }
+        return List.copyOf(parts);
+    }
+
+    private String load() {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar la plantilla de boleta", e);
+        }
+    }
+
+    /**
+     * Escapa un texto como cadena literal de PDF y lo codifica en WinAnsi.
+     */
+    private static byte[] encode(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '(', ')', '\\' -> escaped.append('\\').append(c);
+                case '\r', '\n', '\t' -> escaped.append(' ');
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString().getBytes(PDF_CHARSET);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Line(byte[] operators, List<Part> parts) {
+    }
+
+    /**
+     * Fragmento de una línea: texto fijo ya codificado o el nombre de una variable.
+     */
+    private record Part(byte[] bytes, String variable) {
+    }
+
+    /**
+     * Cuenta los bytes escritos para calcular los desplazamientos de la tabla de referencias.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
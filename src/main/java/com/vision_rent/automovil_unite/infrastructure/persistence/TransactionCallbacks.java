@@ -0,0 +1,32 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para ejecutar acciones ligadas al ciclo de vida de la transacción actual.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Ejecuta la acción después del commit de la transacción actual, o de inmediato
+     * si no hay una transacción activa. Si la transacción se revierte, la acción no se ejecuta.
+     *
+     * @param action Acción a ejecutar
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.DeviceToken;
+import com.vision_rent.automovil_unite.domain.repository.DeviceTokenRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.DeviceTokenMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.DeviceTokenJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador para el repositorio de tokens de dispositivos que implementa la interfaz de dominio.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceTokenRepositoryAdapter implements DeviceTokenRepository {
+
+    private final DeviceTokenJpaRepository deviceTokenJpaRepository;
+    private final DeviceTokenMapper deviceTokenMapper = DeviceTokenMapper.INSTANCE;
+
+    @Override
+    public DeviceToken save(DeviceToken deviceToken) {
+        var deviceTokenJpaEntity = deviceTokenMapper.toJpaEntity(deviceToken);
+        var savedEntity = deviceTokenJpaRepository.save(deviceTokenJpaEntity);
+        return deviceTokenMapper.toDomain(savedEntity);
+    }
+
+    @Override
+    public Optional<DeviceToken> findByToken(String token) {
+        return deviceTokenJpaRepository.findByToken(token)
+                .map(deviceTokenMapper::toDomain);
+    }
+
+    @Override
+    public List<String> findTokensByUserId(Long userId) {
+        return deviceTokenJpaRepository.findTokensByUserId(userId);
+    }
+
+    @Override
+    public int deleteByUserIdAndToken(Long userId, String token) {
+        return deviceTokenJpaRepository.deleteByUserIdAndToken(userId, token);
+    }
+}
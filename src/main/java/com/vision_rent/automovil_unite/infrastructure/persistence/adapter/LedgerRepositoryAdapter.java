@@ -0,0 +1,55 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.repository.LedgerRepository;
+import com.vision_rent.automovil_unite.domain.valueobject.LedgerLine;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.LedgerEntryJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.LedgerJournalJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.OwnerBalanceJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador para el repositorio del libro mayor que implementa la interfaz de dominio.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerRepositoryAdapter implements LedgerRepository {
+
+    private final LedgerJournalJpaRepository ledgerJournalJpaRepository;
+    private final LedgerEntryJpaRepository ledgerEntryJpaRepository;
+    private final OwnerBalanceJpaRepository ownerBalanceJpaRepository;
+
+    @Override
+    public Optional<Long> createJournal(String journalType, String referenceType, Long referenceId,
+                                        String currency, String description) {
+        if (ledgerJournalJpaRepository.insertIfAbsent(journalType, referenceType, referenceId, currency, description) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(ledgerJournalJpaRepository.findIdByReference(journalType, referenceType, referenceId));
+    }
+
+    @Override
+    public void saveEntries(Long journalId, String currency, List<LedgerLine> lines) {
+        ledgerEntryJpaRepository.saveAll(lines.stream()
+                .map(line -> LedgerEntryJpaEntity.builder()
+                        .journalId(journalId)
+                        .account(line.account())
+                        .holderId(line.holderId())
+                        .amount(line.amount())
+                        .currency(currency)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void addToOwnerBalance(Long ownerId, String currency, BigDecimal delta) {
+        ownerBalanceJpaRepository.insertIfAbsent(ownerId, currency);
+        ownerBalanceJpaRepository.addToBalance(ownerId, currency, delta);
+    }
+}
@@ -0,0 +1,58 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationReadChangeDto;
+import com.vision_rent.automovil_unite.application.query.NotificationQueryRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.NotificationViewMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.NotificationView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationReadVersionJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de las consultas paginadas de notificaciones mediante proyecciones de interfaz
+ * que se convierten a DTO en este adaptador.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationQueryRepositoryAdapter implements NotificationQueryRepository {
+
+    private final NotificationJpaRepository notificationJpaRepository;
+    private final NotificationReadVersionJpaRepository readVersionJpaRepository;
+    private final NotificationViewMapper notificationViewMapper = NotificationViewMapper.INSTANCE;
+
+    @Override
+    public List<NotificationDto> findPageByUserId(Long userId, Long beforeId, int limit) {
+        return toDtos(notificationJpaRepository.findViewsByUserIdBefore(userId, beforeId, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public List<NotificationDto> findCreatedAfter(Long userId, Long afterId, int limit) {
+        return toDtos(notificationJpaRepository.findViewsByUserIdAfter(userId, afterId, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public List<NotificationReadChangeDto> findReadChanges(Long userId, Long maxId, long afterVersion,
+                                                           Long afterId, int limit) {
+        return notificationJpaRepository.findReadChanges(userId, maxId, afterVersion, afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(notificationViewMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long findReadVersion(Long userId) {
+        return readVersionJpaRepository.findVersionByUserId(userId).orElse(0L);
+    }
+
+    private List<NotificationDto> toDtos(List<NotificationView> views) {
+        return views.stream()
+                .map(notificationViewMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
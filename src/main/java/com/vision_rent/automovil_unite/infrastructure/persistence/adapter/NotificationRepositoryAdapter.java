@@ -2,8 +2,10 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
 
 import com.vision_rent.automovil_unite.domain.entity.Notification;
 import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationReadVersionJpaEntity;
 import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.NotificationMapper;
 import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationReadVersionJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -14,12 +16,17 @@ import java.util.stream.Collectors;
 
 /**
  * Adaptador para el repositorio de notificaciones que implementa la interfaz de dominio.
+ * <p>
+ * Cada marca de lectura toma la siguiente versión de lectura del usuario con su fila
+ * bloqueada hasta el commit, de modo que las versiones se confirman en orden y la
+ * sincronización por versión no se salta cambios confirmados tarde.
  */
 @Component
 @RequiredArgsConstructor
 public class NotificationRepositoryAdapter implements NotificationRepository {
 
     private final NotificationJpaRepository notificationJpaRepository;
+    private final NotificationReadVersionJpaRepository readVersionJpaRepository;
     private final NotificationMapper notificationMapper = NotificationMapper.INSTANCE;
     
     @Override
@@ -29,6 +36,17 @@ public class NotificationRepositoryAdapter implements NotificationRepository {
         return notificationMapper.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Notification> saveAll(List<Notification> notifications) {
+        var entities = notifications.stream()
+                .map(notificationMapper::toJpaEntity)
+                .collect(Collectors.toList());
+        return notificationJpaRepository.saveAll(entities)
+                .stream()
+                .map(notificationMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Notification> findById(Long id) {
         return notificationJpaRepository.findById(id)
@@ -65,12 +83,21 @@ public class NotificationRepositoryAdapter implements NotificationRepository {
     }
 
     @Override
-    public void markAsRead(Long notificationId) {
-        notificationJpaRepository.markAsRead(notificationId, LocalDateTime.now());
+    public boolean markAsRead(Long notificationId, Long userId) {
+        return notificationJpaRepository.markAsRead(
+                notificationId, userId, LocalDateTime.now(), nextReadVersion(userId)) > 0;
     }
 
     @Override
-    public void markAllAsReadForUser(Long userId) {
-        notificationJpaRepository.markAllAsReadForUser(userId, LocalDateTime.now());
+    public int markAllAsReadForUser(Long userId) {
+        return notificationJpaRepository.markAllAsReadForUser(userId, LocalDateTime.now(), nextReadVersion(userId));
+    }
+
+    private long nextReadVersion(Long userId) {
+        readVersionJpaRepository.insertIfAbsent(userId);
+        NotificationReadVersionJpaEntity readVersion = readVersionJpaRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("No existe la versión de lectura del usuario " + userId));
+        readVersion.setVersion(readVersion.getVersion() + 1);
+        return readVersion.getVersion();
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.OwnerBalance;
+import com.vision_rent.automovil_unite.domain.repository.OwnerBalanceRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.OwnerBalanceMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.OwnerBalanceJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador para el repositorio de saldos de propietarios que implementa la interfaz de dominio.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnerBalanceRepositoryAdapter implements OwnerBalanceRepository {
+
+    private final OwnerBalanceJpaRepository ownerBalanceJpaRepository;
+    private final OwnerBalanceMapper ownerBalanceMapper = OwnerBalanceMapper.INSTANCE;
+
+    @Override
+    public List<OwnerBalance> findByOwnerId(Long ownerId) {
+        return ownerBalanceJpaRepository.findByOwnerIdOrderByCurrency(ownerId)
+                .stream()
+                .map(ownerBalanceMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> findPayableIds(BigDecimal minimum, Long afterId, int limit) {
+        return ownerBalanceJpaRepository.findPayableIds(minimum, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<OwnerBalance> findPayableByIdsForUpdate(List<Long> ids, BigDecimal minimum) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return ownerBalanceJpaRepository.findPayableByIdInForUpdate(ids, minimum)
+                .stream()
+                .map(ownerBalanceMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+}
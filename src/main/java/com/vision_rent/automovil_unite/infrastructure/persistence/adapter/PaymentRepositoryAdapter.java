@@ -34,6 +34,12 @@ public class PaymentRepositoryAdapter implements PaymentRepository {
                 .map(paymentMapper::toDomain);
     }
 
+    @Override
+    public Optional<Payment> findByIdForUpdate(Long id) {
+        return paymentJpaRepository.findByIdForUpdate(id)
+                .map(paymentMapper::toDomain);
+    }
+
     @Override
     public Optional<Payment> findByExternalId(String externalId) {
         return paymentJpaRepository.findByExternalId(externalId)
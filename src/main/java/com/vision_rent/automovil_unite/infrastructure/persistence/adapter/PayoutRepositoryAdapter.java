@@ -0,0 +1,59 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import com.vision_rent.automovil_unite.domain.repository.PayoutRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PayoutBatchJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.PayoutMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PayoutBatchJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PayoutJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador para el repositorio de pagos a propietarios que implementa la interfaz de dominio.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayoutRepositoryAdapter implements PayoutRepository {
+
+    private final PayoutJpaRepository payoutJpaRepository;
+    private final PayoutBatchJpaRepository payoutBatchJpaRepository;
+    private final PayoutMapper payoutMapper = PayoutMapper.INSTANCE;
+
+    @Override
+    public Payout save(Payout payout) {
+        var payoutJpaEntity = payoutMapper.toJpaEntity(payout);
+        var savedEntity = payoutJpaRepository.save(payoutJpaEntity);
+        return payoutMapper.toDomain(savedEntity);
+    }
+
+    @Override
+    public List<Payout> findByOwnerId(Long ownerId, int limit) {
+        return payoutJpaRepository.findByOwnerIdOrderByIdDesc(ownerId, PageRequest.of(0, limit))
+                .stream()
+                .map(payoutMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Long openBatch() {
+        return payoutBatchJpaRepository.save(PayoutBatchJpaEntity.builder()
+                .status(PayoutBatchJpaEntity.STATUS_PROCESSING)
+                .payoutCount(0)
+                .build()).getId();
+    }
+
+    @Override
+    public void completeBatch(Long batchId, int payoutCount) {
+        payoutBatchJpaRepository.findById(batchId).ifPresent(batch -> {
+            batch.setStatus(PayoutBatchJpaEntity.STATUS_COMPLETED);
+            batch.setPayoutCount(payoutCount);
+            batch.setCompletedAt(LocalDateTime.now());
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.ReceiptSummaryDto;
+import com.vision_rent.automovil_unite.application.query.ReceiptQueryRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.ReceiptSummaryMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.ReceiptSummaryView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReceiptJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de las consultas de listado de boletas mediante proyecciones de interfaz
+ * que se convierten a DTO en este adaptador.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReceiptQueryRepositoryAdapter implements ReceiptQueryRepository {
+
+    private final ReceiptJpaRepository receiptJpaRepository;
+    private final ReceiptSummaryMapper receiptSummaryMapper = ReceiptSummaryMapper.INSTANCE;
+
+    @Override
+    public List<ReceiptSummaryDto> findSummariesByRenterId(Long renterId) {
+        return toDtos(receiptJpaRepository.findSummariesByRenterId(renterId));
+    }
+
+    @Override
+    public List<ReceiptSummaryDto> findSummariesByOwnerId(Long ownerId) {
+        return toDtos(receiptJpaRepository.findSummariesByOwnerId(ownerId));
+    }
+
+    private List<ReceiptSummaryDto> toDtos(List<ReceiptSummaryView> views) {
+        return views.stream()
+                .map(receiptSummaryMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -34,6 +34,12 @@ public class ReceiptRepositoryAdapter implements ReceiptRepository {
                 .map(receiptMapper::toDomain);
     }
 
+    @Override
+    public Optional<Receipt> findByIdForUpdate(Long id) {
+        return receiptJpaRepository.findByIdForUpdate(id)
+                .map(receiptMapper::toDomain);
+    }
+
     @Override
     public Optional<Receipt> findByReceiptNumber(String receiptNumber) {
         return receiptJpaRepository.findByReceiptNumber(receiptNumber)
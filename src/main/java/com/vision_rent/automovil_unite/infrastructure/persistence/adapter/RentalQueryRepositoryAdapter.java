@@ -0,0 +1,45 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
+import com.vision_rent.automovil_unite.application.query.RentalQueryRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.RentalSummaryMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalSummaryView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de las consultas de listado de alquileres mediante proyecciones de interfaz
+ * que se convierten a DTO en este adaptador.
+ */
+@Component
+@RequiredArgsConstructor
+public class RentalQueryRepositoryAdapter implements RentalQueryRepository {
+
+    private final RentalJpaRepository rentalJpaRepository;
+    private final RentalSummaryMapper rentalSummaryMapper = RentalSummaryMapper.INSTANCE;
+
+    @Override
+    public List<RentalSummaryDto> findSummariesByRenterId(Long renterId) {
+        return toDtos(rentalJpaRepository.findSummariesByRenterId(renterId));
+    }
+
+    @Override
+    public List<RentalSummaryDto> findSummariesByVehicleId(Long vehicleId) {
+        return toDtos(rentalJpaRepository.findSummariesByVehicleId(vehicleId));
+    }
+
+    @Override
+    public List<RentalSummaryDto> findSummariesByVehicleOwnerId(Long ownerId) {
+        return toDtos(rentalJpaRepository.findSummariesByVehicleOwnerId(ownerId));
+    }
+
+    private List<RentalSummaryDto> toDtos(List<RentalSummaryView> views) {
+        return views.stream()
+                .map(rentalSummaryMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
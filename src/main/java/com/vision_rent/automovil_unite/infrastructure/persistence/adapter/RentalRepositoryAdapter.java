@@ -6,6 +6,7 @@ import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
 import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.RentalMapper;
 import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -102,7 +103,19 @@ public class RentalRepositoryAdapter implements RentalRepository {
 
     @Override
     public boolean existsActiveRentalForVehicle(Long vehicleId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        return rentalJpaRepository.existsActiveRentalForVehicle(vehicleId, startDateTime, endDateTime);
+        return rentalJpaRepository.existsActiveRentalForVehicle(vehicleId, startDateTime, endDateTime, LocalDateTime.now());
+    }
+
+    @Override
+    public boolean existsOtherActiveRentalForVehicle(Long rentalId, Long vehicleId,
+                                                     LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return rentalJpaRepository.existsOtherActiveRentalForVehicle(
+                rentalId, vehicleId, startDateTime, endDateTime, LocalDateTime.now());
+    }
+
+    @Override
+    public Optional<Long> findVehicleIdById(Long rentalId) {
+        return rentalJpaRepository.findVehicleIdById(rentalId);
     }
 
     @Override
@@ -112,4 +125,39 @@ public class RentalRepositoryAdapter implements RentalRepository {
                 .map(rentalMapper::toDomain)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public boolean expireHold(Long rentalId, LocalDateTime now) {
+        return rentalJpaRepository.expireHold(rentalId, now) > 0;
+    }
+
+    @Override
+    public List<Rental> findInProgressEndingBetween(LocalDateTime afterEnd, Long afterId, LocalDateTime until, int limit) {
+        return rentalJpaRepository.findInProgressEndingBetween(afterEnd, afterId, until, PageRequest.of(0, limit))
+                .stream()
+                .map(rentalMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void markLateReturn(List<Long> rentalIds) {
+        if (!rentalIds.isEmpty()) {
+            rentalJpaRepository.markLateReturn(rentalIds);
+        }
+    }
+
+    @Override
+    public List<Rental> findEndingSoonNotNotified(LocalDateTime now, LocalDateTime until, int limit) {
+        return rentalJpaRepository.findEndingSoonNotNotified(now, until, PageRequest.of(0, limit))
+                .stream()
+                .map(rentalMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void markEndingSoonNotified(List<Long> rentalIds) {
+        if (!rentalIds.isEmpty()) {
+            rentalJpaRepository.markEndingSoonNotified(rentalIds);
+        }
+    }
 }
\ No newline at end of file
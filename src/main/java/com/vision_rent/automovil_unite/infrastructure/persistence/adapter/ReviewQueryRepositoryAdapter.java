@@ -0,0 +1,45 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
+import com.vision_rent.automovil_unite.application.query.ReviewQueryRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.ReviewSummaryMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.ReviewSummaryView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReviewJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de las consultas de listado de reseñas mediante proyecciones de interfaz
+ * que se convierten a DTO en este adaptador.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewQueryRepositoryAdapter implements ReviewQueryRepository {
+
+    private final ReviewJpaRepository reviewJpaRepository;
+    private final ReviewSummaryMapper reviewSummaryMapper = ReviewSummaryMapper.INSTANCE;
+
+    @Override
+    public List<ReviewSummaryDto> findSummariesByReviewerId(Long reviewerId) {
+        return toDtos(reviewJpaRepository.findSummariesByReviewerId(reviewerId));
+    }
+
+    @Override
+    public List<ReviewSummaryDto> findSummariesByReviewedId(Long reviewedId) {
+        return toDtos(reviewJpaRepository.findSummariesByReviewedId(reviewedId));
+    }
+
+    @Override
+    public List<ReviewSummaryDto> findSummariesByVehicleId(Long vehicleId) {
+        return toDtos(reviewJpaRepository.findSummariesByVehicleId(vehicleId));
+    }
+
+    private List<ReviewSummaryDto> toDtos(List<ReviewSummaryView> views) {
+        return views.stream()
+                .map(reviewSummaryMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
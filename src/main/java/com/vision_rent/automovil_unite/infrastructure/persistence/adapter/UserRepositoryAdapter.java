@@ -5,11 +5,15 @@ import com.vision_rent.automovil_unite.domain.entity.User;
 import com.vision_rent.automovil_unite.domain.repository.UserRepository;
 import com.vision_rent.automovil_unite.domain.valueobject.Role;
 import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.UserMapper;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.UserTokenRevocationView;
 import com.vision_rent.automovil_unite.infrastructure.persistence.repository.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -80,10 +84,29 @@ public class UserRepositoryAdapter implements UserRepository {
 
     @Override
     public List<User> findTopRatedRenters(int limit) {
-        return userJpaRepository.findTopRatedRenters(Role.RENTER)
+        return userJpaRepository.findTopRatedRenters(Role.RENTER, PageRequest.of(0, limit))
                 .stream()
-                .limit(limit)
                 .map(userMapper::toDomain)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<User> findAllByIds(List<Long> ids) {
+        return userJpaRepository.findAllById(ids)
+                .stream()
+                .map(userMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> findBannedUserIds() {
+        return userJpaRepository.findBannedUserIds();
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findTokenRevocationsSince(LocalDateTime since) {
+        return userJpaRepository.findTokenRevocationsSince(since)
+                .stream()
+                .collect(Collectors.toMap(UserTokenRevocationView::getId, UserTokenRevocationView::getTokensValidAfter));
+    }
+}
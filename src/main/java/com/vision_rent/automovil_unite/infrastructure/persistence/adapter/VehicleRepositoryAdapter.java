@@ -3,14 +3,18 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
 
 import com.vision_rent.automovil_unite.domain.entity.Vehicle;
 import com.vision_rent.automovil_unite.domain.repository.VehicleRepository;
+import com.vision_rent.automovil_unite.domain.valueobject.VehicleSearchCriteria;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
 import com.vision_rent.automovil_unite.infrastructure.persistence.mapper.VehicleMapper;
 import com.vision_rent.automovil_unite.infrastructure.persistence.repository.VehicleJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.VehicleSearchRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,6 +26,8 @@ import java.util.stream.Collectors;
 public class VehicleRepositoryAdapter implements VehicleRepository {
 
     private final VehicleJpaRepository vehicleJpaRepository;
+    private final VehicleAvailabilityIndex availabilityIndex;
+    private final VehicleSearchRepository vehicleSearchRepository;
     private final VehicleMapper vehicleMapper = VehicleMapper.INSTANCE;
     
     @Override
@@ -37,6 +43,12 @@ public class VehicleRepositoryAdapter implements VehicleRepository {
                 .map(vehicleMapper::toDomain);
     }
 
+    @Override
+    public Optional<Vehicle> findByIdForUpdate(Long id) {
+        return vehicleJpaRepository.findByIdForUpdate(id)
+                .map(vehicleMapper::toDomain);
+    }
+
     @Override
     public List<Vehicle> findByOwnerId(Long ownerId) {
         return vehicleJpaRepository.findByOwnerId(ownerId)
@@ -71,31 +83,43 @@ public class VehicleRepositoryAdapter implements VehicleRepository {
 
     @Override
     public List<Vehicle> findMostRented(int limit) {
-        return vehicleJpaRepository.findMostRented()
+        return vehicleJpaRepository.findMostRented(PageRequest.of(0, limit))
                 .stream()
-                .limit(limit)
                 .map(vehicleMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Vehicle> findTopRated(int limit) {
-        return vehicleJpaRepository.findTopRated()
+        return vehicleJpaRepository.findTopRated(PageRequest.of(0, limit))
                 .stream()
-                .limit(limit)
                 .map(vehicleMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<String> findMostPopularBrands(int limit) {
-        return vehicleJpaRepository.findMostPopularBrands()
+        return vehicleJpaRepository.findMostPopularBrands(PageRequest.of(0, limit))
                 .stream()
-                .limit(limit)
                 .map(result -> (String) result[0])
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Map<String, Long> countByBrand() {
+        return vehicleJpaRepository.countByBrand()
+                .stream()
+                .collect(Collectors.toMap(result -> (String) result[0], result -> (Long) result[1]));
+    }
+
+    @Override
+    public List<Vehicle> findAllByIds(List<Long> ids) {
+        return vehicleJpaRepository.findAllById(ids)
+                .stream()
+                .map(vehicleMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void delete(Vehicle vehicle) {
         vehicleJpaRepository.deleteById(vehicle.getId());
@@ -107,15 +131,39 @@ public class VehicleRepositoryAdapter implements VehicleRepository {
     }
 
     @Override
-    public void incrementRentCount(Long vehicleId) {
+    public int incrementRentCount(Long vehicleId) {
+        // El UPDATE bloquea la fila hasta el commit, así que la lectura ve el valor propio
         vehicleJpaRepository.incrementRentCount(vehicleId);
+        return vehicleJpaRepository.findRentCountById(vehicleId);
     }
 
     @Override
     public List<Vehicle> findAvailableInDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        return vehicleJpaRepository.findAvailableInDateRange(startDateTime, endDateTime)
+        // Mientras el índice en memoria no esté cargado se usa la consulta con subconsulta
+        if (!availabilityIndex.isLoaded()) {
+            return vehicleJpaRepository.findAvailableInDateRange(startDateTime, endDateTime, LocalDateTime.now())
+                    .stream()
+                    .map(vehicleMapper::toDomain)
+                    .collect(Collectors.toList());
+        }
+        
+        return vehicleJpaRepository.findByAvailableTrue()
+                .stream()
+                .filter(vehicle -> !availabilityIndex.isBooked(vehicle.getId(), startDateTime, endDateTime))
+                .map(vehicleMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Vehicle> search(VehicleSearchCriteria criteria, Long afterId, int limit) {
+        return vehicleSearchRepository.search(criteria, afterId, limit)
                 .stream()
                 .map(vehicleMapper::toDomain)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public Map<String, Map<String, Long>> countFacets(VehicleSearchCriteria criteria) {
+        return vehicleSearchRepository.countFacets(criteria);
+    }
+}
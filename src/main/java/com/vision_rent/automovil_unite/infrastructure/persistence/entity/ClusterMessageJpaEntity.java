@@ -0,0 +1,40 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Entidad JPA que representa un mensaje publicado entre los nodos de la aplicación.
+ */
+@Entity
+@Table(name = "cluster_messages")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterMessageJpaEntity extends BaseJpaEntity {
+
+    @Column(nullable = false, length = 20)
+    private String kind;
+
+    @Column(name = "source_node", nullable = false, length = 64)
+    private String sourceNode;
+
+    @Column(name = "target_node", length = 64)
+    private String targetNode;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String destination;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String payload;
+}
@@ -0,0 +1,37 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa el token push de un dispositivo.
+ */
+@Entity
+@Table(name = "device_tokens")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceTokenJpaEntity extends BaseJpaEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, unique = true, length = 512)
+    private String token;
+
+    @Column(nullable = false, length = 20)
+    private String platform;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private LocalDateTime lastSeenAt;
+}
@@ -0,0 +1,58 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa un correo pendiente de enviar en la cola de correos.
+ */
+@Entity
+@Table(name = "email_outbox")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxJpaEntity extends BaseJpaEntity {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "MEDIUMTEXT", nullable = false)
+    private String body;
+
+    @Column(nullable = false, length = 50)
+    private String template;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
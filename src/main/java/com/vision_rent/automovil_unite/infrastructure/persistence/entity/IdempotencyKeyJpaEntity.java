@@ -0,0 +1,52 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa una clave de idempotencia y la respuesta guardada para ella.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyJpaEntity extends BaseJpaEntity {
+
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    @Column(name = "scope_key", nullable = false, unique = true, length = 64)
+    private String scopeKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_content_type")
+    private String responseContentType;
+
+    @Column(name = "response_body", columnDefinition = "MEDIUMBLOB")
+    private byte[] responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,41 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidad JPA que representa un movimiento de un asiento del libro mayor. Los débitos son
+ * positivos y los créditos negativos.
+ */
+@Entity
+@Table(name = "ledger_entries")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryJpaEntity extends BaseJpaEntity {
+
+    @Column(name = "journal_id", nullable = false)
+    private Long journalId;
+
+    @Column(nullable = false, length = 30)
+    private String account;
+
+    @Column(name = "holder_id")
+    private Long holderId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+}
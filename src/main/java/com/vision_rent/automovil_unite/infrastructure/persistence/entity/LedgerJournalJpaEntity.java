@@ -0,0 +1,41 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Entidad JPA que representa un asiento del libro mayor de propietarios.
+ * <p>
+ * Cada asiento corresponde a un único hecho de negocio (tipo y referencia), lo que hace
+ * idempotente su registro.
+ */
+@Entity
+@Table(name = "ledger_journals")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerJournalJpaEntity extends BaseJpaEntity {
+
+    @Column(name = "journal_type", nullable = false, length = 20)
+    private String journalType;
+
+    @Column(name = "reference_type", nullable = false, length = 20)
+    private String referenceType;
+
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column
+    private String description;
+}
@@ -45,6 +45,9 @@ public class NotificationJpaEntity extends BaseJpaEntity {
     @Column(name = "read_at")
     private LocalDateTime readAt;
 
+    @Column(name = "read_version")
+    private Long readVersion;
+
     @Column(name = "deep_link")
     private String deepLink;
 }
\ No newline at end of file
@@ -16,6 +16,22 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "payments")
+@NamedEntityGraph(
+        name = PaymentJpaEntity.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "rental", subgraph = "rental"),
+                @NamedAttributeNode("payer"),
+                @NamedAttributeNode(value = "paymentMethod", subgraph = "paymentMethod")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "rental", attributeNodes = {
+                        @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                        @NamedAttributeNode("renter")
+                }),
+                @NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode("owner")),
+                @NamedSubgraph(name = "paymentMethod", attributeNodes = @NamedAttributeNode("user"))
+        }
+)
 @Getter
 @Setter
 @SuperBuilder
@@ -23,6 +39,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class PaymentJpaEntity extends BaseJpaEntity {
     
+    /**
+     * Grafo con las asociaciones que recorre el mapeo a dominio.
+     */
+    public static final String DETAILS_GRAPH = "Payment.details";
+    
     @Column(name = "external_id", nullable = false, unique = true)
     private String externalId;
     
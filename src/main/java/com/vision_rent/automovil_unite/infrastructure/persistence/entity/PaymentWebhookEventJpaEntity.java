@@ -0,0 +1,32 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Entidad JPA que representa un evento de webhook del gateway de pago ya procesado.
+ */
+@Entity
+@Table(name = "payment_webhook_events")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookEventJpaEntity extends BaseJpaEntity {
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private String eventId;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+}
@@ -0,0 +1,37 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que representa un lote de liquidación de pagos a propietarios.
+ */
+@Entity
+@Table(name = "payout_batches")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutBatchJpaEntity extends BaseJpaEntity {
+
+    public static final String STATUS_PROCESSING = "PROCESSING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "payout_count", nullable = false)
+    private int payoutCount;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -16,6 +16,29 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "receipts")
+@NamedEntityGraph(
+        name = ReceiptJpaEntity.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "payment", subgraph = "payment"),
+                @NamedAttributeNode(value = "rental", subgraph = "rental"),
+                @NamedAttributeNode("renter"),
+                @NamedAttributeNode("owner"),
+                @NamedAttributeNode(value = "vehicle", subgraph = "vehicle")
+        },
+        subgraphs = {
+                // payment.rental es el mismo alquiler de la boleta y se resuelve desde el contexto
+                @NamedSubgraph(name = "payment", attributeNodes = {
+                        @NamedAttributeNode("payer"),
+                        @NamedAttributeNode(value = "paymentMethod", subgraph = "paymentMethod")
+                }),
+                @NamedSubgraph(name = "rental", attributeNodes = {
+                        @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                        @NamedAttributeNode("renter")
+                }),
+                @NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode("owner")),
+                @NamedSubgraph(name = "paymentMethod", attributeNodes = @NamedAttributeNode("user"))
+        }
+)
 @Getter
 @Setter
 @SuperBuilder
@@ -23,6 +46,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ReceiptJpaEntity extends BaseJpaEntity {
     
+    /**
+     * Grafo con las asociaciones que recorre el mapeo a dominio.
+     */
+    public static final String DETAILS_GRAPH = "Receipt.details";
+    
     @Column(name = "receipt_number", nullable = false, unique = true)
     private String receiptNumber;
     
@@ -72,4 +100,7 @@ public class ReceiptJpaEntity extends BaseJpaEntity {
     
     @Column(name = "pdf_url")
     private String pdfUrl;
+
+    @Column(name = "pdf_retries", nullable = false)
+    private int pdfRetries;
 }
\ No newline at end of file
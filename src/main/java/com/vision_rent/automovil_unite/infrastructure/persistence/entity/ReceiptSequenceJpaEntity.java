@@ -0,0 +1,29 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Entidad JPA que representa la secuencia diaria de números de boleta.
+ */
+@Entity
+@Table(name = "receipt_sequences")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptSequenceJpaEntity extends BaseJpaEntity {
+
+    @Column(name = "sequence_day", nullable = false, unique = true, length = 8, columnDefinition = "char(8)")
+    private String sequenceDay;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
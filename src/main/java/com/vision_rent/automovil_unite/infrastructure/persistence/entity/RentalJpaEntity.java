@@ -16,6 +16,14 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "rentals")
+@NamedEntityGraph(
+        name = RentalJpaEntity.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                @NamedAttributeNode("renter")
+        },
+        subgraphs = @NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode("owner"))
+)
 @Getter
 @Setter
 @SuperBuilder
@@ -23,6 +31,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class RentalJpaEntity extends BaseJpaEntity {
     
+    /**
+     * Grafo con las asociaciones que recorre el mapeo a dominio: vehículo, propietario y arrendatario.
+     */
+    public static final String DETAILS_GRAPH = "Rental.details";
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id", nullable = false)
     private VehicleJpaEntity vehicle;
@@ -87,4 +100,10 @@ public class RentalJpaEntity extends BaseJpaEntity {
     
     @Column(name = "extended_until")
     private LocalDateTime extendedUntil;
+    
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+    
+    @Column(name = "ending_soon_notified", nullable = false)
+    private boolean endingSoonNotified;
 }
\ No newline at end of file
@@ -13,6 +13,22 @@ import lombok.experimental.SuperBuilder;
  */
 @Entity
 @Table(name = "reviews")
+@NamedEntityGraph(
+        name = ReviewJpaEntity.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "rental", subgraph = "rental"),
+                @NamedAttributeNode("reviewer"),
+                @NamedAttributeNode("reviewed"),
+                @NamedAttributeNode(value = "vehicle", subgraph = "vehicle")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "rental", attributeNodes = {
+                        @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                        @NamedAttributeNode("renter")
+                }),
+                @NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode("owner"))
+        }
+)
 @Getter
 @Setter
 @SuperBuilder
@@ -20,6 +36,11 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 public class ReviewJpaEntity extends BaseJpaEntity {
     
+    /**
+     * Grafo con las asociaciones que recorre el mapeo a dominio.
+     */
+    public static final String DETAILS_GRAPH = "Review.details";
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "rental_id", nullable = false)
     private RentalJpaEntity rental;
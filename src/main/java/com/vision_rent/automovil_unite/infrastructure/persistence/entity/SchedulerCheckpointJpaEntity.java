@@ -0,0 +1,39 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA con la última posición procesada por un trabajo programado.
+ */
+@Entity
+@Table(name = "scheduler_checkpoints")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerCheckpointJpaEntity {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "last_date_time", nullable = false)
+    private LocalDateTime lastDateTime;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -72,4 +73,7 @@ public class UserJpaEntity extends BaseJpaEntity {
     @Column(name = "report_count")
     private int reportCount;
 
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+
 }
\ No newline at end of file
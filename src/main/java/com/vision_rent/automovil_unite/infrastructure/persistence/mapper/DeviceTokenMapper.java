@@ -0,0 +1,26 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.domain.entity.DeviceToken;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.DeviceTokenJpaEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir entre DeviceToken (dominio) y DeviceTokenJpaEntity (persistencia).
+ */
+@Mapper
+public interface DeviceTokenMapper {
+    
+    DeviceTokenMapper INSTANCE = Mappers.getMapper(DeviceTokenMapper.class);
+    
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    DeviceToken toDomain(DeviceTokenJpaEntity deviceTokenJpaEntity);
+    
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    DeviceTokenJpaEntity toJpaEntity(DeviceToken deviceToken);
+}
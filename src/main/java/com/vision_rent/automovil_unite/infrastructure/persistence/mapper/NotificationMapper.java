@@ -24,5 +24,6 @@ public interface NotificationMapper {
     @Mapping(target = "createdAt", source = "createdAt")
     @Mapping(target = "updatedAt", source = "updatedAt")
     @Mapping(target = "user", source = "user")
+    @Mapping(target = "readVersion", ignore = true)
     NotificationJpaEntity toJpaEntity(Notification notification);
 }
\ No newline at end of file
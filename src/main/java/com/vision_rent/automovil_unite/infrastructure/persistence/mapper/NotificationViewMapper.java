@@ -0,0 +1,21 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationReadChangeDto;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.NotificationReadChangeView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.NotificationView;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir las proyecciones de notificaciones a DTOs.
+ */
+@Mapper
+public interface NotificationViewMapper {
+    
+    NotificationViewMapper INSTANCE = Mappers.getMapper(NotificationViewMapper.class);
+    
+    NotificationDto toDto(NotificationView view);
+    
+    NotificationReadChangeDto toDto(NotificationReadChangeView view);
+}
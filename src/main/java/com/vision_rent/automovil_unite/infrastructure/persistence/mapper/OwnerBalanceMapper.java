@@ -0,0 +1,26 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.domain.entity.OwnerBalance;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.OwnerBalanceJpaEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir entre OwnerBalance (dominio) y OwnerBalanceJpaEntity (persistencia).
+ */
+@Mapper
+public interface OwnerBalanceMapper {
+
+    OwnerBalanceMapper INSTANCE = Mappers.getMapper(OwnerBalanceMapper.class);
+
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    OwnerBalance toDomain(OwnerBalanceJpaEntity ownerBalanceJpaEntity);
+
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    OwnerBalanceJpaEntity toJpaEntity(OwnerBalance ownerBalance);
+}
@@ -0,0 +1,26 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PayoutJpaEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir entre Payout (dominio) y PayoutJpaEntity (persistencia).
+ */
+@Mapper
+public interface PayoutMapper {
+
+    PayoutMapper INSTANCE = Mappers.getMapper(PayoutMapper.class);
+
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    Payout toDomain(PayoutJpaEntity payoutJpaEntity);
+
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "updatedAt", source = "updatedAt")
+    PayoutJpaEntity toJpaEntity(Payout payout);
+}
@@ -0,0 +1,17 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.application.dto.ReceiptSummaryDto;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.ReceiptSummaryView;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir ReceiptSummaryView (proyección) a ReceiptSummaryDto.
+ */
+@Mapper
+public interface ReceiptSummaryMapper {
+    
+    ReceiptSummaryMapper INSTANCE = Mappers.getMapper(ReceiptSummaryMapper.class);
+    
+    ReceiptSummaryDto toDto(ReceiptSummaryView view);
+}
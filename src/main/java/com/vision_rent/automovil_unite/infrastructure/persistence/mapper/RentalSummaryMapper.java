@@ -0,0 +1,17 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalSummaryView;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir RentalSummaryView (proyección) a RentalSummaryDto.
+ */
+@Mapper
+public interface RentalSummaryMapper {
+    
+    RentalSummaryMapper INSTANCE = Mappers.getMapper(RentalSummaryMapper.class);
+    
+    RentalSummaryDto toDto(RentalSummaryView view);
+}
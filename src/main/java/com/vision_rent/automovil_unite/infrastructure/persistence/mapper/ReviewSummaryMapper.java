@@ -0,0 +1,17 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.mapper;
+
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.ReviewSummaryView;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper para convertir ReviewSummaryView (proyección) a ReviewSummaryDto.
+ */
+@Mapper
+public interface ReviewSummaryMapper {
+    
+    ReviewSummaryMapper INSTANCE = Mappers.getMapper(ReviewSummaryMapper.class);
+    
+    ReviewSummaryDto toDto(ReviewSummaryView view);
+}
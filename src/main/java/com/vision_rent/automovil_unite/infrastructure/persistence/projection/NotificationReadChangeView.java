@@ -0,0 +1,16 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección del cambio de estado de lectura de una notificación, con la versión de lectura
+ * en la que se confirmó.
+ */
+public interface NotificationReadChangeView {
+
+    Long getId();
+
+    LocalDateTime getReadAt();
+
+    Long getReadVersion();
+}
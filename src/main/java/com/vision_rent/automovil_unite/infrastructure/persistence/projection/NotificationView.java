@@ -0,0 +1,32 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una notificación para los listados paginados y la sincronización.
+ * Los alias de la consulta coinciden con los nombres de las propiedades.
+ */
+public interface NotificationView {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getTitle();
+
+    String getMessage();
+
+    String getType();
+
+    String getRelatedEntityType();
+
+    Long getRelatedEntityId();
+
+    Boolean getRead();
+
+    LocalDateTime getReadAt();
+
+    String getDeepLink();
+
+    LocalDateTime getCreatedAt();
+}
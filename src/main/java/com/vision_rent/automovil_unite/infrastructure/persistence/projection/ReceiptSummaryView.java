@@ -0,0 +1,55 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una boleta para listados, con los datos planos del arrendatario, el
+ * propietario y el vehículo. Los alias de la consulta coinciden con los nombres de las propiedades.
+ */
+public interface ReceiptSummaryView {
+
+    Long getId();
+
+    String getReceiptNumber();
+
+    Long getPaymentId();
+
+    Long getRentalId();
+
+    Long getRenterId();
+
+    String getRenterFirstName();
+
+    String getRenterLastName();
+
+    Long getOwnerId();
+
+    String getOwnerFirstName();
+
+    String getOwnerLastName();
+
+    Long getVehicleId();
+
+    String getVehicleBrand();
+
+    String getVehicleModel();
+
+    LocalDateTime getIssueDate();
+
+    BigDecimal getSubtotal();
+
+    BigDecimal getTaxAmount();
+
+    BigDecimal getTotalAmount();
+
+    Integer getRentalDays();
+
+    BigDecimal getPricePerDay();
+
+    String getCurrency();
+
+    String getStatus();
+
+    String getPdfUrl();
+}
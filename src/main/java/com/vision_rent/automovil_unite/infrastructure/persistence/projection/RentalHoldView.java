@@ -0,0 +1,13 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con los datos necesarios para reprogramar la retención de un alquiler pendiente.
+ */
+public interface RentalHoldView {
+
+    Long getId();
+
+    LocalDateTime getHoldExpiresAt();
+}
@@ -0,0 +1,25 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección ligera con el intervalo ocupado por un alquiler.
+ * Evita hidratar la entidad completa (vehículo, arrendatario, etc.) cuando
+ * solo se necesitan las fechas para construir índices en memoria.
+ */
+public interface RentalIntervalView {
+
+    Long getId();
+
+    Long getVehicleId();
+
+    String getStatus();
+
+    LocalDateTime getStartDateTime();
+
+    LocalDateTime getEndDateTime();
+
+    LocalDateTime getExtendedUntil();
+
+    LocalDateTime getHoldExpiresAt();
+}
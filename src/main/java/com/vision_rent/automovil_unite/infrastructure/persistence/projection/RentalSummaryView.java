@@ -0,0 +1,57 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un alquiler para listados, con los datos planos del vehículo, el propietario
+ * y el arrendatario. Los alias de la consulta coinciden con los nombres de las propiedades.
+ */
+public interface RentalSummaryView {
+
+    Long getId();
+
+    Long getVehicleId();
+
+    String getVehicleBrand();
+
+    String getVehicleModel();
+
+    int getVehicleYear();
+
+    String getVehicleLicensePlate();
+
+    Long getOwnerId();
+
+    String getOwnerFirstName();
+
+    String getOwnerLastName();
+
+    Long getRenterId();
+
+    String getRenterFirstName();
+
+    String getRenterLastName();
+
+    LocalDateTime getStartDateTime();
+
+    LocalDateTime getEndDateTime();
+
+    LocalDateTime getActualReturnDateTime();
+
+    LocalDateTime getExtendedUntil();
+
+    LocalDateTime getHoldExpiresAt();
+
+    BigDecimal getTotalPrice();
+
+    String getStatus();
+
+    boolean isPaid();
+
+    boolean isLateReturn();
+
+    Float getRenterRating();
+
+    Float getVehicleRating();
+}
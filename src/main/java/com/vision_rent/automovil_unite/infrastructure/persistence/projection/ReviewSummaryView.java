@@ -0,0 +1,38 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una reseña para listados, con los datos planos del autor y del vehículo.
+ * Los alias de la consulta coinciden con los nombres de las propiedades.
+ */
+public interface ReviewSummaryView {
+
+    Long getId();
+
+    Long getRentalId();
+
+    Long getReviewerId();
+
+    String getReviewerFirstName();
+
+    String getReviewerLastName();
+
+    String getReviewerPhotoUrl();
+
+    Long getReviewedId();
+
+    Long getVehicleId();
+
+    String getVehicleBrand();
+
+    String getVehicleModel();
+
+    Float getRating();
+
+    String getComment();
+
+    String getType();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,13 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con el instante a partir del cual valen los tokens de un usuario.
+ */
+public interface UserTokenRevocationView {
+
+    Long getId();
+
+    LocalDateTime getTokensValidAfter();
+}
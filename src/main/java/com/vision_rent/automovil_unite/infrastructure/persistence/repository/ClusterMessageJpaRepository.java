@@ -0,0 +1,28 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ClusterMessageJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad ClusterMessageJpaEntity.
+ */
+@Repository
+public interface ClusterMessageJpaRepository extends JpaRepository<ClusterMessageJpaEntity, Long> {
+
+    List<ClusterMessageJpaEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM ClusterMessageJpaEntity m")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM ClusterMessageJpaEntity m WHERE m.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
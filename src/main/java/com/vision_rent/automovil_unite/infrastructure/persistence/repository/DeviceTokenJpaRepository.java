@@ -0,0 +1,35 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.DeviceTokenJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad DeviceTokenJpaEntity.
+ */
+@Repository
+public interface DeviceTokenJpaRepository extends JpaRepository<DeviceTokenJpaEntity, Long> {
+
+    Optional<DeviceTokenJpaEntity> findByToken(String token);
+
+    @Query("SELECT d.token FROM DeviceTokenJpaEntity d WHERE d.userId = :userId")
+    List<String> findTokensByUserId(@Param("userId") Long userId);
+
+    List<DeviceTokenJpaEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DeviceTokenJpaEntity d WHERE d.userId = :userId AND d.token = :token")
+    int deleteByUserIdAndToken(@Param("userId") Long userId, @Param("token") String token);
+
+    @Modifying
+    @Query("DELETE FROM DeviceTokenJpaEntity d WHERE d.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+}
@@ -0,0 +1,31 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.EmailOutboxJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad EmailOutboxJpaEntity.
+ */
+@Repository
+public interface EmailOutboxJpaRepository extends JpaRepository<EmailOutboxJpaEntity, Long> {
+
+    @Modifying
+    @Query(value = "UPDATE email_outbox SET claim_token = :token, claimed_until = :claimedUntil " +
+                   "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "AND (claimed_until IS NULL OR claimed_until < :now) " +
+                   "ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    int claimBatch(@Param("token") String token,
+                   @Param("now") LocalDateTime now,
+                   @Param("claimedUntil") LocalDateTime claimedUntil,
+                   @Param("limit") int limit);
+
+    List<EmailOutboxJpaEntity> findByClaimTokenOrderByIdAsc(String claimToken);
+}
@@ -0,0 +1,63 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.IdempotencyKeyJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad IdempotencyKeyJpaEntity.
+ */
+@Repository
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyJpaEntity, Long> {
+
+    Optional<IdempotencyKeyJpaEntity> findByScopeKey(String scopeKey);
+
+    /**
+     * Reserva una clave para la ejecución en curso.
+     *
+     * @return 1 si se reservó, 0 si la clave ya existía
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys " +
+                   "(scope_key, user_id, request_hash, status, expires_at, created_at, updated_at) " +
+                   "VALUES (:scopeKey, :userId, :requestHash, 'IN_PROGRESS', :expiresAt, NOW(6), NOW(6))",
+           nativeQuery = true)
+    int reserve(@Param("scopeKey") String scopeKey,
+                @Param("userId") Long userId,
+                @Param("requestHash") String requestHash,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKeyJpaEntity k SET k.status = 'COMPLETED', k.responseStatus = :status, " +
+           "k.responseContentType = :contentType, k.responseBody = :body, k.expiresAt = :expiresAt, " +
+           "k.updatedAt = :now WHERE k.scopeKey = :scopeKey")
+    int complete(@Param("scopeKey") String scopeKey,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body,
+                 @Param("expiresAt") LocalDateTime expiresAt,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyJpaEntity k WHERE k.scopeKey = :scopeKey")
+    int deleteByScopeKey(@Param("scopeKey") String scopeKey);
+
+    /**
+     * Borra una clave solo si sigue vencida, para no borrar la que otro nodo acaba de reservar.
+     *
+     * @return 1 si se borró, 0 si ya no existía o no estaba vencida
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyJpaEntity k WHERE k.scopeKey = :scopeKey AND k.expiresAt <= :now")
+    int deleteExpiredByScopeKey(@Param("scopeKey") String scopeKey, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,12 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.LedgerEntryJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JPA para la entidad LedgerEntryJpaEntity.
+ */
+@Repository
+public interface LedgerEntryJpaRepository extends JpaRepository<LedgerEntryJpaEntity, Long> {
+}
@@ -0,0 +1,32 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.LedgerJournalJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JPA para la entidad LedgerJournalJpaEntity.
+ */
+@Repository
+public interface LedgerJournalJpaRepository extends JpaRepository<LedgerJournalJpaEntity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO ledger_journals " +
+                   "(journal_type, reference_type, reference_id, currency, description, created_at, updated_at) " +
+                   "VALUES (:journalType, :referenceType, :referenceId, :currency, :description, NOW(6), NOW(6))",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("journalType") String journalType,
+                       @Param("referenceType") String referenceType,
+                       @Param("referenceId") Long referenceId,
+                       @Param("currency") String currency,
+                       @Param("description") String description);
+
+    @Query("SELECT j.id FROM LedgerJournalJpaEntity j " +
+           "WHERE j.journalType = :journalType AND j.referenceType = :referenceType AND j.referenceId = :referenceId")
+    Long findIdByReference(@Param("journalType") String journalType,
+                           @Param("referenceType") String referenceType,
+                           @Param("referenceId") Long referenceId);
+}
@@ -2,6 +2,9 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.NotificationReadChangeView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.NotificationView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +20,11 @@ import java.util.List;
 @Repository
 public interface NotificationJpaRepository extends JpaRepository<NotificationJpaEntity, Long> {
     
+    String VIEW_SELECT = "SELECT n.id AS id, n.user.id AS userId, n.title AS title, n.message AS message, " +
+            "n.type AS type, n.relatedEntityType AS relatedEntityType, n.relatedEntityId AS relatedEntityId, " +
+            "n.read AS read, n.readAt AS readAt, n.deepLink AS deepLink, n.createdAt AS createdAt " +
+            "FROM NotificationJpaEntity n ";
+    
     List<NotificationJpaEntity> findByUserId(Long userId);
     
     List<NotificationJpaEntity> findByUserIdAndReadFalse(Long userId);
@@ -26,10 +34,58 @@ public interface NotificationJpaRepository extends JpaRepository<NotificationJpa
     int countByUserIdAndReadFalse(Long userId);
     
     @Modifying
-    @Query("UPDATE NotificationJpaEntity n SET n.read = true, n.readAt = :now WHERE n.id = :notificationId")
-    void markAsRead(@Param("notificationId") Long notificationId, @Param("now") LocalDateTime now);
+    @Query("UPDATE NotificationJpaEntity n SET n.read = true, n.readAt = :now, n.readVersion = :version " +
+           "WHERE n.id = :notificationId AND n.user.id = :userId AND n.read = false")
+    int markAsRead(@Param("notificationId") Long notificationId, @Param("userId") Long userId,
+                   @Param("now") LocalDateTime now, @Param("version") long version);
+    
+    @Modifying
+    @Query("UPDATE NotificationJpaEntity n SET n.read = true, n.readAt = :now, n.readVersion = :version " +
+           "WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsReadForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                             @Param("version") long version);
+    
+    @Query(VIEW_SELECT + "WHERE n.user.id = :userId AND n.id < :beforeId ORDER BY n.id DESC")
+    List<NotificationView> findViewsByUserIdBefore(@Param("userId") Long userId,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
+    
+    @Query(VIEW_SELECT + "WHERE n.user.id = :userId AND n.id > :afterId ORDER BY n.id ASC")
+    List<NotificationView> findViewsByUserIdAfter(@Param("userId") Long userId,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+    
+    @Query("SELECT n.id AS id, n.readAt AS readAt, n.readVersion AS readVersion " +
+           "FROM NotificationJpaEntity n " +
+           "WHERE n.user.id = :userId AND n.id <= :maxId AND n.readVersion IS NOT NULL " +
+           "AND (n.readVersion > :afterVersion OR (n.readVersion = :afterVersion AND n.id > :afterId)) " +
+           "ORDER BY n.readVersion ASC, n.id ASC")
+    List<NotificationReadChangeView> findReadChanges(@Param("userId") Long userId,
+                                                     @Param("maxId") Long maxId,
+                                                     @Param("afterVersion") Long afterVersion,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+    
+    @Query("SELECT DISTINCT n.type FROM NotificationJpaEntity n")
+    List<String> findDistinctTypes();
+    
+    @Query("SELECT n.id FROM NotificationJpaEntity n " +
+           "WHERE n.type = :type AND n.read = true AND n.readAt < :cutoff " +
+           "ORDER BY n.readAt ASC")
+    List<Long> findReadIdsOlderThan(@Param("type") String type,
+                                    @Param("cutoff") LocalDateTime cutoff,
+                                    Pageable pageable);
+    
+    @Modifying
+    @Query(value = "INSERT INTO notifications_archive (id, user_id, title, message, type, related_entity_type, " +
+                   "related_entity_id, is_read, read_at, deep_link, created_at, updated_at, archived_at) " +
+                   "SELECT id, user_id, title, message, type, related_entity_type, related_entity_id, " +
+                   "is_read, read_at, deep_link, created_at, updated_at, :now " +
+                   "FROM notifications WHERE id IN (:ids)",
+           nativeQuery = true)
+    int archiveByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
     
     @Modifying
-    @Query("UPDATE NotificationJpaEntity n SET n.read = true, n.readAt = :now WHERE n.user.id = :userId AND n.read = false")
-    void markAllAsReadForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    @Query("DELETE FROM NotificationJpaEntity n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationOutboxJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad NotificationOutboxJpaEntity.
+ */
+@Repository
+public interface NotificationOutboxJpaRepository extends JpaRepository<NotificationOutboxJpaEntity, Long> {
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxJpaEntity o SET o.claimToken = :token, o.claimedUntil = :claimedUntil " +
+           "WHERE o.userId = :userId AND o.status = 'PENDING' " +
+           "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)")
+    int claimForUser(@Param("userId") Long userId,
+                     @Param("token") String token,
+                     @Param("now") LocalDateTime now,
+                     @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    List<NotificationOutboxJpaEntity> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxJpaEntity o SET o.claimToken = NULL, o.claimedUntil = NULL " +
+           "WHERE o.claimToken = :token")
+    int releaseClaim(@Param("token") String token);
+
+    @Query("SELECT DISTINCT o.userId FROM NotificationOutboxJpaEntity o " +
+           "WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now " +
+           "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)")
+    List<Long> findUserIdsWithDueEntries(@Param("now") LocalDateTime now, Pageable pageable);
+}
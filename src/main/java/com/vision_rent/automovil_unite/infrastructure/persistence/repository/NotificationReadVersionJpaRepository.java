@@ -0,0 +1,31 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationReadVersionJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad NotificationReadVersionJpaEntity.
+ */
+@Repository
+public interface NotificationReadVersionJpaRepository extends JpaRepository<NotificationReadVersionJpaEntity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO notification_read_versions (user_id, version, created_at, updated_at) " +
+                   "VALUES (:userId, 0, NOW(6), NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM NotificationReadVersionJpaEntity v WHERE v.userId = :userId")
+    Optional<NotificationReadVersionJpaEntity> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Query("SELECT v.version FROM NotificationReadVersionJpaEntity v WHERE v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,54 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.OwnerBalanceJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad OwnerBalanceJpaEntity.
+ */
+@Repository
+public interface OwnerBalanceJpaRepository extends JpaRepository<OwnerBalanceJpaEntity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO owner_balances (owner_id, currency, balance, created_at, updated_at) " +
+                   "VALUES (:ownerId, :currency, 0, NOW(6), NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("ownerId") Long ownerId, @Param("currency") String currency);
+
+    @Modifying
+    @Query(value = "UPDATE owner_balances SET balance = balance + :delta, updated_at = NOW(6) " +
+                   "WHERE owner_id = :ownerId AND currency = :currency", nativeQuery = true)
+    int addToBalance(@Param("ownerId") Long ownerId,
+                     @Param("currency") String currency,
+                     @Param("delta") BigDecimal delta);
+
+    List<OwnerBalanceJpaEntity> findByOwnerIdOrderByCurrency(Long ownerId);
+
+    /**
+     * Busca sin bloqueo los candidatos a liquidar; bloquearlos aquí bloquearía también cada fila
+     * recorrida que no alcanza el mínimo.
+     */
+    @Query("SELECT b.id FROM OwnerBalanceJpaEntity b WHERE b.balance >= :minimum AND b.id > :afterId ORDER BY b.id")
+    List<Long> findPayableIds(@Param("minimum") BigDecimal minimum,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    /**
+     * Bloquea por clave primaria los candidatos y vuelve a comprobar el mínimo, que pudo cambiar
+     * desde que se buscaron.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM OwnerBalanceJpaEntity b WHERE b.id IN :ids AND b.balance >= :minimum ORDER BY b.id")
+    List<OwnerBalanceJpaEntity> findPayableByIdInForUpdate(@Param("ids") Collection<Long> ids,
+                                                           @Param("minimum") BigDecimal minimum);
+}
@@ -2,9 +2,17 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +24,26 @@ public interface PaymentJpaRepository extends JpaRepository<PaymentJpaEntity, Lo
     
     Optional<PaymentJpaEntity> findByExternalId(String externalId);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PaymentJpaEntity p WHERE p.id = :id")
+    Optional<PaymentJpaEntity> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT p.id FROM PaymentJpaEntity p " +
+           "WHERE p.status IN :statuses AND p.updatedAt < :before ORDER BY p.id")
+    List<Long> findIdsByStatusInAndUpdatedBefore(@Param("statuses") Collection<String> statuses,
+                                                 @Param("before") LocalDateTime before,
+                                                 Pageable pageable);
+    
+    @Query("SELECT p.id FROM PaymentJpaEntity p " +
+           "WHERE p.status = 'PENDING' AND p.createdAt < :before ORDER BY p.id")
+    List<Long> findPendingIdsCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+    
+    @EntityGraph(value = PaymentJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<PaymentJpaEntity> findByRentalId(Long rentalId);
     
+    @EntityGraph(value = PaymentJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<PaymentJpaEntity> findByPayerId(Long payerId);
     
+    @EntityGraph(value = PaymentJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<PaymentJpaEntity> findByStatus(String status);
 }
\ No newline at end of file
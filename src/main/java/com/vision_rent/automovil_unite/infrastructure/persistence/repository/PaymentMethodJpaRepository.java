@@ -2,7 +2,10 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentMethodJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,4 +25,13 @@ public interface PaymentMethodJpaRepository extends JpaRepository<PaymentMethodJ
     Optional<PaymentMethodJpaEntity> findDefaultByUserId(@Param("userId") Long userId);
     
     boolean existsByUserIdAndAlias(Long userId, String alias);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pm FROM PaymentMethodJpaEntity pm WHERE pm.id > :afterId " +
+           "AND ((pm.encryptedCardNumber IS NOT NULL AND pm.encryptedCardNumber NOT LIKE :activePattern) " +
+           "OR (pm.encryptedExpiryDate IS NOT NULL AND pm.encryptedExpiryDate NOT LIKE :activePattern)) " +
+           "ORDER BY pm.id")
+    List<PaymentMethodJpaEntity> findStaleEncryptionForUpdate(@Param("activePattern") String activePattern,
+                                                              @Param("afterId") Long afterId,
+                                                              Pageable pageable);
 }
\ No newline at end of file
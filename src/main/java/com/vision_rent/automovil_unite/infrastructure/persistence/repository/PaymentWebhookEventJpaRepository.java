@@ -0,0 +1,28 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentWebhookEventJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JPA para la entidad PaymentWebhookEventJpaEntity.
+ */
+@Repository
+public interface PaymentWebhookEventJpaRepository extends JpaRepository<PaymentWebhookEventJpaEntity, Long> {
+
+    /**
+     * Registra un evento si no estaba registrado. Una entrega concurrente del mismo evento
+     * espera en el índice único hasta que la primera termine.
+     *
+     * @return 1 si el evento es nuevo, 0 si ya estaba registrado
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO payment_webhook_events (event_id, type, payment_id, created_at, updated_at) " +
+                   "VALUES (:eventId, :type, :paymentId, NOW(6), NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("type") String type,
+                       @Param("paymentId") Long paymentId);
+}
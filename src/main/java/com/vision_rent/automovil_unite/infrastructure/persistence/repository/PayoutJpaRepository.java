@@ -0,0 +1,17 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PayoutJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad PayoutJpaEntity.
+ */
+@Repository
+public interface PayoutJpaRepository extends JpaRepository<PayoutJpaEntity, Long> {
+
+    List<PayoutJpaEntity> findByOwnerIdOrderByIdDesc(Long ownerId, Pageable pageable);
+}
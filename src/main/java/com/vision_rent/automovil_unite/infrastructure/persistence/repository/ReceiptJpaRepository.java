@@ -2,9 +2,18 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.ReceiptSummaryView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,13 +23,59 @@ import java.util.Optional;
 @Repository
 public interface ReceiptJpaRepository extends JpaRepository<ReceiptJpaEntity, Long> {
     
+    String SUMMARY_SELECT = "SELECT r.id AS id, r.receiptNumber AS receiptNumber, r.payment.id AS paymentId, " +
+            "r.rental.id AS rentalId, u.id AS renterId, u.firstName AS renterFirstName, " +
+            "u.lastName AS renterLastName, o.id AS ownerId, o.firstName AS ownerFirstName, " +
+            "o.lastName AS ownerLastName, v.id AS vehicleId, v.brand AS vehicleBrand, " +
+            "v.model AS vehicleModel, r.issueDate AS issueDate, r.subtotal AS subtotal, " +
+            "r.taxAmount AS taxAmount, r.totalAmount AS totalAmount, r.rentalDays AS rentalDays, " +
+            "r.pricePerDay AS pricePerDay, r.currency AS currency, r.status AS status, r.pdfUrl AS pdfUrl " +
+            "FROM ReceiptJpaEntity r JOIN r.renter u JOIN r.owner o JOIN r.vehicle v ";
+    
     Optional<ReceiptJpaEntity> findByReceiptNumber(String receiptNumber);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ReceiptJpaEntity r WHERE r.id = :id")
+    Optional<ReceiptJpaEntity> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT r.id FROM ReceiptJpaEntity r WHERE r.status = :status AND r.updatedAt < :before ORDER BY r.id")
+    List<Long> findIdsByStatusAndUpdatedBefore(@Param("status") String status,
+                                               @Param("before") LocalDateTime before,
+                                               Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE ReceiptJpaEntity r SET r.pdfRetries = r.pdfRetries + 1, r.updatedAt = :now " +
+           "WHERE r.id IN :ids AND r.status = 'PROCESSING'")
+    int incrementPdfRetries(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReceiptJpaEntity r SET r.status = 'FAILED', r.updatedAt = :now " +
+           "WHERE r.status = 'PROCESSING' AND r.updatedAt < :before AND r.pdfRetries >= :maxRetries")
+    int markPdfFailed(@Param("before") LocalDateTime before,
+                      @Param("maxRetries") int maxRetries,
+                      @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.id FROM ReceiptJpaEntity r " +
+           "WHERE r.id > :afterId AND r.issueDate < :issuedBefore AND r.status <> 'PROCESSING' ORDER BY r.id")
+    List<Long> findIdsIssuedBefore(@Param("issuedBefore") LocalDateTime issuedBefore,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
+    @EntityGraph(value = ReceiptJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReceiptJpaEntity> findByRenterId(Long renterId);
     
+    @EntityGraph(value = ReceiptJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReceiptJpaEntity> findByOwnerId(Long ownerId);
     
+    @EntityGraph(value = ReceiptJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReceiptJpaEntity> findByRentalId(Long rentalId);
     
+    @EntityGraph(value = ReceiptJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReceiptJpaEntity> findByPaymentId(Long paymentId);
+    
+    @Query(SUMMARY_SELECT + "WHERE u.id = :renterId ORDER BY r.id DESC")
+    List<ReceiptSummaryView> findSummariesByRenterId(@Param("renterId") Long renterId);
+    
+    @Query(SUMMARY_SELECT + "WHERE o.id = :ownerId ORDER BY r.id DESC")
+    List<ReceiptSummaryView> findSummariesByOwnerId(@Param("ownerId") Long ownerId);
 }
\ No newline at end of file
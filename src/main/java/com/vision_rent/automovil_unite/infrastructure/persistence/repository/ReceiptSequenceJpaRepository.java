@@ -0,0 +1,28 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptSequenceJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad ReceiptSequenceJpaEntity.
+ */
+@Repository
+public interface ReceiptSequenceJpaRepository extends JpaRepository<ReceiptSequenceJpaEntity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO receipt_sequences (sequence_day, next_value, created_at, updated_at) " +
+                   "VALUES (:day, 1, NOW(6), NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("day") String day);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReceiptSequenceJpaEntity s WHERE s.sequenceDay = :day")
+    Optional<ReceiptSequenceJpaEntity> findBySequenceDayForUpdate(@Param("day") String day);
+}
@@ -2,13 +2,20 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalHoldView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalIntervalView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalSummaryView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio JPA para la entidad RentalJpaEntity.
@@ -16,36 +23,127 @@ import java.util.List;
 @Repository
 public interface RentalJpaRepository extends JpaRepository<RentalJpaEntity, Long> {
     
+    String SUMMARY_SELECT = "SELECT r.id AS id, v.id AS vehicleId, v.brand AS vehicleBrand, " +
+            "v.model AS vehicleModel, v.year AS vehicleYear, v.licensePlate AS vehicleLicensePlate, " +
+            "o.id AS ownerId, o.firstName AS ownerFirstName, o.lastName AS ownerLastName, " +
+            "u.id AS renterId, u.firstName AS renterFirstName, u.lastName AS renterLastName, " +
+            "r.startDateTime AS startDateTime, r.endDateTime AS endDateTime, " +
+            "r.actualReturnDateTime AS actualReturnDateTime, r.extendedUntil AS extendedUntil, " +
+            "r.holdExpiresAt AS holdExpiresAt, r.totalPrice AS totalPrice, r.status AS status, " +
+            "r.paid AS paid, r.lateReturn AS lateReturn, r.renterRating AS renterRating, " +
+            "r.vehicleRating AS vehicleRating " +
+            "FROM RentalJpaEntity r JOIN r.vehicle v JOIN v.owner o JOIN r.renter u ";
+
+    String OVERLAP_WHERE = "WHERE r.vehicle.id = :vehicleId " +
+            "AND (r.status IN ('CONFIRMED', 'ACTIVE') OR (r.status = 'PENDING' AND r.holdExpiresAt > :now)) " +
+            "AND ((r.startDateTime <= :endDateTime AND r.endDateTime >= :startDateTime) " +
+            "OR (r.extendedUntil IS NOT NULL AND r.startDateTime <= :endDateTime AND r.extendedUntil >= :startDateTime)) ";
+    
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<RentalJpaEntity> findByRenterId(Long renterId);
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<RentalJpaEntity> findByVehicleId(Long vehicleId);
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RentalJpaEntity r WHERE r.vehicle.owner.id = :ownerId")
     List<RentalJpaEntity> findByVehicleOwnerId(@Param("ownerId") Long ownerId);
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RentalJpaEntity r WHERE r.status = 'ACTIVE'")
     List<RentalJpaEntity> findActiveRentals();
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RentalJpaEntity r WHERE r.status = 'ACTIVE' AND r.endDateTime < CURRENT_TIMESTAMP")
     List<RentalJpaEntity> findLateRentals();
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RentalJpaEntity r WHERE r.status = 'COMPLETED'")
     List<RentalJpaEntity> findCompletedRentals();
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<RentalJpaEntity> findByStatus(String status);
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RentalJpaEntity r WHERE r.vehicle.id = :vehicleId AND r.status = 'ACTIVE'")
     List<RentalJpaEntity> findActiveRentalsByVehicleId(@Param("vehicleId") Long vehicleId);
     
-    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM RentalJpaEntity r " +
-           "WHERE r.vehicle.id = :vehicleId AND r.status IN ('CONFIRMED', 'ACTIVE') " +
-           "AND ((r.startDateTime <= :endDateTime AND r.endDateTime >= :startDateTime) " +
-           "OR (r.extendedUntil IS NOT NULL AND r.startDateTime <= :endDateTime AND r.extendedUntil >= :startDateTime))")
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM RentalJpaEntity r " + OVERLAP_WHERE)
     boolean existsActiveRentalForVehicle(
             @Param("vehicleId") Long vehicleId,
             @Param("startDateTime") LocalDateTime startDateTime,
-            @Param("endDateTime") LocalDateTime endDateTime);
+            @Param("endDateTime") LocalDateTime endDateTime,
+            @Param("now") LocalDateTime now);
+    
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM RentalJpaEntity r " + OVERLAP_WHERE +
+           "AND r.id <> :rentalId")
+    boolean existsOtherActiveRentalForVehicle(
+            @Param("rentalId") Long rentalId,
+            @Param("vehicleId") Long vehicleId,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime,
+            @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.vehicle.id FROM RentalJpaEntity r WHERE r.id = :rentalId")
+    Optional<Long> findVehicleIdById(@Param("rentalId") Long rentalId);
     
+    @EntityGraph(value = RentalJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RentalJpaEntity r WHERE r.status = 'ACTIVE' AND r.endDateTime <= :dateTime")
     List<RentalJpaEntity> findActiveRentalsEndingBefore(@Param("dateTime") LocalDateTime dateTime);
-}
\ No newline at end of file
+    
+    @Query("SELECT r.id AS id, r.vehicle.id AS vehicleId, r.status AS status, r.startDateTime AS startDateTime, " +
+           "r.endDateTime AS endDateTime, r.extendedUntil AS extendedUntil, r.holdExpiresAt AS holdExpiresAt " +
+           "FROM RentalJpaEntity r WHERE r.status IN ('CONFIRMED', 'ACTIVE') " +
+           "OR (r.status = 'PENDING' AND r.holdExpiresAt > :now)")
+    List<RentalIntervalView> findBlockingIntervals(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.id AS id, r.holdExpiresAt AS holdExpiresAt " +
+           "FROM RentalJpaEntity r WHERE r.status = 'PENDING' AND r.holdExpiresAt IS NOT NULL")
+    List<RentalHoldView> findPendingHolds();
+    
+    @Query(SUMMARY_SELECT + "WHERE u.id = :renterId ORDER BY r.id DESC")
+    List<RentalSummaryView> findSummariesByRenterId(@Param("renterId") Long renterId);
+    
+    @Query(SUMMARY_SELECT + "WHERE v.id = :vehicleId ORDER BY r.id DESC")
+    List<RentalSummaryView> findSummariesByVehicleId(@Param("vehicleId") Long vehicleId);
+    
+    @Query(SUMMARY_SELECT + "WHERE o.id = :ownerId ORDER BY r.id DESC")
+    List<RentalSummaryView> findSummariesByVehicleOwnerId(@Param("ownerId") Long ownerId);
+    
+    @Modifying
+    @Query("UPDATE RentalJpaEntity r SET r.status = 'EXPIRED' " +
+           "WHERE r.id = :rentalId AND r.status = 'PENDING' AND r.holdExpiresAt <= :now")
+    int expireHold(@Param("rentalId") Long rentalId, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r FROM RentalJpaEntity r " +
+           "JOIN FETCH r.renter JOIN FETCH r.vehicle v JOIN FETCH v.owner " +
+           "WHERE r.status IN ('CONFIRMED', 'ACTIVE') " +
+           "AND COALESCE(r.extendedUntil, r.endDateTime) <= :until " +
+           "AND (COALESCE(r.extendedUntil, r.endDateTime) > :afterEnd " +
+           "OR (COALESCE(r.extendedUntil, r.endDateTime) = :afterEnd AND r.id > :afterId)) " +
+           "ORDER BY COALESCE(r.extendedUntil, r.endDateTime), r.id")
+    List<RentalJpaEntity> findInProgressEndingBetween(
+            @Param("afterEnd") LocalDateTime afterEnd,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE RentalJpaEntity r SET r.lateReturn = true WHERE r.id IN :rentalIds")
+    void markLateReturn(@Param("rentalIds") List<Long> rentalIds);
+    
+    @Query("SELECT r FROM RentalJpaEntity r " +
+           "JOIN FETCH r.renter JOIN FETCH r.vehicle v JOIN FETCH v.owner " +
+           "WHERE r.status IN ('CONFIRMED', 'ACTIVE') AND r.endingSoonNotified = false " +
+           "AND COALESCE(r.extendedUntil, r.endDateTime) > :now " +
+           "AND COALESCE(r.extendedUntil, r.endDateTime) <= :until " +
+           "ORDER BY COALESCE(r.extendedUntil, r.endDateTime), r.id")
+    List<RentalJpaEntity> findEndingSoonNotNotified(
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE RentalJpaEntity r SET r.endingSoonNotified = true WHERE r.id IN :rentalIds")
+    void markEndingSoonNotified(@Param("rentalIds") List<Long> rentalIds);
+}
@@ -2,6 +2,8 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReviewJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.ReviewSummaryView;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,14 +18,27 @@ import java.util.Optional;
 @Repository
 public interface ReviewJpaRepository extends JpaRepository<ReviewJpaEntity, Long> {
     
+    // Reseñado y vehículo son opcionales según el tipo de reseña
+    String SUMMARY_SELECT = "SELECT r.id AS id, r.rental.id AS rentalId, u.id AS reviewerId, " +
+            "u.firstName AS reviewerFirstName, u.lastName AS reviewerLastName, " +
+            "u.profilePhotoUrl AS reviewerPhotoUrl, d.id AS reviewedId, v.id AS vehicleId, " +
+            "v.brand AS vehicleBrand, v.model AS vehicleModel, r.rating AS rating, " +
+            "r.comment AS comment, r.type AS type, r.createdAt AS createdAt " +
+            "FROM ReviewJpaEntity r JOIN r.reviewer u LEFT JOIN r.reviewed d LEFT JOIN r.vehicle v ";
+    
+    @EntityGraph(value = ReviewJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReviewJpaEntity> findByReviewerId(Long reviewerId);
     
+    @EntityGraph(value = ReviewJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReviewJpaEntity> findByReviewedId(Long reviewedId);
     
+    @EntityGraph(value = ReviewJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReviewJpaEntity> findByVehicleId(Long vehicleId);
     
+    @EntityGraph(value = ReviewJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReviewJpaEntity> findByRentalId(Long rentalId);
     
+    @EntityGraph(value = ReviewJpaEntity.DETAILS_GRAPH, type = EntityGraph.EntityGraphType.LOAD)
     List<ReviewJpaEntity> findByType(String type);
     
     @Query("SELECT r FROM ReviewJpaEntity r WHERE r.rental.id = :rentalId AND r.type = 'VEHICLE_REVIEW'")
@@ -32,6 +47,15 @@ public interface ReviewJpaRepository extends JpaRepository<ReviewJpaEntity, Long
     @Query("SELECT r FROM ReviewJpaEntity r WHERE r.rental.id = :rentalId AND r.type = 'USER_REVIEW'")
     Optional<ReviewJpaEntity> findUserReviewByRentalId(@Param("rentalId") Long rentalId);
     
+    @Query(SUMMARY_SELECT + "WHERE u.id = :reviewerId ORDER BY r.id DESC")
+    List<ReviewSummaryView> findSummariesByReviewerId(@Param("reviewerId") Long reviewerId);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.id = :reviewedId ORDER BY r.id DESC")
+    List<ReviewSummaryView> findSummariesByReviewedId(@Param("reviewedId") Long reviewedId);
+    
+    @Query(SUMMARY_SELECT + "WHERE v.id = :vehicleId ORDER BY r.id DESC")
+    List<ReviewSummaryView> findSummariesByVehicleId(@Param("vehicleId") Long vehicleId);
+    
     @Query("SELECT AVG(r.rating) FROM ReviewJpaEntity r WHERE r.reviewed.id = :userId")
     Double getAverageRatingForUser(@Param("userId") Long userId);
     
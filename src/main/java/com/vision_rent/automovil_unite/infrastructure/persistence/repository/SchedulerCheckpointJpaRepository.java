@@ -0,0 +1,22 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.SchedulerCheckpointJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad SchedulerCheckpointJpaEntity.
+ */
+@Repository
+public interface SchedulerCheckpointJpaRepository extends JpaRepository<SchedulerCheckpointJpaEntity, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SchedulerCheckpointJpaEntity c WHERE c.jobName = :jobName")
+    Optional<SchedulerCheckpointJpaEntity> findByJobNameForUpdate(@Param("jobName") String jobName);
+}
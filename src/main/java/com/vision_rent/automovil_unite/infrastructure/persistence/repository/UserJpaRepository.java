@@ -3,12 +3,15 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 import com.vision_rent.automovil_unite.domain.valueobject.Role;
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.UserTokenRevocationView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,5 +37,12 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, Long> {
     void incrementReportCount(@Param("userId") Long userId);
     
     @Query("SELECT u FROM UserJpaEntity u WHERE :role MEMBER OF u.roles ORDER BY u.averageRating DESC NULLS LAST")
-    List<UserJpaEntity> findTopRatedRenters(@Param("role") Role role);
+    List<UserJpaEntity> findTopRatedRenters(@Param("role") Role role, Pageable pageable);
+    
+    @Query("SELECT u.id FROM UserJpaEntity u WHERE u.banned = true")
+    List<Long> findBannedUserIds();
+    
+    @Query("SELECT u.id AS id, u.tokensValidAfter AS tokensValidAfter FROM UserJpaEntity u " +
+           "WHERE u.tokensValidAfter > :since")
+    List<UserTokenRevocationView> findTokenRevocationsSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
 
 
 import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio JPA para la entidad VehicleJpaEntity.
@@ -19,18 +23,25 @@ public interface VehicleJpaRepository extends JpaRepository<VehicleJpaEntity, Lo
     
     List<VehicleJpaEntity> findByOwnerId(Long ownerId);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM VehicleJpaEntity v WHERE v.id = :id")
+    Optional<VehicleJpaEntity> findByIdForUpdate(@Param("id") Long id);
+    
     List<VehicleJpaEntity> findByAvailableTrue();
     
     List<VehicleJpaEntity> findByBrand(String brand);
     
     @Query("SELECT v FROM VehicleJpaEntity v ORDER BY v.rentCount DESC")
-    List<VehicleJpaEntity> findMostRented();
+    List<VehicleJpaEntity> findMostRented(Pageable pageable);
     
     @Query("SELECT v FROM VehicleJpaEntity v WHERE v.averageRating IS NOT NULL ORDER BY v.averageRating DESC")
-    List<VehicleJpaEntity> findTopRated();
+    List<VehicleJpaEntity> findTopRated(Pageable pageable);
     
     @Query("SELECT v.brand, COUNT(v) as count FROM VehicleJpaEntity v GROUP BY v.brand ORDER BY count DESC")
-    List<Object[]> findMostPopularBrands();
+    List<Object[]> findMostPopularBrands(Pageable pageable);
+    
+    @Query("SELECT v.brand, COUNT(v) FROM VehicleJpaEntity v GROUP BY v.brand")
+    List<Object[]> countByBrand();
     
     @Modifying
     @Query("UPDATE VehicleJpaEntity v SET v.averageRating = :rating WHERE v.id = :vehicleId")
@@ -40,12 +51,20 @@ public interface VehicleJpaRepository extends JpaRepository<VehicleJpaEntity, Lo
     @Query("UPDATE VehicleJpaEntity v SET v.rentCount = v.rentCount + 1 WHERE v.id = :vehicleId")
     void incrementRentCount(@Param("vehicleId") Long vehicleId);
     
+    @Query("SELECT v.rentCount FROM VehicleJpaEntity v WHERE v.id = :vehicleId")
+    int findRentCountById(@Param("vehicleId") Long vehicleId);
+    
+    /**
+     * Vehículos disponibles sin reservas que se solapen con el rango. La subconsulta NOT EXISTS
+     * está correlacionada por vehículo y se resuelve con el índice (vehicle_id, status, start_date_time).
+     */
     @Query("SELECT v FROM VehicleJpaEntity v WHERE v.available = true " +
-           "AND v.id NOT IN (SELECT r.vehicle.id FROM RentalJpaEntity r WHERE " +
-           "r.status IN ('CONFIRMED', 'ACTIVE') " +
-           "AND ((r.startDateTime <= :endDateTime AND r.endDateTime >= :startDateTime) " +
-           "OR (r.extendedUntil IS NOT NULL AND r.startDateTime <= :endDateTime AND r.extendedUntil >= :startDateTime)))")
+           "AND NOT EXISTS (SELECT r.id FROM RentalJpaEntity r WHERE r.vehicle = v " +
+           "AND (r.status IN ('CONFIRMED', 'ACTIVE') OR (r.status = 'PENDING' AND r.holdExpiresAt > :now)) " +
+           "AND r.startDateTime <= :endDateTime " +
+           "AND (r.endDateTime >= :startDateTime OR r.extendedUntil >= :startDateTime))")
     List<VehicleJpaEntity> findAvailableInDateRange(
             @Param("startDateTime") LocalDateTime startDateTime,
-            @Param("endDateTime") LocalDateTime endDateTime);
+            @Param("endDateTime") LocalDateTime endDateTime,
+            @Param("now") LocalDateTime now);
 }
\ No newline at end of file
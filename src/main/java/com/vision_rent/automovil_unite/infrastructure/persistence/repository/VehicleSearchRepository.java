@@ -0,0 +1,159 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.domain.valueobject.VehicleSearchCriteria;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositorio de búsqueda facetada de vehículos construido con la API Criteria.
+ * <p>
+ * La paginación es por clave sobre el ID (sin OFFSET) y la disponibilidad por fechas
+ * se resuelve con una subconsulta NOT EXISTS correlacionada por vehículo, que usa el
+ * índice (vehicle_id, status, start_date_time) en lugar de materializar la lista de
+ * vehículos ocupados.
+ */
+@Repository
+public class VehicleSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca vehículos disponibles que cumplan los criterios.
+     *
+     * @param criteria Criterios de búsqueda
+     * @param afterId ID a partir del cual continuar (exclusivo), o null
+     * @param limit Número máximo de resultados
+     * @return Entidades ordenadas por ID ascendente, con el propietario ya cargado
+     */
+    public List<VehicleJpaEntity> search(VehicleSearchCriteria criteria, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VehicleJpaEntity> query = cb.createQuery(VehicleJpaEntity.class);
+        Root<VehicleJpaEntity> vehicle = query.from(VehicleJpaEntity.class);
+        vehicle.fetch("owner", JoinType.INNER);
+
+        List<Predicate> predicates = buildPredicates(cb, query, vehicle, criteria, null);
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(vehicle.<Long>get("id"), afterId));
+        }
+
+        query.select(vehicle)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(vehicle.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Cuenta los vehículos por valor de cada atributo facetado.
+     *
+     * @param criteria Criterios de búsqueda
+     * @return Conteos por faceta, ordenados de mayor a menor
+     */
+    public Map<String, Map<String, Long>> countFacets(VehicleSearchCriteria criteria) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(VehicleSearchCriteria.FACET_BRAND, countBy("brand", criteria, VehicleSearchCriteria.FACET_BRAND));
+        facets.put(VehicleSearchCriteria.FACET_CATEGORY, countBy("category", criteria, VehicleSearchCriteria.FACET_CATEGORY));
+        facets.put(VehicleSearchCriteria.FACET_FUEL_TYPE, countBy("fuelType", criteria, VehicleSearchCriteria.FACET_FUEL_TYPE));
+        facets.put(VehicleSearchCriteria.FACET_TRANSMISSION, countBy("transmission", criteria, VehicleSearchCriteria.FACET_TRANSMISSION));
+        facets.put(VehicleSearchCriteria.FACET_SEATS, countBy("seats", criteria, VehicleSearchCriteria.FACET_SEATS));
+        return facets;
+    }
+
+    private Map<String, Long> countBy(String attribute, VehicleSearchCriteria criteria, String facet) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<VehicleJpaEntity> vehicle = query.from(VehicleJpaEntity.class);
+
+        Expression<?> value = vehicle.get(attribute);
+        Expression<Long> count = cb.count(vehicle);
+        List<Predicate> predicates = buildPredicates(cb, query, vehicle, criteria, facet);
+
+        query.multiselect(value, count)
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(value)
+                .orderBy(cb.desc(count));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            counts.put(String.valueOf(tuple.get(0)), tuple.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    /**
+     * Construye los predicados de la búsqueda. Si se indica una faceta, se omite el
+     * filtro sobre ese atributo para que sus conteos muestren las alternativas.
+     */
+    private List<Predicate> buildPredicates(CriteriaBuilder cb, CriteriaQuery<?> query,
+                                            Root<VehicleJpaEntity> vehicle,
+                                            VehicleSearchCriteria criteria, String excludedFacet) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(vehicle.<Boolean>get("available")));
+
+        if (criteria.getBrand() != null && !VehicleSearchCriteria.FACET_BRAND.equals(excludedFacet)) {
+            predicates.add(cb.equal(vehicle.get("brand"), criteria.getBrand()));
+        }
+        if (criteria.getCategory() != null && !VehicleSearchCriteria.FACET_CATEGORY.equals(excludedFacet)) {
+            predicates.add(cb.equal(vehicle.get("category"), criteria.getCategory()));
+        }
+        if (criteria.getFuelType() != null && !VehicleSearchCriteria.FACET_FUEL_TYPE.equals(excludedFacet)) {
+            predicates.add(cb.equal(vehicle.get("fuelType"), criteria.getFuelType()));
+        }
+        if (criteria.getTransmission() != null && !VehicleSearchCriteria.FACET_TRANSMISSION.equals(excludedFacet)) {
+            predicates.add(cb.equal(vehicle.get("transmission"), criteria.getTransmission()));
+        }
+        if (criteria.getSeats() != null && !VehicleSearchCriteria.FACET_SEATS.equals(excludedFacet)) {
+            predicates.add(cb.equal(vehicle.get("seats"), criteria.getSeats()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(vehicle.<BigDecimal>get("pricePerDay"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(vehicle.<BigDecimal>get("pricePerDay"), criteria.getMaxPrice()));
+        }
+        if (criteria.hasDateRange()) {
+            predicates.add(availabilityPredicate(cb, query, vehicle, criteria));
+        }
+
+        return predicates;
+    }
+
+    private Predicate availabilityPredicate(CriteriaBuilder cb, CriteriaQuery<?> query,
+                                            Root<VehicleJpaEntity> vehicle, VehicleSearchCriteria criteria) {
+        Subquery<Long> overlapping = query.subquery(Long.class);
+        Root<RentalJpaEntity> rental = overlapping.from(RentalJpaEntity.class);
+        overlapping.select(rental.<Long>get("id")).where(
+                cb.equal(rental.get("vehicle").get("id"), vehicle.get("id")),
+                cb.or(
+                        rental.get("status").in("CONFIRMED", "ACTIVE"),
+                        cb.and(
+                                cb.equal(rental.get("status"), "PENDING"),
+                                cb.greaterThan(rental.<LocalDateTime>get("holdExpiresAt"), LocalDateTime.now()))),
+                cb.lessThanOrEqualTo(rental.<LocalDateTime>get("startDateTime"), criteria.getEndDateTime()),
+                cb.or(
+                        cb.greaterThanOrEqualTo(rental.<LocalDateTime>get("endDateTime"), criteria.getStartDateTime()),
+                        cb.greaterThanOrEqualTo(rental.<LocalDateTime>get("extendedUntil"), criteria.getStartDateTime())));
+        return cb.not(cb.exists(overlapping));
+    }
+}
@@ -0,0 +1,96 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Envía las notificaciones push con Firebase Cloud Messaging.
+ * <p>
+ * La aplicación de Firebase se inicializa una vez con la cuenta de servicio configurada.
+ * Cada lote se envía con {@code sendEachForMulticast}; solo los tokens que ya no están
+ * registrados o pertenecen a otro remitente se devuelven para eliminarlos. Un
+ * {@code INVALID_ARGUMENT} también puede deberse al contenido del mensaje, así que no se poda.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.push.provider", havingValue = "firebase")
+public class FirebasePushNotificationChannel implements PushNotificationChannel {
+
+    private static final String APP_NAME = "automovil-unite";
+
+    private static final Set<MessagingErrorCode> INVALID_TOKEN_ERRORS = Set.of(
+            MessagingErrorCode.UNREGISTERED,
+            MessagingErrorCode.SENDER_ID_MISMATCH);
+
+    private final FirebaseApp firebaseApp;
+    private final FirebaseMessaging messaging;
+
+    public FirebasePushNotificationChannel(@Value("${app.push.firebase.credentials-file}") String credentialsFile) {
+        try (InputStream in = Files.newInputStream(Paths.get(credentialsFile))) {
+            FirebaseOptions options = FirebaseOptions.builder()
+                    .setCredentials(GoogleCredentials.fromStream(in))
+                    .build();
+            this.firebaseApp = FirebaseApp.initializeApp(options, APP_NAME);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la cuenta de servicio de Firebase", e);
+        }
+        this.messaging = FirebaseMessaging.getInstance(firebaseApp);
+    }
+
+    @Override
+    public PushResult sendMulticast(List<String> tokens, PushMessage message) {
+        MulticastMessage multicast = MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .setNotification(Notification.builder()
+                        .setTitle(message.title())
+                        .setBody(message.body())
+                        .build())
+                .putAllData(message.data())
+                .build();
+
+        BatchResponse response;
+        try {
+            response = messaging.sendEachForMulticast(multicast);
+        } catch (FirebaseMessagingException e) {
+            throw new PushDeliveryException("Firebase rechazó el envío de " + tokens.size() + " mensajes", e);
+        }
+
+        List<String> invalidTokens = new ArrayList<>();
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            if (!sendResponse.isSuccessful()
+                    && INVALID_TOKEN_ERRORS.contains(sendResponse.getException().getMessagingErrorCode())) {
+                invalidTokens.add(tokens.get(i));
+            }
+        }
+        return new PushResult(response.getSuccessCount(), response.getFailureCount(), invalidTokens);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        firebaseApp.delete();
+    }
+}
@@ -0,0 +1,85 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal push en memoria para desarrollo y pruebas: no sale del proceso.
+ * <p>
+ * Guarda los últimos envíos para poder inspeccionarlos y trata como inválidos los tokens
+ * marcados con {@link #invalidate(String)}, de modo que también se puede ejercitar la
+ * eliminación de tokens.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.push.provider", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPushNotificationChannel implements PushNotificationChannel {
+
+    private static final int MAX_RECORDED = 1000;
+
+    private final Deque<SentPush> sent = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger sentSize = new AtomicInteger();
+    private final Set<String> invalidTokens = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public PushResult sendMulticast(List<String> tokens, PushMessage message) {
+        List<String> rejected = new ArrayList<>();
+        for (String token : tokens) {
+            if (invalidTokens.contains(token)) {
+                rejected.add(token);
+                continue;
+            }
+            sent.addLast(new SentPush(token, message));
+            if (sentSize.incrementAndGet() > MAX_RECORDED && sent.pollFirst() != null) {
+                sentSize.decrementAndGet();
+            }
+        }
+        log.debug("Push en memoria: {} entregados, {} rechazados", tokens.size() - rejected.size(), rejected.size());
+        return new PushResult(tokens.size() - rejected.size(), rejected.size(), rejected);
+    }
+
+    /**
+     * Marca un token como no registrado: los envíos siguientes lo rechazarán.
+     *
+     * @param token Token del dispositivo
+     */
+    public void invalidate(String token) {
+        invalidTokens.add(token);
+    }
+
+    /**
+     * Obtiene los últimos envíos aceptados, del más antiguo al más reciente.
+     *
+     * @return Envíos registrados
+     */
+    public List<SentPush> getSent() {
+        return List.copyOf(sent);
+    }
+
+    /**
+     * Descarta los envíos registrados y los tokens marcados como inválidos.
+     */
+    public void clear() {
+        sent.clear();
+        sentSize.set(0);
+        invalidTokens.clear();
+    }
+
+    /**
+     * Envío registrado por el canal en memoria.
+     *
+     * @param token Token del dispositivo
+     * @param message Mensaje enviado
+     */
+    public record SentPush(String token, PushMessage message) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+/**
+ * Excepción lanzada cuando un envío push falla por completo.
+ */
+public class PushDeliveryException extends RuntimeException {
+
+    public PushDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import java.util.Map;
+
+/**
+ * Contenido de una notificación push.
+ *
+ * @param title Título visible
+ * @param body Texto visible
+ * @param data Datos para la aplicación (ID de la notificación, enlace interno, etc.)
+ */
+public record PushMessage(String title, String body, Map<String, String> data) {
+}
@@ -0,0 +1,24 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import java.util.List;
+
+/**
+ * Canal de salida de las notificaciones push.
+ */
+public interface PushNotificationChannel {
+
+    /**
+     * Máximo de tokens que admite un envío multidifusión.
+     */
+    int MAX_TOKENS_PER_MULTICAST = 500;
+
+    /**
+     * Envía el mismo mensaje a varios dispositivos en una sola solicitud.
+     *
+     * @param tokens Tokens de los dispositivos, como máximo {@link #MAX_TOKENS_PER_MULTICAST}
+     * @param message Mensaje a enviar
+     * @return Resultado del envío por dispositivo
+     * @throws PushDeliveryException si el envío falló por completo
+     */
+    PushResult sendMulticast(List<String> tokens, PushMessage message);
+}
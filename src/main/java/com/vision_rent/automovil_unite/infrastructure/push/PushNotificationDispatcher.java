@@ -0,0 +1,219 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.DeviceTokenJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.DeviceTokenJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Envía notificaciones push a los dispositivos registrados a través del
+ * {@link PushNotificationChannel} configurado.
+ * <p>
+ * Los tokens se agrupan en lotes de hasta {@value PushNotificationChannel#MAX_TOKENS_PER_MULTICAST}
+ * por envío multidifusión y los lotes se envían en paralelo desde un grupo acotado de hilos.
+ * Una difusión general recorre {@code device_tokens} por ID en páginas de un lote desde un hilo
+ * propio, con una cola acotada de difusiones pendientes. El recorrido espera a que haya hueco
+ * antes de leer la página siguiente (como mucho dos lotes por hilo de envío en vuelo) y, si la
+ * cola de envíos está ocupada por mensajes individuales, envía el lote él mismo; así alcanza
+ * decenas de miles de dispositivos sin acumular tareas en memoria ni descartar lotes. Los tokens
+ * que el proveedor rechaza como inválidos se acumulan y se eliminan en bloque de forma
+ * periódica, fuera del camino de envío.
+ * <p>
+ * Publica los mensajes entregados ({@code push.sent}), rechazados ({@code push.failed}),
+ * descartados por cola llena ({@code push.dropped}, también las difusiones), los tokens eliminados ({@code push.pruned})
+ * y el tiempo de cada envío multidifusión ({@code push.multicast}).
+ */
+@Slf4j
+@Component
+public class PushNotificationDispatcher {
+
+    private static final int BATCH_SIZE = PushNotificationChannel.MAX_TOKENS_PER_MULTICAST;
+
+    private final PushNotificationChannel channel;
+    private final DeviceTokenJpaRepository deviceTokenJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor senders;
+    private final ThreadPoolTaskExecutor broadcaster;
+    private final Semaphore inFlightBatches;
+    private final int pruneBatchSize;
+
+    private final Queue<String> invalidTokens = new ConcurrentLinkedQueue<>();
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final Counter prunedCounter;
+    private final Timer multicastTimer;
+
+    public PushNotificationDispatcher(PushNotificationChannel channel,
+                                      DeviceTokenJpaRepository deviceTokenJpaRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.push.workers:8}") int workers,
+                                      @Value("${app.push.queue-capacity:1000}") int queueCapacity,
+                                      @Value("${app.push.broadcast-queue-capacity:16}") int broadcastQueueCapacity,
+                                      @Value("${app.push.prune-batch-size:1000}") int pruneBatchSize) {
+        this.channel = channel;
+        this.deviceTokenJpaRepository = deviceTokenJpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pruneBatchSize = pruneBatchSize;
+
+        this.senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(workers);
+        senders.setMaxPoolSize(workers);
+        senders.setQueueCapacity(queueCapacity);
+        senders.setThreadNamePrefix("push-sender-");
+        senders.initialize();
+
+        this.broadcaster = new ThreadPoolTaskExecutor();
+        broadcaster.setCorePoolSize(1);
+        broadcaster.setMaxPoolSize(1);
+        broadcaster.setQueueCapacity(broadcastQueueCapacity);
+        broadcaster.setThreadNamePrefix("push-broadcast-");
+        broadcaster.initialize();
+
+        this.inFlightBatches = new Semaphore(workers * 2);
+
+        this.sentCounter = meterRegistry.counter("push.sent");
+        this.failedCounter = meterRegistry.counter("push.failed");
+        this.droppedCounter = meterRegistry.counter("push.dropped");
+        this.prunedCounter = meterRegistry.counter("push.pruned");
+        this.multicastTimer = meterRegistry.timer("push.multicast");
+    }
+
+    /**
+     * Envía un mensaje a todos los dispositivos de un usuario. No bloquea al llamador; si la
+     * cola de envíos está llena, el mensaje se descarta (el usuario lo verá en la aplicación).
+     *
+     * @param userId ID del usuario destinatario
+     * @param message Mensaje a enviar
+     */
+    public void sendToUser(Long userId, PushMessage message) {
+        try {
+            senders.execute(() -> {
+                List<String> tokens = deviceTokenJpaRepository.findTokensByUserId(userId);
+                for (int from = 0; from < tokens.size(); from += BATCH_SIZE) {
+                    send(tokens.subList(from, Math.min(from + BATCH_SIZE, tokens.size())), message);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            droppedCounter.increment();
+            log.debug("Cola de envíos push llena; se descarta el mensaje para el usuario {}", userId);
+        }
+    }
+
+    /**
+     * Envía un mensaje a todos los dispositivos registrados. El recorrido se ejecuta en
+     * segundo plano y no bloquea al llamador; si ya hay demasiadas difusiones pendientes,
+     * esta se descarta y se registra.
+     *
+     * @param message Mensaje a enviar
+     */
+    public void broadcast(PushMessage message) {
+        try {
+            broadcaster.execute(() -> walkAllTokens(message));
+        } catch (TaskRejectedException e) {
+            droppedCounter.increment();
+            log.warn("Cola de difusiones push llena; se descarta la difusión \"{}\"", message.title());
+        }
+    }
+
+    /**
+     * Elimina en bloque los tokens que el proveedor rechazó como inválidos.
+     */
+    @Scheduled(fixedDelayString = "${app.push.prune-interval-ms:5000}",
+            initialDelayString = "${app.push.prune-interval-ms:5000}")
+    public void pruneInvalidTokens() {
+        try {
+            while (!invalidTokens.isEmpty()) {
+                Set<String> batch = new LinkedHashSet<>();
+                String token;
+                while (batch.size() < pruneBatchSize && (token = invalidTokens.poll()) != null) {
+                    batch.add(token);
+                }
+                Integer pruned = transactionTemplate.execute(status -> deviceTokenJpaRepository.deleteByTokenIn(batch));
+                prunedCounter.increment(pruned == null ? 0 : pruned);
+                log.debug("Tokens push inválidos eliminados: {}", pruned);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al eliminar los tokens push inválidos", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+        senders.shutdown();
+    }
+
+    private void walkAllTokens(PushMessage message) {
+        long afterId = 0L;
+        int total = 0;
+        try {
+            while (true) {
+                List<DeviceTokenJpaEntity> page = deviceTokenJpaRepository.findByIdGreaterThanOrderByIdAsc(
+                        afterId, PageRequest.of(0, BATCH_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<String> tokens = page.stream().map(DeviceTokenJpaEntity::getToken).toList();
+                submitBroadcastBatch(tokens, message);
+                total += tokens.size();
+                afterId = page.get(page.size() - 1).getId();
+            }
+            log.info("Difusión push enviada a {} dispositivos", total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Error en la difusión push tras {} dispositivos", total, e);
+        }
+    }
+
+    private void submitBroadcastBatch(List<String> tokens, PushMessage message) throws InterruptedException {
+        inFlightBatches.acquire();
+        try {
+            senders.execute(() -> {
+                try {
+                    send(tokens, message);
+                } finally {
+                    inFlightBatches.release();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // La cola está ocupada por envíos individuales: el recorrido envía el lote él mismo
+            inFlightBatches.release();
+            send(tokens, message);
+        }
+    }
+
+    private void send(List<String> tokens, PushMessage message) {
+        try {
+            PushResult result = multicastTimer.record(() -> channel.sendMulticast(new ArrayList<>(tokens), message));
+            sentCounter.increment(result.successCount());
+            failedCounter.increment(result.failureCount());
+            invalidTokens.addAll(result.invalidTokens());
+        } catch (RuntimeException e) {
+            failedCounter.increment(tokens.size());
+            log.warn("No se pudo enviar un lote push de {} dispositivos", tokens.size(), e);
+        }
+    }
+}
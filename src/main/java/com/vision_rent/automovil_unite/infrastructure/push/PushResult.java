@@ -0,0 +1,13 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import java.util.List;
+
+/**
+ * Resultado de un envío multidifusión.
+ *
+ * @param successCount Dispositivos que aceptaron el mensaje
+ * @param failureCount Dispositivos que lo rechazaron
+ * @param invalidTokens Tokens que ya no son válidos y deben eliminarse
+ */
+public record PushResult(int successCount, int failureCount, List<String> invalidTokens) {
+}
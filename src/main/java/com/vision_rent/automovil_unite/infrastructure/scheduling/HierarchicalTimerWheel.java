@@ -0,0 +1,208 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Rueda de temporización jerárquica para programar miles de vencimientos con costo O(1).
+ * <p>
+ * Cada nivel tiene {@code 2^wheelBits} casillas; una casilla del nivel 0 dura un tick y
+ * una del nivel {@code n} dura {@code 2^(wheelBits * n)} ticks. Las tareas se ubican en
+ * el nivel más bajo que cubre su plazo y, cuando el nivel inferior completa una vuelta,
+ * la casilla correspondiente del nivel superior se redistribuye hacia abajo. Un único
+ * hilo avanza la rueda; las tareas vencidas se ejecutan en el {@link Executor} indicado
+ * para no retrasar los ticks siguientes.
+ * <p>
+ * La resolución es de un tick: una tarea puede ejecutarse hasta un tick después de su plazo.
+ */
+@Slf4j
+public class HierarchicalTimerWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int wheelBits;
+    private final int mask;
+    private final Slot[][] slots;
+    private final Executor executor;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final long startNanos;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private long currentTick = 0;
+
+    public HierarchicalTimerWheel(Duration tick, int wheelBits, int levels, Executor executor, String name) {
+        this.tickNanos = tick.toNanos();
+        this.wheelBits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.slots = new Slot[levels][1 << wheelBits];
+        for (Slot[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot();
+            }
+        }
+        this.executor = executor;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Programa una tarea para ejecutarse después del retraso indicado.
+     * Un retraso cero o negativo la ejecuta en el siguiente tick.
+     *
+     * @param delay Retraso
+     * @param task Tarea a ejecutar
+     * @return Manejador que permite cancelar la tarea
+     */
+    public Timeout schedule(Duration delay, Runnable task) {
+        long delayNanos = Math.max(0L, delay.toNanos());
+        long elapsed = System.nanoTime() - startNanos + delayNanos;
+        // Redondeo hacia arriba para no ejecutar nunca antes del plazo
+        long deadlineTick = (elapsed + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(deadlineTick, task);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long nextTick = currentTick + 1;
+            long sleepNanos = startNanos + nextTick * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                if (Thread.interrupted() && !running) {
+                    return;
+                }
+                continue;
+            }
+
+            currentTick = nextTick;
+            try {
+                advance(currentTick);
+            } catch (RuntimeException e) {
+                log.error("Error al avanzar la rueda de temporización", e);
+            }
+        }
+    }
+
+    private void advance(long tick) {
+        // Redistribuir de arriba hacia abajo las casillas cuyo nivel inferior completó una vuelta
+        for (int level = slots.length - 1; level > 0; level--) {
+            long span = 1L << (wheelBits * level);
+            if ((tick & (span - 1)) == 0) {
+                Slot slot = slots[level][(int) ((tick >> (wheelBits * level)) & mask)];
+                for (Timeout timeout : slot.drain()) {
+                    place(timeout, tick);
+                }
+            }
+        }
+
+        Timeout added;
+        while ((added = pending.poll()) != null) {
+            place(added, tick);
+        }
+
+        for (Timeout timeout : slots[0][(int) (tick & mask)].drain()) {
+            place(timeout, tick);
+        }
+    }
+
+    private void place(Timeout timeout, long tick) {
+        if (timeout.cancelled) {
+            return;
+        }
+
+        long deadline = timeout.deadlineTick;
+        if (deadline <= tick) {
+            expire(timeout);
+            return;
+        }
+
+        long delta = deadline - tick;
+        int top = slots.length - 1;
+        for (int level = 0; level <= top; level++) {
+            if (level == top || delta < (1L << (wheelBits * (level + 1)))) {
+                slots[level][(int) ((deadline >> (wheelBits * level)) & mask)].add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        try {
+            executor.execute(() -> {
+                if (timeout.cancelled) {
+                    return;
+                }
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    log.error("Error al ejecutar una tarea de la rueda de temporización", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("No se pudo despachar una tarea vencida", e);
+        }
+    }
+
+    /**
+     * Casilla de la rueda. Solo la usa el hilo que avanza la rueda.
+     */
+    private static final class Slot {
+
+        private List<Timeout> timeouts = new ArrayList<>();
+
+        void add(Timeout timeout) {
+            timeouts.add(timeout);
+        }
+
+        List<Timeout> drain() {
+            if (timeouts.isEmpty()) {
+                return List.of();
+            }
+            List<Timeout> drained = timeouts;
+            timeouts = new ArrayList<>();
+            return drained;
+        }
+    }
+
+    /**
+     * Manejador de una tarea programada.
+     */
+    public static final class Timeout {
+
+        private final long deadlineTick;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancela la tarea. Si ya se está ejecutando, la cancelación no la interrumpe.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades de configuración de la retención de notificaciones.
+ * <p>
+ * Cada tipo de notificación puede tener su propia política; los tipos sin política usan la
+ * política por defecto. Solo se retiran notificaciones leídas, así que los contadores de
+ * no leídas no cambian.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.notifications.retention")
+@Getter
+@Setter
+public class NotificationRetentionProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 200;
+    private long pauseBetweenBatchesMs = 200;
+
+    // Franja horaria fuera de las horas pico en la que puede ejecutarse el trabajo
+    private LocalTime windowStart = LocalTime.of(2, 0);
+    private LocalTime windowEnd = LocalTime.of(6, 0);
+
+    private Policy defaultPolicy = new Policy();
+    private Map<String, Policy> types = new HashMap<>();
+
+    /**
+     * Obtiene la política de un tipo de notificación.
+     *
+     * @param type Tipo de notificación
+     * @return Política del tipo, o la política por defecto
+     */
+    public Policy policyFor(String type) {
+        return types.getOrDefault(type, defaultPolicy);
+    }
+
+    /**
+     * Indica si una hora está dentro de la franja permitida. La franja puede cruzar la medianoche.
+     *
+     * @param time Hora a comprobar
+     * @return true si el trabajo puede ejecutarse a esa hora
+     */
+    public boolean isWithinWindow(LocalTime time) {
+        if (windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+
+    /**
+     * Política de retención de un tipo de notificación.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+
+        private int readMaxAgeDays = 90;
+        private Action action = Action.ARCHIVE;
+
+    }
+
+    public enum Action {
+        ARCHIVE,    // Mover a notifications_archive
+        DELETE,     // Borrar definitivamente
+        KEEP        // Conservar sin límite
+    }
+}
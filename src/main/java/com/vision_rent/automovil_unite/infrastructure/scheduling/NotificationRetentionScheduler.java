@@ -0,0 +1,158 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.SchedulerCheckpointJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.SchedulerCheckpointJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.NotificationRetentionProperties.Action;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.NotificationRetentionProperties.Policy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retira las notificaciones leídas antiguas según la política de su tipo.
+ * <p>
+ * Solo se ejecuta dentro de la franja horaria configurada. Recorre cada tipo en lotes de
+ * tamaño acotado; cada lote bloquea la fila {@value #JOB_NAME} de {@code scheduler_checkpoints},
+ * copia las notificaciones a {@code notifications_archive} (o solo las borra, según la política)
+ * y las borra de {@code notifications} en su propia transacción, de modo que ningún bloqueo dura
+ * más que un lote. Entre lotes hace una pausa para no saturar la base de datos.
+ * <p>
+ * Publica las filas retiradas ({@code notification.retention.rows}), el tiempo de cada lote
+ * ({@code notification.retention.batch}) y las filas por segundo de la última ejecución
+ * ({@code notification.retention.rate}).
+ */
+@Slf4j
+@Component
+public class NotificationRetentionScheduler {
+
+    static final String JOB_NAME = "notification-retention";
+
+    private final NotificationJpaRepository notificationJpaRepository;
+    private final SchedulerCheckpointJpaRepository checkpointRepository;
+    private final NotificationRetentionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final AtomicLong rowsPerSecond;
+
+    public NotificationRetentionScheduler(NotificationJpaRepository notificationJpaRepository,
+                                          SchedulerCheckpointJpaRepository checkpointRepository,
+                                          NotificationRetentionProperties properties,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.notificationJpaRepository = notificationJpaRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = meterRegistry.timer("notification.retention.batch");
+        this.rowsPerSecond = meterRegistry.gauge("notification.retention.rate", new AtomicLong());
+    }
+
+    /**
+     * Ejecuta la retención de forma periódica dentro de la franja permitida.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.retention.interval-ms:600000}",
+            initialDelayString = "${app.notifications.retention.interval-ms:600000}")
+    public void run() {
+        if (!properties.isEnabled() || !properties.isWithinWindow(LocalDateTime.now().toLocalTime())) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        int batches = 0;
+        long total = 0;
+
+        try {
+            for (String type : notificationJpaRepository.findDistinctTypes()) {
+                Policy policy = properties.policyFor(type);
+                if (policy.getAction() == Action.KEEP) {
+                    continue;
+                }
+                LocalDateTime cutoff = LocalDateTime.now().minusDays(policy.getReadMaxAgeDays());
+
+                while (batches < properties.getMaxBatchesPerRun()) {
+                    if (!properties.isWithinWindow(LocalDateTime.now().toLocalTime())) {
+                        log.info("Retención de notificaciones detenida al salir de la franja permitida");
+                        return;
+                    }
+                    Integer removed = batchTimer.record(() -> transactionTemplate.execute(
+                            status -> processBatch(type, policy.getAction(), cutoff)));
+                    batches++;
+                    if (removed == null || removed == 0) {
+                        break;
+                    }
+                    total += removed;
+                    meterRegistry.counter("notification.retention.rows",
+                            "type", type, "action", policy.getAction().name()).increment(removed);
+                    if (removed < properties.getBatchSize()) {
+                        break;
+                    }
+                    pause();
+                }
+            }
+            if (batches >= properties.getMaxBatchesPerRun()) {
+                log.warn("La retención de notificaciones alcanzó el máximo de {} lotes; continuará en la siguiente ejecución",
+                        properties.getMaxBatchesPerRun());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Error al ejecutar la retención de notificaciones", e);
+        } finally {
+            recordRate(total, startNanos);
+        }
+    }
+
+    private int processBatch(String type, Action action, LocalDateTime cutoff) {
+        SchedulerCheckpointJpaEntity checkpoint = checkpointRepository.findByJobNameForUpdate(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("No existe la marca del trabajo " + JOB_NAME));
+
+        List<Long> ids = notificationJpaRepository.findReadIdsOlderThan(
+                type, cutoff, PageRequest.of(0, properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (action == Action.ARCHIVE) {
+            notificationJpaRepository.archiveByIds(ids, now);
+        }
+        int removed = notificationJpaRepository.deleteByIds(ids);
+
+        checkpoint.setLastDateTime(cutoff);
+        checkpoint.setLastId(ids.get(ids.size() - 1));
+        checkpoint.setUpdatedAt(now);
+        checkpointRepository.save(checkpoint);
+
+        log.debug("Retención de notificaciones {}: {} filas ({})", type, removed, action);
+        return removed;
+    }
+
+    private void pause() throws InterruptedException {
+        if (properties.getPauseBetweenBatchesMs() > 0) {
+            Thread.sleep(properties.getPauseBetweenBatchesMs());
+        }
+    }
+
+    private void recordRate(long total, long startNanos) {
+        if (total == 0) {
+            rowsPerSecond.set(0);
+            return;
+        }
+        double seconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+        long rate = Math.round(total / seconds);
+        rowsPerSecond.set(rate);
+        log.info("Retención de notificaciones: {} filas retiradas ({} filas/s)", total, rate);
+    }
+}
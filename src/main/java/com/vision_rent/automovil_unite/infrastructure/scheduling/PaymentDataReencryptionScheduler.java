@@ -0,0 +1,120 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentMethodJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentMethodJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.security.EncryptionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Migra a la clave activa los datos de tarjetas cifrados con versiones anteriores.
+ * <p>
+ * Tras rotar la clave, los métodos de pago siguen descifrándose con su versión, así que la
+ * migración no tiene que detener el servicio. Cada ejecución recorre los registros pendientes
+ * por ID en lotes; cada lote bloquea sus filas y se vuelve a cifrar en su propia transacción.
+ * Publica en {@code encryption.reencrypted} los registros migrados ({@code outcome=success}) y
+ * los que no se pudieron descifrar ({@code outcome=failure}); estos se reintentan en la
+ * siguiente ejecución.
+ */
+@Slf4j
+@Component
+public class PaymentDataReencryptionScheduler {
+
+    private final PaymentMethodJpaRepository paymentMethodJpaRepository;
+    private final EncryptionService encryptionService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter reencryptedCounter;
+    private final Counter failedCounter;
+    private final int batchSize;
+
+    public PaymentDataReencryptionScheduler(PaymentMethodJpaRepository paymentMethodJpaRepository,
+                                            EncryptionService encryptionService,
+                                            PlatformTransactionManager transactionManager,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.security.encryption.reencrypt-batch-size:200}") int batchSize) {
+        this.paymentMethodJpaRepository = paymentMethodJpaRepository;
+        this.encryptionService = encryptionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reencryptedCounter = meterRegistry.counter("encryption.reencrypted",
+                "entity", "payment_method", "outcome", "success");
+        this.failedCounter = meterRegistry.counter("encryption.reencrypted",
+                "entity", "payment_method", "outcome", "failure");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Vuelve a cifrar de forma periódica los métodos de pago con claves anteriores.
+     */
+    @Scheduled(fixedDelayString = "${app.security.encryption.reencrypt-interval-ms:3600000}",
+            initialDelayString = "${app.security.encryption.reencrypt-initial-delay-ms:60000}")
+    public void run() {
+        String activePattern = encryptionService.getActivePrefix() + "%";
+        long afterId = 0L;
+        int total = 0;
+        int failed = 0;
+
+        try {
+            while (true) {
+                long cursor = afterId;
+                BatchResult batch = transactionTemplate.execute(status -> reencryptBatch(activePattern, cursor));
+                if (batch == null || batch.scannedIds().isEmpty()) {
+                    break;
+                }
+                total += batch.reencrypted();
+                failed += batch.failed();
+                reencryptedCounter.increment(batch.reencrypted());
+                failedCounter.increment(batch.failed());
+                if (batch.scannedIds().size() < batchSize) {
+                    break;
+                }
+                afterId = batch.scannedIds().get(batch.scannedIds().size() - 1);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al volver a cifrar los métodos de pago", e);
+        }
+
+        if (total > 0) {
+            log.info("Métodos de pago cifrados de nuevo con la clave activa: {}", total);
+        }
+        if (failed > 0) {
+            log.warn("Métodos de pago que no se pudieron cifrar de nuevo: {}", failed);
+        }
+    }
+
+    private BatchResult reencryptBatch(String activePattern, long afterId) {
+        List<PaymentMethodJpaEntity> stale = paymentMethodJpaRepository.findStaleEncryptionForUpdate(
+                activePattern, afterId, PageRequest.of(0, batchSize));
+
+        int reencrypted = 0;
+        for (PaymentMethodJpaEntity paymentMethod : stale) {
+            try {
+                String cardNumber = encryptionService.reencrypt(paymentMethod.getEncryptedCardNumber());
+                String expiryDate = encryptionService.reencrypt(paymentMethod.getEncryptedExpiryDate());
+                paymentMethod.setEncryptedCardNumber(cardNumber);
+                paymentMethod.setEncryptedExpiryDate(expiryDate);
+                reencrypted++;
+            } catch (RuntimeException e) {
+                // Un registro ilegible no debe bloquear la migración del resto
+                log.warn("No se pudo volver a cifrar el método de pago {}", paymentMethod.getId(), e);
+            }
+        }
+        List<Long> scannedIds = stale.stream().map(PaymentMethodJpaEntity::getId).collect(Collectors.toList());
+        return new BatchResult(scannedIds, reencrypted, stale.size() - reencrypted);
+    }
+
+    /**
+     * Resultado de un lote: IDs recorridos (para avanzar el cursor) y cuántos se migraron o fallaron.
+     */
+    private record BatchResult(List<Long> scannedIds, int reencrypted, int failed) {
+    }
+}
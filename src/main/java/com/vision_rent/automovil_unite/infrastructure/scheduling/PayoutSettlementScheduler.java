@@ -0,0 +1,121 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.domain.entity.OwnerBalance;
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import com.vision_rent.automovil_unite.domain.repository.OwnerBalanceRepository;
+import com.vision_rent.automovil_unite.domain.repository.PayoutRepository;
+import com.vision_rent.automovil_unite.domain.service.LedgerDomainService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Liquida por lotes los saldos de los propietarios.
+ * <p>
+ * Cada ejecución abre un lote y recorre por ID los saldos que alcanzan el mínimo de pago. Cada
+ * tramo busca sus candidatos sin bloqueo y, en su propia transacción, bloquea solo esas filas
+ * por clave primaria, crea un pago por saldo y registra su asiento con el
+ * {@link LedgerDomainService}, que deja el saldo en cero. Como el saldo se vuelve a comprobar
+ * con la fila bloqueada, dos nodos que liquiden a la vez no pagan dos veces el mismo importe:
+ * el segundo encuentra el saldo ya liquidado. La transferencia al propietario queda pendiente
+ * en {@code payouts} para el proveedor de pagos.
+ */
+@Slf4j
+@Component
+public class PayoutSettlementScheduler {
+
+    private final OwnerBalanceRepository ownerBalanceRepository;
+    private final PayoutRepository payoutRepository;
+    private final LedgerDomainService ledgerDomainService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter payoutCounter;
+    private final BigDecimal minimumPayout;
+    private final int batchSize;
+
+    public PayoutSettlementScheduler(OwnerBalanceRepository ownerBalanceRepository,
+                                     PayoutRepository payoutRepository,
+                                     LedgerDomainService ledgerDomainService,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.ledger.minimum-payout:50.00}") BigDecimal minimumPayout,
+                                     @Value("${app.ledger.settlement-batch-size:200}") int batchSize) {
+        this.ownerBalanceRepository = ownerBalanceRepository;
+        this.payoutRepository = payoutRepository;
+        this.ledgerDomainService = ledgerDomainService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.payoutCounter = meterRegistry.counter("ledger.payouts");
+        this.minimumPayout = minimumPayout;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Liquida de forma periódica los saldos pendientes.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.settlement-interval-ms:86400000}",
+            initialDelayString = "${app.ledger.settlement-initial-delay-ms:300000}")
+    public void run() {
+        Long batchId = null;
+        long afterId = 0L;
+        int total = 0;
+
+        try {
+            while (true) {
+                List<Long> candidateIds = ownerBalanceRepository.findPayableIds(minimumPayout, afterId, batchSize);
+                if (candidateIds.isEmpty()) {
+                    break;
+                }
+                Long currentBatchId = batchId;
+                Chunk chunk = transactionTemplate.execute(status -> settleChunk(currentBatchId, candidateIds));
+                if (chunk != null) {
+                    batchId = chunk.batchId();
+                    total += chunk.settled();
+                    payoutCounter.increment(chunk.settled());
+                }
+                afterId = candidateIds.get(candidateIds.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al liquidar los saldos de propietarios", e);
+        }
+
+        if (batchId != null) {
+            Long completedBatchId = batchId;
+            int payoutCount = total;
+            transactionTemplate.executeWithoutResult(status -> payoutRepository.completeBatch(completedBatchId, payoutCount));
+            log.info("Lote de liquidación {}: {} pagos a propietarios", batchId, total);
+        }
+    }
+
+    private Chunk settleChunk(Long batchId, List<Long> candidateIds) {
+        // Otro nodo pudo liquidar algún candidato desde la búsqueda
+        List<OwnerBalance> balances = ownerBalanceRepository.findPayableByIdsForUpdate(candidateIds, minimumPayout);
+        if (balances.isEmpty()) {
+            return new Chunk(batchId, 0);
+        }
+
+        // El lote se crea con el primer tramo para no dejar lotes vacíos
+        Long currentBatchId = batchId != null ? batchId : payoutRepository.openBatch();
+
+        for (OwnerBalance balance : balances) {
+            Payout payout = payoutRepository.save(Payout.builder()
+                    .batchId(currentBatchId)
+                    .ownerId(balance.getOwnerId())
+                    .amount(balance.getBalance())
+                    .currency(balance.getCurrency())
+                    .status(Payout.STATUS_PENDING)
+                    .build());
+            ledgerDomainService.recordPayout(payout);
+        }
+        return new Chunk(currentBatchId, balances.size());
+    }
+
+    private record Chunk(Long batchId, int settled) {
+    }
+}
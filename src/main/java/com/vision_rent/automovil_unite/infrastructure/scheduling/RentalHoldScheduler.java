@@ -0,0 +1,132 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalHoldView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Programa el vencimiento de las retenciones de alquileres pendientes.
+ * <p>
+ * Mientras la retención está vigente, el alquiler PENDING bloquea el intervalo del vehículo
+ * en las verificaciones de disponibilidad. La base de datos es la fuente de verdad: una
+ * retención vencida deja de bloquear aunque su temporizador se haya perdido, por lo que
+ * la rueda solo se encarga de pasar el alquiler a EXPIRED y retirarlo del índice en memoria
+ * sin tener que sondear la tabla. Al arrancar se reprograman las retenciones pendientes.
+ */
+@Slf4j
+@Component
+public class RentalHoldScheduler {
+
+    private final RentalRepository rentalRepository;
+    private final RentalJpaRepository rentalJpaRepository;
+    private final VehicleAvailabilityIndex availabilityIndex;
+    private final HierarchicalTimerWheel timerWheel;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+
+    private final Map<Long, HierarchicalTimerWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+
+    public RentalHoldScheduler(RentalRepository rentalRepository,
+                               RentalJpaRepository rentalJpaRepository,
+                               VehicleAvailabilityIndex availabilityIndex,
+                               HierarchicalTimerWheel timerWheel,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.rentals.hold-ttl-minutes:15}") long holdTtlMinutes) {
+        this.rentalRepository = rentalRepository;
+        this.rentalJpaRepository = rentalJpaRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.timerWheel = timerWheel;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.holdTtl = Duration.ofMinutes(holdTtlMinutes);
+    }
+
+    /**
+     * Calcula el vencimiento de una retención que empieza ahora.
+     *
+     * @return Fecha de vencimiento de la retención
+     */
+    public LocalDateTime newHoldExpiry() {
+        return LocalDateTime.now().plus(holdTtl);
+    }
+
+    /**
+     * Programa el vencimiento de la retención del alquiler una vez confirmada la transacción actual.
+     *
+     * @param rental Alquiler pendiente con retención
+     */
+    public void scheduleExpiry(Rental rental) {
+        if (rental.getId() == null || rental.getHoldExpiresAt() == null || !"PENDING".equals(rental.getStatus())) {
+            return;
+        }
+        Long rentalId = rental.getId();
+        LocalDateTime expiresAt = rental.getHoldExpiresAt();
+        TransactionCallbacks.afterCommit(() -> schedule(rentalId, expiresAt));
+    }
+
+    /**
+     * Cancela el temporizador de la retención del alquiler (confirmado o cancelado)
+     * una vez confirmada la transacción actual.
+     *
+     * @param rentalId ID del alquiler
+     */
+    public void release(Long rentalId) {
+        TransactionCallbacks.afterCommit(() -> {
+            HierarchicalTimerWheel.Timeout timeout = timeouts.remove(rentalId);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        });
+    }
+
+    /**
+     * Reprograma las retenciones vigentes al arrancar la aplicación.
+     * Las que vencieron mientras la aplicación estaba detenida se expiran en el siguiente tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<RentalHoldView> holds = rentalJpaRepository.findPendingHolds();
+        holds.forEach(hold -> schedule(hold.getId(), hold.getHoldExpiresAt()));
+        log.info("Retenciones de alquileres reprogramadas: {}", holds.size());
+    }
+
+    private void schedule(Long rentalId, LocalDateTime expiresAt) {
+        Duration delay = Duration.between(LocalDateTime.now(), expiresAt);
+        HierarchicalTimerWheel.Timeout timeout = timerWheel.schedule(delay, () -> expire(rentalId));
+        HierarchicalTimerWheel.Timeout previous = timeouts.put(rentalId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void expire(Long rentalId) {
+        timeouts.remove(rentalId);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Actualización condicional: si el alquiler ya se confirmó o canceló no se toca
+            if (rentalRepository.expireHold(rentalId, LocalDateTime.now())) {
+                availabilityIndex.untrack(rentalId);
+                log.debug("Retención del alquiler {} vencida", rentalId);
+                return;
+            }
+            // El reloj de pared pudo quedar por detrás del temporizador: reintentar al vencer
+            rentalRepository.findById(rentalId)
+                    .filter(rental -> "PENDING".equals(rental.getStatus()) && rental.getHoldExpiresAt() != null)
+                    .ifPresent(rental -> schedule(rentalId, rental.getHoldExpiresAt()));
+        });
+    }
+}
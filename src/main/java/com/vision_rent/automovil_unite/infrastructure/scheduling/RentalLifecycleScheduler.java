@@ -0,0 +1,171 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.application.service.NotificationService;
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.SchedulerCheckpointJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.SchedulerCheckpointJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Motor del ciclo de vida de los alquileres en curso (CONFIRMED y ACTIVE).
+ * <p>
+ * Cada lote se procesa en su propia transacción con la fila del trabajo en
+ * {@code scheduler_checkpoints} bloqueada, de modo que varias instancias no procesan el
+ * mismo lote. Las notificaciones se generan en bloque junto con el registro del avance, por
+ * lo que cada alquiler se procesa exactamente una vez aunque la aplicación se reinicie a
+ * mitad de un recorrido.
+ * <ul>
+ *     <li>{@value #ENDING_SOON_JOB}: avisa al arrendatario cuando el fin está dentro de la ventana configurada.
+ *     Usa la marca {@code ending_soon_notified} de cada alquiler en lugar de una posición, para no
+ *     saltar los alquileres creados, confirmados o extendidos con un fin ya dentro de la ventana.</li>
+ *     <li>{@value #LATE_SWEEP_JOB}: marca como atrasados los alquileres no devueltos tras la tolerancia
+ *     y avisa al arrendatario y al propietario. Recorre los alquileres por fin efectivo con
+ *     paginación por clave {@code (fin, id)} a partir de la marca guardada.</li>
+ * </ul>
+ * Publica el tiempo de cada lote ({@code rental.lifecycle.batch}), los alquileres procesados
+ * ({@code rental.lifecycle.processed}) y el retraso respecto del horizonte ({@code rental.lifecycle.lag}).
+ */
+@Slf4j
+@Component
+public class RentalLifecycleScheduler {
+
+    static final String ENDING_SOON_JOB = "rental-ending-soon";
+    static final String LATE_SWEEP_JOB = "rental-late-sweep";
+
+    private final RentalRepository rentalRepository;
+    private final NotificationService notificationService;
+    private final SchedulerCheckpointJpaRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration endingSoonWindow;
+    private final Duration lateGrace;
+
+    private final AtomicLong endingSoonLagSeconds;
+    private final AtomicLong lateSweepLagSeconds;
+
+    public RentalLifecycleScheduler(RentalRepository rentalRepository,
+                                    NotificationService notificationService,
+                                    SchedulerCheckpointJpaRepository checkpointRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.rentals.lifecycle.batch-size:200}") int batchSize,
+                                    @Value("${app.rentals.lifecycle.max-batches-per-run:50}") int maxBatchesPerRun,
+                                    @Value("${app.rentals.lifecycle.ending-soon-hours:24}") long endingSoonHours,
+                                    @Value("${app.rentals.lifecycle.late-grace-minutes:30}") long lateGraceMinutes) {
+        this.rentalRepository = rentalRepository;
+        this.notificationService = notificationService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.endingSoonWindow = Duration.ofHours(endingSoonHours);
+        this.lateGrace = Duration.ofMinutes(lateGraceMinutes);
+        this.endingSoonLagSeconds = meterRegistry.gauge("rental.lifecycle.lag",
+                Tags.of("job", ENDING_SOON_JOB), new AtomicLong());
+        this.lateSweepLagSeconds = meterRegistry.gauge("rental.lifecycle.lag",
+                Tags.of("job", LATE_SWEEP_JOB), new AtomicLong());
+    }
+
+    /**
+     * Ejecuta los trabajos del ciclo de vida de forma periódica.
+     */
+    @Scheduled(fixedDelayString = "${app.rentals.lifecycle.interval-ms:60000}",
+            initialDelayString = "${app.rentals.lifecycle.interval-ms:60000}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        runJob(ENDING_SOON_JOB, now.plus(endingSoonWindow), endingSoonLagSeconds,
+                (checkpoint, until) -> rentalRepository.findEndingSoonNotNotified(LocalDateTime.now(), until, batchSize),
+                (rentals, batchNow) -> {
+                    notificationService.notifyRentalsEnding(rentals, batchNow);
+                    rentalRepository.markEndingSoonNotified(idsOf(rentals));
+                });
+        runJob(LATE_SWEEP_JOB, now.minus(lateGrace), lateSweepLagSeconds,
+                (checkpoint, until) -> rentalRepository.findInProgressEndingBetween(
+                        checkpoint.getLastDateTime(), checkpoint.getLastId(), until, batchSize),
+                (rentals, batchNow) -> {
+                    rentalRepository.markLateReturn(idsOf(rentals));
+                    notificationService.notifyRentalsLate(rentals);
+                });
+    }
+
+    /**
+     * Procesa lotes hasta alcanzar el horizonte o el máximo de lotes por ejecución.
+     */
+    private void runJob(String jobName, LocalDateTime until, AtomicLong lagSeconds,
+                        BiFunction<SchedulerCheckpointJpaEntity, LocalDateTime, List<Rental>> loader,
+                        BiConsumer<List<Rental>, LocalDateTime> handler) {
+        Timer batchTimer = meterRegistry.timer("rental.lifecycle.batch", "job", jobName);
+        Counter processedCounter = meterRegistry.counter("rental.lifecycle.processed", "job", jobName);
+
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                BatchResult result = batchTimer.record(() -> transactionTemplate.execute(
+                        status -> processBatch(jobName, until, loader, handler)));
+                processedCounter.increment(result.processed());
+
+                if (result.processed() < batchSize) {
+                    lagSeconds.set(0);
+                    return;
+                }
+                lagSeconds.set(Math.max(0, Duration.between(result.checkpoint(), until).toSeconds()));
+            }
+            log.warn("El trabajo {} alcanzó el máximo de {} lotes; continuará en la siguiente ejecución",
+                    jobName, maxBatchesPerRun);
+        } catch (RuntimeException e) {
+            log.error("Error al ejecutar el trabajo {}", jobName, e);
+        }
+    }
+
+    private BatchResult processBatch(String jobName, LocalDateTime until,
+                                     BiFunction<SchedulerCheckpointJpaEntity, LocalDateTime, List<Rental>> loader,
+                                     BiConsumer<List<Rental>, LocalDateTime> handler) {
+        SchedulerCheckpointJpaEntity checkpoint = checkpointRepository.findByJobNameForUpdate(jobName)
+                .orElseThrow(() -> new IllegalStateException("No existe la marca del trabajo " + jobName));
+
+        List<Rental> due = loader.apply(checkpoint, until);
+        if (due.isEmpty()) {
+            return new BatchResult(0, checkpoint.getLastDateTime());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        handler.accept(due, now);
+
+        Rental last = due.get(due.size() - 1);
+        checkpoint.setLastDateTime(last.getEffectiveEndDateTime());
+        checkpoint.setLastId(last.getId());
+        checkpoint.setUpdatedAt(now);
+        checkpointRepository.save(checkpoint);
+
+        log.debug("Trabajo {}: {} alquileres procesados hasta {}", jobName, due.size(), checkpoint.getLastDateTime());
+        return new BatchResult(due.size(), checkpoint.getLastDateTime());
+    }
+
+    private static List<Long> idsOf(List<Rental> rentals) {
+        return rentals.stream().map(Rental::getId).collect(Collectors.toList());
+    }
+
+    private record BatchResult(int processed, LocalDateTime checkpoint) {
+    }
+}
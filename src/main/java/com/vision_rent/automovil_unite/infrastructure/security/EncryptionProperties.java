@@ -0,0 +1,27 @@
+package com.vision_rent.automovil_unite.infrastructure.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades de configuración del cifrado de datos sensibles.
+ * <p>
+ * Cada versión tiene su propio secreto maestro. Los datos nuevos se cifran con la versión
+ * activa; las demás versiones se conservan para descifrar los datos que aún no se han
+ * vuelto a cifrar.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.security.encryption")
+@Getter
+@Setter
+public class EncryptionProperties {
+
+    private int activeVersion = 1;
+    private Map<Integer, String> keys = new HashMap<>();
+
+}
@@ -1,35 +1,88 @@
 package com.vision_rent.automovil_unite.infrastructure.security;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Servicio para encriptar y desencriptar información sensible.
  * Utiliza AES-GCM, un cifrado de flujo autenticado recomendado para datos sensibles.
+ * <p>
+ * Las claves de datos se derivan una sola vez con HKDF-SHA256 a partir del secreto maestro
+ * de cada versión configurada. Cada texto cifrado lleva el prefijo {@code v<versión>:}, que
+ * además se autentica como dato adicional de GCM, así que las claves pueden rotar sin
+ * detener el servicio: los datos nuevos usan la versión activa y los antiguos se descifran
+ * con la suya hasta que el trabajo de recifrado los migra. Los textos sin prefijo son los
+ * cifrados con la clave en bruto anterior y solo se descifran.
+ * <p>
+ * Cada hilo reutiliza su propio {@link Cipher} y todos comparten un único generador DRBG
+ * para los IV.
  */
+@Slf4j
 @Service
 public class EncryptionService {
 
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
     private static final int GCM_IV_LENGTH = 12;
     private static final int GCM_TAG_LENGTH = 16;
-    
-    @Value("${app.security.encryption-key}")
-    private String encryptionKey;
+    private static final String VERSION_PREFIX = "v";
+    private static final char VERSION_SEPARATOR = ':';
+    private static final byte[] HKDF_SALT = "automovil-unite/encryption".getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM no está disponible", e);
+        }
+    });
+
+    private final SecureRandom random;
+    private final Map<Integer, SecretKey> keysByVersion;
+    private final int activeVersion;
+    private final SecretKey activeKey;
+    private final String activePrefix;
+    private final byte[] activeAad;
+    private final SecretKey legacyKey;
+
+    public EncryptionService(EncryptionProperties properties,
+                             @Value("${app.security.encryption-key:}") String legacyEncryptionKey) {
+        this.random = createRandom();
+        this.keysByVersion = new HashMap<>();
+        properties.getKeys().forEach((version, secret) ->
+                keysByVersion.put(version, deriveKey(secret, version)));
+
+        this.activeVersion = properties.getActiveVersion();
+        this.activeKey = keysByVersion.get(activeVersion);
+        if (activeKey == null) {
+            throw new IllegalStateException("No hay clave configurada para la versión activa " + activeVersion);
+        }
+        this.activePrefix = prefixOf(activeVersion);
+        this.activeAad = activePrefix.getBytes(StandardCharsets.US_ASCII);
+        this.legacyKey = legacyKeyOf(legacyEncryptionKey);
+
+        log.info("Cifrado inicializado: versión activa {}, versiones disponibles {}",
+                activeVersion, keysByVersion.keySet());
+    }
     
     /**
-     * Encripta una cadena utilizando AES-GCM.
+     * Encripta una cadena utilizando AES-GCM con la clave activa.
      * 
      * @param plainText Texto a encriptar
-     * @return Texto encriptado en formato Base64
+     * @return Texto encriptado con el prefijo de versión y en formato Base64
      */
     public String encrypt(String plainText) {
         try {
@@ -39,28 +92,21 @@ public class EncryptionService {
             
             // Generar un IV aleatorio
             byte[] iv = new byte[GCM_IV_LENGTH];
-            SecureRandom random = new SecureRandom();
             random.nextBytes(iv);
             
-            // Preparar la clave secreta
-            SecretKey secretKey = new SecretKeySpec(
-                    encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
-            
-            // Inicializar el cifrador
-            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
-            
-            // Encriptar el texto
-            byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            // Inicializar el cifrador del hilo
+            Cipher cipher = CIPHERS.get();
+            cipher.init(Cipher.ENCRYPT_MODE, activeKey, new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
+            cipher.updateAAD(activeAad);
             
-            // Combinar IV y texto cifrado
-            ByteBuffer byteBuffer = ByteBuffer.allocate(iv.length + cipherText.length);
-            byteBuffer.put(iv);
-            byteBuffer.put(cipherText);
+            // Encriptar el texto directamente a continuación del IV
+            byte[] input = plainText.getBytes(StandardCharsets.UTF_8);
+            byte[] message = new byte[GCM_IV_LENGTH + cipher.getOutputSize(input.length)];
+            System.arraycopy(iv, 0, message, 0, GCM_IV_LENGTH);
+            cipher.doFinal(input, 0, input.length, message, GCM_IV_LENGTH);
             
             // Codificar en Base64 para almacenamiento/transmisión
-            return Base64.getEncoder().encodeToString(byteBuffer.array());
+            return activePrefix + Base64.getEncoder().encodeToString(message);
             
         } catch (Exception e) {
             throw new RuntimeException("Error al encriptar", e);
@@ -68,9 +114,9 @@ public class EncryptionService {
     }
     
     /**
-     * Desencripta una cadena utilizando AES-GCM.
+     * Desencripta una cadena utilizando AES-GCM con la clave de su versión.
      * 
-     * @param encryptedText Texto encriptado en formato Base64
+     * @param encryptedText Texto encriptado
      * @return Texto desencriptado
      */
     public String decrypt(String encryptedText) {
@@ -79,29 +125,40 @@ public class EncryptionService {
                 return null;
             }
             
-            // Decodificar de Base64
-            byte[] cipherMessage = Base64.getDecoder().decode(encryptedText);
-            
-            // Extraer IV
-            ByteBuffer byteBuffer = ByteBuffer.wrap(cipherMessage);
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            byteBuffer.get(iv);
-            
-            // Extraer texto cifrado
-            byte[] cipherText = new byte[byteBuffer.remaining()];
-            byteBuffer.get(cipherText);
+            // Resolver la clave según la versión del texto cifrado
+            int separator = versionSeparatorIndex(encryptedText);
+            SecretKey secretKey;
+            byte[] aad = null;
+            String payload;
+            if (separator > 0) {
+                int version = Integer.parseInt(encryptedText.substring(VERSION_PREFIX.length(), separator));
+                secretKey = keysByVersion.get(version);
+                if (secretKey == null) {
+                    throw new IllegalStateException("No hay clave configurada para la versión " + version);
+                }
+                aad = encryptedText.substring(0, separator + 1).getBytes(StandardCharsets.US_ASCII);
+                payload = encryptedText.substring(separator + 1);
+            } else {
+                secretKey = legacyKey;
+                if (secretKey == null) {
+                    throw new IllegalStateException("No hay clave configurada para los datos sin versión");
+                }
+                payload = encryptedText;
+            }
             
-            // Preparar la clave secreta
-            SecretKey secretKey = new SecretKeySpec(
-                    encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
+            // Decodificar de Base64; el IV precede al texto cifrado
+            byte[] cipherMessage = Base64.getDecoder().decode(payload);
             
-            // Inicializar el descifrador
-            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
+            // Inicializar el descifrador del hilo
+            Cipher cipher = CIPHERS.get();
+            cipher.init(Cipher.DECRYPT_MODE, secretKey,
+                    new GCMParameterSpec(GCM_TAG_LENGTH * 8, cipherMessage, 0, GCM_IV_LENGTH));
+            if (aad != null) {
+                cipher.updateAAD(aad);
+            }
             
             // Desencriptar
-            byte[] plainText = cipher.doFinal(cipherText);
+            byte[] plainText = cipher.doFinal(cipherMessage, GCM_IV_LENGTH, cipherMessage.length - GCM_IV_LENGTH);
             
             return new String(plainText, StandardCharsets.UTF_8);
             
@@ -110,6 +167,35 @@ public class EncryptionService {
         }
     }
     
+    /**
+     * Indica si un texto cifrado no usa la clave activa y debe volver a cifrarse.
+     * 
+     * @param encryptedText Texto encriptado
+     * @return true si el texto está cifrado con otra versión o con la clave anterior
+     */
+    public boolean needsReencryption(String encryptedText) {
+        return encryptedText != null && !encryptedText.startsWith(activePrefix);
+    }
+    
+    /**
+     * Vuelve a cifrar un texto con la clave activa si está cifrado con otra.
+     * 
+     * @param encryptedText Texto encriptado
+     * @return Texto cifrado con la clave activa
+     */
+    public String reencrypt(String encryptedText) {
+        return needsReencryption(encryptedText) ? encrypt(decrypt(encryptedText)) : encryptedText;
+    }
+    
+    /**
+     * Obtiene el prefijo de los textos cifrados con la clave activa.
+     * 
+     * @return Prefijo de la versión activa (p.ej. {@code v2:})
+     */
+    public String getActivePrefix() {
+        return activePrefix;
+    }
+    
     /**
      * Obtiene una versión enmascarada del número de tarjeta mostrando solo los últimos 4 dígitos.
      * 
@@ -133,4 +219,69 @@ public class EncryptionService {
         
         return masked.toString();
     }
-}
\ No newline at end of file
+    
+    private static String prefixOf(int version) {
+        return VERSION_PREFIX + version + VERSION_SEPARATOR;
+    }
+    
+    /**
+     * Devuelve la posición del separador de versión, o -1 si el texto no lleva prefijo.
+     * El Base64 nunca contiene ':', por lo que el prefijo no es ambiguo.
+     */
+    private static int versionSeparatorIndex(String encryptedText) {
+        if (!encryptedText.startsWith(VERSION_PREFIX)) {
+            return -1;
+        }
+        int separator = encryptedText.indexOf(VERSION_SEPARATOR);
+        if (separator <= VERSION_PREFIX.length()) {
+            return -1;
+        }
+        for (int i = VERSION_PREFIX.length(); i < separator; i++) {
+            if (!Character.isDigit(encryptedText.charAt(i))) {
+                return -1;
+            }
+        }
+        return separator;
+    }
+    
+    /**
+     * Deriva una clave AES-256 del secreto maestro con HKDF-SHA256 (RFC 5869),
+     * usando la versión como información de contexto.
+     */
+    private static SecretKey deriveKey(String secret, int version) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(HKDF_SALT, "HmacSHA256"));
+            byte[] pseudoRandomKey = mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+            
+            mac.init(new SecretKeySpec(pseudoRandomKey, "HmacSHA256"));
+            mac.update(("payment-data/" + prefixOf(version)).getBytes(StandardCharsets.US_ASCII));
+            mac.update((byte) 1);
+            return new SecretKeySpec(mac.doFinal(), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo derivar la clave de cifrado", e);
+        }
+    }
+    
+    /**
+     * La clave anterior se usaba en bruto y solo era válida con 16, 24 o 32 bytes.
+     */
+    private static SecretKey legacyKeyOf(String encryptionKey) {
+        if (encryptionKey == null) {
+            return null;
+        }
+        byte[] keyBytes = encryptionKey.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            return null;
+        }
+        return new SecretKeySpec(keyBytes, "AES");
+    }
+    
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.vision_rent.automovil_unite.infrastructure.security;
 
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,9 +17,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filtro para autenticar las solicitudes mediante tokens JWT.
+ * <p>
+ * El principal se construye a partir de las reclamaciones verificadas del token; las
+ * suspensiones se aplican mediante {@link TokenRevocationService}.
  */
 @Component
 @RequiredArgsConstructor
@@ -26,6 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final SecurityProperties securityProperties;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -47,15 +54,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(securityProperties.getPrefix().length() + 1);
         
         try {
-            // Extraer el correo electrónico del usuario del token
-            userEmail = jwtService.extractUsername(jwt);
+            // Verificar la firma y la expiración una sola vez
+            Claims claims = jwtService.parseClaims(jwt);
+            userEmail = claims.getSubject();
             
             // Verificar si el correo electrónico está presente y el usuario no está autenticado
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = resolvePrincipal(jwt, claims, userEmail);
                 
-                // Verificar si el token es válido para el usuario
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -77,4 +84,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Obtiene el principal del token. Los tokens con el ID y los roles del usuario se resuelven
+     * sin acceder a la base de datos, salvo que estén revocados; los tokens anteriores se
+     * validan cargando el usuario.
+     *
+     * @return Principal autenticado, o null si el token no es válido
+     */
+    private UserDetails resolvePrincipal(String jwt, Claims claims, String userEmail) {
+        Optional<UserDetailsImpl> principal = jwtService.extractPrincipal(claims);
+        if (principal.isPresent()) {
+            if (tokenRevocationService.isRevoked(principal.get().getUserId(), claims.getIssuedAt())) {
+                return null;
+            }
+            return principal.get();
+        }
+        
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        return jwtService.isTokenValid(jwt, userDetails) && userDetails.isEnabled() ? userDetails : null;
+    }
 }
\ No newline at end of file
@@ -1,29 +1,64 @@
 package com.vision_rent.automovil_unite.infrastructure.security;
 
-import com.vision_rent.automovil_unite.infrastructure.security.SecurityProperties;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para manejar operaciones relacionadas con JWT (JSON Web Tokens).
+ * <p>
+ * Los tokens emitidos para un {@link UserDetailsImpl} llevan el ID del usuario
+ * ({@value #USER_ID_CLAIM}) y sus roles ({@value #ROLES_CLAIM}), de modo que el principal
+ * se reconstruye a partir de las reclamaciones verificadas sin consultar la base de datos.
+ * <p>
+ * La clave de firma y el parser se construyen una sola vez. Cada token se verifica una vez
+ * y sus reclamaciones se guardan en una caché acotada hasta su expiración, de modo que las
+ * solicitudes siguientes con el mismo token no repiten la verificación HMAC ni el análisis JSON.
  */
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String PASSWORD_FINGERPRINT_CLAIM = "pwf";
+
     private final SecurityProperties securityProperties;
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokens;
+    private final SecretKey passwordResetKey;
+    private final JwtParser passwordResetParser;
+
+    public JwtService(SecurityProperties securityProperties) {
+        this.securityProperties = securityProperties;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(securityProperties.getSecret()));
+        this.jwtParser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = new VerifiedTokenCache(securityProperties.getVerifiedTokenCacheSize());
+        // Clave propia para que un token de restablecimiento nunca sirva como token de acceso
+        this.passwordResetKey = deriveKey(signInKey, "password-reset");
+        this.passwordResetParser = Jwts.parser().verifyWith(passwordResetKey).build();
+    }
 
     /**
      * Extrae el nombre de usuario del token JWT.
@@ -79,6 +114,91 @@ public class JwtService {
         return buildToken(new HashMap<>(), userDetails, securityProperties.getRefreshExpiration());
     }
 
+    /**
+     * Genera un token de restablecimiento de contraseña. Lleva una huella de la contraseña
+     * actual, así que deja de valer en cuanto la contraseña cambia.
+     *
+     * @param email Email del usuario
+     * @param passwordHash Hash de la contraseña actual
+     * @return Token de restablecimiento
+     */
+    public String generatePasswordResetToken(String email, String passwordHash) {
+        long now = System.currentTimeMillis();
+        return Jwts
+                .builder()
+                .subject(email)
+                .claim(PASSWORD_FINGERPRINT_CLAIM, passwordFingerprint(passwordHash))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + securityProperties.getPasswordResetExpiration()))
+                .signWith(passwordResetKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifica la firma y la expiración de un token de restablecimiento de contraseña.
+     *
+     * @param token Token de restablecimiento
+     * @return Reclamaciones del token
+     * @throws io.jsonwebtoken.JwtException si el token no es válido o ha expirado
+     */
+    public Claims parsePasswordResetToken(String token) {
+        return passwordResetParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifica que un token de restablecimiento se emitió para la contraseña actual.
+     *
+     * @param claims Reclamaciones verificadas del token
+     * @param passwordHash Hash de la contraseña actual
+     * @return true si la contraseña no ha cambiado desde la emisión del token
+     */
+    public boolean matchesCurrentPassword(Claims claims, String passwordHash) {
+        String fingerprint = claims.get(PASSWORD_FINGERPRINT_CLAIM, String.class);
+        return fingerprint != null && MessageDigest.isEqual(
+                fingerprint.getBytes(StandardCharsets.US_ASCII),
+                passwordFingerprint(passwordHash).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Verifica la firma y la expiración del token y devuelve sus reclamaciones.
+     *
+     * @param token Token JWT
+     * @return Reclamaciones del token
+     * @throws io.jsonwebtoken.JwtException si el token no es válido o ha expirado
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * Reconstruye el principal a partir de las reclamaciones de un token ya verificado.
+     * Los tokens emitidos antes de incluir el ID y los roles no tienen principal.
+     *
+     * @param claims Reclamaciones verificadas
+     * @return Principal del usuario, o vacío si el token no lleva el ID del usuario
+     */
+    public Optional<UserDetailsImpl> extractPrincipal(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        if (!(userId instanceof Number)) {
+            return Optional.empty();
+        }
+
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+
+        return Optional.of(UserDetailsImpl.builder()
+                .username(claims.getSubject())
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .authorities(authorities)
+                .userId(((Number) userId).longValue())
+                .build());
+    }
+
     /**
      * Construye un token JWT.
      *
@@ -92,13 +212,22 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof UserDetailsImpl user && user.getUserId() != null) {
+            claims.put(USER_ID_CLAIM, user.getUserId());
+            claims.put(ROLES_CLAIM, user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toList()));
+        }
+
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
@@ -110,52 +239,55 @@ public class JwtService {
      * @return true si el token es válido, false en caso contrario
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final Claims claims = extractAllClaims(token);
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
     }
 
     /**
      * Verifica si un token JWT ha expirado.
      *
-     * @param token Token JWT
+     * @param claims Reclamaciones del token
      * @return true si el token ha expirado, false en caso contrario
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
-     * Extrae la fecha de expiración de un token JWT.
-     *
-     * @param token Token JWT
-     * @return Fecha de expiración
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Extrae todas las reclamaciones de un token JWT.
+     * Extrae todas las reclamaciones de un token JWT. Si el token ya se verificó y no ha
+     * expirado, se devuelven las reclamaciones guardadas sin volver a comprobar la firma.
      *
      * @param token Token JWT
      * @return Todas las reclamaciones
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String key = verifiedTokens.keyOf(token);
+        Claims cached = verifiedTokens.get(key, System.currentTimeMillis());
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(key, claims);
+        return claims;
     }
 
-    /**
-     * Obtiene la clave para firmar el token JWT.
-     *
-     * @return Clave para firmar
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(securityProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String passwordFingerprint(String passwordHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+    private static SecretKey deriveKey(SecretKey key, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Keys.hmacShaKeyFor(mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo derivar la clave de " + purpose, e);
+        }
     }
 }
\ No newline at end of file
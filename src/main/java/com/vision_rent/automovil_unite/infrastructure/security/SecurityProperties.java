@@ -19,5 +19,7 @@ public class SecurityProperties {
     private long refreshExpiration;
     private String header;
     private String prefix;
+    private int verifiedTokenCacheSize = 10000;
+    private long passwordResetExpiration = 1800000;
 
 }
\ No newline at end of file
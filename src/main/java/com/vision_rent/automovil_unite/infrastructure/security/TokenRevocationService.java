@@ -0,0 +1,192 @@
+package com.vision_rent.automovil_unite.infrastructure.security;
+
+import com.vision_rent.automovil_unite.domain.repository.UserRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterEnvelope;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageBus;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla en memoria de tokens revocados por usuario.
+ * <p>
+ * Los tokens llevan el ID y los roles del usuario, por lo que el filtro JWT ya no consulta
+ * la base de datos en cada solicitud. Para que una suspensión surta efecto de inmediato,
+ * se guarda por usuario el instante de revocación: todo token emitido hasta ese instante
+ * (reclamación {@code iat}) se rechaza, y mientras el usuario siga suspendido se rechaza
+ * cualquier token. Al reactivarlo, los tokens anteriores a la suspensión siguen inválidos
+ * y el usuario debe volver a iniciar sesión.
+ * <p>
+ * Las suspensiones y los cambios de contraseña se persisten en {@code users.tokens_valid_after},
+ * así que al reactivar a un usuario o al reiniciar la aplicación los tokens anteriores siguen
+ * rechazados. La tabla se carga al arrancar con los usuarios suspendidos y con las revocaciones
+ * persistidas que aún pueden afectar a tokens vigentes. La instancia que hace el cambio lo aplica
+ * en cuanto se confirma y, si hay {@link ClusterMessageBus}, lo publica para que los demás nodos
+ * lo apliquen también de inmediato. Como el bus puede perder mensajes (y en los modos LOCAL y
+ * RELAY no existe), la tabla se resincroniza además cada {@code app.jwt.revocation-refresh-ms}:
+ * ese es el retraso máximo con el que otro nodo deja de aceptar los tokens de un usuario.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final SecurityProperties securityProperties;
+    private final ClusterMessageBus bus;
+    private final String nodeId;
+
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final Set<Long> bannedUserIds = ConcurrentHashMap.newKeySet();
+
+    public TokenRevocationService(UserRepository userRepository,
+                                  SecurityProperties securityProperties,
+                                  ObjectProvider<ClusterMessageBus> busProvider,
+                                  ClusterProperties clusterProperties) {
+        this.userRepository = userRepository;
+        this.securityProperties = securityProperties;
+        this.bus = busProvider.getIfAvailable();
+        this.nodeId = clusterProperties.getNodeId();
+        if (bus != null) {
+            bus.subscribe(this::onClusterMessage);
+        }
+    }
+
+    /**
+     * Carga los usuarios suspendidos al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+        log.info("Tabla de revocación de tokens cargada: {} usuarios suspendidos", bannedUserIds.size());
+    }
+
+    /**
+     * Resincroniza los usuarios suspendidos y las revocaciones con la base de datos.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-ms:30000}",
+            initialDelayString = "${app.jwt.revocation-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            Set<Long> current = new HashSet<>(userRepository.findBannedUserIds());
+            bannedUserIds.addAll(current);
+            bannedUserIds.retainAll(current);
+
+            // Solo importan las revocaciones posteriores a la emisión del token vigente más antiguo
+            long maxLifetime = Math.max(securityProperties.getExpiration(), securityProperties.getRefreshExpiration());
+            LocalDateTime since = LocalDateTime.now().minusNanos(maxLifetime * 1_000_000L);
+            userRepository.findTokenRevocationsSince(since).forEach((userId, validAfter) ->
+                    revokedBefore.merge(userId, toEpochMillis(validAfter), Math::max));
+        } catch (RuntimeException e) {
+            log.error("No se pudo sincronizar la tabla de revocación de tokens", e);
+        }
+    }
+
+    /**
+     * Revoca los tokens del usuario suspendido una vez confirmada la transacción actual, en esta
+     * instancia y en los demás nodos.
+     *
+     * @param userId ID del usuario suspendido
+     * @param tokensValidAfter Instante persistido hasta el que se revocan los tokens
+     */
+    public void revoke(Long userId, LocalDateTime tokensValidAfter) {
+        long revokedAt = toEpochMillis(tokensValidAfter);
+        TransactionCallbacks.afterCommit(() -> {
+            bannedUserIds.add(userId);
+            revokedBefore.merge(userId, revokedAt, Math::max);
+            publish(ClusterEnvelope.Kind.USER_BANNED, userId, String.valueOf(revokedAt));
+        });
+    }
+
+    /**
+     * Aplica en esta instancia, una vez confirmada la transacción actual, la revocación sin
+     * suspensión ya guardada en {@code users.tokens_valid_after}. Se usa tras cambiar la contraseña.
+     *
+     * @param userId ID del usuario
+     * @param tokensValidAfter Instante persistido hasta el que se revocan los tokens
+     */
+    public void revokeIssuedBefore(Long userId, LocalDateTime tokensValidAfter) {
+        long revokedAt = toEpochMillis(tokensValidAfter);
+        TransactionCallbacks.afterCommit(() -> {
+            revokedBefore.merge(userId, revokedAt, Math::max);
+            publish(ClusterEnvelope.Kind.TOKENS_REVOKED, userId, String.valueOf(revokedAt));
+        });
+    }
+
+    /**
+     * Permite de nuevo la emisión de tokens al usuario una vez confirmada la transacción actual.
+     *
+     * @param userId ID del usuario reactivado
+     */
+    public void restore(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            bannedUserIds.remove(userId);
+            publish(ClusterEnvelope.Kind.USER_UNBANNED, userId, null);
+        });
+    }
+
+    /**
+     * Verifica si un token del usuario está revocado.
+     *
+     * @param userId ID del usuario
+     * @param issuedAt Fecha de emisión del token
+     * @return true si el token debe rechazarse
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (bannedUserIds.contains(userId)) {
+            return true;
+        }
+        Long revokedAt = revokedBefore.get(userId);
+        return revokedAt != null && issuedNotAfter(issuedAt, revokedAt);
+    }
+
+    // iat tiene resolución de segundos: un token emitido en el mismo segundo de la revocación también se rechaza
+    private static boolean issuedNotAfter(Date issuedAt, long revokedAtMillis) {
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedAtMillis / 1000;
+    }
+
+    private void onClusterMessage(ClusterEnvelope envelope) {
+        if (nodeId.equals(envelope.sourceNode())) {
+            return;
+        }
+        switch (envelope.kind()) {
+            case TOKENS_REVOKED -> revokedBefore.merge(envelope.userId(), Long.parseLong(envelope.payload()), Math::max);
+            case USER_BANNED -> {
+                bannedUserIds.add(envelope.userId());
+                revokedBefore.merge(envelope.userId(), Long.parseLong(envelope.payload()), Math::max);
+            }
+            case USER_UNBANNED -> bannedUserIds.remove(envelope.userId());
+            default -> {
+                // El resto de mensajes son del reparto WebSocket
+            }
+        }
+    }
+
+    private void publish(ClusterEnvelope.Kind kind, Long userId, String payload) {
+        if (bus == null) {
+            return;
+        }
+        try {
+            bus.publish(new ClusterEnvelope(kind, nodeId, null, userId, null, payload));
+        } catch (RuntimeException e) {
+            // Los demás nodos lo recogen en la siguiente resincronización
+            log.warn("No se pudo publicar la revocación de tokens del usuario {}", userId, e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
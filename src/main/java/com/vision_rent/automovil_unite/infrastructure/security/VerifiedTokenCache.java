@@ -0,0 +1,119 @@
+package com.vision_rent.automovil_unite.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché acotada de las reclamaciones de tokens cuya firma ya fue verificada.
+ * <p>
+ * La clave es el resumen SHA-256 del token, así que solo acierta con exactamente los mismos
+ * bytes que se verificaron y nunca guarda el token en claro. Cada entrada vence con la
+ * reclamación {@code exp} del token. La caché se divide en segmentos LRU con su propio
+ * bloqueo para que los hilos de las solicitudes no compitan por un único monitor; cuando un
+ * segmento se llena se descarta la entrada usada hace más tiempo.
+ */
+class VerifiedTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    });
+
+    private final Segment[] segments;
+
+    VerifiedTokenCache(int maximumSize) {
+        int segmentCapacity = Math.max(0, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Calcula la clave de caché de un token.
+     *
+     * @param token Token JWT
+     * @return Resumen SHA-256 del token en Base64
+     */
+    String keyOf(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * Obtiene las reclamaciones de un token verificado que aún no ha expirado.
+     *
+     * @param key Clave calculada con {@link #keyOf(String)}
+     * @param nowMillis Instante actual en milisegundos
+     * @return Reclamaciones, o null si no están en caché o el token expiró
+     */
+    Claims get(String key, long nowMillis) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis() <= nowMillis) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.claims();
+        }
+    }
+
+    /**
+     * Guarda las reclamaciones de un token recién verificado.
+     *
+     * @param key Clave calculada con {@link #keyOf(String)}
+     * @param claims Reclamaciones verificadas
+     */
+    void put(String key, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        Segment segment = segmentFor(key);
+        if (segment.capacity == 0) {
+            return;
+        }
+        synchronized (segment) {
+            segment.put(key, new Entry(claims, claims.getExpiration().getTime()));
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        return segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    /**
+     * Segmento LRU; se accede siempre con su propio monitor.
+     */
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
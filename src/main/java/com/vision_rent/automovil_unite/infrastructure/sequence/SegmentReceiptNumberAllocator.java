@@ -0,0 +1,107 @@
+package com.vision_rent.automovil_unite.infrastructure.sequence;
+
+import com.vision_rent.automovil_unite.domain.service.ReceiptNumberAllocator;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptSequenceJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReceiptSequenceJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asigna los números de boleta por segmentos reservados en {@code receipt_sequences}.
+ * <p>
+ * Cada nodo reserva un bloque de valores de la secuencia del día en una transacción propia
+ * y corta ({@code REQUIRES_NEW}), con la fila bloqueada, y después los entrega desde memoria
+ * con un contador atómico: solo uno de cada {@code block-size} números toca la base de datos
+ * y la transacción del pago nunca retiene el bloqueo de la secuencia. Los valores de un
+ * bloque que no llegan a usarse (reinicio, cambio de día) quedan como huecos.
+ */
+@Slf4j
+@Component
+public class SegmentReceiptNumberAllocator implements ReceiptNumberAllocator {
+
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ReceiptSequenceJpaRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final Object refillLock = new Object();
+
+    private final Counter allocatedCounter;
+    private final Timer reserveTimer;
+
+    private volatile Segment current = new Segment("", 0, 0);
+
+    public SegmentReceiptNumberAllocator(ReceiptSequenceJpaRepository sequenceRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.receipts.number-block-size:100}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+
+        this.allocatedCounter = meterRegistry.counter("receipts.numbers.allocated");
+        this.reserveTimer = meterRegistry.timer("receipts.numbers.segment");
+    }
+
+    @Override
+    public String nextReceiptNumber() {
+        String day = LocalDate.now().format(DAY_FORMATTER);
+        while (true) {
+            Segment segment = current;
+            if (segment.day.equals(day)) {
+                long value = segment.next.getAndIncrement();
+                if (value < segment.end) {
+                    allocatedCounter.increment();
+                    return String.format("%s-%05d", day, value);
+                }
+            }
+            refill(day, segment);
+        }
+    }
+
+    /**
+     * Sustituye el segmento agotado o de otro día. Si otro hilo ya lo sustituyó, no hace nada.
+     */
+    private void refill(String day, Segment exhausted) {
+        synchronized (refillLock) {
+            if (current != exhausted) {
+                return;
+            }
+            current = reserveTimer.record(() -> transactionTemplate.execute(status -> reserve(day)));
+        }
+    }
+
+    private Segment reserve(String day) {
+        sequenceRepository.insertIfAbsent(day);
+        ReceiptSequenceJpaEntity sequence = sequenceRepository.findBySequenceDayForUpdate(day)
+                .orElseThrow(() -> new IllegalStateException("No existe la secuencia de boletas del día " + day));
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        log.debug("Segmento de boletas reservado para {}: [{}, {})", day, start, start + blockSize);
+        return new Segment(day, start, start + blockSize);
+    }
+
+    private static final class Segment {
+        private final String day;
+        private final AtomicLong next;
+        private final long end;
+
+        private Segment(String day, long start, long end) {
+            this.day = day;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
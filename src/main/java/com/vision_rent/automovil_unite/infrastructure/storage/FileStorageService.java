@@ -7,7 +7,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -73,6 +75,36 @@ public class FileStorageService {
         return subDirectory + "/" + newFilename;
     }
     
+    /**
+     * Escribe un archivo en la ruta indicada a medida que se genera, sin mantenerlo completo
+     * en memoria. El contenido se escribe en un archivo temporal del mismo directorio que
+     * reemplaza al destino solo cuando termina, así que una lectura concurrente nunca ve un
+     * archivo a medias.
+     *
+     * @param relativePath Ruta relativa al directorio raíz
+     * @param writer Escribe el contenido en el flujo recibido
+     * @return Ruta relativa del archivo almacenado
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public String storeStream(String relativePath, StreamWriter writer) throws IOException {
+        Path target = this.rootLocation.resolve(relativePath).normalize();
+        if (!target.startsWith(this.rootLocation)) {
+            throw new StorageException("La ruta del archivo es inválida: " + relativePath);
+        }
+        Files.createDirectories(target.getParent());
+        
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return relativePath;
+    }
+    
     /**
      * Carga un archivo como un recurso.
      *
@@ -104,4 +136,12 @@ public class FileStorageService {
         Path file = rootLocation.resolve(filename);
         Files.deleteIfExists(file);
     }
+    
+    /**
+     * Genera el contenido de un archivo directamente sobre el flujo de salida.
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
 }
\ No newline at end of file
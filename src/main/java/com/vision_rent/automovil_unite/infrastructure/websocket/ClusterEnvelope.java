@@ -0,0 +1,70 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+/**
+ * Mensaje intercambiado entre los nodos por el {@link ClusterMessageBus}.
+ *
+ * @param kind Tipo de mensaje
+ * @param sourceNode Nodo que lo publica
+ * @param targetNode Nodo destinatario, o null para todos
+ * @param userId Usuario destinatario o afectado, si aplica
+ * @param destination Destino STOMP, si aplica
+ * @param payload Cuerpo JSON del mensaje, en los latidos los IDs de usuario separados por comas y
+ *                en las revocaciones el instante de revocación y en los cambios de disponibilidad
+ *                el intervalo del alquiler
+ */
+public record ClusterEnvelope(Kind kind,
+                              String sourceNode,
+                              String targetNode,
+                              Long userId,
+                              String destination,
+                              String payload) {
+
+    /**
+     * Tipos de mensaje entre nodos.
+     */
+    public enum Kind {
+        /**
+         * Mensaje para las sesiones de un usuario en el nodo destinatario.
+         */
+        DELIVER,
+        /**
+         * Mensaje para un tema público en todos los nodos.
+         */
+        BROADCAST,
+        /**
+         * Lista completa de los usuarios conectados al nodo que publica.
+         */
+        PRESENCE,
+        /**
+         * Solicitud de un nodo recién arrancado para que el resto publique su lista.
+         */
+        PRESENCE_REQUEST,
+        /**
+         * Un usuario abrió su primera sesión en el nodo que publica.
+         */
+        CONNECTED,
+        /**
+         * Un usuario cerró su última sesión en el nodo que publica.
+         */
+        DISCONNECTED,
+        /**
+         * Se revocaron los tokens de un usuario; el cuerpo lleva el instante de revocación en
+         * milisegundos.
+         */
+        TOKENS_REVOKED,
+        /**
+         * Un usuario fue suspendido; el cuerpo lleva el instante de revocación en milisegundos.
+         */
+        USER_BANNED,
+        /**
+         * Un usuario suspendido fue reactivado.
+         */
+        USER_UNBANNED,
+        /**
+         * Cambió el intervalo que un alquiler ocupa en su vehículo; el cuerpo lleva el ID del
+         * alquiler seguido, si aún bloquea el vehículo, del vehículo, el intervalo y el vencimiento
+         * de la retención en segundos.
+         */
+        RENTAL_INTERVAL
+    }
+}
@@ -0,0 +1,27 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de publicación y suscripción entre los nodos de la aplicación.
+ * <p>
+ * Las implementaciones entregan cada mensaje a los demás nodos, en el orden de publicación
+ * de cada nodo y como mucho una vez; un mensaje perdido solo retrasa la notificación en
+ * tiempo real, que el cliente recupera con la sincronización.
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * Publica un mensaje para los demás nodos. No espera a que lo reciban.
+     *
+     * @param envelope Mensaje a publicar
+     */
+    void publish(ClusterEnvelope envelope);
+
+    /**
+     * Registra un receptor de los mensajes publicados por los demás nodos.
+     *
+     * @param listener Receptor
+     */
+    void subscribe(Consumer<ClusterEnvelope> listener);
+}
@@ -0,0 +1,238 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reparte entre nodos los mensajes WebSocket de usuarios conectados a otra instancia.
+ * <p>
+ * Solo actúa en los modos con {@link ClusterMessageBus} (EMBEDDED y JDBC). Cada nodo anuncia
+ * por el bus qué usuarios tiene conectados; un envío a un usuario sin sesiones locales se
+ * publica únicamente para los nodos que lo tienen, que lo entregan a sus sesiones. Los
+ * mensajes a temas públicos se publican para todos los nodos. En modo LOCAL no hay bus y en
+ * modo RELAY el broker externo y el registro de usuarios de Spring ya hacen este reparto.
+ */
+@Slf4j
+@Component
+public class ClusterMessageRouter {
+
+    private final ClusterMessageBus bus;
+    private final ClusterPresence presence;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+
+    private final Counter forwardedCounter;
+    private final Counter receivedCounter;
+
+    public ClusterMessageRouter(ObjectProvider<ClusterMessageBus> busProvider,
+                                ClusterPresence presence,
+                                SimpMessagingTemplate messagingTemplate,
+                                SimpUserRegistry userRegistry,
+                                ObjectMapper objectMapper,
+                                ClusterProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.bus = busProvider.getIfAvailable();
+        this.presence = presence;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.objectMapper = objectMapper;
+        this.nodeId = properties.getNodeId();
+
+        this.forwardedCounter = meterRegistry.counter("websocket.cluster.forwarded");
+        this.receivedCounter = meterRegistry.counter("websocket.cluster.received");
+        meterRegistry.gauge("websocket.cluster.nodes", presence, ClusterPresence::nodeCount);
+
+        if (bus != null) {
+            bus.subscribe(this::onMessage);
+        }
+    }
+
+    /**
+     * Publica un mensaje para los nodos en los que el usuario tiene sesiones.
+     *
+     * @param userId ID del usuario destinatario
+     * @param destination Destino de usuario, por ejemplo {@code /queue/notifications}
+     * @param payload Mensaje a enviar
+     * @return true si el usuario está conectado en otro nodo y se publicó el mensaje
+     */
+    public boolean forwardToUser(Long userId, String destination, Object payload) {
+        if (bus == null) {
+            return false;
+        }
+        List<String> nodes = presence.nodesFor(userId);
+        if (nodes.isEmpty()) {
+            return false;
+        }
+        String json = toJson(payload);
+        for (String node : nodes) {
+            bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.DELIVER, nodeId, node, userId, destination, json));
+        }
+        forwardedCounter.increment(nodes.size());
+        return true;
+    }
+
+    /**
+     * Publica un mensaje de un tema público para los demás nodos.
+     *
+     * @param destination Tema, por ejemplo {@code /topic/global-notifications}
+     * @param payload Mensaje a enviar
+     */
+    public void broadcast(String destination, Object payload) {
+        if (bus == null) {
+            return;
+        }
+        bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.BROADCAST, nodeId, null, null, destination, toJson(payload)));
+    }
+
+    /**
+     * Al arrancar, anuncia los usuarios de este nodo y pide a los demás los suyos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (bus == null) {
+            return;
+        }
+        publishPresence(null);
+        bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.PRESENCE_REQUEST, nodeId, null, null, null, null));
+    }
+
+    /**
+     * Anuncia periódicamente los usuarios de este nodo y descarta los nodos que dejaron de latir.
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.cluster.heartbeat-interval-ms:10000}",
+            initialDelayString = "${app.websocket.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (bus == null) {
+            return;
+        }
+        try {
+            publishPresence(null);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo publicar el latido del nodo {}", nodeId, e);
+        }
+        presence.expire();
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        Long userId = userIdOf(event.getUser());
+        if (bus != null && userId != null) {
+            bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.CONNECTED, nodeId, null, userId, null, null));
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Long userId = userIdOf(event.getUser());
+        if (bus == null || userId == null || hasOtherSessions(userId, event.getSessionId())) {
+            return;
+        }
+        bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.DISCONNECTED, nodeId, null, userId, null, null));
+    }
+
+    private void onMessage(ClusterEnvelope envelope) {
+        if (nodeId.equals(envelope.sourceNode())
+                || (envelope.targetNode() != null && !nodeId.equals(envelope.targetNode()))) {
+            return;
+        }
+        receivedCounter.increment();
+
+        switch (envelope.kind()) {
+            case DELIVER -> messagingTemplate.convertAndSendToUser(
+                    String.valueOf(envelope.userId()), envelope.destination(), fromJson(envelope.payload()));
+            case BROADCAST -> messagingTemplate.convertAndSend(envelope.destination(), fromJson(envelope.payload()));
+            case PRESENCE -> presence.replace(envelope.sourceNode(), parseUserIds(envelope.payload()));
+            case PRESENCE_REQUEST -> publishPresence(envelope.sourceNode());
+            case CONNECTED -> presence.connected(envelope.sourceNode(), envelope.userId());
+            case DISCONNECTED -> presence.disconnected(envelope.sourceNode(), envelope.userId());
+            case TOKENS_REVOKED, USER_BANNED, USER_UNBANNED -> {
+                // Los aplica TokenRevocationService, suscrito al mismo bus
+            }
+            case RENTAL_INTERVAL -> {
+                // Lo aplica VehicleAvailabilityIndex, suscrito al mismo bus
+            }
+        }
+    }
+
+    private void publishPresence(String targetNode) {
+        String userIds = localUserIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        bus.publish(new ClusterEnvelope(ClusterEnvelope.Kind.PRESENCE, nodeId, targetNode, null, null, userIds));
+    }
+
+    private List<Long> localUserIds() {
+        List<Long> userIds = new ArrayList<>(userRegistry.getUserCount());
+        for (SimpUser user : userRegistry.getUsers()) {
+            Long userId = parseUserId(user.getName());
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        return userIds;
+    }
+
+    private boolean hasOtherSessions(Long userId, String closingSessionId) {
+        SimpUser user = userRegistry.getUser(userId.toString());
+        return user != null && user.getSessions().stream()
+                .anyMatch(session -> !session.getId().equals(closingSessionId));
+    }
+
+    private Long userIdOf(Principal principal) {
+        return principal instanceof WebSocketPrincipal ? parseUserId(principal.getName()) : null;
+    }
+
+    private Long parseUserId(String name) {
+        try {
+            return Long.valueOf(name);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private List<Long> parseUserIds(String payload) {
+        if (payload == null || payload.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(payload.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el mensaje WebSocket", e);
+        }
+    }
+
+    private Object fromJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mensaje entre nodos con JSON inválido", e);
+        }
+    }
+}
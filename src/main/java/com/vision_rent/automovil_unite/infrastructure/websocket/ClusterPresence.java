@@ -0,0 +1,95 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vista de los usuarios conectados a los demás nodos.
+ * <p>
+ * Se alimenta de los latidos periódicos de cada nodo, que traen su lista completa, y de los
+ * avisos de conexión y desconexión entre latidos. Un nodo que deja de latir durante la
+ * vigencia configurada se descarta con todos sus usuarios. Las consultas recorren los nodos,
+ * que son pocos, y no tocan la base de datos.
+ */
+@Component
+public class ClusterPresence {
+
+    private final Map<String, NodeView> nodes = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public ClusterPresence(ClusterProperties properties) {
+        this.ttlMillis = properties.getPresenceTtlMs();
+    }
+
+    /**
+     * Obtiene los nodos en los que el usuario tiene sesiones abiertas.
+     *
+     * @param userId ID del usuario
+     * @return Nodos del usuario, vacío si no está conectado en otro nodo
+     */
+    public List<String> nodesFor(Long userId) {
+        long now = System.currentTimeMillis();
+        List<String> result = new ArrayList<>(1);
+        nodes.forEach((node, view) -> {
+            if (now - view.seenAtMillis <= ttlMillis && view.users.contains(userId)) {
+                result.add(node);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sustituye la lista de usuarios de un nodo por la de su último latido.
+     *
+     * @param node Nodo que publica
+     * @param userIds Usuarios conectados al nodo
+     */
+    public void replace(String node, Collection<Long> userIds) {
+        NodeView view = new NodeView();
+        view.users.addAll(userIds);
+        nodes.put(node, view);
+    }
+
+    /**
+     * Registra la primera sesión de un usuario en un nodo.
+     */
+    public void connected(String node, Long userId) {
+        nodes.computeIfAbsent(node, key -> new NodeView()).users.add(userId);
+    }
+
+    /**
+     * Registra el cierre de la última sesión de un usuario en un nodo.
+     */
+    public void disconnected(String node, Long userId) {
+        NodeView view = nodes.get(node);
+        if (view != null) {
+            view.users.remove(userId);
+        }
+    }
+
+    /**
+     * Descarta los nodos que dejaron de latir.
+     */
+    public void expire() {
+        long now = System.currentTimeMillis();
+        nodes.values().removeIf(view -> now - view.seenAtMillis > ttlMillis);
+    }
+
+    /**
+     * Número de nodos remotos conocidos.
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    private static final class NodeView {
+        private final Set<Long> users = ConcurrentHashMap.newKeySet();
+        private final long seenAtMillis = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,92 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Propiedades del reparto de mensajes WebSocket entre los nodos de la aplicación.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.websocket.cluster")
+@Getter
+@Setter
+public class ClusterProperties {
+
+    /**
+     * Modo de reparto entre nodos.
+     */
+    public enum Mode {
+        /**
+         * Un solo nodo: los mensajes solo llegan a las sesiones de esta JVM.
+         */
+        LOCAL,
+        /**
+         * Bus en memoria compartido por los contextos de una misma JVM (pruebas de varios nodos).
+         */
+        EMBEDDED,
+        /**
+         * Bus sobre la tabla {@code cluster_messages}, consultada por cada nodo.
+         */
+        JDBC,
+        /**
+         * Broker STOMP externo (RabbitMQ, ActiveMQ) con el registro de usuarios compartido de Spring.
+         */
+        RELAY
+    }
+
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * Identificador de este nodo; por defecto uno aleatorio en cada arranque.
+     */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Nombre del clúster en modo EMBEDDED; solo se comunican los contextos con el mismo nombre.
+     */
+    private String name = "automovil-unite";
+
+    /**
+     * Cada cuánto publica cada nodo la lista completa de sus usuarios conectados.
+     */
+    private long heartbeatIntervalMs = 10000;
+
+    /**
+     * Tiempo sin latidos tras el que se olvidan los usuarios de un nodo.
+     */
+    private long presenceTtlMs = 30000;
+
+    private Jdbc jdbc = new Jdbc();
+
+    private Relay relay = new Relay();
+
+    /**
+     * Sondeo de la tabla de mensajes en modo JDBC.
+     */
+    @Getter
+    @Setter
+    public static class Jdbc {
+        private long pollIntervalMs = 5;
+        private int batchSize = 500;
+        private long retentionMs = 60000;
+    }
+
+    /**
+     * Conexión con el broker STOMP en modo RELAY.
+     */
+    @Getter
+    @Setter
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private String virtualHost;
+    }
+}
@@ -0,0 +1,80 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus entre los contextos de Spring de una misma JVM.
+ * <p>
+ * Permite levantar varios nodos en un mismo proceso, por ejemplo en pruebas de integración,
+ * y comprobar el reparto entre ellos sin broker ni base de datos. Cada nodo recibe en un
+ * único hilo propio, así que conserva el orden de publicación.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.cluster.mode", havingValue = "embedded")
+public class EmbeddedClusterMessageBus implements ClusterMessageBus {
+
+    private static final Map<String, Set<EmbeddedClusterMessageBus>> CLUSTERS = new ConcurrentHashMap<>();
+
+    private final String clusterName;
+    private final List<Consumer<ClusterEnvelope>> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadPoolTaskExecutor receiver;
+
+    public EmbeddedClusterMessageBus(ClusterProperties properties) {
+        this.clusterName = properties.getName();
+
+        this.receiver = new ThreadPoolTaskExecutor();
+        receiver.setCorePoolSize(1);
+        receiver.setMaxPoolSize(1);
+        receiver.setThreadNamePrefix("cluster-bus-");
+        receiver.initialize();
+
+        CLUSTERS.computeIfAbsent(clusterName, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(ClusterEnvelope envelope) {
+        for (EmbeddedClusterMessageBus member : CLUSTERS.getOrDefault(clusterName, Set.of())) {
+            if (member != this) {
+                member.receive(envelope);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEnvelope> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Set<EmbeddedClusterMessageBus> members = CLUSTERS.get(clusterName);
+        if (members != null) {
+            members.remove(this);
+        }
+        receiver.shutdown();
+    }
+
+    private void receive(ClusterEnvelope envelope) {
+        receiver.execute(() -> {
+            for (Consumer<ClusterEnvelope> listener : listeners) {
+                try {
+                    listener.accept(envelope);
+                } catch (RuntimeException e) {
+                    log.warn("Error al procesar un mensaje {} del nodo {}", envelope.kind(), envelope.sourceNode(), e);
+                }
+            }
+        });
+    }
+}
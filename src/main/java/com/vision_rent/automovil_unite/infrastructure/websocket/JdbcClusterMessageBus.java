@@ -0,0 +1,162 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ClusterMessageJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ClusterMessageJpaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus entre nodos sobre la tabla {@code cluster_messages}, para despliegues sin broker.
+ * <p>
+ * Publicar es una inserción de una fila. Cada nodo consulta en un único hilo las filas con
+ * ID posterior a la última que leyó, con un intervalo de pocos milisegundos, y descarta las
+ * propias y las dirigidas a otros nodos. Al arrancar empieza por el ID más alto, sin
+ * reprocesar el historial. Las filas se purgan tras unos segundos.
+ * <p>
+ * Cada inserción se confirma en su propia transacción ({@code REQUIRES_NEW}): se publica
+ * también desde callbacks {@code afterCommit}, donde la transacción del llamador ya no
+ * confirma cambios, y así no queda retenida hasta que termine otra transacción. El orden de
+ * los ID coincide en la práctica con el de confirmación; una fila que se confirme fuera de
+ * orden puede saltarse, lo que solo pierde el envío en tiempo real.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.cluster.mode", havingValue = "jdbc")
+public class JdbcClusterMessageBus implements ClusterMessageBus {
+
+    private final ClusterMessageJpaRepository messageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate publishTemplate;
+    private final List<Consumer<ClusterEnvelope>> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadPoolTaskScheduler poller;
+
+    private final String nodeId;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final Duration retention;
+
+    private long lastId;
+
+    public JdbcClusterMessageBus(ClusterMessageJpaRepository messageRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ClusterProperties properties) {
+        this.messageRepository = messageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishTemplate = new TransactionTemplate(transactionManager);
+        publishTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = properties.getNodeId();
+        this.pollInterval = Duration.ofMillis(properties.getJdbc().getPollIntervalMs());
+        this.batchSize = properties.getJdbc().getBatchSize();
+        this.retention = Duration.ofMillis(properties.getJdbc().getRetentionMs());
+
+        this.poller = new ThreadPoolTaskScheduler();
+        poller.setPoolSize(1);
+        poller.setThreadNamePrefix("cluster-bus-");
+        poller.initialize();
+    }
+
+    /**
+     * Empieza a consultar la tabla a partir del último mensaje existente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastId = messageRepository.findMaxId();
+        poller.scheduleWithFixedDelay(this::poll, pollInterval);
+        log.info("Bus entre nodos JDBC iniciado en el nodo {} desde el mensaje {}", nodeId, lastId);
+    }
+
+    @Override
+    public void publish(ClusterEnvelope envelope) {
+        publishTemplate.executeWithoutResult(status -> messageRepository.save(ClusterMessageJpaEntity.builder()
+                .kind(envelope.kind().name())
+                .sourceNode(envelope.sourceNode())
+                .targetNode(envelope.targetNode())
+                .userId(envelope.userId())
+                .destination(envelope.destination())
+                .payload(envelope.payload())
+                .build()));
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEnvelope> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Borra los mensajes que ya tuvieron tiempo de leerse en todos los nodos.
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.cluster.jdbc.purge-interval-ms:30000}",
+            initialDelayString = "${app.websocket.cluster.jdbc.purge-interval-ms:30000}")
+    public void purge() {
+        try {
+            Integer deleted = transactionTemplate.execute(
+                    status -> messageRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+            log.debug("Mensajes entre nodos purgados: {}", deleted);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron purgar los mensajes entre nodos", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdown();
+    }
+
+    private void poll() {
+        try {
+            List<ClusterMessageJpaEntity> messages;
+            do {
+                messages = messageRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+                for (ClusterMessageJpaEntity message : messages) {
+                    lastId = message.getId();
+                    if (isForThisNode(message)) {
+                        deliver(toEnvelope(message));
+                    }
+                }
+            } while (messages.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Error al consultar los mensajes entre nodos", e);
+        }
+    }
+
+    private boolean isForThisNode(ClusterMessageJpaEntity message) {
+        return !nodeId.equals(message.getSourceNode())
+                && (message.getTargetNode() == null || nodeId.equals(message.getTargetNode()));
+    }
+
+    private void deliver(ClusterEnvelope envelope) {
+        for (Consumer<ClusterEnvelope> listener : listeners) {
+            try {
+                listener.accept(envelope);
+            } catch (RuntimeException e) {
+                log.warn("Error al procesar un mensaje {} del nodo {}", envelope.kind(), envelope.sourceNode(), e);
+            }
+        }
+    }
+
+    private ClusterEnvelope toEnvelope(ClusterMessageJpaEntity message) {
+        return new ClusterEnvelope(
+                ClusterEnvelope.Kind.valueOf(message.getKind()),
+                message.getSourceNode(),
+                message.getTargetNode(),
+                message.getUserId(),
+                message.getDestination(),
+                message.getPayload());
+    }
+}
@@ -0,0 +1,100 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Descarta mensajes salientes de las sesiones que acumulan demasiados mensajes pendientes.
+ * <p>
+ * Cuenta, por sesión, los frames MESSAGE encolados en el canal de salida que aún no se han
+ * escrito en el socket. Cuando una sesión supera el umbral, sus nuevos frames MESSAGE se
+ * descartan sin afectar al resto de sesiones; los frames de control (CONNECTED, RECEIPT,
+ * ERROR, latidos) siempre pasan. Las notificaciones ya están guardadas, así que el cliente
+ * las recupera con la sincronización. La entrada de una sesión se elimina en cuanto deja de
+ * tener mensajes pendientes.
+ */
+@Slf4j
+@Component
+public class OutboundSheddingInterceptor implements ExecutorChannelInterceptor {
+
+    private final int sessionThreshold;
+    private final Counter droppedCounter;
+    private final ConcurrentMap<String, Integer> pendingBySession = new ConcurrentHashMap<>();
+
+    public OutboundSheddingInterceptor(WebSocketProperties properties, MeterRegistry meterRegistry) {
+        this.sessionThreshold = properties.getShedSessionThreshold();
+        this.droppedCounter = meterRegistry.counter("websocket.outbound.dropped");
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = trackedSessionId(message);
+        if (sessionId == null) {
+            return message;
+        }
+        AtomicBoolean accepted = new AtomicBoolean();
+        pendingBySession.compute(sessionId, (id, pending) -> {
+            int current = pending == null ? 0 : pending;
+            if (current >= sessionThreshold) {
+                return pending;
+            }
+            accepted.set(true);
+            return current + 1;
+        });
+        if (accepted.get()) {
+            return message;
+        }
+        droppedCounter.increment();
+        log.debug("Sesión {} saturada; se descarta un mensaje saliente", sessionId);
+        return null;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // El ejecutor rechazó el mensaje: no llegará a afterMessageHandled
+        if (!sent || ex != null) {
+            release(message);
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        release(message);
+    }
+
+    /**
+     * Mensajes pendientes de una sesión.
+     *
+     * @param sessionId ID de la sesión
+     * @return Número de frames MESSAGE encolados y aún no escritos
+     */
+    public int getPending(String sessionId) {
+        return pendingBySession.getOrDefault(sessionId, 0);
+    }
+
+    private void release(Message<?> message) {
+        String sessionId = trackedSessionId(message);
+        if (sessionId != null) {
+            pendingBySession.computeIfPresent(sessionId, (id, pending) -> pending > 1 ? pending - 1 : null);
+        }
+    }
+
+    private String trackedSessionId(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+}
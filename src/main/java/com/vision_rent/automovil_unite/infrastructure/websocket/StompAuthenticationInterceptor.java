@@ -0,0 +1,85 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import com.vision_rent.automovil_unite.infrastructure.security.JwtService;
+import com.vision_rent.automovil_unite.infrastructure.security.SecurityProperties;
+import com.vision_rent.automovil_unite.infrastructure.security.TokenRevocationService;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Autentica las sesiones STOMP con el token JWT enviado en la cabecera del frame CONNECT.
+ * <p>
+ * El principal se reconstruye a partir de las reclamaciones del token, igual que en las
+ * solicitudes HTTP, y su nombre es el ID del usuario. El handshake de {@code /ws} es público
+ * porque los clientes SockJS no pueden enviar cabeceras en él, así que la autenticación es
+ * obligatoria aquí: una conexión sin cabecera, con un token inválido, revocado o sin el ID
+ * del usuario se rechaza.
+ * <p>
+ * Los frames SUBSCRIBE y SEND vuelven a comprobar la revocación del token de la sesión. Si se
+ * revocó después de conectar, el frame se rechaza y Spring responde con un frame ERROR y
+ * cierra la sesión.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final SecurityProperties securityProperties;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT, STOMP -> authenticate(message, accessor);
+            case SUBSCRIBE, SEND -> checkNotRevoked(message, accessor);
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(Message<?> message, StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader(securityProperties.getHeader());
+        if (authHeader == null) {
+            throw new MessageDeliveryException(message, "Se requiere autenticación");
+        }
+        String prefix = securityProperties.getPrefix() + " ";
+        if (!authHeader.startsWith(prefix)) {
+            throw new MessageDeliveryException(message, "Cabecera de autorización inválida");
+        }
+
+        try {
+            Claims claims = jwtService.parseClaims(authHeader.substring(prefix.length()));
+            UserDetailsImpl principal = jwtService.extractPrincipal(claims)
+                    .orElseThrow(() -> new MessageDeliveryException(message, "El token no identifica al usuario"));
+            if (tokenRevocationService.isRevoked(principal.getUserId(), claims.getIssuedAt())) {
+                throw new MessageDeliveryException(message, "Token revocado");
+            }
+            accessor.setUser(new WebSocketPrincipal(principal, claims.getIssuedAt()));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new MessageDeliveryException(message, "Token inválido o expirado", e);
+        }
+    }
+
+    private void checkNotRevoked(Message<?> message, StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof WebSocketPrincipal principal)) {
+            throw new MessageDeliveryException(message, "Se requiere autenticación");
+        }
+        if (tokenRevocationService.isRevoked(principal.userDetails().getUserId(), principal.issuedAt())) {
+            throw new MessageDeliveryException(message, "Token revocado");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica el estado de las conexiones WebSocket de este nodo: usuarios y sesiones
+ * conectados ({@code websocket.users}, {@code websocket.sessions}) y mensajes en cola en los
+ * canales de entrada y salida ({@code websocket.inbound.queue}, {@code websocket.outbound.queue}).
+ */
+@Component
+public class WebSocketMetrics {
+
+    public WebSocketMetrics(MeterRegistry meterRegistry,
+                            @Lazy SimpUserRegistry userRegistry,
+                            @Lazy @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+                            @Lazy @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor) {
+        meterRegistry.gauge("websocket.users", userRegistry, SimpUserRegistry::getUserCount);
+        meterRegistry.gauge("websocket.sessions", userRegistry, registry -> registry.getUsers().stream()
+                .mapToInt(user -> sessionCount(user))
+                .sum());
+        meterRegistry.gauge("websocket.inbound.queue", inboundExecutor, ThreadPoolTaskExecutor::getQueueSize);
+        meterRegistry.gauge("websocket.outbound.queue", outboundExecutor, ThreadPoolTaskExecutor::getQueueSize);
+    }
+
+    private static int sessionCount(SimpUser user) {
+        return user.getSessions().size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+
+import java.security.Principal;
+import java.util.Date;
+
+/**
+ * Principal de una sesión STOMP. Su nombre es el ID del usuario, que es el destino usado
+ * por {@code convertAndSendToUser} y la clave del registro de usuarios conectados.
+ *
+ * @param userDetails Principal reconstruido a partir del token
+ * @param issuedAt    Fecha de emisión del token, para volver a comprobar su revocación
+ */
+public record WebSocketPrincipal(UserDetailsImpl userDetails, Date issuedAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return String.valueOf(userDetails.getUserId());
+    }
+}
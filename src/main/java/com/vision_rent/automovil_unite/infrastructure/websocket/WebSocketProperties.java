@@ -0,0 +1,51 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades de los canales y de los límites de las sesiones WebSocket.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.websocket")
+@Getter
+@Setter
+public class WebSocketProperties {
+
+    /**
+     * Tiempo máximo, en milisegundos, que puede tardar un envío a una sesión.
+     */
+    private int sendTimeLimitMs = 10000;
+
+    /**
+     * Bytes pendientes de envío que admite una sesión antes de cerrarse.
+     */
+    private int sendBufferSizeLimit = 512 * 1024;
+
+    /**
+     * Tamaño máximo, en bytes, de un mensaje entrante.
+     */
+    private int messageSizeLimit = 64 * 1024;
+
+    /**
+     * Frames MESSAGE pendientes de una sesión a partir de los cuales se descartan los nuevos.
+     */
+    private int shedSessionThreshold = 200;
+
+    private Channel inbound = new Channel();
+
+    private Channel outbound = new Channel();
+
+    /**
+     * Grupo de hilos de un canal de mensajes.
+     */
+    @Getter
+    @Setter
+    public static class Channel {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+        private int queueCapacity = 10000;
+    }
+}
@@ -3,6 +3,7 @@ package com.vision_rent.automovil_unite.presentation.controller;
 
 import com.vision_rent.automovil_unite.application.dto.AuthenticationRequest;
 import com.vision_rent.automovil_unite.application.dto.AuthenticationResponse;
+import com.vision_rent.automovil_unite.application.dto.ConfirmPasswordResetRequest;
 import com.vision_rent.automovil_unite.application.dto.RegisterRequest;
 import com.vision_rent.automovil_unite.application.dto.ResetPasswordRequest;
 import com.vision_rent.automovil_unite.application.service.AuthService;
@@ -61,4 +62,17 @@ public class AuthController {
         authService.requestPasswordReset(request);
         return ResponseEntity.ok().build();
     }
+    
+    /**
+     * Cambia la contraseña con el token recibido por correo.
+     *
+     * @param request Token de restablecimiento y nueva contraseña
+     * @return Respuesta vacía
+     */
+    @PostMapping("/reset-password/confirm")
+    public ResponseEntity<Void> confirmResetPassword(
+            @Valid @RequestBody ConfirmPasswordResetRequest request) {
+        authService.confirmPasswordReset(request);
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
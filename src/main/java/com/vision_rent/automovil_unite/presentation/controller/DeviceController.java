@@ -0,0 +1,58 @@
+package com.vision_rent.automovil_unite.presentation.controller;
+
+import com.vision_rent.automovil_unite.application.dto.RegisterDeviceRequest;
+import com.vision_rent.automovil_unite.application.service.DeviceTokenService;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador para registrar los dispositivos que reciben notificaciones push.
+ */
+@RestController
+@RequestMapping("/api/v1/devices")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class DeviceController {
+
+    private final DeviceTokenService deviceTokenService;
+    
+    /**
+     * Registra el token push de un dispositivo del usuario autenticado.
+     *
+     * @param request Token y plataforma del dispositivo
+     * @param userDetails Detalles del usuario autenticado
+     * @return Respuesta vacía
+     */
+    @PostMapping
+    public ResponseEntity<Void> registerDevice(
+            @Valid @RequestBody RegisterDeviceRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        deviceTokenService.registerDevice(userDetails.getUserId(), request);
+        return ResponseEntity.ok().build();
+    }
+    
+    /**
+     * Elimina el token push de un dispositivo del usuario autenticado.
+     *
+     * @param token Token del dispositivo
+     * @param userDetails Detalles del usuario autenticado
+     * @return Respuesta vacía
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> unregisterDevice(
+            @RequestParam String token,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        deviceTokenService.unregisterDevice(userDetails.getUserId(), token);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.vision_rent.automovil_unite.presentation.controller;
 
 import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationSyncResponse;
 import com.vision_rent.automovil_unite.application.service.NotificationService;
 import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -28,15 +30,35 @@ public class NotificationController {
     private final NotificationService notificationService;
     
     /**
-     * Obtiene todas las notificaciones del usuario autenticado.
+     * Obtiene una página de notificaciones del usuario autenticado, de la más reciente a la más antigua.
      *
      * @param userDetails Detalles del usuario autenticado
+     * @param before ID de la última notificación recibida, para obtener la página siguiente
+     * @param limit Tamaño de la página
      * @return Lista de DTOs de notificación
      */
     @GetMapping
     public ResponseEntity<List<NotificationDto>> getMyNotifications(
-            @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        return ResponseEntity.ok(notificationService.getNotificationsByUserId(userDetails.getUserId()));
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.getNotificationsByUserId(userDetails.getUserId(), before, limit));
+    }
+    
+    /**
+     * Obtiene los cambios de las notificaciones del usuario autenticado desde la última sincronización.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @param token Token devuelto por la sincronización anterior
+     * @param limit Máximo de elementos por lista
+     * @return Notificaciones nuevas, cambios de lectura y token para la siguiente sincronización
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<NotificationSyncResponse> syncMyNotifications(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) String token,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.syncNotifications(userDetails.getUserId(), token, limit));
     }
     
     /**
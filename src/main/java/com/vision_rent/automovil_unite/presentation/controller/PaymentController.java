@@ -30,17 +30,18 @@ public class PaymentController {
     private final PaymentService paymentService;
     
     /**
-     * Procesa un pago.
+     * Registra un pago. El cobro se procesa de forma asíncrona: el pago se devuelve en estado
+     * PENDING y su estado final se consulta con {@code GET /{id}} o llega como notificación.
      *
      * @param userDetails Detalles del usuario autenticado
      * @param request Datos del pago
-     * @return DTO del pago procesado
+     * @return DTO del pago pendiente
      */
     @PostMapping("/process")
     public ResponseEntity<PaymentDto> processPayment(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
             @Valid @RequestBody ProcessPaymentRequest request) {
-        return ResponseEntity.ok(paymentService.processPayment(userDetails.getUserId(), request));
+        return ResponseEntity.accepted().body(paymentService.processPayment(userDetails.getUserId(), request));
     }
     
     /**
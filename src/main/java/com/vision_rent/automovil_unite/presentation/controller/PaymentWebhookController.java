@@ -0,0 +1,37 @@
+package com.vision_rent.automovil_unite.presentation.controller;
+
+import com.vision_rent.automovil_unite.application.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador para los webhooks del gateway de pago. No requiere autenticación: cada
+ * solicitud se valida con su firma.
+ */
+@RestController
+@RequestMapping("/api/v1/payments/webhook")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+    private final PaymentWebhookService paymentWebhookService;
+
+    /**
+     * Recibe un evento del gateway de pago.
+     *
+     * @param signature Firma del evento
+     * @param payload Cuerpo del evento sin transformar
+     * @return Respuesta vacía si el evento se aceptó
+     */
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestHeader(value = "Stripe-Signature", required = false) String signature,
+            @RequestBody String payload) {
+        paymentWebhookService.handle(payload, signature);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.vision_rent.automovil_unite.presentation.controller;
+
+import com.vision_rent.automovil_unite.application.dto.OwnerBalanceDto;
+import com.vision_rent.automovil_unite.application.dto.PayoutDto;
+import com.vision_rent.automovil_unite.application.service.PayoutService;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador para consultar los saldos y pagos del propietario autenticado.
+ */
+@RestController
+@RequestMapping("/api/v1/payouts")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ROLE_OWNER')")
+public class PayoutController {
+
+    private final PayoutService payoutService;
+    
+    /**
+     * Obtiene el saldo pendiente de pago del propietario autenticado.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Saldos por moneda
+     */
+    @GetMapping("/balance")
+    public ResponseEntity<List<OwnerBalanceDto>> getBalance(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(payoutService.getBalances(userDetails.getUserId()));
+    }
+    
+    /**
+     * Obtiene los últimos pagos liquidados al propietario autenticado.
+     *
+     * @param limit Número máximo de pagos (por defecto 20, máximo 100)
+     * @param userDetails Detalles del usuario autenticado
+     * @return Pagos, del más reciente al más antiguo
+     */
+    @GetMapping
+    public ResponseEntity<List<PayoutDto>> getPayouts(
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(payoutService.getPayouts(userDetails.getUserId(), limit));
+    }
+}
@@ -1,11 +1,17 @@
 package com.vision_rent.automovil_unite.presentation.controller;
 
 import com.vision_rent.automovil_unite.application.dto.ReceiptDto;
+import com.vision_rent.automovil_unite.application.dto.ReceiptSummaryDto;
 import com.vision_rent.automovil_unite.application.service.ReceiptService;
 import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -55,6 +62,38 @@ public class ReceiptController {
         return ResponseEntity.ok(receiptService.getReceiptById(id, userDetails.getUserId()));
     }
     
+    /**
+     * Descarga el PDF de una boleta.
+     *
+     * @param id ID de la boleta
+     * @param userDetails Detalles del usuario autenticado
+     * @return PDF de la boleta
+     */
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<Resource> getReceiptPdf(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Resource pdf = receiptService.getReceiptPdf(id, userDetails.getUserId());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + pdf.getFilename() + "\"")
+                .body(pdf);
+    }
+    
+    /**
+     * Regenera en segundo plano los PDF de las boletas emitidas antes de una fecha.
+     *
+     * @param issuedBefore Fecha de emisión límite; por defecto, el momento actual
+     * @return Respuesta vacía
+     */
+    @PostMapping("/regenerate")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<Void> regenerateReceiptPdfs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime issuedBefore) {
+        receiptService.regenerateReceiptPdfs(issuedBefore);
+        return ResponseEntity.accepted().build();
+    }
+    
     /**
      * Obtiene una boleta por su número.
      *
@@ -81,6 +120,18 @@ public class ReceiptController {
         return ResponseEntity.ok(receiptService.getReceiptsByRenterId(userDetails.getUserId()));
     }
     
+    /**
+     * Versión resumida: obtiene todas las boletas del usuario autenticado como arrendatario.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Lista de resúmenes de boleta
+     */
+    @GetMapping("/as-renter/summary")
+    public ResponseEntity<List<ReceiptSummaryDto>> getReceiptsAsRenterSummary(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(receiptService.getReceiptSummariesByRenterId(userDetails.getUserId()));
+    }
+    
     /**
      * Obtiene todas las boletas del usuario autenticado como propietario.
      *
@@ -93,6 +144,18 @@ public class ReceiptController {
         return ResponseEntity.ok(receiptService.getReceiptsByOwnerId(userDetails.getUserId()));
     }
     
+    /**
+     * Versión resumida: obtiene todas las boletas del usuario autenticado como propietario.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Lista de resúmenes de boleta
+     */
+    @GetMapping("/as-owner/summary")
+    public ResponseEntity<List<ReceiptSummaryDto>> getReceiptsAsOwnerSummary(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(receiptService.getReceiptSummariesByOwnerId(userDetails.getUserId()));
+    }
+    
     /**
      * Obtiene todas las boletas de un alquiler.
      *
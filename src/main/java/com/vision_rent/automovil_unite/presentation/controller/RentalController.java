@@ -4,7 +4,9 @@ package com.vision_rent.automovil_unite.presentation.controller;
 import com.vision_rent.automovil_unite.application.dto.CreateRentalRequest;
 import com.vision_rent.automovil_unite.application.dto.ExtendRentalRequest;
 import com.vision_rent.automovil_unite.application.dto.RentalDto;
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
 import com.vision_rent.automovil_unite.application.dto.ReturnVehicleRequest;
+import com.vision_rent.automovil_unite.application.service.BookingCoordinator;
 import com.vision_rent.automovil_unite.application.service.RentalService;
 import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -33,6 +35,7 @@ import java.util.List;
 public class RentalController {
 
     private final RentalService rentalService;
+    private final BookingCoordinator bookingCoordinator;
     
     /**
      * Crea un nuevo alquiler.
@@ -46,7 +49,7 @@ public class RentalController {
     public ResponseEntity<RentalDto> createRental(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
             @Valid @RequestBody CreateRentalRequest request) {
-        return ResponseEntity.ok(rentalService.createRental(userDetails.getUserId(), request));
+        return ResponseEntity.ok(bookingCoordinator.createRental(userDetails.getUserId(), request));
     }
     
     /**
@@ -89,7 +92,7 @@ public class RentalController {
     public ResponseEntity<RentalDto> extendRental(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
             @Valid @RequestBody ExtendRentalRequest request) {
-        return ResponseEntity.ok(rentalService.extendRental(request, userDetails.getUserId()));
+        return ResponseEntity.ok(bookingCoordinator.extendRental(request, userDetails.getUserId()));
     }
     
     /**
@@ -133,6 +136,19 @@ public class RentalController {
         return ResponseEntity.ok(rentalService.getRentalsByRenterId(userDetails.getUserId()));
     }
     
+    /**
+     * Versión resumida: obtiene todos los alquileres del usuario autenticado (como arrendatario).
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Lista de resúmenes de alquiler
+     */
+    @GetMapping("/my-rentals/summary")
+    @PreAuthorize("hasRole('ROLE_RENTER')")
+    public ResponseEntity<List<RentalSummaryDto>> getMyRentalsSummary(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(rentalService.getRentalSummariesByRenterId(userDetails.getUserId()));
+    }
+    
     /**
      * Obtiene todos los alquileres de los vehículos del usuario autenticado (como propietario).
      *
@@ -146,6 +162,19 @@ public class RentalController {
         return ResponseEntity.ok(rentalService.getRentalsByVehicleOwnerId(userDetails.getUserId()));
     }
     
+    /**
+     * Versión resumida: obtiene todos los alquileres de los vehículos del usuario autenticado (como propietario).
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Lista de resúmenes de alquiler
+     */
+    @GetMapping("/my-vehicle-rentals/summary")
+    @PreAuthorize("hasRole('ROLE_OWNER')")
+    public ResponseEntity<List<RentalSummaryDto>> getMyVehicleRentalsSummary(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(rentalService.getRentalSummariesByVehicleOwnerId(userDetails.getUserId()));
+    }
+    
     /**
      * Obtiene todos los alquileres de un vehículo específico.
      *
@@ -156,4 +185,15 @@ public class RentalController {
     public ResponseEntity<List<RentalDto>> getRentalsByVehicleId(@PathVariable Long vehicleId) {
         return ResponseEntity.ok(rentalService.getRentalsByVehicleId(vehicleId));
     }
+    
+    /**
+     * Versión resumida: obtiene todos los alquileres de un vehículo específico.
+     *
+     * @param vehicleId ID del vehículo
+     * @return Lista de resúmenes de alquiler
+     */
+    @GetMapping("/vehicle/{vehicleId}/summary")
+    public ResponseEntity<List<RentalSummaryDto>> getRentalsByVehicleIdSummary(@PathVariable Long vehicleId) {
+        return ResponseEntity.ok(rentalService.getRentalSummariesByVehicleId(vehicleId));
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.vision_rent.automovil_unite.presentation.controller;
 
 import com.vision_rent.automovil_unite.application.dto.CreateReviewRequest;
 import com.vision_rent.automovil_unite.application.dto.ReviewDto;
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
 import com.vision_rent.automovil_unite.application.service.ReviewService;
 import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -101,6 +102,18 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviewsByReviewerId(userDetails.getUserId()));
     }
     
+    /**
+     * Versión resumida: obtiene todas las reseñas escritas por el usuario autenticado.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Lista de resúmenes de reseña
+     */
+    @GetMapping("/my-reviews/summary")
+    public ResponseEntity<List<ReviewSummaryDto>> getMyReviewsSummary(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(reviewService.getReviewSummariesByReviewerId(userDetails.getUserId()));
+    }
+    
     /**
      * Obtiene todas las reseñas recibidas por el usuario autenticado.
      *
@@ -113,6 +126,18 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviewsByReviewedId(userDetails.getUserId()));
     }
     
+    /**
+     * Versión resumida: obtiene todas las reseñas recibidas por el usuario autenticado.
+     *
+     * @param userDetails Detalles del usuario autenticado
+     * @return Lista de resúmenes de reseña
+     */
+    @GetMapping("/reviews-about-me/summary")
+    public ResponseEntity<List<ReviewSummaryDto>> getReviewsAboutMeSummary(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(reviewService.getReviewSummariesByReviewedId(userDetails.getUserId()));
+    }
+    
     /**
      * Obtiene todas las reseñas de un usuario.
      *
@@ -124,6 +149,17 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviewsByReviewedId(userId));
     }
     
+    /**
+     * Versión resumida: obtiene todas las reseñas de un usuario.
+     *
+     * @param userId ID del usuario
+     * @return Lista de resúmenes de reseña
+     */
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<List<ReviewSummaryDto>> getReviewsByUserIdSummary(@PathVariable Long userId) {
+        return ResponseEntity.ok(reviewService.getReviewSummariesByReviewedId(userId));
+    }
+    
     /**
      * Obtiene todas las reseñas de un vehículo.
      *
@@ -135,6 +171,17 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviewsByVehicleId(vehicleId));
     }
     
+    /**
+     * Versión resumida: obtiene todas las reseñas de un vehículo.
+     *
+     * @param vehicleId ID del vehículo
+     * @return Lista de resúmenes de reseña
+     */
+    @GetMapping("/vehicle/{vehicleId}/summary")
+    public ResponseEntity<List<ReviewSummaryDto>> getReviewsByVehicleIdSummary(@PathVariable Long vehicleId) {
+        return ResponseEntity.ok(reviewService.getReviewSummariesByVehicleId(vehicleId));
+    }
+    
     /**
      * Obtiene todas las reseñas de un alquiler.
      *
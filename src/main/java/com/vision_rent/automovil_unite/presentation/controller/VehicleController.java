@@ -3,6 +3,8 @@ package com.vision_rent.automovil_unite.presentation.controller;
 
 import com.vision_rent.automovil_unite.application.dto.CreateVehicleRequest;
 import com.vision_rent.automovil_unite.application.dto.VehicleDto;
+import com.vision_rent.automovil_unite.application.dto.VehicleSearchRequest;
+import com.vision_rent.automovil_unite.application.dto.VehicleSearchResponse;
 import com.vision_rent.automovil_unite.application.service.VehicleService;
 import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -129,6 +131,17 @@ public class VehicleController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Busca vehículos disponibles con filtros facetados y paginación por cursor.
+     *
+     * @param request Filtros, cursor y tamaño de página
+     * @return Página de resultados con conteos por faceta
+     */
+    @GetMapping("/search")
+    public ResponseEntity<VehicleSearchResponse> searchVehicles(@Valid VehicleSearchRequest request) {
+        return ResponseEntity.ok(vehicleService.searchVehicles(request));
+    }
+    
     /**
      * Obtiene todos los vehículos disponibles.
      *
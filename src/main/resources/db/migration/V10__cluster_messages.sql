@@ -0,0 +1,17 @@
+-- Bus entre nodos para el reparto de mensajes WebSocket en modo JDBC: cada nodo inserta
+-- aquí y consulta por ID las filas posteriores a la última que leyó. Las filas solo se
+-- guardan unos segundos; el índice por fecha sirve a la purga.
+CREATE TABLE cluster_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    kind VARCHAR(20) NOT NULL,
+    source_node VARCHAR(64) NOT NULL,
+    target_node VARCHAR(64),
+    user_id BIGINT,
+    destination VARCHAR(255),
+    payload MEDIUMTEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cluster_messages_created ON cluster_messages (created_at);
@@ -0,0 +1,16 @@
+-- Eventos de webhook del gateway de pago ya procesados: el índice único por event_id
+-- descarta las entregas repetidas. La fila se inserta en la misma transacción que aplica el
+-- evento, así que un evento que falla al aplicarse se vuelve a aceptar en el reintento.
+CREATE TABLE payment_webhook_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id VARCHAR(255) NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    payment_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payment_webhook_events_event UNIQUE (event_id)
+);
+
+-- Barrido de pagos pendientes o autorizados sin avance
+CREATE INDEX idx_payments_status_updated ON payments (status, updated_at);
@@ -0,0 +1,21 @@
+-- Claves de idempotencia de las operaciones que crean recursos. scope_key es el resumen de
+-- usuario, método, ruta y clave; una fila IN_PROGRESS reserva la clave mientras se ejecuta
+-- la solicitud y una COMPLETED guarda la respuesta para repetirla hasta expires_at.
+CREATE TABLE idempotency_keys (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    scope_key VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INT,
+    response_content_type VARCHAR(255),
+    response_body MEDIUMBLOB,
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_keys_scope UNIQUE (scope_key)
+);
+
+-- Purga de claves vencidas
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
@@ -0,0 +1,18 @@
+-- Secuencia diaria de números de boleta. Cada nodo reserva bloques de valores
+-- incrementando next_value con la fila bloqueada y los asigna desde memoria.
+CREATE TABLE receipt_sequences (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sequence_day CHAR(8) NOT NULL,
+    next_value BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_receipt_sequences_day UNIQUE (sequence_day)
+);
+
+-- Los días que ya tienen boletas con sufijo aleatorio de cinco dígitos continúan después
+-- de ese rango para no repetir números
+INSERT INTO receipt_sequences (sequence_day, next_value, created_at, updated_at)
+SELECT DATE_FORMAT(issue_date, '%Y%m%d'), 100000, NOW(6), NOW(6)
+FROM receipts
+GROUP BY DATE_FORMAT(issue_date, '%Y%m%d');
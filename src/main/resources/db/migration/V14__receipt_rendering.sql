@@ -0,0 +1,2 @@
+-- Barrido de boletas cuyo PDF sigue en generación
+CREATE INDEX idx_receipts_status_updated ON receipts (status, updated_at);
@@ -0,0 +1,66 @@
+-- Libro mayor de doble entrada: cada asiento agrupa movimientos que suman cero
+-- (débitos positivos, créditos negativos). Solo se insertan filas; nunca se modifican.
+CREATE TABLE ledger_journals (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    journal_type VARCHAR(20) NOT NULL,
+    reference_type VARCHAR(20) NOT NULL,
+    reference_id BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    description VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ledger_journals_reference UNIQUE (journal_type, reference_type, reference_id)
+);
+
+CREATE TABLE ledger_entries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    journal_id BIGINT NOT NULL,
+    account VARCHAR(30) NOT NULL,
+    holder_id BIGINT,
+    amount DECIMAL(12, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ledger_entries_journal FOREIGN KEY (journal_id) REFERENCES ledger_journals (id)
+);
+
+CREATE INDEX idx_ledger_entries_account_holder ON ledger_entries (account, holder_id, id);
+
+-- Saldo por propietario y moneda, actualizado en la misma transacción que cada asiento
+CREATE TABLE owner_balances (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    owner_id BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    balance DECIMAL(12, 2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_owner_balances_owner_currency UNIQUE (owner_id, currency)
+);
+
+CREATE TABLE payout_batches (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    status VARCHAR(20) NOT NULL,
+    payout_count INT NOT NULL,
+    completed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE payouts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    batch_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    amount DECIMAL(12, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_payouts_batch FOREIGN KEY (batch_id) REFERENCES payout_batches (id)
+);
+
+CREATE INDEX idx_payouts_owner ON payouts (owner_id, id);
@@ -0,0 +1,14 @@
+-- Aviso de fin próximo por alquiler: reemplaza la marca de avance del trabajo, que saltaba
+-- los alquileres creados o confirmados con un fin anterior a la posición ya recorrida
+ALTER TABLE rentals ADD COLUMN ending_soon_notified BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Los alquileres que la marca ya había recorrido se consideran avisados
+UPDATE rentals r
+JOIN scheduler_checkpoints c ON c.job_name = 'rental-ending-soon'
+SET r.ending_soon_notified = TRUE
+WHERE r.status IN ('CONFIRMED', 'ACTIVE')
+  AND COALESCE(r.extended_until, r.end_date_time) <= c.last_date_time;
+
+-- Alquileres en curso pendientes de aviso, por fin efectivo
+CREATE INDEX idx_rentals_ending_soon
+    ON rentals (status, ending_soon_notified, (COALESCE(extended_until, end_date_time)), id);
@@ -0,0 +1,32 @@
+-- Versión de lectura por usuario. Cada transacción que marca notificaciones como leídas
+-- incrementa la fila del usuario y la mantiene bloqueada hasta el commit, así que las
+-- versiones de un usuario se hacen visibles en el mismo orden en que se confirman.
+CREATE TABLE notification_read_versions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_notification_read_versions_user UNIQUE (user_id),
+    CONSTRAINT fk_notification_read_versions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+ALTER TABLE notifications ADD COLUMN read_version BIGINT NULL;
+
+-- Las lecturas existentes reciben versiones en el orden de su read_at
+UPDATE notifications n
+JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY read_at, id) AS version
+      FROM notifications
+      WHERE read_at IS NOT NULL) v ON v.id = n.id
+SET n.read_version = v.version;
+
+INSERT INTO notification_read_versions (user_id, version, created_at, updated_at)
+SELECT user_id, MAX(read_version), NOW(6), NOW(6)
+FROM notifications
+WHERE read_version IS NOT NULL
+GROUP BY user_id;
+
+-- La sincronización recorre los cambios de lectura por versión en lugar de por read_at
+CREATE INDEX idx_notifications_user_read_version ON notifications (user_id, read_version, id);
+DROP INDEX idx_notifications_user_read_at ON notifications;
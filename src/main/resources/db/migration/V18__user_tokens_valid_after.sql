@@ -0,0 +1,5 @@
+-- Los tokens emitidos hasta este instante dejan de valer (p.ej. tras cambiar la contraseña).
+-- Todas las instancias lo leen de aquí, no solo la que atendió el cambio.
+ALTER TABLE users ADD COLUMN tokens_valid_after DATETIME(6) NULL;
+
+CREATE INDEX idx_users_tokens_valid_after ON users (tokens_valid_after);
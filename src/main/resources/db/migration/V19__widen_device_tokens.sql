@@ -0,0 +1,3 @@
+-- Los tokens de FCM y APNs no tienen longitud máxima garantizada y pueden superar 255 caracteres.
+-- 512 caracteres en utf8mb4 siguen cabiendo en el índice único de InnoDB.
+ALTER TABLE device_tokens MODIFY COLUMN token VARCHAR(512) NOT NULL;
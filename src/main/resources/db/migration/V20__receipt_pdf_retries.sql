@@ -0,0 +1,3 @@
+-- Reintentos del PDF de una boleta en generación; al agotarlos la boleta pasa a FAILED
+-- y el barrido deja de reenviarla.
+ALTER TABLE receipts ADD COLUMN pdf_retries INT NOT NULL DEFAULT 0;
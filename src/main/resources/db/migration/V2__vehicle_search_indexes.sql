@@ -0,0 +1,14 @@
+-- Índices para la búsqueda facetada de vehículos (/api/v1/vehicles/search).
+-- Cada filtro de igualdad va seguido del ID para que la paginación por clave
+-- (id > :cursor ORDER BY id) recorra el índice sin ordenar en memoria.
+CREATE INDEX idx_vehicles_available_id ON vehicles (available, id);
+CREATE INDEX idx_vehicles_available_brand_id ON vehicles (available, brand, id);
+CREATE INDEX idx_vehicles_available_category_id ON vehicles (available, category, id);
+CREATE INDEX idx_vehicles_available_fuel_type_id ON vehicles (available, fuel_type, id);
+CREATE INDEX idx_vehicles_available_transmission_id ON vehicles (available, transmission, id);
+CREATE INDEX idx_vehicles_available_seats_id ON vehicles (available, seats, id);
+CREATE INDEX idx_vehicles_available_price ON vehicles (available, price_per_day);
+
+-- Solapamiento de alquileres por vehículo: subconsulta NOT EXISTS de la búsqueda facetada,
+-- comprobación de reservas y disponibilidad por fechas mientras el índice en memoria no está cargado
+CREATE INDEX idx_rentals_vehicle_status_start ON rentals (vehicle_id, status, start_date_time);
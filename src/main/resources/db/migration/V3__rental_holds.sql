@@ -0,0 +1,10 @@
+-- Retención temporal de alquileres PENDING mientras el arrendatario paga
+ALTER TABLE rentals ADD COLUMN hold_expires_at DATETIME(6) NULL;
+
+CREATE INDEX idx_rentals_status_hold_expires ON rentals (status, hold_expires_at);
+
+-- Los alquileres pendientes existentes reciben la retención configurada desde su creación
+-- (app.rentals.hold-ttl-minutes, expuesta a Flyway como placeholder)
+UPDATE rentals
+SET hold_expires_at = DATE_ADD(created_at, INTERVAL ${rental-hold-ttl-minutes} MINUTE)
+WHERE status = 'PENDING' AND hold_expires_at IS NULL;
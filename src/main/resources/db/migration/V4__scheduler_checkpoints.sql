@@ -0,0 +1,19 @@
+-- Marca de avance de los trabajos programados: cada trabajo recorre los alquileres
+-- en orden (fecha, id) y guarda la última posición procesada. La fila también sirve
+-- de arrendamiento: se bloquea con FOR UPDATE mientras se procesa un lote.
+CREATE TABLE scheduler_checkpoints (
+    job_name VARCHAR(100) NOT NULL,
+    last_date_time DATETIME(6) NOT NULL,
+    last_id BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_name)
+);
+
+-- Los trabajos empiezan desde el despliegue para no reenviar avisos históricos
+INSERT INTO scheduler_checkpoints (job_name, last_date_time, last_id, updated_at)
+VALUES ('rental-ending-soon', NOW(6), 0, NOW(6)),
+       ('rental-late-sweep', NOW(6), 0, NOW(6));
+
+-- Recorrido por fin efectivo (fin original o extendido) de los alquileres en curso
+CREATE INDEX idx_rentals_status_effective_end
+    ON rentals (status, (COALESCE(extended_until, end_date_time)), id);
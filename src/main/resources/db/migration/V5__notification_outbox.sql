@@ -0,0 +1,27 @@
+-- Bandeja de salida de notificaciones: el código de negocio solo inserta aquí, en su
+-- propia transacción. Los trabajadores reclaman las filas de un usuario con claim_token,
+-- crean las notificaciones, borran las filas y las envían por WebSocket.
+CREATE TABLE notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    related_entity_type VARCHAR(50),
+    related_entity_id BIGINT,
+    deep_link VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claim_token VARCHAR(36),
+    claimed_until DATETIME(6),
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- Barrido de filas vencidas y reclamo de las filas de un usuario en orden
+CREATE INDEX idx_notification_outbox_due ON notification_outbox (status, next_attempt_at);
+CREATE INDEX idx_notification_outbox_user ON notification_outbox (user_id, status, id);
+CREATE INDEX idx_notification_outbox_claim ON notification_outbox (claim_token);
@@ -0,0 +1,5 @@
+-- Paginación por ID de las notificaciones de un usuario (listado y sincronización)
+CREATE INDEX idx_notifications_user_id ON notifications (user_id, id);
+
+-- Cambios de estado de lectura desde el último token de sincronización
+CREATE INDEX idx_notifications_user_read_at ON notifications (user_id, read_at, id);
@@ -0,0 +1,28 @@
+-- Archivo de notificaciones leídas antiguas. Conserva el ID original para poder
+-- consultarlas o restaurarlas; el trabajo de retención mueve las filas por lotes.
+CREATE TABLE notifications_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    related_entity_type VARCHAR(255),
+    related_entity_id BIGINT,
+    is_read BIT NOT NULL,
+    read_at DATETIME(6),
+    deep_link VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notifications_archive_user ON notifications_archive (user_id, id);
+
+-- Selección de las notificaciones leídas vencidas de cada tipo, en orden de lectura
+CREATE INDEX idx_notifications_type_read_at ON notifications (type, read_at);
+
+-- Marca del trabajo de retención: su fila se bloquea mientras se procesa un lote para que
+-- dos instancias no muevan las mismas notificaciones
+INSERT INTO scheduler_checkpoints (job_name, last_date_time, last_id, updated_at)
+VALUES ('notification-retention', NOW(6), 0, NOW(6));
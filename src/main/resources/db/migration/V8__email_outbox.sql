@@ -0,0 +1,22 @@
+-- Cola persistente de correos: el código de negocio inserta el correo ya renderizado en su
+-- transacción y los trabajadores lo envían por SMTP en lotes, con reintentos.
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body MEDIUMTEXT NOT NULL,
+    template VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claim_token VARCHAR(36),
+    claimed_until DATETIME(6),
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- Reclamo de lotes vencidos en orden y lectura del lote reclamado
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at, id);
+CREATE INDEX idx_email_outbox_claim ON email_outbox (claim_token);
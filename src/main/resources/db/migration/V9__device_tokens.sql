@@ -0,0 +1,15 @@
+-- Tokens de dispositivos para notificaciones push. Un token pertenece a un solo usuario:
+-- si otro usuario inicia sesión en el mismo dispositivo, el token se reasigna.
+CREATE TABLE device_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    platform VARCHAR(20) NOT NULL,
+    last_seen_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_device_tokens_token UNIQUE (token)
+);
+
+CREATE INDEX idx_device_tokens_user ON device_tokens (user_id);
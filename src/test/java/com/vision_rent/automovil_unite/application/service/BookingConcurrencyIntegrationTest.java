@@ -0,0 +1,235 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.dto.CreateRentalRequest;
+import com.vision_rent.automovil_unite.application.dto.ExtendRentalRequest;
+import com.vision_rent.automovil_unite.application.dto.RentalDto;
+import com.vision_rent.automovil_unite.domain.exception.VehicleNotAvailableException;
+import com.vision_rent.automovil_unite.domain.valueobject.Role;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.UserJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.VehicleJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservas concurrentes contra la base real: sin transacción de prueba, cada reserva confirma
+ * su propia transacción como en producción. Se comprueba que no quedan reservas solapadas tanto
+ * con el bloqueo en memoria del coordinador como solo con el {@code SELECT ... FOR UPDATE} del
+ * vehículo, que es lo que protege a varios nodos.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking_stress;MODE=MySQL;" +
+        "DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+class BookingConcurrencyIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyIntegrationTest.class);
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int VEHICLES = 4;
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private BookingCoordinator bookingCoordinator;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private VehicleJpaRepository vehicleJpaRepository;
+
+    @Autowired
+    private RentalJpaRepository rentalJpaRepository;
+
+    private UserJpaEntity owner;
+    private List<UserJpaEntity> renters;
+
+    @BeforeEach
+    void setUp() {
+        owner = user();
+        renters = List.of(user(), user(), user(), user());
+    }
+
+    @Test
+    void coordinatedBookingsNeverOverlap() throws Exception {
+        List<Long> vehicleIds = vehicles();
+
+        int booked = stress(vehicleIds, bookingCoordinator::createRental, "coordinador + FOR UPDATE");
+
+        assertThat(booked).isPositive();
+        assertNoOverlaps(vehicleIds);
+    }
+
+    @Test
+    void rowLockAloneKeepsBookingsFromOverlapping() throws Exception {
+        List<Long> vehicleIds = vehicles();
+
+        // Sin el bloqueo en memoria, como dos nodos distintos
+        int booked = stress(vehicleIds, rentalService::createRental, "solo FOR UPDATE");
+
+        assertThat(booked).isPositive();
+        assertNoOverlaps(vehicleIds);
+    }
+
+    @Test
+    void extensionResolvesTheVehicleOutsideATransaction() {
+        VehicleJpaEntity vehicle = vehicleJpaRepository.save(vehicle());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        RentalJpaEntity rental = rentalJpaRepository.save(RentalJpaEntity.builder()
+                .vehicle(vehicle)
+                .renter(renters.get(0))
+                .startDateTime(now.minusDays(1))
+                .endDateTime(now.plusDays(1))
+                .totalPrice(new BigDecimal("200.00"))
+                .status("ACTIVE")
+                .paid(true)
+                .build());
+
+        RentalDto extended = bookingCoordinator.extendRental(ExtendRentalRequest.builder()
+                .rentalId(rental.getId())
+                .newEndDateTime(now.plusDays(3))
+                .build(), renters.get(0).getId());
+
+        assertThat(extended.getExtendedUntil()).isEqualTo(now.plusDays(3));
+        assertThat(rentalJpaRepository.findById(rental.getId()).orElseThrow().getExtendedUntil())
+                .isEqualTo(now.plusDays(3));
+    }
+
+    private int stress(List<Long> vehicleIds, BiFunction<Long, CreateRentalRequest, RentalDto> book, String label)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicReference<Throwable> unexpected = new AtomicReference<>();
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+
+        for (int t = 0; t < THREADS; t++) {
+            Long renterId = renters.get(t % renters.size()).getId();
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        LocalDateTime from = base.plusHours(random.nextInt(24 * 30));
+                        CreateRentalRequest request = CreateRentalRequest.builder()
+                                .vehicleId(vehicleIds.get(random.nextInt(vehicleIds.size())))
+                                .startDateTime(from)
+                                .endDateTime(from.plusHours(12 + random.nextInt(60)))
+                                .build();
+                        try {
+                            book.apply(renterId, request);
+                            booked.incrementAndGet();
+                        } catch (VehicleNotAvailableException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    unexpected.compareAndSet(null, e);
+                }
+            });
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertThat(unexpected.get()).isNull();
+        assertThat(booked.get() + rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        log.info("{}: {} reservas y {} rechazos en {} s ({} solicitudes/s, {} reservas/s)",
+                label, booked.get(), rejected.get(), String.format("%.2f", seconds),
+                String.format("%.0f", THREADS * ATTEMPTS_PER_THREAD / seconds),
+                String.format("%.0f", booked.get() / seconds));
+        return booked.get();
+    }
+
+    private void assertNoOverlaps(List<Long> vehicleIds) {
+        for (Long vehicleId : vehicleIds) {
+            List<RentalJpaEntity> rentals = rentalJpaRepository.findByVehicleId(vehicleId);
+            for (int i = 0; i < rentals.size(); i++) {
+                for (int j = i + 1; j < rentals.size(); j++) {
+                    RentalJpaEntity a = rentals.get(i);
+                    RentalJpaEntity b = rentals.get(j);
+                    assertThat(!a.getStartDateTime().isAfter(b.getEndDateTime())
+                            && !a.getEndDateTime().isBefore(b.getStartDateTime()))
+                            .as("Alquileres %d y %d del vehículo %d solapados", a.getId(), b.getId(), vehicleId)
+                            .isFalse();
+                }
+            }
+        }
+    }
+
+    private List<Long> vehicles() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            ids.add(vehicleJpaRepository.save(vehicle()).getId());
+        }
+        return ids;
+    }
+
+    private UserJpaEntity user() {
+        long n = SEQUENCE.incrementAndGet();
+        return userJpaRepository.save(UserJpaEntity.builder()
+                .email("stress" + n + "@test.local")
+                .password("secret")
+                .firstName("Nombre" + n)
+                .lastName("Apellido" + n)
+                .enabled(true)
+                .emailVerified(true)
+                .roles(new HashSet<>(Set.of(Role.RENTER, Role.OWNER)))
+                .profilePhotoUrl("profile.jpg")
+                .idCardPhotoUrl("id.jpg")
+                .criminalRecordUrl("record.pdf")
+                .driverLicenseUrl("license.jpg")
+                .build());
+    }
+
+    private VehicleJpaEntity vehicle() {
+        long n = SEQUENCE.incrementAndGet();
+        return VehicleJpaEntity.builder()
+                .brand("Toyota")
+                .model("Modelo" + n)
+                .year(2022)
+                .licensePlate("ST-" + n)
+                .color("Blanco")
+                .transmission("AUTOMATIC")
+                .fuelType("GASOLINE")
+                .seats(5)
+                .category("SEDAN")
+                .pricePerDay(new BigDecimal("100.00"))
+                .owner(owner)
+                .available(true)
+                .build();
+    }
+}
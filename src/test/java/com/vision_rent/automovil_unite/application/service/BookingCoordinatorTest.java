@@ -0,0 +1,142 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.dto.CreateRentalRequest;
+import com.vision_rent.automovil_unite.application.dto.RentalDto;
+import com.vision_rent.automovil_unite.domain.exception.VehicleNotAvailableException;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.infrastructure.lock.StripedLockManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingCoordinatorTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(3);
+
+    private final RentalService rentalService = mock(RentalService.class);
+    private final StripedLockManager lockManager = new StripedLockManager(64, 10_000);
+    private final BookingCoordinator coordinator =
+            new BookingCoordinator(rentalService, mock(RentalRepository.class), lockManager);
+
+    /**
+     * Sustituye a la base de datos: comprueba solapamientos y registra la reserva en dos pasos
+     * separados por una pausa, de modo que sin el bloqueo varias solicitudes verían el
+     * vehículo libre.
+     */
+    private final List<CreateRentalRequest> booked = new ArrayList<>();
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void overlappingBookingsForTheSameVehicleLetExactlyOneSucceed() throws Exception {
+        stubCheckThenInsert();
+
+        List<Future<RentalDto>> results = runConcurrently(i -> request(1L, START.plusHours(i), START.plusDays(2)));
+
+        int succeeded = 0;
+        int rejected = 0;
+        for (Future<RentalDto> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(VehicleNotAvailableException.class);
+                rejected++;
+            }
+        }
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(rejected).isEqualTo(THREADS - 1);
+        assertThat(booked).hasSize(1);
+        assertThat(maxConcurrentCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void bookingsForDifferentVehiclesProceedInParallel() throws Exception {
+        stubCheckThenInsert();
+
+        // Vehículos consecutivos caen en franjas distintas
+        List<Future<RentalDto>> results = runConcurrently(i -> request((long) i + 1, START, START.plusDays(2)));
+
+        for (Future<RentalDto> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isNotNull();
+        }
+        assertThat(booked).hasSize(THREADS);
+        assertThat(maxConcurrentCalls.get()).isGreaterThan(1);
+    }
+
+    private void stubCheckThenInsert() {
+        when(rentalService.createRental(anyLong(), any(CreateRentalRequest.class))).thenAnswer(invocation -> {
+            CreateRentalRequest request = invocation.getArgument(1);
+            int running = concurrentCalls.incrementAndGet();
+            maxConcurrentCalls.accumulateAndGet(running, Math::max);
+            try {
+                boolean overlaps;
+                synchronized (booked) {
+                    overlaps = booked.stream().anyMatch(existing -> existing.getVehicleId().equals(request.getVehicleId())
+                            && !existing.getStartDateTime().isAfter(request.getEndDateTime())
+                            && !existing.getEndDateTime().isBefore(request.getStartDateTime()));
+                }
+                if (overlaps) {
+                    throw new VehicleNotAvailableException("El vehículo no está disponible en las fechas seleccionadas");
+                }
+                Thread.sleep(50);
+                synchronized (booked) {
+                    booked.add(request);
+                }
+                return RentalDto.builder().id(ids.incrementAndGet()).build();
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        });
+    }
+
+    private List<Future<RentalDto>> runConcurrently(IntFunction<CreateRentalRequest> requests)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RentalDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                CreateRentalRequest request = requests.apply(i);
+                long renterId = 100L + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coordinator.createRental(renterId, request);
+                }));
+            }
+            start.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static CreateRentalRequest request(Long vehicleId, LocalDateTime start, LocalDateTime end) {
+        return CreateRentalRequest.builder()
+                .vehicleId(vehicleId)
+                .startDateTime(start)
+                .endDateTime(end)
+                .build();
+    }
+}
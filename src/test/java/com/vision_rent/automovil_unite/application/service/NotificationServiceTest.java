@@ -0,0 +1,72 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationSyncResponse;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
+import com.vision_rent.automovil_unite.application.mapper.NotificationDtoMapper;
+import com.vision_rent.automovil_unite.application.query.NotificationQueryRepository;
+import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.domain.service.NotificationDomainService;
+import com.vision_rent.automovil_unite.infrastructure.cache.UnreadNotificationCounter;
+import com.vision_rent.automovil_unite.infrastructure.messaging.NotificationOutbox;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final NotificationQueryRepository queryRepository = mock(NotificationQueryRepository.class);
+    private final NotificationService service = new NotificationService(
+            mock(NotificationRepository.class),
+            queryRepository,
+            mock(RentalRepository.class),
+            mock(NotificationDomainService.class),
+            mock(NotificationDtoMapper.class),
+            mock(NotificationOutbox.class),
+            mock(UnreadNotificationCounter.class),
+            mock(NotificationWebSocketService.class));
+
+    @Test
+    void syncResumesFromTheTokenItIssued() {
+        when(queryRepository.findReadVersion(USER_ID)).thenReturn(3L);
+        when(queryRepository.findPageByUserId(eq(USER_ID), anyLong(), anyInt())).thenReturn(List.of());
+
+        NotificationSyncResponse first = service.syncNotifications(USER_ID, null, 10);
+        service.syncNotifications(USER_ID, first.getSyncToken(), 10);
+
+        verify(queryRepository).findCreatedAfter(USER_ID, 0L, 11);
+        verify(queryRepository).findReadChanges(USER_ID, 0L, 3L, 0L, 11);
+    }
+
+    @Test
+    void syncRejectsTokensInTheOldReadAtFormat() {
+        String legacy = encode("sync|42|2025-01-01T10:00:00|0");
+
+        assertThatThrownBy(() -> service.syncNotifications(USER_ID, legacy, 10))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void syncRejectsMalformedTokens() {
+        assertThat(List.of(encode("sync2|42|x|0"), encode("sync2|42"), "%%%"))
+                .allSatisfy(token -> assertThatThrownBy(() -> service.syncNotifications(USER_ID, token, 10))
+                        .isInstanceOf(InvalidOperationException.class));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
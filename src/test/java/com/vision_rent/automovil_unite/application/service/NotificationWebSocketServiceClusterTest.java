@@ -0,0 +1,171 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageRouter;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterPresence;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import com.vision_rent.automovil_unite.infrastructure.websocket.EmbeddedClusterMessageBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dos contextos de aplicación en la misma JVM, cada uno como un nodo, unidos por el bus en
+ * memoria. Las sesiones de cada nodo se simulan con su registro de usuarios.
+ */
+class NotificationWebSocketServiceClusterTest {
+
+    private static final Long BOTH_NODES_USER = 7L;
+    private static final Long NODE_A_USER = 8L;
+    private static final Long NODE_B_USER = 9L;
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        String cluster = "notifications-" + UUID.randomUUID();
+        nodeA = startNode(cluster, "node-a", BOTH_NODES_USER + "," + NODE_A_USER);
+        nodeB = startNode(cluster, "node-b", BOTH_NODES_USER + "," + NODE_B_USER);
+        // Al arrancar, B anuncia sus usuarios y A le responde con los suyos
+        waitUntil(() -> !nodeA.getBean(ClusterPresence.class).nodesFor(NODE_B_USER).isEmpty()
+                && !nodeB.getBean(ClusterPresence.class).nodesFor(NODE_A_USER).isEmpty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void userWithSessionsOnBothNodesReceivesOnBoth() throws InterruptedException {
+        NotificationDto notification = NotificationDto.builder().id(1L).title("Pago recibido").build();
+
+        nodeA.getBean(NotificationWebSocketService.class).sendNotificationToUser(BOTH_NODES_USER, notification);
+
+        verify(template(nodeA)).convertAndSendToUser("7", "/queue/notifications", notification);
+        waitUntil(() -> deliveries(nodeB) > 0);
+        verify(template(nodeB)).convertAndSendToUser(eq("7"), eq("/queue/notifications"), any(Object.class));
+    }
+
+    @Test
+    void userOnlyOnThisNodeIsDeliveredOnceLocally() throws InterruptedException {
+        NotificationDto notification = NotificationDto.builder().id(2L).title("Recordatorio").build();
+
+        nodeA.getBean(NotificationWebSocketService.class).sendNotificationToUser(NODE_A_USER, notification);
+
+        verify(template(nodeA), times(1)).convertAndSendToUser("8", "/queue/notifications", notification);
+        Thread.sleep(200);
+        verify(template(nodeB), never()).convertAndSendToUser(any(String.class), any(String.class), any(Object.class));
+    }
+
+    @Test
+    void userOnlyOnTheOtherNodeIsForwarded() throws InterruptedException {
+        NotificationDto notification = NotificationDto.builder().id(3L).title("Alquiler confirmado").build();
+
+        nodeA.getBean(NotificationWebSocketService.class).sendNotificationToUser(NODE_B_USER, notification);
+
+        waitUntil(() -> deliveries(nodeB) > 0);
+        verify(template(nodeB)).convertAndSendToUser(eq("9"), eq("/queue/notifications"), any(Object.class));
+        verify(template(nodeA), never()).convertAndSendToUser(any(String.class), any(String.class), any(Object.class));
+    }
+
+    private static SimpMessagingTemplate template(ConfigurableApplicationContext node) {
+        return node.getBean(SimpMessagingTemplate.class);
+    }
+
+    private static long deliveries(ConfigurableApplicationContext node) {
+        return mockingDetails(template(node)).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("convertAndSendToUser"))
+                .count();
+    }
+
+    private static ConfigurableApplicationContext startNode(String cluster, String nodeId, String localUsers) {
+        return new SpringApplicationBuilder(NodeConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--app.websocket.cluster.mode=embedded",
+                        "--app.websocket.cluster.name=" + cluster,
+                        "--app.websocket.cluster.node-id=" + nodeId,
+                        "--test.local-users=" + localUsers);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Nodo mínimo: el servicio de notificaciones en tiempo real, el reparto entre nodos y un
+     * broker simulado.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(ClusterProperties.class)
+    @Import({EmbeddedClusterMessageBus.class, ClusterPresence.class, ClusterMessageRouter.class,
+            NotificationWebSocketService.class})
+    static class NodeConfig {
+
+        @Bean
+        SimpMessagingTemplate simpMessagingTemplate() {
+            return mock(SimpMessagingTemplate.class);
+        }
+
+        @Bean
+        SimpUserRegistry simpUserRegistry(@Value("${test.local-users}") String localUsers) {
+            SimpUserRegistry registry = mock(SimpUserRegistry.class);
+            Set<SimpUser> users = new HashSet<>();
+            for (String name : localUsers.split(",")) {
+                SimpUser user = mock(SimpUser.class);
+                when(user.getName()).thenReturn(name);
+                when(registry.getUser(name)).thenReturn(user);
+                users.add(user);
+            }
+            when(registry.getUsers()).thenReturn(users);
+            when(registry.getUserCount()).thenReturn(users.size());
+            return registry;
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
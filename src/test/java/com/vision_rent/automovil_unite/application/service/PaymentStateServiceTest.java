@@ -0,0 +1,158 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.vision_rent.automovil_unite.domain.entity.Payment;
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.impl.PaymentDomainServiceImpl;
+import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
+import com.vision_rent.automovil_unite.domain.repository.ReceiptRepository;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.domain.service.LedgerDomainService;
+import com.vision_rent.automovil_unite.domain.service.ReceiptDomainService;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGateway;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGatewayException;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGatewayResult;
+import com.vision_rent.automovil_unite.infrastructure.pdf.ReceiptPdfGenerator;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.RentalHoldScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sin transacción activa, las acciones tras el commit se ejecutan de inmediato.
+ */
+class PaymentStateServiceTest {
+
+    private static final Long PAYMENT_ID = 1L;
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final LedgerDomainService ledgerDomainService = mock(LedgerDomainService.class);
+    private final PaymentGateway gateway = mock(PaymentGateway.class);
+    private final PaymentStateService service = new PaymentStateService(
+            paymentRepository,
+            mock(RentalRepository.class),
+            mock(ReceiptRepository.class),
+            new PaymentDomainServiceImpl(),
+            mock(ReceiptDomainService.class),
+            mock(NotificationService.class),
+            mock(VehicleAvailabilityIndex.class),
+            mock(RentalHoldScheduler.class),
+            mock(ReceiptPdfGenerator.class),
+            ledgerDomainService,
+            gateway);
+
+    @Test
+    void authorizationMovesPendingPaymentToAuthorized() {
+        Payment payment = payment("PENDING", rental(LocalDateTime.now().plusMinutes(10)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.authorized("pi_1"))).isEqualTo("AUTHORIZED");
+
+        assertThat(payment.getExternalId()).isEqualTo("pi_1");
+        verify(paymentRepository).save(payment);
+        verify(gateway, never()).cancel(any(), any());
+    }
+
+    @Test
+    void repeatedResultChangesNothing() {
+        payment("AUTHORIZED", rental(LocalDateTime.now().plusMinutes(10)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.authorized("pi_1"))).isEqualTo("AUTHORIZED");
+
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void authorizationAfterHoldExpiryFailsAndIsCancelledInGateway() {
+        Payment payment = payment("PENDING", rental(LocalDateTime.now().minusMinutes(1)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.authorized("pi_1"))).isEqualTo("FAILED");
+
+        assertThat(payment.getFailureReason()).isEqualTo("La reserva del alquiler ha vencido");
+        verify(gateway).cancel(PAYMENT_ID, "pi_1");
+    }
+
+    @Test
+    void declineReportedByGatewayIsNotCancelled() {
+        Payment payment = payment("PENDING", rental(LocalDateTime.now().plusMinutes(10)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.failed("pi_1", "Tarjeta rechazada")))
+                .isEqualTo("FAILED");
+
+        assertThat(payment.getFailureReason()).isEqualTo("Tarjeta rechazada");
+        verify(gateway, never()).cancel(any(), any());
+    }
+
+    @Test
+    void pendingTimeoutFailsAndIsCancelledInGateway() {
+        Payment payment = payment("PENDING", rental(LocalDateTime.now().plusMinutes(10)));
+        payment.setExternalId("PAY-local");
+
+        assertThat(service.failPayment(PAYMENT_ID, "Tiempo agotado")).isEqualTo("FAILED");
+
+        verify(gateway).cancel(PAYMENT_ID, "PAY-local");
+    }
+
+    @Test
+    void lateAuthorizationOfFailedPaymentIsCancelledInGateway() {
+        payment("FAILED", rental(LocalDateTime.now().plusMinutes(10)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.authorized("pi_1"))).isEqualTo("FAILED");
+
+        verify(paymentRepository, never()).save(any());
+        verify(gateway).cancel(PAYMENT_ID, "pi_1");
+    }
+
+    @Test
+    void cancellationErrorDoesNotUndoTheFailure() {
+        payment("PENDING", rental(LocalDateTime.now().plusMinutes(10)));
+        doThrow(new PaymentGatewayException("sin conexión", null)).when(gateway).cancel(any(), any());
+
+        assertThat(service.failPayment(PAYMENT_ID, "Tiempo agotado")).isEqualTo("FAILED");
+    }
+
+    @Test
+    void completedPaymentIsNotReopenedByLateFailure() {
+        payment("COMPLETED", rental(LocalDateTime.now().plusMinutes(10)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.failed("pi_1", "Tarde"))).isEqualTo("COMPLETED");
+
+        verify(paymentRepository, never()).save(any());
+        verify(gateway, never()).cancel(any(), any());
+    }
+
+    @Test
+    void refundIsRecordedInLedger() {
+        Payment payment = payment("COMPLETED", rental(LocalDateTime.now().plusMinutes(10)));
+
+        assertThat(service.applyGatewayResult(PAYMENT_ID, PaymentGatewayResult.refunded("pi_1"))).isEqualTo("REFUNDED");
+
+        verify(ledgerDomainService).recordRefund(payment);
+    }
+
+    private Payment payment(String status, Rental rental) {
+        Payment payment = new Payment();
+        payment.setId(PAYMENT_ID);
+        payment.setStatus(status);
+        payment.setRental(rental);
+        payment.setExternalId("PAY-" + PAYMENT_ID);
+        when(paymentRepository.findByIdForUpdate(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        return payment;
+    }
+
+    private static Rental rental(LocalDateTime holdExpiresAt) {
+        Rental rental = new Rental();
+        rental.setId(10L);
+        rental.setStatus("PENDING");
+        rental.setHoldExpiresAt(holdExpiresAt);
+        return rental;
+    }
+}
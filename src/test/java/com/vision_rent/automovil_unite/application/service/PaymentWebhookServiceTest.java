@@ -0,0 +1,99 @@
+package com.vision_rent.automovil_unite.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision_rent.automovil_unite.application.exception.InvalidOperationException;
+import com.vision_rent.automovil_unite.domain.entity.Payment;
+import com.vision_rent.automovil_unite.domain.repository.PaymentRepository;
+import com.vision_rent.automovil_unite.infrastructure.payment.PaymentGatewayResult;
+import com.vision_rent.automovil_unite.infrastructure.payment.SimulatedPaymentGateway;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentWebhookEventJpaRepository;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentWebhookServiceTest {
+
+    private static final String SECRET = "whsec_test_secret";
+
+    private final PaymentStateService paymentStateService = mock(PaymentStateService.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentWebhookEventJpaRepository webhookEventRepository = mock(PaymentWebhookEventJpaRepository.class);
+    private final PaymentWebhookService service = new PaymentWebhookService(
+            new SimulatedPaymentGateway(new ObjectMapper(), 0, 0.0, SECRET),
+            paymentStateService,
+            paymentRepository,
+            webhookEventRepository);
+
+    /**
+     * Sustituye al índice único de {@code payment_webhook_events}.
+     */
+    private final Set<String> registeredEvents = new HashSet<>();
+
+    @Test
+    void repeatedEventIsAppliedOnce() {
+        stubEventRegistry();
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(new Payment()));
+        String payload = "{\"id\":\"evt_1\",\"type\":\"payment_intent.succeeded\",\"paymentId\":5}";
+
+        service.handle(payload, sign(payload));
+        service.handle(payload, sign(payload));
+
+        verify(paymentStateService, times(1)).applyGatewayResult(5L, PaymentGatewayResult.completed("sim_pi_5"));
+    }
+
+    @Test
+    void distinctEventsForTheSamePaymentAreAllApplied() {
+        stubEventRegistry();
+        when(paymentRepository.findById(5L)).thenReturn(Optional.of(new Payment()));
+        String authorized = "{\"id\":\"evt_1\",\"type\":\"payment_intent.amount_capturable_updated\",\"paymentId\":5}";
+        String succeeded = "{\"id\":\"evt_2\",\"type\":\"payment_intent.succeeded\",\"paymentId\":5}";
+
+        service.handle(authorized, sign(authorized));
+        service.handle(succeeded, sign(succeeded));
+
+        verify(paymentStateService, times(2)).applyGatewayResult(any(), any());
+    }
+
+    @Test
+    void invalidSignatureIsRejectedBeforeRegisteringTheEvent() {
+        String payload = "{\"id\":\"evt_1\",\"type\":\"payment_intent.succeeded\",\"paymentId\":5}";
+
+        assertThatThrownBy(() -> service.handle(payload, "t=" + System.currentTimeMillis() / 1000 + ",v1=00"))
+                .isInstanceOf(InvalidOperationException.class);
+
+        verify(webhookEventRepository, never()).insertIfAbsent(anyString(), anyString(), any());
+        verify(paymentStateService, never()).applyGatewayResult(any(), any());
+    }
+
+    private void stubEventRegistry() {
+        when(webhookEventRepository.insertIfAbsent(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> registeredEvents.add(invocation.getArgument(0)) ? 1 : 0);
+    }
+
+    private static String sign(String payload) {
+        try {
+            String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.vision_rent.automovil_unite.domain.impl;
+
+import com.vision_rent.automovil_unite.domain.entity.Payment;
+import com.vision_rent.automovil_unite.domain.entity.Payout;
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.entity.User;
+import com.vision_rent.automovil_unite.domain.entity.Vehicle;
+import com.vision_rent.automovil_unite.domain.repository.LedgerRepository;
+import com.vision_rent.automovil_unite.domain.valueobject.LedgerLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vision_rent.automovil_unite.domain.impl.LedgerDomainServiceImpl.DEPOSIT_LIABILITY;
+import static com.vision_rent.automovil_unite.domain.impl.LedgerDomainServiceImpl.DISCOUNT_EXPENSE;
+import static com.vision_rent.automovil_unite.domain.impl.LedgerDomainServiceImpl.OWNER_PAYABLE;
+import static com.vision_rent.automovil_unite.domain.impl.LedgerDomainServiceImpl.PLATFORM_CASH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerDomainServiceImplTest {
+
+    private static final Long OWNER_ID = 10L;
+    private static final Long RENTER_ID = 20L;
+
+    private final LedgerRepository ledgerRepository = mock(LedgerRepository.class);
+    private final LedgerDomainServiceImpl ledger = new LedgerDomainServiceImpl(ledgerRepository, "PEN");
+    private final AtomicLong journalIds = new AtomicLong();
+
+    @Test
+    void rentalPaymentIsOwedToTheOwnerTogetherWithItsDiscount() {
+        journalsAreNew();
+        Rental rental = rental(new BigDecimal("20.00"));
+
+        ledger.recordPayment(payment(1L, "RENTAL", "200.00", rental), rental);
+
+        verify(ledgerRepository).createJournal("PAYMENT", "PAYMENT", 1L, "PEN", "Pago del alquiler 100");
+        verify(ledgerRepository).saveEntries(1L, "PEN", List.of(
+                new LedgerLine(PLATFORM_CASH, null, new BigDecimal("200.00")),
+                new LedgerLine(OWNER_PAYABLE, OWNER_ID, new BigDecimal("-200.00"))));
+        verify(ledgerRepository).createJournal("DISCOUNT", "RENTAL", 100L, "PEN", "Descuento del alquiler 100");
+        verify(ledgerRepository).saveEntries(2L, "PEN", List.of(
+                new LedgerLine(DISCOUNT_EXPENSE, null, new BigDecimal("20.00")),
+                new LedgerLine(OWNER_PAYABLE, OWNER_ID, new BigDecimal("-20.00"))));
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("200.00"));
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("20.00"));
+    }
+
+    @Test
+    void extensionPaymentIsOwedToTheOwnerWithoutTheRentalDiscount() {
+        journalsAreNew();
+        Rental rental = rental(new BigDecimal("20.00"));
+
+        ledger.recordPayment(payment(2L, "EXTENSION", "50.00", rental), rental);
+
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("50.00"));
+        verify(ledgerRepository, never()).createJournal(eq("DISCOUNT"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void securityDepositIsOwedToTheRenterNotTheOwner() {
+        journalsAreNew();
+        Rental rental = rental(new BigDecimal("20.00"));
+
+        ledger.recordPayment(payment(3L, "SECURITY_DEPOSIT", "60.00", rental), rental);
+
+        verify(ledgerRepository).saveEntries(1L, "PEN", List.of(
+                new LedgerLine(PLATFORM_CASH, null, new BigDecimal("60.00")),
+                new LedgerLine(DEPOSIT_LIABILITY, RENTER_ID, new BigDecimal("-60.00"))));
+        verify(ledgerRepository, never()).addToOwnerBalance(any(), any(), any());
+        verify(ledgerRepository, never()).createJournal(eq("DISCOUNT"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void depositRefundSharesTheReleaseJournal() {
+        journalsAreNew();
+        Payment deposit = payment(3L, "SECURITY_DEPOSIT", "60.00", rental(null));
+
+        ledger.recordRefund(deposit);
+
+        verify(ledgerRepository).createJournal("DEPOSIT_RELEASE", "PAYMENT", 3L, "PEN", "Devolución de la garantía 3");
+        verify(ledgerRepository).saveEntries(1L, "PEN", List.of(
+                new LedgerLine(DEPOSIT_LIABILITY, RENTER_ID, new BigDecimal("60.00")),
+                new LedgerLine(PLATFORM_CASH, null, new BigDecimal("-60.00"))));
+        verify(ledgerRepository, never()).addToOwnerBalance(any(), any(), any());
+    }
+
+    @Test
+    void alreadyReleasedDepositIsNotReleasedAgain() {
+        when(ledgerRepository.createJournal(anyString(), anyString(), anyLong(), anyString(), anyString()))
+                .thenReturn(Optional.empty());
+
+        ledger.recordDepositRelease(payment(3L, "SECURITY_DEPOSIT", "60.00", rental(null)));
+
+        verify(ledgerRepository, never()).saveEntries(any(), any(), any());
+    }
+
+    @Test
+    void onlySecurityDepositsCanBeReleased() {
+        Payment payment = payment(1L, "RENTAL", "200.00", rental(null));
+
+        assertThatThrownBy(() -> ledger.recordDepositRelease(payment)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rentalRefundIsTakenFromTheOwnerBalance() {
+        journalsAreNew();
+
+        ledger.recordRefund(payment(1L, "RENTAL", "200.00", rental(null)));
+
+        verify(ledgerRepository).createJournal("REFUND", "PAYMENT", 1L, "PEN", "Reembolso del pago 1");
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("-200.00"));
+    }
+
+    @Test
+    void rentalRefundReversesTheDiscountOnce() {
+        journalsAreNew();
+        Payment payment = payment(1L, "RENTAL", "200.00", rental(new BigDecimal("20.00")));
+
+        ledger.recordRefund(payment);
+
+        verify(ledgerRepository).createJournal("DISCOUNT_REVERSAL", "RENTAL", 100L, "PEN", "Anulación del descuento del alquiler 100");
+        verify(ledgerRepository).saveEntries(2L, "PEN", List.of(
+                new LedgerLine(OWNER_PAYABLE, OWNER_ID, new BigDecimal("20.00")),
+                new LedgerLine(DISCOUNT_EXPENSE, null, new BigDecimal("-20.00"))));
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("-200.00"));
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("-20.00"));
+
+        // Un segundo reembolso encuentra ambos asientos ya registrados
+        when(ledgerRepository.createJournal(anyString(), anyString(), anyLong(), anyString(), anyString()))
+                .thenReturn(Optional.empty());
+        ledger.recordRefund(payment);
+
+        verify(ledgerRepository, times(2)).saveEntries(any(), any(), any());
+    }
+
+    @Test
+    void extensionRefundDoesNotReverseTheRentalDiscount() {
+        journalsAreNew();
+
+        ledger.recordRefund(payment(2L, "EXTENSION", "50.00", rental(new BigDecimal("20.00"))));
+
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "PEN", new BigDecimal("-50.00"));
+        verify(ledgerRepository, never()).createJournal(eq("DISCOUNT_REVERSAL"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void payoutClearsTheOwnerBalance() {
+        journalsAreNew();
+
+        ledger.recordPayout(Payout.builder().id(7L).ownerId(OWNER_ID).currency("USD").amount(new BigDecimal("75.00")).build());
+
+        verify(ledgerRepository).createJournal("PAYOUT", "PAYOUT", 7L, "USD", "Liquidación al propietario 10");
+        verify(ledgerRepository).addToOwnerBalance(OWNER_ID, "USD", new BigDecimal("-75.00"));
+    }
+
+    private void journalsAreNew() {
+        when(ledgerRepository.createJournal(anyString(), anyString(), anyLong(), anyString(), anyString()))
+                .thenAnswer(invocation -> Optional.of(journalIds.incrementAndGet()));
+    }
+
+    private static Rental rental(BigDecimal discount) {
+        return Rental.builder()
+                .id(100L)
+                .vehicle(Vehicle.builder().owner(User.builder().id(OWNER_ID).build()).build())
+                .renter(User.builder().id(RENTER_ID).build())
+                .discountApplied(discount != null)
+                .discountAmount(discount)
+                .build();
+    }
+
+    private static Payment payment(Long id, String type, String amount, Rental rental) {
+        return Payment.builder()
+                .id(id)
+                .type(type)
+                .amount(new BigDecimal(amount))
+                .rental(rental)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopKLeaderboardTest {
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new TopKLeaderboard<Long>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TopKLeaderboard<Long>(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsOnlyTheHighestScoresWithinCapacity() {
+        TopKLeaderboard<Long> leaderboard = new TopKLeaderboard<>(2);
+
+        leaderboard.update(1L, 5);
+        leaderboard.update(2L, 3);
+        leaderboard.update(3L, 1);
+        leaderboard.update(4L, 7);
+
+        assertThat(leaderboard.top(10)).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void updatingAMemberReordersIt() {
+        TopKLeaderboard<Long> leaderboard = new TopKLeaderboard<>(3);
+        leaderboard.replaceAll(Map.of(1L, 5.0, 2L, 3.0, 3L, 1.0));
+
+        leaderboard.update(3L, 9);
+
+        assertThat(leaderboard.top(3)).containsExactly(3L, 1L, 2L);
+        assertThat(leaderboard.canServe(3)).isTrue();
+        assertThat(leaderboard.canServe(4)).isFalse();
+    }
+}
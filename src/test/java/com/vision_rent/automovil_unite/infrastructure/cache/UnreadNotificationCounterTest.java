@@ -0,0 +1,117 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadNotificationCounterTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+
+    @Test
+    void loadsOnceAndServesLaterReadsFromMemory() {
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(5);
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 10);
+
+        assertThat(counter.get(USER_ID)).isEqualTo(5);
+        assertThat(counter.get(USER_ID)).isEqualTo(5);
+
+        verify(notificationRepository, times(1)).countUnreadByUserId(USER_ID);
+    }
+
+    @Test
+    void addOnAnUnloadedCounterDoesNotCountTheCommittedRowsTwice() {
+        // La carga posterior al commit ya incluye las notificaciones que se suman
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(3);
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 10);
+
+        assertThat(counter.add(USER_ID, 2)).isEqualTo(3);
+        assertThat(counter.add(USER_ID, 2)).isEqualTo(5);
+        assertThat(counter.get(USER_ID)).isEqualTo(5);
+    }
+
+    @Test
+    void readsNeverTakeTheCounterBelowZero() {
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(1);
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 10);
+        counter.get(USER_ID);
+
+        assertThat(counter.add(USER_ID, -3)).isZero();
+        assertThat(counter.add(USER_ID, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void resetMarksTheCounterLoadedWithoutQuerying() {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 10);
+
+        counter.reset(USER_ID);
+
+        assertThat(counter.get(USER_ID)).isZero();
+        assertThat(counter.add(USER_ID, 2)).isEqualTo(2);
+        verify(notificationRepository, never()).countUnreadByUserId(USER_ID);
+    }
+
+    @Test
+    void expiredCountersAreReloadedAndEvicted() throws Exception {
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(4, 7);
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 0);
+
+        assertThat(counter.get(USER_ID)).isEqualTo(4);
+        Thread.sleep(1);
+        assertThat(counter.get(USER_ID)).isEqualTo(7);
+
+        Thread.sleep(1);
+        counter.evictExpired();
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(2);
+        assertThat(counter.get(USER_ID)).isEqualTo(2);
+        verify(notificationRepository, times(3)).countUnreadByUserId(USER_ID);
+    }
+
+    @Test
+    void concurrentUpdatesAreNotLost() throws Exception {
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(0);
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 10);
+        counter.get(USER_ID);
+
+        int threads = 8;
+        int updatesPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        counter.add(USER_ID, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(counter.get(USER_ID)).isEqualTo(threads * updatesPerThread);
+        verify(notificationRepository, times(1)).countUnreadByUserId(USER_ID);
+    }
+}
@@ -0,0 +1,189 @@
+package com.vision_rent.automovil_unite.infrastructure.cache;
+
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.entity.Vehicle;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalIntervalView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterEnvelope;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageBus;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sin transacción activa, las acciones tras el commit se ejecutan de inmediato.
+ */
+class VehicleAvailabilityIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(10).withNano(0);
+    private static final LocalDateTime END = START.plusDays(3);
+
+    private final RentalJpaRepository rentalJpaRepository = mock(RentalJpaRepository.class);
+
+    @Test
+    void overlapIsInclusiveAndCoversTheExtension() {
+        VehicleAvailabilityIndex index = index(null, "node-a");
+        index.load(List.of(
+                new Interval(1L, 10L, "CONFIRMED", START, END, null, null),
+                new Interval(2L, 11L, "ACTIVE", START.minusDays(5), START.minusDays(1), START.plusHours(6), null)));
+
+        assertThat(index.isBooked(10L, END, END.plusDays(1))).isTrue();
+        assertThat(index.isBooked(10L, START.minusDays(2), START)).isTrue();
+        assertThat(index.isBooked(10L, END.plusSeconds(1), END.plusDays(1))).isFalse();
+        assertThat(index.isBooked(11L, START, END)).isTrue();
+        assertThat(index.isBooked(11L, START.plusHours(7), END)).isFalse();
+        assertThat(index.isBooked(12L, START, END)).isFalse();
+    }
+
+    @Test
+    void holdsStopBlockingWhenTheyExpire() {
+        VehicleAvailabilityIndex index = index(null, "node-a");
+        index.load(List.of(
+                new Interval(1L, 10L, "PENDING", START, END, null, LocalDateTime.now().plusMinutes(15)),
+                new Interval(2L, 11L, "PENDING", START, END, null, LocalDateTime.now().minusSeconds(5))));
+
+        assertThat(index.isBooked(10L, START, END)).isTrue();
+        assertThat(index.isBooked(11L, START, END)).isFalse();
+    }
+
+    @Test
+    void trackMovesAHoldToTheFirmIntervalsAndCancellationRemovesIt() {
+        VehicleAvailabilityIndex index = index(null, "node-a");
+        index.load(List.of());
+        Rental rental = rental(1L, 10L, "PENDING", LocalDateTime.now().plusMinutes(15));
+
+        index.track(rental);
+        assertThat(index.isBooked(10L, START, END)).isTrue();
+
+        // Confirmado: ya no depende del vencimiento de la retención
+        rental.setStatus("CONFIRMED");
+        rental.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        index.track(rental);
+        assertThat(index.isBooked(10L, START, END)).isTrue();
+
+        rental.setStatus("CANCELLED");
+        index.track(rental);
+        assertThat(index.isBooked(10L, START, END)).isFalse();
+    }
+
+    @Test
+    void changesReachOtherNodesOverTheBus() {
+        InMemoryBus bus = new InMemoryBus();
+        VehicleAvailabilityIndex nodeA = index(bus, "node-a");
+        VehicleAvailabilityIndex nodeB = index(bus, "node-b");
+        nodeA.load(List.of());
+        nodeB.load(List.of());
+        Rental rental = rental(1L, 10L, "CONFIRMED", null);
+
+        nodeA.track(rental);
+        assertThat(nodeB.isBooked(10L, START, END)).isTrue();
+
+        rental.setExtendedUntil(END.plusDays(2));
+        nodeA.track(rental);
+        assertThat(nodeB.isBooked(10L, END.plusDays(1), END.plusDays(3))).isTrue();
+
+        nodeA.untrack(1L);
+        assertThat(nodeB.isBooked(10L, START, END.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void rebuildRecoversChangesMissedByTheBus() {
+        VehicleAvailabilityIndex index = index(null, "node-b");
+        index.load(List.of(new Interval(1L, 10L, "CONFIRMED", START, END, null, null)));
+        when(rentalJpaRepository.findBlockingIntervals(any()))
+                .thenReturn(List.of(new Interval(2L, 11L, "CONFIRMED", START, END, null, null)));
+
+        index.rebuild();
+
+        assertThat(index.isBooked(10L, START, END)).isFalse();
+        assertThat(index.isBooked(11L, START, END)).isTrue();
+    }
+
+    private VehicleAvailabilityIndex index(ClusterMessageBus bus, String nodeId) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ClusterMessageBus> busProvider = mock(ObjectProvider.class);
+        when(busProvider.getIfAvailable()).thenReturn(bus);
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setNodeId(nodeId);
+        return new VehicleAvailabilityIndex(rentalJpaRepository, busProvider, clusterProperties);
+    }
+
+    private static Rental rental(Long id, Long vehicleId, String status, LocalDateTime holdExpiresAt) {
+        return Rental.builder()
+                .id(id)
+                .vehicle(Vehicle.builder().id(vehicleId).build())
+                .status(status)
+                .startDateTime(START)
+                .endDateTime(END)
+                .holdExpiresAt(holdExpiresAt)
+                .build();
+    }
+
+    private record Interval(Long id, Long vehicleId, String status, LocalDateTime startDateTime,
+                            LocalDateTime endDateTime, LocalDateTime extendedUntil,
+                            LocalDateTime holdExpiresAt) implements RentalIntervalView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public LocalDateTime getStartDateTime() {
+            return startDateTime;
+        }
+
+        @Override
+        public LocalDateTime getEndDateTime() {
+            return endDateTime;
+        }
+
+        @Override
+        public LocalDateTime getExtendedUntil() {
+            return extendedUntil;
+        }
+
+        @Override
+        public LocalDateTime getHoldExpiresAt() {
+            return holdExpiresAt;
+        }
+    }
+
+    /**
+     * Bus síncrono que entrega cada mensaje a todos los suscriptores, incluido el que publica.
+     */
+    private static final class InMemoryBus implements ClusterMessageBus {
+
+        private final List<Consumer<ClusterEnvelope>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(ClusterEnvelope envelope) {
+            listeners.forEach(listener -> listener.accept(envelope));
+        }
+
+        @Override
+        public void subscribe(Consumer<ClusterEnvelope> listener) {
+            listeners.add(listener);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vision_rent.automovil_unite.infrastructure.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Envía por SMTP real contra un servidor embebido (GreenMail).
+ */
+class SmtpEmailTransportTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void deliversEveryMessageOfTheBatch() throws Exception {
+        SmtpEmailTransport transport = new SmtpEmailTransport(
+                mailSender(greenMail.getSmtp().getPort()), "no-reply@automovilunite.test");
+
+        Map<Long, String> errors = transport.send(List.of(
+                new EmailMessage(1L, "ana@test.local", "Restablece tu contraseña", "<p>Hola Ana</p>"),
+                new EmailMessage(2L, "luis@test.local", "Restablece tu contraseña", "<p>Hola Luis</p>")));
+
+        assertThat(errors).isEmpty();
+        assertThat(greenMail.waitForIncomingEmail(5_000, 2)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received).extracting(MimeMessage::getSubject).containsOnly("Restablece tu contraseña");
+        assertThat(received[0].getFrom()[0].toString()).isEqualTo("no-reply@automovilunite.test");
+        assertThat(GreenMailUtil.getBody(received[0])).contains("Hola");
+        assertThat(greenMail.getReceivedMessagesForDomain("luis@test.local")).hasSize(1);
+    }
+
+    @Test
+    void connectionFailuresReportEveryMessageOfTheBatch() {
+        int closedPort = greenMail.getSmtp().getPort();
+        greenMail.stop();
+        SmtpEmailTransport transport = new SmtpEmailTransport(mailSender(closedPort), "no-reply@automovilunite.test");
+
+        // JavaMailSender marca como fallidos todos los mensajes pendientes; el despachador los reintenta
+        Map<Long, String> errors = transport.send(List.of(
+                new EmailMessage(3L, "ana@test.local", "Asunto", "<p>Cuerpo</p>"),
+                new EmailMessage(4L, "luis@test.local", "Asunto", "<p>Cuerpo</p>")));
+
+        assertThat(errors).containsOnlyKeys(3L, 4L);
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.setDefaultEncoding("UTF-8");
+        return mailSender;
+    }
+}
@@ -0,0 +1,59 @@
+package com.vision_rent.automovil_unite.infrastructure.idempotency;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.IdempotencyKeyJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.IdempotencyKeyJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private static final String SCOPE_KEY = "rentals:7:abc";
+
+    private final IdempotencyKeyJpaRepository keyRepository = mock(IdempotencyKeyJpaRepository.class);
+    private final IdempotencyStore store = new IdempotencyStore(keyRepository, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), 100, 24, 60, 1000, 1000);
+
+    @Test
+    void expiredKeyIsReplacedByNewReservation() {
+        when(keyRepository.findByScopeKey(SCOPE_KEY)).thenReturn(Optional.of(expiredKey()));
+        when(keyRepository.deleteExpiredByScopeKey(eq(SCOPE_KEY), any())).thenReturn(1);
+        when(keyRepository.reserve(eq(SCOPE_KEY), eq(7L), anyString(), any())).thenReturn(1);
+
+        assertThat(store.begin(SCOPE_KEY, 7L, "hash").kind()).isEqualTo(IdempotencyStore.Outcome.Kind.EXECUTE);
+    }
+
+    @Test
+    void keyRenewedByAnotherNodeIsNotDeleted() {
+        // Leída como vencida, pero otro nodo la reservó de nuevo antes del borrado
+        when(keyRepository.findByScopeKey(SCOPE_KEY)).thenReturn(Optional.of(expiredKey()));
+        when(keyRepository.deleteExpiredByScopeKey(eq(SCOPE_KEY), any())).thenReturn(0);
+        when(keyRepository.reserve(eq(SCOPE_KEY), eq(7L), anyString(), any())).thenReturn(0);
+
+        assertThat(store.begin(SCOPE_KEY, 7L, "hash").kind()).isEqualTo(IdempotencyStore.Outcome.Kind.IN_PROGRESS);
+
+        verify(keyRepository, never()).deleteByScopeKey(anyString());
+    }
+
+    private static IdempotencyKeyJpaEntity expiredKey() {
+        return IdempotencyKeyJpaEntity.builder()
+                .scopeKey(SCOPE_KEY)
+                .userId(7L)
+                .requestHash("hash")
+                .status(IdempotencyKeyJpaEntity.STATUS_IN_PROGRESS)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+}
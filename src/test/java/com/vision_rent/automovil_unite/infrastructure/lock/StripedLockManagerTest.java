@@ -0,0 +1,57 @@
+package com.vision_rent.automovil_unite.infrastructure.lock;
+
+import com.vision_rent.automovil_unite.domain.exception.VehicleNotAvailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLockManagerTest {
+
+    @Test
+    void waitingPastTheTimeoutIsRejected() throws Exception {
+        StripedLockManager lockManager = new StripedLockManager(16, 50);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> lockManager.withVehicleLock(7L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> lockManager.withVehicleLock(7L, () -> "segunda"))
+                    .isInstanceOf(VehicleNotAvailableException.class);
+        } finally {
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(lockManager.withVehicleLock(7L, () -> "liberado")).isEqualTo("liberado");
+    }
+
+    @Test
+    void lockIsReleasedWhenTheActionThrows() {
+        StripedLockManager lockManager = new StripedLockManager(16, 50);
+
+        assertThatThrownBy(() -> lockManager.withVehicleLock(3L, () -> {
+            throw new IllegalStateException("falla");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(lockManager.withVehicleLock(3L, () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.vision_rent.automovil_unite.infrastructure.messaging;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationBatchDto;
+import com.vision_rent.automovil_unite.application.dto.NotificationDto;
+import com.vision_rent.automovil_unite.application.mapper.NotificationDtoMapper;
+import com.vision_rent.automovil_unite.application.service.NotificationWebSocketService;
+import com.vision_rent.automovil_unite.domain.entity.Notification;
+import com.vision_rent.automovil_unite.domain.impl.NotificationDomainServiceImpl;
+import com.vision_rent.automovil_unite.domain.repository.NotificationRepository;
+import com.vision_rent.automovil_unite.infrastructure.cache.UnreadNotificationCounter;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationOutboxJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationOutboxJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.push.PushNotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entrega de la bandeja de salida sobre H2: los reclamos, reintentos y borrados usan las
+ * consultas reales, y cada entrega se confirma en su propia transacción como en producción.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationDispatcherTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Autowired
+    private NotificationOutboxJpaRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationDtoMapper notificationDtoMapper = mock(NotificationDtoMapper.class);
+    private final NotificationWebSocketService webSocketService = mock(NotificationWebSocketService.class);
+    private final UnreadNotificationCounter unreadCounter = mock(UnreadNotificationCounter.class);
+    private final PushNotificationDispatcher pushDispatcher = mock(PushNotificationDispatcher.class);
+    private final NotificationCoalescingProperties coalescingProperties = new NotificationCoalescingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<Notification>> saved = new CopyOnWriteArrayList<>();
+    private final AtomicLong notificationIds = new AtomicLong();
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        coalescingProperties.setWindowMs(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversAllPendingRowsOfTheUserInOrderAndRemovesThem() throws Exception {
+        dispatcher = dispatcher(8, 1000);
+        savesNotifications();
+        pending("1", "A");
+        pending("2", "B");
+        pending("3", "C");
+
+        dispatcher.dispatch(USER_ID);
+        waitUntil(() -> outboxRepository.count() == 0);
+
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0)).extracting(Notification::getTitle).containsExactly("1", "2", "3");
+        verify(unreadCounter).add(USER_ID, 3);
+        verify(webSocketService).sendNotificationBatchToUser(eq(USER_ID), any(NotificationBatchDto.class));
+        verify(pushDispatcher).sendToUser(eq(USER_ID), any());
+        assertThat(meterRegistry.counter("notification.outbox.delivered").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void rowsClaimedElsewhereWaitForTheLeaseToExpire() throws Exception {
+        dispatcher = dispatcher(8, 1000);
+        savesNotifications();
+        NotificationOutboxJpaEntity entry = pending("1", "A");
+        entry.setClaimToken("otro-nodo");
+        entry.setClaimedUntil(LocalDateTime.now().plusHours(1));
+        outboxRepository.save(entry);
+
+        dispatcher.dispatch(USER_ID);
+        verify(notificationRepository, after(300).never()).saveAll(anyList());
+        assertThat(outboxRepository.findUserIdsWithDueEntries(LocalDateTime.now(), PageRequest.of(0, 10))).isEmpty();
+
+        // El nodo que lo reclamó se detuvo: al caducar el reclamo, el barrido lo recoge
+        entry.setClaimedUntil(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(entry);
+        dispatcher.sweep();
+        waitUntil(() -> outboxRepository.count() == 0);
+
+        assertThat(saved).hasSize(1);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedAfterBackoffWithoutReordering() throws Exception {
+        dispatcher = dispatcher(8, 1000);
+        when(notificationRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("base de datos no disponible"))
+                .thenAnswer(invocation -> save(invocation.getArgument(0)));
+        pending("1", "A");
+        pending("2", "A");
+
+        dispatcher.dispatch(USER_ID);
+        waitUntil(() -> outboxRepository.findAll().stream().allMatch(row -> row.getAttempts() == 1));
+        List<NotificationOutboxJpaEntity> retried = outboxRepository.findAll();
+        assertThat(retried).allSatisfy(row -> {
+            assertThat(row.getClaimToken()).isNull();
+            assertThat(row.getLastError()).isEqualTo("base de datos no disponible");
+            assertThat(row.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        });
+
+        // Una fila nueva no adelanta a las que esperan su reintento
+        pending("3", "A");
+        dispatcher.dispatch(USER_ID);
+        verify(notificationRepository, after(300).times(1)).saveAll(anyList());
+        assertThat(outboxRepository.count()).isEqualTo(3);
+
+        LocalDateTime retryAt = retried.get(0).getNextAttemptAt();
+        waitUntil(() -> LocalDateTime.now().isAfter(retryAt));
+        dispatcher.sweep();
+        waitUntil(() -> outboxRepository.count() == 0);
+
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0)).extracting(Notification::getTitle).containsExactly("1", "2", "3");
+        assertThat(meterRegistry.counter("notification.outbox.retried").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void rowsAreMarkedFailedOnceAttemptsAreExhausted() throws Exception {
+        dispatcher = dispatcher(1, 1000);
+        when(notificationRepository.saveAll(anyList())).thenThrow(new IllegalStateException("error permanente"));
+        pending("1", "A");
+
+        dispatcher.dispatch(USER_ID);
+        waitUntil(() -> NotificationOutboxJpaEntity.STATUS_FAILED.equals(outboxRepository.findAll().get(0).getStatus()));
+
+        assertThat(outboxRepository.findUserIdsWithDueEntries(LocalDateTime.now().plusDays(1), PageRequest.of(0, 10)))
+                .isEmpty();
+        assertThat(meterRegistry.counter("notification.outbox.failed").count()).isEqualTo(1.0);
+        verify(webSocketService, never()).sendNotificationBatchToUser(any(), any());
+    }
+
+    @Test
+    void eventsWithinTheWindowAreDeliveredAsOneFrame() throws Exception {
+        dispatcher = dispatcher(8, 1000);
+        savesNotifications();
+        coalescingProperties.setWindowMs(500);
+
+        for (String title : List.of("1", "2", "3")) {
+            pending(title, "A");
+            dispatcher.dispatch(USER_ID);
+        }
+        waitUntil(() -> outboxRepository.count() == 0);
+
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0)).extracting(Notification::getTitle).containsExactly("1", "2", "3");
+        verify(webSocketService).sendNotificationBatchToUser(eq(USER_ID), any(NotificationBatchDto.class));
+        verify(webSocketService, never()).sendNotificationToUser(any(), any());
+        assertThat(meterRegistry.counter("notification.coalescing.events").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter("notification.coalescing.frames").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("notification.coalescing.ratio").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void singleEventIsSentWithItsUnreadCount() throws Exception {
+        dispatcher = dispatcher(8, 1000);
+        savesNotifications();
+        when(unreadCounter.add(USER_ID, 1)).thenReturn(4);
+        pending("1", "A");
+
+        dispatcher.dispatch(USER_ID);
+        waitUntil(() -> outboxRepository.count() == 0);
+
+        verify(webSocketService).sendNotificationToUser(eq(USER_ID), any(NotificationDto.class));
+        verify(webSocketService).sendUnreadNotificationCount(USER_ID, 4);
+        verify(webSocketService, never()).sendNotificationBatchToUser(any(), any());
+    }
+
+    @Test
+    void typesReachingTheirThresholdAreReplacedByADigestInPlace() throws Exception {
+        dispatcher = dispatcher(8, 1000);
+        savesNotifications();
+        coalescingProperties.getDigestThresholds().put("PAYMENT_RECEIVED", 3);
+        coalescingProperties.getDigestThresholds().put("REVIEW_RECEIVED", 3);
+        pending("antes", "RENTAL_CREATED");
+        pending("pago 1", "PAYMENT_RECEIVED");
+        pending("pago 2", "PAYMENT_RECEIVED");
+        pending("reseña", "REVIEW_RECEIVED");
+        pending("pago 3", "PAYMENT_RECEIVED");
+        pending("después", "RENTAL_CREATED");
+
+        dispatcher.dispatch(USER_ID);
+        waitUntil(() -> outboxRepository.count() == 0);
+
+        // Los pagos se resumen donde estaba el último; la reseña no alcanza su umbral
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0)).extracting(Notification::getType)
+                .containsExactly("RENTAL_CREATED", "REVIEW_RECEIVED", "DIGEST", "RENTAL_CREATED");
+        Notification digest = saved.get(0).get(2);
+        assertThat(digest.getRelatedEntityType()).isEqualTo("PAYMENT_RECEIVED");
+        assertThat(digest.getMessage()).isEqualTo("Se han recibido 3 pagos nuevos.");
+        assertThat(digest.getUser().getId()).isEqualTo(USER_ID);
+        verify(unreadCounter).add(USER_ID, 4);
+        assertThat(meterRegistry.counter("notification.coalescing.digested").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter("notification.coalescing.events").count()).isEqualTo(6.0);
+    }
+
+    private NotificationDispatcher dispatcher(int maxAttempts, long backoffBaseMillis) {
+        when(notificationDtoMapper.toDto(any())).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            return NotificationDto.builder()
+                    .id(notification.getId())
+                    .userId(notification.getUser().getId())
+                    .title(notification.getTitle())
+                    .message(notification.getMessage())
+                    .type(notification.getType())
+                    .build();
+        });
+        return new NotificationDispatcher(outboxRepository, notificationRepository, new NotificationDomainServiceImpl(),
+                notificationDtoMapper, webSocketService, unreadCounter, pushDispatcher, coalescingProperties,
+                transactionManager, meterRegistry, 2, 100, 60, maxAttempts, backoffBaseMillis, 60_000, 200);
+    }
+
+    private void savesNotifications() {
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> save(invocation.getArgument(0)));
+    }
+
+    private List<Notification> save(List<Notification> notifications) {
+        notifications.forEach(notification -> notification.setId(notificationIds.incrementAndGet()));
+        saved.add(List.copyOf(notifications));
+        return notifications;
+    }
+
+    private NotificationOutboxJpaEntity pending(String title, String type) {
+        return outboxRepository.save(NotificationOutboxJpaEntity.builder()
+                .userId(USER_ID)
+                .title(title)
+                .message("Mensaje " + title)
+                .type(type)
+                .status(NotificationOutboxJpaEntity.STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
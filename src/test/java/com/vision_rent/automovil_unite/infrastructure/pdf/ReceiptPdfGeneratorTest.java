@@ -0,0 +1,62 @@
+package com.vision_rent.automovil_unite.infrastructure.pdf;
+
+import com.vision_rent.automovil_unite.application.service.ReceiptPdfService;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ReceiptJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.storage.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReceiptPdfGeneratorTest {
+
+    private static final int MAX_RETRIES = 3;
+
+    private final ReceiptPdfService pdfService = mock(ReceiptPdfService.class);
+    private final ReceiptJpaRepository receiptJpaRepository = mock(ReceiptJpaRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReceiptPdfGenerator generator = new ReceiptPdfGenerator(pdfService, mock(ReceiptPdfRenderer.class),
+            mock(FileStorageService.class), receiptJpaRepository, mock(PlatformTransactionManager.class),
+            meterRegistry, 1, 10, 60_000, MAX_RETRIES, 100);
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void sweepFailsExhaustedReceiptsAndCountsRetriesOfTheRest() {
+        when(receiptJpaRepository.markPdfFailed(any(), eq(MAX_RETRIES), any())).thenReturn(2);
+        when(receiptJpaRepository.findIdsByStatusAndUpdatedBefore(eq("PROCESSING"), any(), any()))
+                .thenReturn(List.of(10L, 11L));
+
+        generator.sweep();
+
+        assertThat(meterRegistry.counter("receipts.pdf.failed").count()).isEqualTo(2.0);
+        verify(receiptJpaRepository).incrementPdfRetries(eq(List.of(10L, 11L)), any());
+        verify(pdfService, timeout(5000)).loadForRendering(10L);
+        verify(pdfService, timeout(5000)).loadForRendering(11L);
+    }
+
+    @Test
+    void sweepWithNothingStalledDoesNotCountRetries() {
+        when(receiptJpaRepository.findIdsByStatusAndUpdatedBefore(eq("PROCESSING"), any(), any()))
+                .thenReturn(List.of());
+
+        generator.sweep();
+
+        verify(receiptJpaRepository, never()).incrementPdfRetries(anyList(), any());
+    }
+}
@@ -0,0 +1,128 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence;
+
+import com.vision_rent.automovil_unite.domain.valueobject.Role;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentMethodJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReviewJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entidades mínimas válidas para las pruebas de repositorios JPA.
+ */
+public final class JpaTestFixtures {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private JpaTestFixtures() {
+    }
+
+    public static UserJpaEntity user(TestEntityManager entityManager) {
+        long n = SEQUENCE.incrementAndGet();
+        return entityManager.persist(UserJpaEntity.builder()
+                .email("user" + n + "@test.local")
+                .password("secret")
+                .firstName("Nombre" + n)
+                .lastName("Apellido" + n)
+                .enabled(true)
+                .emailVerified(true)
+                .roles(new HashSet<>(Set.of(Role.RENTER, Role.OWNER)))
+                .build());
+    }
+
+    public static VehicleJpaEntity vehicle(TestEntityManager entityManager, UserJpaEntity owner, String brand) {
+        long n = SEQUENCE.incrementAndGet();
+        return entityManager.persist(VehicleJpaEntity.builder()
+                .brand(brand)
+                .model("Modelo" + n)
+                .year(2022)
+                .licensePlate("PL-" + n)
+                .color("Blanco")
+                .transmission("AUTOMATIC")
+                .fuelType("GASOLINE")
+                .seats(5)
+                .category("SEDAN")
+                .pricePerDay(new BigDecimal("100.00"))
+                .owner(owner)
+                .available(true)
+                .build());
+    }
+
+    public static RentalJpaEntity rental(TestEntityManager entityManager, VehicleJpaEntity vehicle,
+                                         UserJpaEntity renter, String status,
+                                         LocalDateTime start, LocalDateTime end) {
+        return entityManager.persist(RentalJpaEntity.builder()
+                .vehicle(vehicle)
+                .renter(renter)
+                .startDateTime(start)
+                .endDateTime(end)
+                .totalPrice(new BigDecimal("300.00"))
+                .status(status)
+                .build());
+    }
+
+    public static ReviewJpaEntity vehicleReview(TestEntityManager entityManager, RentalJpaEntity rental, float rating) {
+        return entityManager.persist(ReviewJpaEntity.builder()
+                .rental(rental)
+                .reviewer(rental.getRenter())
+                .vehicle(rental.getVehicle())
+                .rating(rating)
+                .comment("Comentario")
+                .type("VEHICLE_REVIEW")
+                .build());
+    }
+
+    public static PaymentJpaEntity payment(TestEntityManager entityManager, RentalJpaEntity rental,
+                                           String type, BigDecimal amount) {
+        long n = SEQUENCE.incrementAndGet();
+        PaymentMethodJpaEntity paymentMethod = entityManager.persist(PaymentMethodJpaEntity.builder()
+                .user(rental.getRenter())
+                .type("CREDIT_CARD")
+                .provider("VISA")
+                .alias("Tarjeta " + n)
+                .tokenizedData("tok_" + n)
+                .isDefault(true)
+                .build());
+        return entityManager.persist(PaymentJpaEntity.builder()
+                .externalId("PAY-" + n)
+                .rental(rental)
+                .payer(rental.getRenter())
+                .paymentMethod(paymentMethod)
+                .amount(amount)
+                .currency("PEN")
+                .status("COMPLETED")
+                .type(type)
+                .paymentDate(LocalDateTime.now())
+                .build());
+    }
+
+    public static ReceiptJpaEntity receipt(TestEntityManager entityManager, PaymentJpaEntity payment, String status) {
+        long n = SEQUENCE.incrementAndGet();
+        RentalJpaEntity rental = payment.getRental();
+        return entityManager.persist(ReceiptJpaEntity.builder()
+                .receiptNumber("20250101-" + n)
+                .payment(payment)
+                .rental(rental)
+                .renter(rental.getRenter())
+                .owner(rental.getVehicle().getOwner())
+                .vehicle(rental.getVehicle())
+                .issueDate(LocalDateTime.now())
+                .subtotal(new BigDecimal("254.24"))
+                .taxAmount(new BigDecimal("45.76"))
+                .totalAmount(new BigDecimal("300.00"))
+                .rentalDays(3)
+                .pricePerDay(new BigDecimal("100.00"))
+                .currency("PEN")
+                .status(status)
+                .build());
+    }
+}
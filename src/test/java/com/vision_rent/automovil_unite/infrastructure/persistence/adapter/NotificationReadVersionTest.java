@@ -0,0 +1,79 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.NotificationReadChangeDto;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.NotificationJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({NotificationRepositoryAdapter.class, NotificationQueryRepositoryAdapter.class})
+class NotificationReadVersionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationRepositoryAdapter notificationRepositoryAdapter;
+
+    @Autowired
+    private NotificationQueryRepositoryAdapter notificationQueryRepositoryAdapter;
+
+    private UserJpaEntity recipient;
+
+    @BeforeEach
+    void setUp() {
+        recipient = user(entityManager);
+    }
+
+    @Test
+    void eachReadTakesTheNextVersionOfItsUser() {
+        NotificationJpaEntity first = notification(recipient);
+        NotificationJpaEntity second = notification(recipient);
+        NotificationJpaEntity third = notification(recipient);
+        NotificationJpaEntity otherUsers = notification(user(entityManager));
+        entityManager.flush();
+
+        assertThat(notificationQueryRepositoryAdapter.findReadVersion(recipient.getId())).isZero();
+
+        assertThat(notificationRepositoryAdapter.markAsRead(second.getId(), recipient.getId())).isTrue();
+        assertThat(notificationRepositoryAdapter.markAsRead(otherUsers.getId(), recipient.getId())).isFalse();
+        assertThat(notificationRepositoryAdapter.markAllAsReadForUser(recipient.getId())).isEqualTo(2);
+        entityManager.flush();
+        entityManager.clear();
+
+        long maxId = third.getId();
+        List<NotificationReadChangeDto> all = notificationQueryRepositoryAdapter
+                .findReadChanges(recipient.getId(), maxId, 0L, 0L, 10);
+        assertThat(all).extracting(NotificationReadChangeDto::getId)
+                .containsExactly(second.getId(), first.getId(), third.getId());
+        // El intento sobre la notificación ajena también consumió una versión; los huecos no importan
+        assertThat(all).extracting(NotificationReadChangeDto::getReadVersion).containsExactly(1L, 3L, 3L);
+
+        List<NotificationReadChangeDto> afterFirstRead = notificationQueryRepositoryAdapter
+                .findReadChanges(recipient.getId(), maxId, 3L, first.getId(), 10);
+        assertThat(afterFirstRead).extracting(NotificationReadChangeDto::getId).containsExactly(third.getId());
+        assertThat(notificationQueryRepositoryAdapter.findReadVersion(recipient.getId())).isEqualTo(3L);
+    }
+
+    private NotificationJpaEntity notification(UserJpaEntity user) {
+        return entityManager.persist(NotificationJpaEntity.builder()
+                .user(user)
+                .title("Título")
+                .message("Mensaje")
+                .type("SYSTEM")
+                .read(false)
+                .build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.OwnerBalance;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.OwnerBalanceJpaEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(OwnerBalanceRepositoryAdapter.class)
+class OwnerBalanceRepositoryAdapterTest {
+
+    private static final BigDecimal MINIMUM = new BigDecimal("50.00");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OwnerBalanceRepositoryAdapter ownerBalanceRepositoryAdapter;
+
+    @Test
+    void payableIdsSkipBalancesBelowTheMinimumAndFollowTheCursor() {
+        Long first = balance(1L, "80.00").getId();
+        balance(2L, "10.00");
+        Long second = balance(3L, "50.00").getId();
+        Long third = balance(4L, "120.00").getId();
+        entityManager.flush();
+
+        assertThat(ownerBalanceRepositoryAdapter.findPayableIds(MINIMUM, 0L, 2)).containsExactly(first, second);
+        assertThat(ownerBalanceRepositoryAdapter.findPayableIds(MINIMUM, second, 2)).containsExactly(third);
+    }
+
+    @Test
+    void lockedBalancesAreRecheckedAgainstTheMinimum() {
+        OwnerBalanceJpaEntity settled = balance(1L, "80.00");
+        OwnerBalanceJpaEntity payable = balance(2L, "90.00");
+        entityManager.flush();
+        List<Long> candidates = ownerBalanceRepositoryAdapter.findPayableIds(MINIMUM, 0L, 10);
+
+        // Liquidado por otro nodo entre la búsqueda y el bloqueo
+        settled.setBalance(BigDecimal.ZERO);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OwnerBalance> locked = ownerBalanceRepositoryAdapter.findPayableByIdsForUpdate(candidates, MINIMUM);
+
+        assertThat(locked).extracting(OwnerBalance::getId).containsExactly(payable.getId());
+        assertThat(locked.get(0).getOwnerId()).isEqualTo(2L);
+        assertThat(locked.get(0).getBalance()).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    void noCandidatesLockNothing() {
+        assertThat(ownerBalanceRepositoryAdapter.findPayableByIdsForUpdate(List.of(), MINIMUM)).isEmpty();
+    }
+
+    private OwnerBalanceJpaEntity balance(Long ownerId, String amount) {
+        return entityManager.persist(OwnerBalanceJpaEntity.builder()
+                .ownerId(ownerId)
+                .currency("PEN")
+                .balance(new BigDecimal(amount))
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.rental;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicle;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RentalRepositoryAdapter.class)
+class RentalRepositoryAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RentalRepositoryAdapter rentalRepositoryAdapter;
+
+    private UserJpaEntity renter;
+    private VehicleJpaEntity vehicle;
+
+    @BeforeEach
+    void setUp() {
+        UserJpaEntity owner = user(entityManager);
+        renter = user(entityManager);
+        vehicle = vehicle(entityManager, owner, "Toyota");
+    }
+
+    @Test
+    void endingSoonReturnsEveryUnnotifiedRentalInsideTheWindow() {
+        RentalJpaEntity early = rental(entityManager, vehicle, renter, "ACTIVE", NOW.minusDays(2), NOW.plusHours(2));
+        RentalJpaEntity alreadyNotified = rental(entityManager, vehicle, renter, "ACTIVE", NOW.minusDays(2), NOW.plusHours(3));
+        alreadyNotified.setEndingSoonNotified(true);
+        // Confirmado después de que el recorrido pasara su fin: con una marca de posición se saltaba
+        RentalJpaEntity lateConfirmed = rental(entityManager, vehicle, renter, "CONFIRMED", NOW.minusHours(1), NOW.plusHours(1));
+        RentalJpaEntity extended = rental(entityManager, vehicle, renter, "ACTIVE", NOW.minusDays(3), NOW.minusHours(1));
+        extended.setExtendedUntil(NOW.plusHours(5));
+        rental(entityManager, vehicle, renter, "ACTIVE", NOW.minusDays(3), NOW.minusMinutes(5));
+        rental(entityManager, vehicle, renter, "ACTIVE", NOW, NOW.plusDays(3));
+        rental(entityManager, vehicle, renter, "CANCELLED", NOW, NOW.plusHours(4));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Rental> due = rentalRepositoryAdapter.findEndingSoonNotNotified(NOW, NOW.plusHours(24), 10);
+
+        assertThat(due).extracting(Rental::getId)
+                .containsExactly(lateConfirmed.getId(), early.getId(), extended.getId());
+        assertThat(due.get(0).getVehicle().getOwner()).isNotNull();
+    }
+
+    @Test
+    void markedRentalsAreNotReturnedAgain() {
+        RentalJpaEntity first = rental(entityManager, vehicle, renter, "ACTIVE", NOW.minusDays(1), NOW.plusHours(2));
+        RentalJpaEntity second = rental(entityManager, vehicle, renter, "ACTIVE", NOW.minusDays(1), NOW.plusHours(4));
+        entityManager.flush();
+
+        rentalRepositoryAdapter.markEndingSoonNotified(List.of(first.getId()));
+        entityManager.clear();
+
+        assertThat(rentalRepositoryAdapter.findEndingSoonNotNotified(NOW, NOW.plusHours(24), 10))
+                .extracting(Rental::getId)
+                .containsExactly(second.getId());
+    }
+}
@@ -0,0 +1,154 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.entity.Review;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.rental;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicle;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicleReview;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica con las estadísticas de Hibernate que las lecturas de listas emiten un número
+ * fijo de sentencias, sin importar cuántas filas devuelven (sin N+1 al mapear a dominio).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=100"
+})
+@ActiveProfiles("test")
+@Import({RentalRepositoryAdapter.class, ReviewRepositoryAdapter.class})
+class RepositoryQueryCountTest {
+
+    private static final int FEW = 2;
+    private static final int MANY = 15;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RentalRepositoryAdapter rentalRepositoryAdapter;
+
+    @Autowired
+    private ReviewRepositoryAdapter reviewRepositoryAdapter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void rentalsByRenterUseAFixedNumberOfStatements() {
+        UserJpaEntity fewRenter = renterWithRentals(FEW);
+        UserJpaEntity manyRenter = renterWithRentals(MANY);
+
+        long few = statementsFor(() -> rentalRepositoryAdapter.findByRenterId(fewRenter.getId()), FEW);
+        long many = statementsFor(() -> rentalRepositoryAdapter.findByRenterId(manyRenter.getId()), MANY);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void rentalsByOwnerUseAFixedNumberOfStatements() {
+        UserJpaEntity fewOwner = ownerWithRentals(FEW);
+        UserJpaEntity manyOwner = ownerWithRentals(MANY);
+
+        long few = statementsFor(() -> rentalRepositoryAdapter.findByVehicleOwnerId(fewOwner.getId()), FEW);
+        long many = statementsFor(() -> rentalRepositoryAdapter.findByVehicleOwnerId(manyOwner.getId()), MANY);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void reviewsByVehicleUseAFixedNumberOfStatements() {
+        VehicleJpaEntity fewVehicle = vehicleWithReviews(FEW);
+        VehicleJpaEntity manyVehicle = vehicleWithReviews(MANY);
+
+        long few = statementsFor(() -> reviewRepositoryAdapter.findByVehicleId(fewVehicle.getId()), FEW);
+        long many = statementsFor(() -> reviewRepositoryAdapter.findByVehicleId(manyVehicle.getId()), MANY);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    /**
+     * Ejecuta la lectura con el contexto de persistencia vacío, recorre el grafo completo
+     * como lo haría el mapeo a DTO y devuelve el número de sentencias preparadas.
+     */
+    private long statementsFor(Supplier<List<?>> read, int expectedRows) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> rows = read.get();
+        rows.forEach(RepositoryQueryCountTest::touch);
+
+        assertThat(rows).hasSize(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static void touch(Object row) {
+        if (row instanceof Rental rental) {
+            assertThat(rental.getRenter().getRoles()).isNotEmpty();
+            assertThat(rental.getVehicle().getOwner().getRoles()).isNotEmpty();
+        } else if (row instanceof Review review) {
+            assertThat(review.getReviewer().getRoles()).isNotEmpty();
+            assertThat(review.getVehicle().getOwner().getRoles()).isNotEmpty();
+        }
+    }
+
+    private UserJpaEntity renterWithRentals(int count) {
+        UserJpaEntity renter = user(entityManager);
+        for (int i = 0; i < count; i++) {
+            // Cada alquiler con su propio vehículo y propietario para que no se repitan en caché
+            VehicleJpaEntity vehicle = vehicle(entityManager, user(entityManager), "Toyota");
+            rental(entityManager, vehicle, renter, "COMPLETED", start(i), start(i).plusDays(1));
+        }
+        return renter;
+    }
+
+    private UserJpaEntity ownerWithRentals(int count) {
+        UserJpaEntity owner = user(entityManager);
+        VehicleJpaEntity vehicle = vehicle(entityManager, owner, "Kia");
+        for (int i = 0; i < count; i++) {
+            rental(entityManager, vehicle, user(entityManager), "COMPLETED", start(i), start(i).plusDays(1));
+        }
+        return owner;
+    }
+
+    private VehicleJpaEntity vehicleWithReviews(int count) {
+        VehicleJpaEntity vehicle = vehicle(entityManager, user(entityManager), "Mazda");
+        for (int i = 0; i < count; i++) {
+            RentalJpaEntity rental = rental(entityManager, vehicle, user(entityManager), "COMPLETED",
+                    start(i), start(i).plusDays(1));
+            vehicleReview(entityManager, rental, 4.5f);
+        }
+        return vehicle;
+    }
+
+    private static LocalDateTime start(int offset) {
+        return LocalDateTime.of(2025, 1, 1, 10, 0).plusDays(offset * 2L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.application.dto.RentalSummaryDto;
+import com.vision_rent.automovil_unite.application.dto.ReviewSummaryDto;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.rental;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicle;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicleReview;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({RentalQueryRepositoryAdapter.class, ReviewQueryRepositoryAdapter.class})
+class SummaryQueryRepositoryAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RentalQueryRepositoryAdapter rentalQueryRepositoryAdapter;
+
+    @Autowired
+    private ReviewQueryRepositoryAdapter reviewQueryRepositoryAdapter;
+
+    private UserJpaEntity owner;
+    private UserJpaEntity renter;
+    private VehicleJpaEntity vehicle;
+
+    @BeforeEach
+    void setUp() {
+        owner = user(entityManager);
+        renter = user(entityManager);
+        vehicle = vehicle(entityManager, owner, "Toyota");
+    }
+
+    @Test
+    void rentalSummariesMapEveryProjectedColumnNewestFirst() {
+        RentalJpaEntity older = rental(entityManager, vehicle, renter, "COMPLETED", NOW.minusDays(10), NOW.minusDays(8));
+        older.setPaid(true);
+        RentalJpaEntity newer = rental(entityManager, vehicle, renter, "CONFIRMED", NOW.plusDays(1), NOW.plusDays(3));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<RentalSummaryDto> summaries = rentalQueryRepositoryAdapter.findSummariesByRenterId(renter.getId());
+
+        assertThat(summaries).extracting(RentalSummaryDto::getId).containsExactly(newer.getId(), older.getId());
+        RentalSummaryDto summary = summaries.get(1);
+        assertThat(summary.getVehicleId()).isEqualTo(vehicle.getId());
+        assertThat(summary.getVehicleBrand()).isEqualTo("Toyota");
+        assertThat(summary.getVehicleYear()).isEqualTo(2022);
+        assertThat(summary.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(summary.getOwnerFirstName()).isEqualTo(owner.getFirstName());
+        assertThat(summary.getRenterId()).isEqualTo(renter.getId());
+        assertThat(summary.getStatus()).isEqualTo("COMPLETED");
+        assertThat(summary.isPaid()).isTrue();
+        assertThat(summary.getTotalPrice()).isEqualByComparingTo("300.00");
+
+        assertThat(rentalQueryRepositoryAdapter.findSummariesByVehicleOwnerId(owner.getId())).hasSize(2);
+        assertThat(rentalQueryRepositoryAdapter.findSummariesByVehicleOwnerId(renter.getId())).isEmpty();
+    }
+
+    @Test
+    void reviewSummariesKeepOptionalReviewedUserEmpty() {
+        RentalJpaEntity completed = rental(entityManager, vehicle, renter, "COMPLETED", NOW.minusDays(5), NOW.minusDays(3));
+        vehicleReview(entityManager, completed, 4.5f);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ReviewSummaryDto> summaries = reviewQueryRepositoryAdapter.findSummariesByVehicleId(vehicle.getId());
+
+        assertThat(summaries).hasSize(1);
+        ReviewSummaryDto summary = summaries.get(0);
+        assertThat(summary.getRentalId()).isEqualTo(completed.getId());
+        assertThat(summary.getReviewerId()).isEqualTo(renter.getId());
+        assertThat(summary.getReviewedId()).isNull();
+        assertThat(summary.getVehicleModel()).isEqualTo(vehicle.getModel());
+        assertThat(summary.getRating()).isEqualTo(4.5f);
+        assertThat(summary.getType()).isEqualTo("VEHICLE_REVIEW");
+        assertThat(reviewQueryRepositoryAdapter.findSummariesByReviewerId(renter.getId())).hasSize(1);
+    }
+}
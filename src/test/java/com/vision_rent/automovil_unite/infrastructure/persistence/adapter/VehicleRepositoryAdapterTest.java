@@ -0,0 +1,93 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.adapter;
+
+import com.vision_rent.automovil_unite.domain.entity.Vehicle;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.VehicleSearchRepository;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.rental;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicle;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({VehicleRepositoryAdapter.class, VehicleSearchRepository.class, VehicleAvailabilityIndex.class, ClusterProperties.class})
+class VehicleRepositoryAdapterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VehicleRepositoryAdapter vehicleRepositoryAdapter;
+
+    @Autowired
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    @Test
+    void incrementRentCountReturnsTheDatabaseValueNotTheLoadedOne() {
+        VehicleJpaEntity vehicle = vehicle(entityManager, user(entityManager), "Toyota");
+        entityManager.flush();
+
+        // Un incremento de otra petición que el objeto ya cargado no refleja
+        vehicleRepositoryAdapter.incrementRentCount(vehicle.getId());
+        int rentCount = vehicleRepositoryAdapter.incrementRentCount(vehicle.getId());
+
+        assertThat(vehicle.getRentCount()).isZero();
+        assertThat(rentCount).isEqualTo(2);
+    }
+
+    @Test
+    void inMemoryIndexAnswersDateRangeAvailabilityLikeTheQuery() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        LocalDateTime end = start.plusDays(3);
+        UserJpaEntity owner = user(entityManager);
+        UserJpaEntity renter = user(entityManager);
+
+        VehicleJpaEntity free = vehicle(entityManager, owner, "Toyota");
+        VehicleJpaEntity confirmed = vehicle(entityManager, owner, "Toyota");
+        VehicleJpaEntity extended = vehicle(entityManager, owner, "Kia");
+        VehicleJpaEntity heldPending = vehicle(entityManager, owner, "Kia");
+        VehicleJpaEntity expiredPending = vehicle(entityManager, owner, "Kia");
+        VehicleJpaEntity cancelled = vehicle(entityManager, owner, "Kia");
+
+        rental(entityManager, confirmed, renter, "CONFIRMED", start.plusDays(1), end.plusDays(1));
+        RentalJpaEntity extendedRental = rental(entityManager, extended, renter, "ACTIVE",
+                start.minusDays(5), start.minusDays(1));
+        extendedRental.setExtendedUntil(start.plusHours(6));
+        rental(entityManager, heldPending, renter, "PENDING", start, end)
+                .setHoldExpiresAt(LocalDateTime.now().plusMinutes(15));
+        rental(entityManager, expiredPending, renter, "PENDING", start, end)
+                .setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        rental(entityManager, cancelled, renter, "CANCELLED", start, end);
+        rental(entityManager, free, renter, "CONFIRMED", end.plusDays(2), end.plusDays(4));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(availabilityIndex.isLoaded()).isFalse();
+        List<Long> fromQuery = ids(vehicleRepositoryAdapter.findAvailableInDateRange(start, end));
+
+        availabilityIndex.rebuild();
+        assertThat(availabilityIndex.isLoaded()).isTrue();
+        List<Long> fromIndex = ids(vehicleRepositoryAdapter.findAvailableInDateRange(start, end));
+
+        assertThat(fromQuery).containsExactlyInAnyOrder(free.getId(), expiredPending.getId(), cancelled.getId());
+        assertThat(fromIndex).containsExactlyInAnyOrderElementsOf(fromQuery);
+    }
+
+    private static List<Long> ids(List<Vehicle> vehicles) {
+        return vehicles.stream().map(Vehicle::getId).toList();
+    }
+}
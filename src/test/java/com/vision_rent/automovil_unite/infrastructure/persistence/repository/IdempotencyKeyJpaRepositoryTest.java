@@ -0,0 +1,32 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class IdempotencyKeyJpaRepositoryTest {
+
+    @Autowired
+    private IdempotencyKeyJpaRepository keyRepository;
+
+    @Test
+    void onlyExpiredKeyIsDeleted() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        keyRepository.reserve("expired", 7L, "hash", now.minusSeconds(1));
+        keyRepository.reserve("renewed", 7L, "hash", now.plusSeconds(60));
+
+        assertThat(keyRepository.deleteExpiredByScopeKey("renewed", now)).isZero();
+        assertThat(keyRepository.deleteExpiredByScopeKey("expired", now)).isEqualTo(1);
+        assertThat(keyRepository.deleteExpiredByScopeKey("missing", now)).isZero();
+
+        assertThat(keyRepository.findByScopeKey("renewed")).isPresent();
+        assertThat(keyRepository.findByScopeKey("expired")).isEmpty();
+    }
+}
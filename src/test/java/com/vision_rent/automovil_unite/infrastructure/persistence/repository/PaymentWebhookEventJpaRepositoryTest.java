@@ -0,0 +1,25 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PaymentWebhookEventJpaRepositoryTest {
+
+    @Autowired
+    private PaymentWebhookEventJpaRepository webhookEventRepository;
+
+    @Test
+    void eventIsRegisteredOnlyOnce() {
+        assertThat(webhookEventRepository.insertIfAbsent("evt_1", "payment_intent.succeeded", 5L)).isEqualTo(1);
+        assertThat(webhookEventRepository.insertIfAbsent("evt_1", "payment_intent.succeeded", 5L)).isZero();
+        assertThat(webhookEventRepository.insertIfAbsent("evt_2", "charge.refunded", 5L)).isEqualTo(1);
+
+        assertThat(webhookEventRepository.count()).isEqualTo(2);
+    }
+}
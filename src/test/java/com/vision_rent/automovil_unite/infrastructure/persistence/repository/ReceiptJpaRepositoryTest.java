@@ -0,0 +1,85 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ReceiptJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.payment;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.receipt;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.rental;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicle;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ReceiptJpaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReceiptJpaRepository receiptJpaRepository;
+
+    private RentalJpaEntity rental;
+
+    @BeforeEach
+    void setUp() {
+        UserJpaEntity owner = user(entityManager);
+        LocalDateTime start = LocalDateTime.now().minusDays(5);
+        rental = rental(entityManager, vehicle(entityManager, owner, "Toyota"), user(entityManager),
+                "CONFIRMED", start, start.plusDays(3));
+    }
+
+    @Test
+    void processingReceiptFailsOnlyAfterExhaustingRetries() {
+        ReceiptJpaEntity exhausted = processingReceipt(3);
+        ReceiptJpaEntity retrying = processingReceipt(2);
+        ReceiptJpaEntity issued = receipt(entityManager, payment(entityManager, rental, "RENTAL", new BigDecimal("300.00")), "ISSUED");
+        issued.setPdfRetries(3);
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(receiptJpaRepository.markPdfFailed(now.plusMinutes(1), 3, now)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(statusOf(exhausted)).isEqualTo("FAILED");
+        assertThat(statusOf(retrying)).isEqualTo("PROCESSING");
+        assertThat(statusOf(issued)).isEqualTo("ISSUED");
+    }
+
+    @Test
+    void retriesAreCountedOnlyForProcessingReceipts() {
+        ReceiptJpaEntity processing = processingReceipt(0);
+        ReceiptJpaEntity issued = receipt(entityManager, payment(entityManager, rental, "RENTAL", new BigDecimal("300.00")), "ISSUED");
+        entityManager.flush();
+
+        assertThat(receiptJpaRepository.incrementPdfRetries(List.of(processing.getId(), issued.getId()), LocalDateTime.now()))
+                .isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(receiptJpaRepository.findById(processing.getId()).orElseThrow().getPdfRetries()).isEqualTo(1);
+        assertThat(receiptJpaRepository.findById(issued.getId()).orElseThrow().getPdfRetries()).isZero();
+    }
+
+    private ReceiptJpaEntity processingReceipt(int retries) {
+        ReceiptJpaEntity receipt = receipt(entityManager,
+                payment(entityManager, rental, "RENTAL", new BigDecimal("300.00")), "PROCESSING");
+        receipt.setPdfRetries(retries);
+        return receipt;
+    }
+
+    private String statusOf(ReceiptJpaEntity receipt) {
+        return receiptJpaRepository.findById(receipt.getId()).orElseThrow().getStatus();
+    }
+}
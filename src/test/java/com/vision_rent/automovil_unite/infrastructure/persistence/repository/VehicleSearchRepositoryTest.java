@@ -0,0 +1,116 @@
+package com.vision_rent.automovil_unite.infrastructure.persistence.repository;
+
+import com.vision_rent.automovil_unite.domain.valueobject.VehicleSearchCriteria;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.RentalJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.UserJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.VehicleJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.rental;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.user;
+import static com.vision_rent.automovil_unite.infrastructure.persistence.JpaTestFixtures.vehicle;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(VehicleSearchRepository.class)
+class VehicleSearchRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(10).withNano(0);
+    private static final LocalDateTime END = START.plusDays(3);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VehicleSearchRepository vehicleSearchRepository;
+
+    @Autowired
+    private VehicleJpaRepository vehicleJpaRepository;
+
+    private VehicleJpaEntity free;
+    private VehicleJpaEntity confirmed;
+    private VehicleJpaEntity extended;
+    private VehicleJpaEntity heldPending;
+    private VehicleJpaEntity expiredPending;
+    private VehicleJpaEntity cancelled;
+
+    @BeforeEach
+    void setUp() {
+        UserJpaEntity owner = user(entityManager);
+        UserJpaEntity renter = user(entityManager);
+
+        free = vehicle(entityManager, owner, "Toyota");
+        confirmed = vehicle(entityManager, owner, "Toyota");
+        extended = vehicle(entityManager, owner, "Kia");
+        heldPending = vehicle(entityManager, owner, "Kia");
+        expiredPending = vehicle(entityManager, owner, "Kia");
+        cancelled = vehicle(entityManager, owner, "Kia");
+
+        rental(entityManager, confirmed, renter, "CONFIRMED", START.plusDays(1), END.plusDays(1));
+        // Terminaba antes del rango, pero la extensión lo solapa
+        RentalJpaEntity extendedRental = rental(entityManager, extended, renter, "ACTIVE",
+                START.minusDays(5), START.minusDays(1));
+        extendedRental.setExtendedUntil(START.plusHours(6));
+        RentalJpaEntity held = rental(entityManager, heldPending, renter, "PENDING", START, END);
+        held.setHoldExpiresAt(LocalDateTime.now().plusMinutes(15));
+        RentalJpaEntity expired = rental(entityManager, expiredPending, renter, "PENDING", START, END);
+        expired.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        rental(entityManager, cancelled, renter, "CANCELLED", START, END);
+        // Reserva de otro vehículo fuera del rango
+        rental(entityManager, free, renter, "CONFIRMED", END.plusDays(2), END.plusDays(4));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void searchExcludesVehiclesWithBlockingOverlap() {
+        List<VehicleJpaEntity> result = vehicleSearchRepository.search(dateRange().build(), null, 50);
+
+        assertThat(result).extracting(VehicleJpaEntity::getId)
+                .containsExactly(free.getId(), expiredPending.getId(), cancelled.getId());
+    }
+
+    @Test
+    void facetCountsApplyTheSameAvailabilityFilter() {
+        var facets = vehicleSearchRepository.countFacets(dateRange().build());
+
+        assertThat(facets.get(VehicleSearchCriteria.FACET_BRAND))
+                .containsEntry("Toyota", 1L)
+                .containsEntry("Kia", 2L);
+    }
+
+    @Test
+    void keysetPaginationContinuesAfterCursor() {
+        List<VehicleJpaEntity> firstPage = vehicleSearchRepository.search(dateRange().build(), null, 2);
+        List<VehicleJpaEntity> secondPage = vehicleSearchRepository.search(
+                dateRange().build(), firstPage.get(firstPage.size() - 1).getId(), 2);
+
+        assertThat(firstPage).extracting(VehicleJpaEntity::getId)
+                .containsExactly(free.getId(), expiredPending.getId());
+        assertThat(secondPage).extracting(VehicleJpaEntity::getId)
+                .containsExactly(cancelled.getId());
+    }
+
+    @Test
+    void availableInDateRangeQueryMatchesSearch() {
+        List<VehicleJpaEntity> result = vehicleJpaRepository.findAvailableInDateRange(START, END, LocalDateTime.now());
+
+        assertThat(result).extracting(VehicleJpaEntity::getId)
+                .containsExactlyInAnyOrder(free.getId(), expiredPending.getId(), cancelled.getId());
+    }
+
+    private static VehicleSearchCriteria.VehicleSearchCriteriaBuilder dateRange() {
+        return VehicleSearchCriteria.builder().startDateTime(START).endDateTime(END);
+    }
+}
@@ -0,0 +1,183 @@
+package com.vision_rent.automovil_unite.infrastructure.push;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.DeviceTokenJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.DeviceTokenJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PushNotificationDispatcherTest {
+
+    private static final PushMessage MESSAGE = new PushMessage("Título", "Cuerpo", Map.of());
+
+    private final PushNotificationChannel channel = mock(PushNotificationChannel.class);
+    private final DeviceTokenJpaRepository repository = mock(DeviceTokenJpaRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryPushNotificationChannel memoryChannel = new InMemoryPushNotificationChannel();
+    private PushNotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void splitsTokensIntoMulticastBatchesAndPrunesOnlyReportedTokens() throws Exception {
+        dispatcher = dispatcher(2, 10);
+        List<String> tokens = IntStream.range(0, 501).mapToObj(i -> "token-" + i).collect(Collectors.toList());
+        when(repository.findTokensByUserId(1L)).thenReturn(tokens);
+        when(channel.sendMulticast(anyList(), any())).thenAnswer(invocation -> {
+            List<String> batch = invocation.getArgument(0);
+            return batch.size() == 1
+                    ? new PushResult(0, 1, List.of(batch.get(0)))
+                    : new PushResult(batch.size(), 0, List.of());
+        });
+        when(repository.deleteByTokenIn(any())).thenReturn(1);
+
+        dispatcher.sendToUser(1L, MESSAGE);
+        waitUntil(() -> meterRegistry.counter("push.sent").count() + meterRegistry.counter("push.failed").count() == 501);
+        dispatcher.pruneInvalidTokens();
+
+        verify(channel).sendMulticast(argThat(batch -> batch.size() == 500), any());
+        verify(repository).deleteByTokenIn(argThat((Collection<String> batch) -> batch.equals(Set.of("token-500"))));
+        assertThat(meterRegistry.counter("push.sent").count()).isEqualTo(500.0);
+        assertThat(meterRegistry.counter("push.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("push.pruned").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropsMessagesWhenTheQueueIsFull() throws Exception {
+        dispatcher = dispatcher(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findTokensByUserId(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        dispatcher.sendToUser(1L, MESSAGE);   // ocupa el único hilo
+        Thread.sleep(100);
+        dispatcher.sendToUser(2L, MESSAGE);   // llena la cola
+        dispatcher.sendToUser(3L, MESSAGE);   // se descarta sin bloquear
+        release.countDown();
+
+        assertThat(meterRegistry.counter("push.dropped").count()).isEqualTo(1.0);
+        verify(channel, times(0)).sendMulticast(anyList(), any());
+    }
+
+    @Test
+    void broadcastWalksEveryRegisteredTokenPageByPage() throws Exception {
+        dispatcher = dispatcher(memoryChannel, 2, 10, 4);
+        List<DeviceTokenJpaEntity> registered = deviceTokens(950);
+        pagesOf(registered);
+        memoryChannel.invalidate("token-700");
+        when(repository.deleteByTokenIn(any())).thenReturn(1);
+
+        dispatcher.broadcast(MESSAGE);
+        waitUntil(() -> meterRegistry.counter("push.sent").count() + meterRegistry.counter("push.failed").count() == 950);
+        dispatcher.pruneInvalidTokens();
+
+        Set<String> delivered = memoryChannel.getSent().stream()
+                .map(InMemoryPushNotificationChannel.SentPush::token)
+                .collect(Collectors.toSet());
+        assertThat(delivered).hasSize(949).doesNotContain("token-700");
+        verify(repository).findByIdGreaterThanOrderByIdAsc(500L, Pageable.ofSize(500));
+        verify(repository).deleteByTokenIn(argThat((Collection<String> batch) -> batch.equals(Set.of("token-700"))));
+    }
+
+    @Test
+    void broadcastSendsItselfWhenTheSenderQueueIsFull() throws Exception {
+        dispatcher = dispatcher(memoryChannel, 1, 1, 4);
+        pagesOf(deviceTokens(950));
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findTokensByUserId(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        dispatcher.sendToUser(1L, MESSAGE);   // ocupa el único hilo de envío
+        Thread.sleep(100);
+        dispatcher.sendToUser(2L, MESSAGE);   // llena la cola de envíos
+        dispatcher.broadcast(MESSAGE);
+
+        // La difusión avanza con los envíos bloqueados y sin descartar lotes
+        waitUntil(() -> memoryChannel.getSent().size() == 950);
+        release.countDown();
+        assertThat(meterRegistry.counter("push.dropped").count()).isZero();
+    }
+
+    @Test
+    void broadcastIsDroppedWithoutThrowingWhenTooManyArePending() throws Exception {
+        dispatcher = dispatcher(memoryChannel, 1, 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        dispatcher.broadcast(MESSAGE);   // ocupa el hilo de difusión
+        Thread.sleep(100);
+        dispatcher.broadcast(MESSAGE);   // queda en espera
+        assertThatCode(() -> dispatcher.broadcast(MESSAGE)).doesNotThrowAnyException();
+        release.countDown();
+
+        assertThat(meterRegistry.counter("push.dropped").count()).isEqualTo(1.0);
+    }
+
+    private static List<DeviceTokenJpaEntity> deviceTokens(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> DeviceTokenJpaEntity.builder().id((long) i).userId((long) i).token("token-" + i).build())
+                .collect(Collectors.toList());
+    }
+
+    private void pagesOf(List<DeviceTokenJpaEntity> registered) {
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return registered.stream()
+                    .filter(token -> token.getId() > afterId)
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private PushNotificationDispatcher dispatcher(int workers, int queueCapacity) {
+        return dispatcher(channel, workers, queueCapacity, 16);
+    }
+
+    private PushNotificationDispatcher dispatcher(PushNotificationChannel channel, int workers,
+                                                  int queueCapacity, int broadcastQueueCapacity) {
+        return new PushNotificationDispatcher(channel, repository, mock(PlatformTransactionManager.class),
+                meterRegistry, workers, queueCapacity, broadcastQueueCapacity, 1000);
+    }
+}
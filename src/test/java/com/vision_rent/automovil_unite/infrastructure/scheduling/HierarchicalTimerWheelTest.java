@@ -0,0 +1,125 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimerWheelTest {
+
+    // Casillas de 4 ticks por nivel: los plazos de más de 4 y 16 ticks pasan por los niveles superiores
+    private final HierarchicalTimerWheel wheel =
+            new HierarchicalTimerWheel(Duration.ofMillis(1), 2, 3, Runnable::run, "timer-wheel-test");
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void tasksOnEveryLevelFireInDeadlineOrderAndNeverEarly() throws Exception {
+        List<Long> delaysMs = List.of(150L, 3L, 40L, 9L, 70L);
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        Map<Long, Long> elapsedNanos = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(delaysMs.size());
+
+        for (Long delay : delaysMs) {
+            long scheduledAt = System.nanoTime();
+            wheel.schedule(Duration.ofMillis(delay), () -> {
+                elapsedNanos.put(delay, System.nanoTime() - scheduledAt);
+                fired.add(delay);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly(3L, 9L, 40L, 70L, 150L);
+        elapsedNanos.forEach((delay, elapsed) ->
+                assertThat(elapsed).as("plazo de %d ms", delay).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(delay)));
+    }
+
+    @Test
+    void deadlinesBeyondTheTopLevelCascadeUntilTheyExpire() throws Exception {
+        // El nivel superior cubre 64 ticks; un plazo mayor da más de una vuelta en él
+        CountDownLatch done = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+
+        wheel.schedule(Duration.ofMillis(200), done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - scheduledAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void zeroAndNegativeDelaysRunOnTheNextTick() throws Exception {
+        CountDownLatch done = new CountDownLatch(2);
+
+        wheel.schedule(Duration.ZERO, done::countDown);
+        wheel.schedule(Duration.ofMinutes(-5), done::countDown);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledTasksDoNotRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch marker = new CountDownLatch(1);
+
+        HierarchicalTimerWheel.Timeout cancelled = wheel.schedule(Duration.ofMillis(20), runs::incrementAndGet);
+        wheel.schedule(Duration.ofMillis(40), marker::countDown);
+        cancelled.cancel();
+
+        assertThat(marker.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void aFailingTaskDoesNotStopTheWheel() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+
+        wheel.schedule(Duration.ofMillis(5), () -> {
+            throw new IllegalStateException("fallo en la tarea");
+        });
+        wheel.schedule(Duration.ofMillis(10), done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void manyTimersScheduledConcurrentlyAllExpireOnce() throws Exception {
+        int timers = 10_000;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(timers);
+
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            int offset = p;
+            producers[p] = new Thread(() -> {
+                for (int i = offset; i < timers; i += producers.length) {
+                    wheel.schedule(Duration.ofMillis(i % 300), () -> {
+                        runs.incrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(runs).hasValue(timers);
+    }
+}
@@ -0,0 +1,156 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.SchedulerCheckpointJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.NotificationJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.SchedulerCheckpointJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.NotificationRetentionProperties.Action;
+import com.vision_rent.automovil_unite.infrastructure.scheduling.NotificationRetentionProperties.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationRetentionSchedulerTest {
+
+    private final NotificationJpaRepository notificationRepository = mock(NotificationJpaRepository.class);
+    private final SchedulerCheckpointJpaRepository checkpointRepository = mock(SchedulerCheckpointJpaRepository.class);
+    private final NotificationRetentionProperties properties = new NotificationRetentionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SchedulerCheckpointJpaEntity checkpoint = SchedulerCheckpointJpaEntity.builder()
+            .jobName(NotificationRetentionScheduler.JOB_NAME)
+            .lastDateTime(LocalDateTime.now().minusDays(1))
+            .lastId(0L)
+            .updatedAt(LocalDateTime.now().minusDays(1))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        // Misma hora de inicio y fin: la franja cubre todo el día
+        properties.setWindowStart(LocalTime.MIDNIGHT);
+        properties.setWindowEnd(LocalTime.MIDNIGHT);
+        properties.setPauseBetweenBatchesMs(0);
+        when(checkpointRepository.findByJobNameForUpdate(NotificationRetentionScheduler.JOB_NAME))
+                .thenReturn(Optional.of(checkpoint));
+    }
+
+    @Test
+    void doesNothingOutsideTheWindow() {
+        LocalTime now = LocalTime.now();
+        properties.setWindowStart(now.plusHours(1));
+        properties.setWindowEnd(now.plusHours(2));
+
+        scheduler().run();
+
+        verifyNoInteractions(notificationRepository, checkpointRepository);
+    }
+
+    @Test
+    void archivesOrDeletesAccordingToTheTypePolicy() {
+        properties.getTypes().put("PAYMENT_RECEIVED", policy(30, Action.DELETE));
+        properties.getTypes().put("RECEIPT_GENERATED", policy(30, Action.KEEP));
+        when(notificationRepository.findDistinctTypes())
+                .thenReturn(List.of("RENTAL_CREATED", "PAYMENT_RECEIVED", "RECEIPT_GENERATED"));
+        when(notificationRepository.findReadIdsOlderThan(eq("RENTAL_CREATED"), any(), any()))
+                .thenReturn(List.of(1L, 2L));
+        when(notificationRepository.findReadIdsOlderThan(eq("PAYMENT_RECEIVED"), any(), any()))
+                .thenReturn(List.of(3L));
+        when(notificationRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+        when(notificationRepository.deleteByIds(List.of(3L))).thenReturn(1);
+
+        scheduler().run();
+
+        verify(notificationRepository).archiveByIds(eq(List.of(1L, 2L)), any());
+        verify(notificationRepository).deleteByIds(List.of(1L, 2L));
+        verify(notificationRepository, never()).archiveByIds(eq(List.of(3L)), any());
+        verify(notificationRepository).deleteByIds(List.of(3L));
+        verify(notificationRepository, never()).findReadIdsOlderThan(eq("RECEIPT_GENERATED"), any(), any());
+        assertThat(rows("RENTAL_CREATED", Action.ARCHIVE)).isEqualTo(2.0);
+        assertThat(rows("PAYMENT_RECEIVED", Action.DELETE)).isEqualTo(1.0);
+        assertThat(checkpoint.getLastId()).isEqualTo(3L);
+    }
+
+    @Test
+    void onlyReadNotificationsOlderThanThePolicyAgeAreSelected() {
+        properties.getTypes().put("RENTAL_CREATED", policy(30, Action.ARCHIVE));
+        when(notificationRepository.findDistinctTypes()).thenReturn(List.of("RENTAL_CREATED"));
+        when(notificationRepository.findReadIdsOlderThan(any(), any(), any())).thenReturn(List.of());
+
+        scheduler().run();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(notificationRepository).findReadIdsOlderThan(eq("RENTAL_CREATED"), cutoff.capture(), page.capture());
+        assertThat(cutoff.getValue()).isCloseTo(LocalDateTime.now().minusDays(30), within(1, ChronoUnit.MINUTES));
+        assertThat(page.getValue().getPageSize()).isEqualTo(properties.getBatchSize());
+        verify(notificationRepository, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    void stopsAtTheBatchCapAndLeavesTheRestForTheNextRun() {
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(3);
+        when(notificationRepository.findDistinctTypes()).thenReturn(List.of("RENTAL_CREATED", "PAYMENT_RECEIVED"));
+        when(notificationRepository.findReadIdsOlderThan(any(), any(), any())).thenReturn(List.of(1L, 2L));
+        when(notificationRepository.deleteByIds(anyList())).thenReturn(2);
+
+        scheduler().run();
+
+        verify(notificationRepository, times(3)).deleteByIds(anyList());
+        verify(notificationRepository, never()).findReadIdsOlderThan(eq("PAYMENT_RECEIVED"), any(), any());
+        assertThat(rows("RENTAL_CREATED", Action.ARCHIVE)).isEqualTo(6.0);
+        assertThat(meterRegistry.get("notification.retention.batch").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void partialBatchEndsTheType() {
+        properties.setBatchSize(2);
+        when(notificationRepository.findDistinctTypes()).thenReturn(List.of("RENTAL_CREATED"));
+        when(notificationRepository.findReadIdsOlderThan(any(), any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(notificationRepository.deleteByIds(anyList())).thenReturn(2, 1);
+
+        scheduler().run();
+
+        verify(notificationRepository, times(2)).findReadIdsOlderThan(any(), any(), any());
+        assertThat(rows("RENTAL_CREATED", Action.ARCHIVE)).isEqualTo(3.0);
+        assertThat(meterRegistry.get("notification.retention.rate").gauge().value()).isPositive();
+    }
+
+    private NotificationRetentionScheduler scheduler() {
+        return new NotificationRetentionScheduler(notificationRepository, checkpointRepository, properties,
+                mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    private double rows(String type, Action action) {
+        return meterRegistry.get("notification.retention.rows")
+                .tag("type", type).tag("action", action.name()).counter().count();
+    }
+
+    private static Policy policy(int readMaxAgeDays, Action action) {
+        Policy policy = new Policy();
+        policy.setReadMaxAgeDays(readMaxAgeDays);
+        policy.setAction(action);
+        return policy;
+    }
+}
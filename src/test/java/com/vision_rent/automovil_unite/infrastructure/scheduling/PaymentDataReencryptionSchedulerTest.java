@@ -0,0 +1,68 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.PaymentMethodJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.PaymentMethodJpaRepository;
+import com.vision_rent.automovil_unite.infrastructure.security.EncryptionProperties;
+import com.vision_rent.automovil_unite.infrastructure.security.EncryptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentDataReencryptionSchedulerTest {
+
+    private final PaymentMethodJpaRepository repository = mock(PaymentMethodJpaRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void countsMigratedAndFailedRecordsSeparately() {
+        EncryptionService oldKeys = encryptionService(1);
+        EncryptionService rotated = encryptionService(2);
+
+        PaymentMethodJpaEntity readable = paymentMethod(1L,
+                oldKeys.encrypt("4111111111111111"), oldKeys.encrypt("12/30"));
+        PaymentMethodJpaEntity unreadable = paymentMethod(2L, "v1:bm90LWNpcGhlcnRleHQ", "v1:bm90LWNpcGhlcnRleHQ");
+        when(repository.findStaleEncryptionForUpdate(anyString(), anyLong(), any()))
+                .thenReturn(List.of(readable, unreadable));
+
+        PaymentDataReencryptionScheduler scheduler = new PaymentDataReencryptionScheduler(
+                repository, rotated, mock(PlatformTransactionManager.class), meterRegistry, 200);
+        scheduler.run();
+
+        assertThat(readable.getEncryptedCardNumber()).startsWith("v2:");
+        assertThat(rotated.decrypt(readable.getEncryptedCardNumber())).isEqualTo("4111111111111111");
+        assertThat(unreadable.getEncryptedCardNumber()).startsWith("v1:");
+        assertThat(counter("success")).isEqualTo(1.0);
+        assertThat(counter("failure")).isEqualTo(1.0);
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("encryption.reencrypted").tag("outcome", outcome).counter().count();
+    }
+
+    private static EncryptionService encryptionService(int activeVersion) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setActiveVersion(activeVersion);
+        properties.setKeys(Map.of(1, "secreto-maestro-uno", 2, "secreto-maestro-dos"));
+        return new EncryptionService(properties, "");
+    }
+
+    private static PaymentMethodJpaEntity paymentMethod(Long id, String cardNumber, String expiryDate) {
+        PaymentMethodJpaEntity paymentMethod = PaymentMethodJpaEntity.builder()
+                .type("CREDIT_CARD")
+                .encryptedCardNumber(cardNumber)
+                .encryptedExpiryDate(expiryDate)
+                .build();
+        paymentMethod.setId(id);
+        return paymentMethod;
+    }
+}
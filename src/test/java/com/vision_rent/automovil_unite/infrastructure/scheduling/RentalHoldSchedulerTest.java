@@ -0,0 +1,144 @@
+package com.vision_rent.automovil_unite.infrastructure.scheduling;
+
+import com.vision_rent.automovil_unite.domain.entity.Rental;
+import com.vision_rent.automovil_unite.domain.repository.RentalRepository;
+import com.vision_rent.automovil_unite.infrastructure.cache.VehicleAvailabilityIndex;
+import com.vision_rent.automovil_unite.infrastructure.persistence.projection.RentalHoldView;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.RentalJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RentalHoldSchedulerTest {
+
+    private final RentalRepository rentalRepository = mock(RentalRepository.class);
+    private final RentalJpaRepository rentalJpaRepository = mock(RentalJpaRepository.class);
+    private final VehicleAvailabilityIndex availabilityIndex = mock(VehicleAvailabilityIndex.class);
+    private final HierarchicalTimerWheel timerWheel =
+            new HierarchicalTimerWheel(Duration.ofMillis(5), 6, 3, Runnable::run, "rental-hold-test");
+    private final RentalHoldScheduler scheduler = new RentalHoldScheduler(rentalRepository, rentalJpaRepository,
+            availabilityIndex, timerWheel, mock(PlatformTransactionManager.class), 15);
+
+    @AfterEach
+    void tearDown() {
+        timerWheel.close();
+    }
+
+    @Test
+    void expiresTheHoldAndRemovesItFromTheIndex() {
+        when(rentalRepository.expireHold(eq(1L), any())).thenReturn(true);
+
+        scheduler.scheduleExpiry(pending(1L, LocalDateTime.now().plusNanos(50_000_000)));
+
+        verify(rentalRepository, timeout(2000)).expireHold(eq(1L), any());
+        verify(availabilityIndex, timeout(2000)).untrack(1L);
+    }
+
+    @Test
+    void releasedHoldsNeverExpire() {
+        scheduler.scheduleExpiry(pending(1L, LocalDateTime.now().plusNanos(50_000_000)));
+        scheduler.release(1L);
+
+        verify(rentalRepository, after(300).never()).expireHold(anyLong(), any());
+    }
+
+    @Test
+    void onlyPendingRentalsWithAHoldAreScheduled() {
+        Rental confirmed = pending(1L, LocalDateTime.now());
+        confirmed.setStatus("CONFIRMED");
+        Rental withoutHold = pending(2L, null);
+
+        scheduler.scheduleExpiry(confirmed);
+        scheduler.scheduleExpiry(withoutHold);
+
+        verify(rentalRepository, after(200).never()).expireHold(anyLong(), any());
+    }
+
+    @Test
+    void reschedulingReplacesThePreviousTimer() {
+        when(rentalRepository.expireHold(eq(1L), any())).thenReturn(true);
+
+        scheduler.scheduleExpiry(pending(1L, LocalDateTime.now().plusNanos(30_000_000)));
+        scheduler.scheduleExpiry(pending(1L, LocalDateTime.now().plusNanos(150_000_000)));
+
+        verify(rentalRepository, after(500).times(1)).expireHold(eq(1L), any());
+    }
+
+    @Test
+    void holdConfirmedBeforeTheTimerIsLeftUntouched() {
+        when(rentalRepository.expireHold(eq(1L), any())).thenReturn(false);
+        Rental confirmed = pending(1L, LocalDateTime.now());
+        confirmed.setStatus("CONFIRMED");
+        when(rentalRepository.findById(1L)).thenReturn(Optional.of(confirmed));
+
+        scheduler.scheduleExpiry(pending(1L, LocalDateTime.now().plusNanos(20_000_000)));
+
+        verify(rentalRepository, after(300).times(1)).expireHold(eq(1L), any());
+        verify(availabilityIndex, never()).untrack(anyLong());
+    }
+
+    @Test
+    void timerAheadOfTheDatabaseClockIsRetried() {
+        // La primera actualización no encuentra la retención vencida; la segunda sí
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(100_000_000);
+        when(rentalRepository.expireHold(eq(1L), any())).thenReturn(false, true);
+        when(rentalRepository.findById(1L)).thenReturn(Optional.of(pending(1L, expiresAt)));
+
+        scheduler.scheduleExpiry(pending(1L, LocalDateTime.now().plusNanos(20_000_000)));
+
+        verify(rentalRepository, timeout(2000).times(2)).expireHold(eq(1L), any());
+        verify(availabilityIndex, timeout(2000)).untrack(1L);
+    }
+
+    @Test
+    void pendingHoldsAreRescheduledOnStartup() {
+        when(rentalJpaRepository.findPendingHolds()).thenReturn(List.of(
+                hold(1L, LocalDateTime.now().minusMinutes(5)),
+                hold(2L, LocalDateTime.now().plusHours(1))));
+        when(rentalRepository.expireHold(eq(1L), any())).thenReturn(true);
+
+        scheduler.onApplicationReady();
+
+        // La que venció con la aplicación detenida se expira en el siguiente tick
+        verify(availabilityIndex, timeout(1000)).untrack(1L);
+        verify(rentalRepository, after(200).never()).expireHold(eq(2L), any());
+    }
+
+    private static Rental pending(Long id, LocalDateTime holdExpiresAt) {
+        return Rental.builder()
+                .id(id)
+                .status("PENDING")
+                .holdExpiresAt(holdExpiresAt)
+                .build();
+    }
+
+    private static RentalHoldView hold(Long id, LocalDateTime holdExpiresAt) {
+        return new RentalHoldView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getHoldExpiresAt() {
+                return holdExpiresAt;
+            }
+        };
+    }
+}
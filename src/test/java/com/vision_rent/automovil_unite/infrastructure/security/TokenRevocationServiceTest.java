@@ -0,0 +1,126 @@
+package com.vision_rent.automovil_unite.infrastructure.security;
+
+import com.vision_rent.automovil_unite.domain.repository.UserRepository;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterEnvelope;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterMessageBus;
+import com.vision_rent.automovil_unite.infrastructure.websocket.ClusterProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sin transacción activa, las acciones tras el commit se ejecutan de inmediato.
+ */
+class TokenRevocationServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenRevocationService service = service(userRepository, null, "node-a");
+
+    @Test
+    void refreshPicksUpRevocationsPersistedByOtherInstances() {
+        LocalDateTime changedAt = LocalDateTime.now().withNano(0).minusMinutes(5);
+        when(userRepository.findBannedUserIds()).thenReturn(List.of());
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(Map.of(7L, changedAt));
+
+        assertThat(service.isRevoked(7L, dateOf(changedAt.minusMinutes(1)))).isFalse();
+
+        service.refresh();
+
+        assertThat(service.isRevoked(7L, dateOf(changedAt.minusMinutes(1)))).isTrue();
+        assertThat(service.isRevoked(7L, dateOf(changedAt))).isTrue();
+        assertThat(service.isRevoked(7L, dateOf(changedAt.plusSeconds(1)))).isFalse();
+        assertThat(service.isRevoked(8L, dateOf(changedAt.minusMinutes(1)))).isFalse();
+    }
+
+    @Test
+    void tokensIssuedBeforeABanStayRevokedAfterUnbanAndRestart() {
+        LocalDateTime bannedAt = LocalDateTime.now().withNano(0).minusMinutes(5);
+        service.revoke(7L, bannedAt);
+        assertThat(service.isRevoked(7L, dateOf(bannedAt.plusMinutes(1)))).isTrue();
+
+        service.restore(7L);
+        assertThat(service.isRevoked(7L, dateOf(bannedAt.minusMinutes(1)))).isTrue();
+        assertThat(service.isRevoked(7L, dateOf(bannedAt.plusMinutes(1)))).isFalse();
+
+        // Otra instancia que arranca después de la reactivación lo lee de users.tokens_valid_after
+        when(userRepository.findBannedUserIds()).thenReturn(List.of());
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(Map.of(7L, bannedAt));
+        TokenRevocationService restarted = service(userRepository, null, "node-b");
+        restarted.refresh();
+        assertThat(restarted.isRevoked(7L, dateOf(bannedAt.minusMinutes(1)))).isTrue();
+        assertThat(restarted.isRevoked(7L, dateOf(bannedAt.plusMinutes(1)))).isFalse();
+    }
+
+    @Test
+    void banAndUnbanReachOtherNodesWithoutWaitingForRefresh() {
+        InMemoryBus bus = new InMemoryBus();
+        TokenRevocationService nodeA = service(userRepository, bus, "node-a");
+        TokenRevocationService nodeB = service(userRepository, bus, "node-b");
+        LocalDateTime bannedAt = LocalDateTime.now().withNano(0);
+
+        nodeA.revoke(7L, bannedAt);
+
+        assertThat(nodeB.isRevoked(7L, dateOf(bannedAt.plusMinutes(1)))).isTrue();
+
+        nodeA.restore(7L);
+
+        assertThat(nodeB.isRevoked(7L, dateOf(bannedAt.minusMinutes(1)))).isTrue();
+        assertThat(nodeB.isRevoked(7L, dateOf(bannedAt.plusMinutes(1)))).isFalse();
+
+        LocalDateTime passwordChangedAt = bannedAt.plusMinutes(10);
+        nodeA.revokeIssuedBefore(8L, passwordChangedAt);
+
+        assertThat(nodeB.isRevoked(8L, dateOf(passwordChangedAt.minusMinutes(1)))).isTrue();
+        assertThat(nodeB.isRevoked(8L, dateOf(passwordChangedAt.plusMinutes(1)))).isFalse();
+    }
+
+    private static TokenRevocationService service(UserRepository userRepository, ClusterMessageBus bus, String nodeId) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ClusterMessageBus> busProvider = mock(ObjectProvider.class);
+        when(busProvider.getIfAvailable()).thenReturn(bus);
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setNodeId(nodeId);
+        return new TokenRevocationService(userRepository, securityProperties(), busProvider, clusterProperties);
+    }
+
+    private static Date dateOf(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static SecurityProperties securityProperties() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setExpiration(3_600_000L);
+        properties.setRefreshExpiration(604_800_000L);
+        return properties;
+    }
+
+    /**
+     * Bus síncrono que entrega cada mensaje a todos los suscriptores, incluido el que publica.
+     */
+    private static final class InMemoryBus implements ClusterMessageBus {
+
+        private final List<Consumer<ClusterEnvelope>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(ClusterEnvelope envelope) {
+            listeners.forEach(listener -> listener.accept(envelope));
+        }
+
+        @Override
+        public void subscribe(Consumer<ClusterEnvelope> listener) {
+            listeners.add(listener);
+        }
+    }
+}
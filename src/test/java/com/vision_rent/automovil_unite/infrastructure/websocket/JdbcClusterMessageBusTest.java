@@ -0,0 +1,128 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import com.vision_rent.automovil_unite.infrastructure.persistence.TransactionCallbacks;
+import com.vision_rent.automovil_unite.infrastructure.persistence.entity.ClusterMessageJpaEntity;
+import com.vision_rent.automovil_unite.infrastructure.persistence.repository.ClusterMessageJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos contextos de aplicación en la misma JVM, cada uno como un nodo, comparten una base H2.
+ */
+class JdbcClusterMessageBusTest {
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void messagePublishedAfterCommitReachesTheOtherNode() throws InterruptedException {
+        List<ClusterEnvelope> receivedByA = new CopyOnWriteArrayList<>();
+        List<ClusterEnvelope> receivedByB = new CopyOnWriteArrayList<>();
+        nodeA.getBean(JdbcClusterMessageBus.class).subscribe(receivedByA::add);
+        nodeB.getBean(JdbcClusterMessageBus.class).subscribe(receivedByB::add);
+        ClusterEnvelope envelope = new ClusterEnvelope(ClusterEnvelope.Kind.BROADCAST, "node-a", null, 7L,
+                "/topic/global-notifications", "{\"count\":3}");
+
+        // Igual que NotificationService: el envío se hace al confirmar la transacción del llamador
+        new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+                TransactionCallbacks.afterCommit(() -> nodeA.getBean(JdbcClusterMessageBus.class).publish(envelope)));
+
+        waitUntil(() -> !receivedByB.isEmpty());
+        assertThat(receivedByB).containsExactly(envelope);
+        assertThat(receivedByA).isEmpty();
+        assertThat(nodeB.getBean(ClusterMessageJpaRepository.class).count()).isEqualTo(1);
+    }
+
+    @Test
+    void targetedMessageIsIgnoredByOtherNodes() throws InterruptedException {
+        List<ClusterEnvelope> receivedByB = new CopyOnWriteArrayList<>();
+        nodeB.getBean(JdbcClusterMessageBus.class).subscribe(receivedByB::add);
+        JdbcClusterMessageBus busA = nodeA.getBean(JdbcClusterMessageBus.class);
+
+        busA.publish(new ClusterEnvelope(ClusterEnvelope.Kind.DELIVER, "node-a", "node-c", 7L,
+                "/queue/notifications", "{}"));
+        ClusterEnvelope forB = new ClusterEnvelope(ClusterEnvelope.Kind.DELIVER, "node-a", "node-b", 7L,
+                "/queue/notifications", "{}");
+        busA.publish(forB);
+
+        waitUntil(() -> !receivedByB.isEmpty());
+        assertThat(receivedByB).containsExactly(forB);
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(NodeConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:cluster_bus;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.hikari.minimum-idle=1",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--app.websocket.cluster.mode=jdbc",
+                        "--app.websocket.cluster.node-id=" + nodeId);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Nodo mínimo: base de datos, JPA y el bus entre nodos.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = ClusterMessageJpaEntity.class)
+    @EnableJpaRepositories(basePackageClasses = ClusterMessageJpaRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = ClusterMessageJpaRepository.class))
+    @EnableConfigurationProperties(ClusterProperties.class)
+    @Import(JdbcClusterMessageBus.class)
+    static class NodeConfig {
+    }
+}
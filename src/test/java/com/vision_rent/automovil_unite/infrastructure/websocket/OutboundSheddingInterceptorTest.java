@@ -0,0 +1,79 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OutboundSheddingInterceptorTest {
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final MessageHandler handler = mock(MessageHandler.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboundSheddingInterceptor interceptor = new OutboundSheddingInterceptor(properties(2), meterRegistry);
+
+    @Test
+    void slowSessionIsShedWithoutAffectingOthers() {
+        assertThat(interceptor.preSend(message("slow"), channel)).isNotNull();
+        assertThat(interceptor.preSend(message("slow"), channel)).isNotNull();
+
+        assertThat(interceptor.preSend(message("slow"), channel)).isNull();
+        assertThat(interceptor.preSend(message("fast"), channel)).isNotNull();
+        assertThat(meterRegistry.counter("websocket.outbound.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void handledMessagesFreeTheSessionAndClearItsEntry() {
+        Message<?> first = interceptor.preSend(message("s1"), channel);
+        Message<?> second = interceptor.preSend(message("s1"), channel);
+        assertThat(interceptor.preSend(message("s1"), channel)).isNull();
+
+        interceptor.afterMessageHandled(first, channel, handler, null);
+        assertThat(interceptor.getPending("s1")).isEqualTo(1);
+        assertThat(interceptor.preSend(message("s1"), channel)).isNotNull();
+
+        interceptor.afterMessageHandled(second, channel, handler, null);
+        interceptor.afterMessageHandled(second, channel, handler, null);
+        assertThat(interceptor.getPending("s1")).isZero();
+    }
+
+    @Test
+    void rejectedSendReleasesTheSlot() {
+        Message<?> accepted = interceptor.preSend(message("s1"), channel);
+
+        interceptor.afterSendCompletion(accepted, channel, false, new IllegalStateException("rechazado"));
+
+        assertThat(interceptor.getPending("s1")).isZero();
+    }
+
+    @Test
+    void controlFramesAreNeverShed() {
+        interceptor.preSend(message("s1"), channel);
+        interceptor.preSend(message("s1"), channel);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.HEARTBEAT);
+        accessor.setSessionId("s1");
+        Message<byte[]> heartbeat = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        assertThat(interceptor.preSend(heartbeat, channel)).isSameAs(heartbeat);
+    }
+
+    private static Message<byte[]> message(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static WebSocketProperties properties(int sessionThreshold) {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setShedSessionThreshold(sessionThreshold);
+        return properties;
+    }
+}
@@ -0,0 +1,137 @@
+package com.vision_rent.automovil_unite.infrastructure.websocket;
+
+import com.vision_rent.automovil_unite.infrastructure.security.JwtService;
+import com.vision_rent.automovil_unite.infrastructure.security.SecurityProperties;
+import com.vision_rent.automovil_unite.infrastructure.security.TokenRevocationService;
+import com.vision_rent.automovil_unite.infrastructure.security.impl.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.security.Principal;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StompAuthenticationInterceptorTest {
+
+    private static final Date ISSUED_AT = new Date(1_700_000_000_000L);
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private StompAuthenticationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setHeader("Authorization");
+        properties.setPrefix("Bearer");
+        interceptor = new StompAuthenticationInterceptor(jwtService, properties, tokenRevocationService);
+
+        Claims claims = mock(Claims.class);
+        when(claims.getIssuedAt()).thenReturn(ISSUED_AT);
+        when(jwtService.parseClaims("valid")).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims)).thenReturn(Optional.of(userDetails(7L)));
+    }
+
+    @Test
+    void connectWithoutTokenIsRejected() {
+        Message<byte[]> connect = frame(StompCommand.CONNECT, null, null);
+
+        assertThatThrownBy(() -> interceptor.preSend(connect, channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void connectWithValidTokenSetsPrincipal() {
+        Message<byte[]> connect = frame(StompCommand.CONNECT, "Bearer valid", null);
+
+        Message<?> result = interceptor.preSend(connect, channel);
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(result, StompHeaderAccessor.class);
+        assertThat(accessor.getUser()).isInstanceOf(WebSocketPrincipal.class);
+        WebSocketPrincipal principal = (WebSocketPrincipal) accessor.getUser();
+        assertThat(principal.getName()).isEqualTo("7");
+        assertThat(principal.issuedAt()).isEqualTo(ISSUED_AT);
+    }
+
+    @Test
+    void connectWithRevokedTokenIsRejected() {
+        when(tokenRevocationService.isRevoked(7L, ISSUED_AT)).thenReturn(true);
+        Message<byte[]> connect = frame(StompCommand.CONNECT, "Bearer valid", null);
+
+        assertThatThrownBy(() -> interceptor.preSend(connect, channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void subscribeIsRejectedOnceTheTokenIsRevoked() {
+        WebSocketPrincipal principal = new WebSocketPrincipal(userDetails(7L), ISSUED_AT);
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, null, principal);
+
+        assertThat(interceptor.preSend(subscribe, channel)).isSameAs(subscribe);
+
+        when(tokenRevocationService.isRevoked(7L, ISSUED_AT)).thenReturn(true);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe, channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SEND, null, principal), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void subscribeWithoutAuthenticatedSessionIsRejected() {
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, null, null);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe, channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void disconnectIsAlwaysAccepted() {
+        when(tokenRevocationService.isRevoked(7L, ISSUED_AT)).thenReturn(true);
+        WebSocketPrincipal principal = new WebSocketPrincipal(userDetails(7L), ISSUED_AT);
+        Message<byte[]> disconnect = frame(StompCommand.DISCONNECT, null, principal);
+
+        assertThat(interceptor.preSend(disconnect, channel)).isSameAs(disconnect);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String authorization, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        if (command == StompCommand.SUBSCRIBE || command == StompCommand.SEND) {
+            accessor.setDestination("/user/queue/notifications");
+        }
+        accessor.setSessionId("s1");
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static UserDetailsImpl userDetails(Long userId) {
+        return UserDetailsImpl.builder()
+                .username("user" + userId + "@example.com")
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .authorities(List.of())
+                .userId(userId)
+                .build();
+    }
+}